@@ -0,0 +1,54 @@
+package org.infinispan.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.context.Flag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@code Cache.get} and {@code Cache.put} through the whole invocation path: {@code CacheImpl}, the
+ * {@code AsyncInterceptorChainImpl} and its interceptors, {@code EntryWrappingInterceptor} included, the data
+ * container, and the replication to the other nodes in clustered modes. The keys are picked at random among the
+ * preloaded ones, so that gets always hit and puts always overwrite.
+ *
+ * @since 9.2
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@Threads(4)
+public class CacheBenchmark {
+
+   @Benchmark
+   public String get(CacheState state) {
+      return state.cache.get(state.keys[ThreadLocalRandom.current().nextInt(CacheState.KEY_COUNT)]);
+   }
+
+   @Benchmark
+   public String getMissing(CacheState state) {
+      return state.cache.get("missing");
+   }
+
+   @Benchmark
+   public String put(CacheState state) {
+      int i = ThreadLocalRandom.current().nextInt(CacheState.KEY_COUNT);
+      return state.cache.put(state.keys[i], state.values[i]);
+   }
+
+   @Benchmark
+   public void putIgnoreReturnValue(CacheState state) {
+      int i = ThreadLocalRandom.current().nextInt(CacheState.KEY_COUNT);
+      state.cache.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES)
+            .put(state.keys[i], state.values[i]);
+   }
+}
@@ -0,0 +1,69 @@
+package org.infinispan.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.manager.DefaultCacheManager;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.remoting.transport.jgroups.JGroupsTransport;
+import org.infinispan.topology.CacheTopology;
+
+/**
+ * Creates the cache managers of the benchmarks.
+ *
+ * @since 9.2
+ */
+final class CacheManagers {
+   static final String JGROUPS_CONFIGURATION = "benchmark-jgroups.xml";
+   private static final long REBALANCE_TIMEOUT = TimeUnit.MINUTES.toMillis(1);
+
+   private CacheManagers() {
+   }
+
+   /**
+    * @param clustered whether the cache manager joins the other clustered cache managers of the JVM
+    * @param cacheName the name of the cache to define with the given configuration
+    */
+   static EmbeddedCacheManager create(boolean clustered, String cacheName, Configuration configuration) {
+      GlobalConfigurationBuilder global = clustered ? GlobalConfigurationBuilder.defaultClusteredBuilder() :
+            new GlobalConfigurationBuilder();
+      if (clustered) {
+         global.transport().clusterName("benchmark")
+               .addProperty(JGroupsTransport.CONFIGURATION_FILE, JGROUPS_CONFIGURATION);
+      }
+      EmbeddedCacheManager cacheManager = new DefaultCacheManager(global.build());
+      cacheManager.defineConfiguration(cacheName, configuration);
+      return cacheManager;
+   }
+
+   /**
+    * Waits until all the caches are members of the topology and the data is no longer moved between them, so that the
+    * measurements do not include the state transfer.
+    */
+   static void waitForRebalance(List<? extends Cache<?, ?>> caches) throws InterruptedException {
+      long deadline = System.currentTimeMillis() + REBALANCE_TIMEOUT;
+      for (Cache<?, ?> cache : caches) {
+         if (!cache.getCacheConfiguration().clustering().cacheMode().isClustered())
+            continue;
+         for (; ; ) {
+            CacheTopology topology = cache.getAdvancedCache().getDistributionManager().getCacheTopology();
+            if (topology.getActualMembers().size() == caches.size() && topology.getPhase() == CacheTopology.Phase.NO_REBALANCE)
+               break;
+            if (System.currentTimeMillis() > deadline)
+               throw new IllegalStateException("Timed out waiting for the rebalance of " + cache + ": " + topology);
+            Thread.sleep(10);
+         }
+      }
+   }
+
+   static void stop(List<EmbeddedCacheManager> cacheManagers) {
+      // Stop the coordinator last, so that it does not change on every stop
+      for (int i = cacheManagers.size() - 1; i >= 0; i--) {
+         cacheManagers.get(i).stop();
+      }
+      cacheManagers.clear();
+   }
+}
@@ -0,0 +1,80 @@
+package org.infinispan.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.transaction.TransactionMode;
+import org.infinispan.transaction.lookup.EmbeddedTransactionManagerLookup;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * The cache measured by the {@link CacheBenchmark}, for every combination of cache mode, storage type and
+ * transactional mode. A local cache runs on a single node, a clustered cache on {@link #CLUSTER_SIZE} nodes in the
+ * same JVM, and the benchmark threads always use the cache of the first node.
+ *
+ * @since 9.2
+ */
+@State(Scope.Benchmark)
+public class CacheState {
+   static final String CACHE_NAME = "benchmark";
+   static final int CLUSTER_SIZE = 3;
+   static final int KEY_COUNT = 10_000;
+
+   @Param({"LOCAL", "REPL_SYNC", "DIST_SYNC"})
+   public CacheMode cacheMode;
+
+   @Param({"OBJECT", "OFF_HEAP"})
+   public StorageType storageType;
+
+   @Param({"false", "true"})
+   public boolean transactional;
+
+   private final List<EmbeddedCacheManager> cacheManagers = new ArrayList<>();
+   Cache<String, String> cache;
+   String[] keys;
+   String[] values;
+
+   @Setup(Level.Trial)
+   public void setup() throws Exception {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.clustering().cacheMode(cacheMode);
+      builder.memory().storageType(storageType);
+      if (transactional) {
+         builder.transaction().transactionMode(TransactionMode.TRANSACTIONAL)
+               .transactionManagerLookup(new EmbeddedTransactionManagerLookup());
+      }
+
+      int nodes = cacheMode.isClustered() ? CLUSTER_SIZE : 1;
+      List<Cache<String, String>> caches = new ArrayList<>(nodes);
+      for (int i = 0; i < nodes; i++) {
+         EmbeddedCacheManager cacheManager = CacheManagers.create(cacheMode.isClustered(), CACHE_NAME, builder.build());
+         cacheManagers.add(cacheManager);
+         caches.add(cacheManager.getCache(CACHE_NAME));
+      }
+      CacheManagers.waitForRebalance(caches);
+      cache = caches.get(0);
+
+      keys = new String[KEY_COUNT];
+      values = new String[KEY_COUNT];
+      for (int i = 0; i < KEY_COUNT; i++) {
+         keys[i] = "key" + i;
+         values[i] = "value" + i;
+         cache.put(keys[i], values[i]);
+      }
+   }
+
+   @TearDown(Level.Trial)
+   public void tearDown() {
+      CacheManagers.stop(cacheManagers);
+   }
+}
@@ -0,0 +1,99 @@
+package org.infinispan.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.container.DataContainer;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.encoding.DataConversion;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.metadata.EmbeddedMetadata;
+import org.infinispan.metadata.Metadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the {@link DataContainer} of a cache on its own, comparing the heap container with the off-heap one and its
+ * serialization of the entries into native memory.
+ *
+ * @since 9.2
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@Threads(4)
+public class DataContainerBenchmark {
+
+   @Benchmark
+   public InternalCacheEntry<Object, Object> get(ContainerState state) {
+      return state.container.get(state.keys[ThreadLocalRandom.current().nextInt(CacheState.KEY_COUNT)]);
+   }
+
+   @Benchmark
+   public InternalCacheEntry<Object, Object> peek(ContainerState state) {
+      return state.container.peek(state.keys[ThreadLocalRandom.current().nextInt(CacheState.KEY_COUNT)]);
+   }
+
+   @Benchmark
+   public void put(ContainerState state) {
+      int i = ThreadLocalRandom.current().nextInt(CacheState.KEY_COUNT);
+      state.container.put(state.keys[i], state.values[i], state.metadata);
+   }
+
+   @State(Scope.Benchmark)
+   public static class ContainerState {
+      @Param({"OBJECT", "BINARY", "OFF_HEAP"})
+      public StorageType storageType;
+
+      private final List<EmbeddedCacheManager> cacheManagers = new ArrayList<>(1);
+      DataContainer<Object, Object> container;
+      Metadata metadata;
+      Object[] keys;
+      Object[] values;
+
+      @Setup(Level.Trial)
+      public void setup() {
+         ConfigurationBuilder builder = new ConfigurationBuilder();
+         builder.memory().storageType(storageType);
+         EmbeddedCacheManager cacheManager = CacheManagers.create(false, CacheState.CACHE_NAME, builder.build());
+         cacheManagers.add(cacheManager);
+         AdvancedCache<Object, Object> cache = cacheManager.getCache(CacheState.CACHE_NAME).getAdvancedCache();
+         container = cache.getDataContainer();
+         metadata = new EmbeddedMetadata.Builder().build();
+
+         DataConversion keyConversion = cache.getKeyDataConversion();
+         DataConversion valueConversion = cache.getValueDataConversion();
+         keys = new Object[CacheState.KEY_COUNT];
+         values = new Object[CacheState.KEY_COUNT];
+         for (int i = 0; i < CacheState.KEY_COUNT; i++) {
+            keys[i] = keyConversion.toStorage("key" + i);
+            values[i] = valueConversion.toStorage("value" + i);
+            container.put(keys[i], values[i], metadata);
+         }
+      }
+
+      @TearDown(Level.Trial)
+      public void tearDown() {
+         CacheManagers.stop(cacheManagers);
+      }
+   }
+}
@@ -0,0 +1,108 @@
+package org.infinispan.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.server.hotrod.HotRodServer;
+import org.infinispan.server.hotrod.configuration.HotRodServerConfigurationBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures get and put requests through a {@link HotRodServer} over the loopback interface, so that the numbers
+ * include the encoding and decoding of the Hot Rod requests and responses on both the client and the server side.
+ * The server runs a local cache, leaving the clustering to the {@link CacheBenchmark}.
+ *
+ * @since 9.2
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@Threads(4)
+public class HotRodBenchmark {
+
+   @Benchmark
+   public String get(HotRodState state) {
+      return state.remoteCache.get(state.keys[ThreadLocalRandom.current().nextInt(CacheState.KEY_COUNT)]);
+   }
+
+   @Benchmark
+   public String put(HotRodState state) {
+      int i = ThreadLocalRandom.current().nextInt(CacheState.KEY_COUNT);
+      return state.remoteCache.put(state.keys[i], state.values[i]);
+   }
+
+   @State(Scope.Benchmark)
+   public static class HotRodState {
+      static final String HOST = "127.0.0.1";
+
+      @Param({"OBJECT", "OFF_HEAP"})
+      public StorageType storageType;
+
+      @Param("11322")
+      public int port;
+
+      private final List<EmbeddedCacheManager> cacheManagers = new ArrayList<>(1);
+      private HotRodServer server;
+      private RemoteCacheManager remoteCacheManager;
+      RemoteCache<String, String> remoteCache;
+      String[] keys;
+      String[] values;
+
+      @Setup(Level.Trial)
+      public void setup() {
+         ConfigurationBuilder builder = new ConfigurationBuilder();
+         builder.memory().storageType(storageType);
+         EmbeddedCacheManager cacheManager = CacheManagers.create(false, CacheState.CACHE_NAME, builder.build());
+         cacheManagers.add(cacheManager);
+
+         server = new HotRodServer();
+         server.start(new HotRodServerConfigurationBuilder().host(HOST).port(port)
+               .defaultCacheName(CacheState.CACHE_NAME).build(), cacheManager);
+
+         org.infinispan.client.hotrod.configuration.ConfigurationBuilder clientBuilder =
+               new org.infinispan.client.hotrod.configuration.ConfigurationBuilder();
+         clientBuilder.addServer().host(HOST).port(port);
+         remoteCacheManager = new RemoteCacheManager(clientBuilder.build());
+         remoteCache = remoteCacheManager.getCache(CacheState.CACHE_NAME);
+
+         keys = new String[CacheState.KEY_COUNT];
+         values = new String[CacheState.KEY_COUNT];
+         for (int i = 0; i < CacheState.KEY_COUNT; i++) {
+            keys[i] = "key" + i;
+            values[i] = "value" + i;
+            remoteCache.put(keys[i], values[i]);
+         }
+      }
+
+      @TearDown(Level.Trial)
+      public void tearDown() {
+         if (remoteCacheManager != null)
+            remoteCacheManager.stop();
+         if (server != null)
+            server.stop();
+         CacheManagers.stop(cacheManagers);
+      }
+   }
+}
@@ -0,0 +1,107 @@
+package org.infinispan.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.commands.CommandsFactory;
+import org.infinispan.commons.util.EnumUtil;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.context.InvocationContextFactory;
+import org.infinispan.encoding.DataConversion;
+import org.infinispan.interceptors.AsyncInterceptorChain;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.metadata.EmbeddedMetadata;
+import org.infinispan.metadata.Metadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the invocation of commands on the {@link AsyncInterceptorChain} of a local, non-transactional cache,
+ * without the key and value conversions and the flag handling of {@code CacheImpl}. The difference with the local
+ * {@link CacheBenchmark} is the cost of the cache API itself; the rest is the cost of {@code AsyncInterceptorChainImpl},
+ * {@code EntryWrappingInterceptor} and the other interceptors of the chain.
+ *
+ * @since 9.2
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@Threads(4)
+public class InterceptorChainBenchmark {
+
+   @Benchmark
+   public Object get(ChainState state) {
+      int i = ThreadLocalRandom.current().nextInt(CacheState.KEY_COUNT);
+      return state.chain.invoke(state.contextFactory.createInvocationContext(false, 1),
+            state.commandsFactory.buildGetKeyValueCommand(state.keys[i], EnumUtil.EMPTY_BIT_SET));
+   }
+
+   @Benchmark
+   public Object put(ChainState state) {
+      int i = ThreadLocalRandom.current().nextInt(CacheState.KEY_COUNT);
+      return state.chain.invoke(state.contextFactory.createInvocationContext(true, 1),
+            state.commandsFactory.buildPutKeyValueCommand(state.keys[i], state.values[i], state.metadata,
+                  EnumUtil.EMPTY_BIT_SET));
+   }
+
+   @State(Scope.Benchmark)
+   public static class ChainState {
+      @Param({"OBJECT", "OFF_HEAP"})
+      public StorageType storageType;
+
+      private final List<EmbeddedCacheManager> cacheManagers = new ArrayList<>(1);
+      AsyncInterceptorChain chain;
+      CommandsFactory commandsFactory;
+      InvocationContextFactory contextFactory;
+      Metadata metadata;
+      Object[] keys;
+      Object[] values;
+
+      @Setup(Level.Trial)
+      public void setup() {
+         ConfigurationBuilder builder = new ConfigurationBuilder();
+         builder.memory().storageType(storageType);
+         EmbeddedCacheManager cacheManager = CacheManagers.create(false, CacheState.CACHE_NAME, builder.build());
+         cacheManagers.add(cacheManager);
+         AdvancedCache<Object, Object> cache = cacheManager.getCache(CacheState.CACHE_NAME).getAdvancedCache();
+         chain = cache.getAsyncInterceptorChain();
+         commandsFactory = cache.getComponentRegistry().getComponent(CommandsFactory.class);
+         contextFactory = cache.getComponentRegistry().getComponent(InvocationContextFactory.class);
+         metadata = new EmbeddedMetadata.Builder().build();
+
+         // The commands carry the keys and values in their storage form, as CacheImpl converts them
+         DataConversion keyConversion = cache.getKeyDataConversion();
+         DataConversion valueConversion = cache.getValueDataConversion();
+         keys = new Object[CacheState.KEY_COUNT];
+         values = new Object[CacheState.KEY_COUNT];
+         for (int i = 0; i < CacheState.KEY_COUNT; i++) {
+            keys[i] = keyConversion.toStorage("key" + i);
+            values[i] = valueConversion.toStorage("value" + i);
+            cache.put("key" + i, "value" + i);
+         }
+      }
+
+      @TearDown(Level.Trial)
+      public void tearDown() {
+         CacheManagers.stop(cacheManagers);
+      }
+   }
+}
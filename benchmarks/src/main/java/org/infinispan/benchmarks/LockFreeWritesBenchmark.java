@@ -0,0 +1,93 @@
+package org.infinispan.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the writes of a local cache going through the locking interceptor with the lock-free writes applied in the
+ * data container, when all the threads write the same few keys.
+ *
+ * @since 9.2
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@Threads(8)
+public class LockFreeWritesBenchmark {
+
+   @Benchmark
+   public String put(WritesState state) {
+      int i = ThreadLocalRandom.current().nextInt(state.keyCount);
+      return state.cache.put(state.keys[i], state.values[i]);
+   }
+
+   @Benchmark
+   public boolean replace(WritesState state) {
+      int i = ThreadLocalRandom.current().nextInt(state.keyCount);
+      return state.cache.replace(state.keys[i], state.values[i], state.values[i]);
+   }
+
+   @Benchmark
+   public String putIfAbsent(WritesState state) {
+      int i = ThreadLocalRandom.current().nextInt(state.keyCount);
+      return state.cache.putIfAbsent(state.keys[i], state.values[i]);
+   }
+
+   @State(Scope.Benchmark)
+   public static class WritesState {
+      @Param({"false", "true"})
+      public boolean lockFreeWrites;
+
+      @Param({"1", "16"})
+      public int keyCount;
+
+      private final List<EmbeddedCacheManager> cacheManagers = new ArrayList<>(1);
+      Cache<String, String> cache;
+      String[] keys;
+      String[] values;
+
+      @Setup(Level.Trial)
+      public void setup() {
+         ConfigurationBuilder builder = new ConfigurationBuilder();
+         builder.locking().lockFreeWrites(lockFreeWrites);
+         EmbeddedCacheManager cacheManager = CacheManagers.create(false, CacheState.CACHE_NAME, builder.build());
+         cacheManagers.add(cacheManager);
+         cache = cacheManager.getCache(CacheState.CACHE_NAME);
+
+         keys = new String[keyCount];
+         values = new String[keyCount];
+         for (int i = 0; i < keyCount; i++) {
+            keys[i] = "key" + i;
+            values[i] = "value" + i;
+            cache.put(keys[i], values[i]);
+         }
+      }
+
+      @TearDown(Level.Trial)
+      public void tearDown() {
+         CacheManagers.stop(cacheManagers);
+      }
+   }
+}
@@ -0,0 +1,88 @@
+package org.infinispan.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.io.ByteBuffer;
+import org.infinispan.commons.marshall.StreamingMarshaller;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.metadata.EmbeddedMetadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the {@code GlobalMarshaller}, which marshalls the commands replicated between the nodes, the entries
+ * written to the stores and the off-heap entries.
+ *
+ * @since 9.2
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@Threads(4)
+public class MarshallerBenchmark {
+
+   @Benchmark
+   public ByteBuffer marshall(MarshallerState state) throws Exception {
+      return state.marshaller.objectToBuffer(state.object);
+   }
+
+   @Benchmark
+   public Object unmarshall(MarshallerState state) throws Exception {
+      return state.marshaller.objectFromByteBuffer(state.bytes);
+   }
+
+   @State(Scope.Benchmark)
+   public static class MarshallerState {
+      @Param({"string", "bytes", "metadata"})
+      public String type;
+
+      private final List<EmbeddedCacheManager> cacheManagers = new ArrayList<>(1);
+      StreamingMarshaller marshaller;
+      Object object;
+      byte[] bytes;
+
+      @Setup(Level.Trial)
+      public void setup() throws Exception {
+         EmbeddedCacheManager cacheManager = CacheManagers.create(false, CacheState.CACHE_NAME,
+               new ConfigurationBuilder().build());
+         cacheManagers.add(cacheManager);
+         marshaller = cacheManager.getGlobalComponentRegistry().getComponent(StreamingMarshaller.class);
+         switch (type) {
+            case "string":
+               object = "value-of-a-typical-cache-entry";
+               break;
+            case "bytes":
+               object = new byte[256];
+               break;
+            case "metadata":
+               object = new EmbeddedMetadata.Builder().lifespan(TimeUnit.MINUTES.toMillis(10)).build();
+               break;
+            default:
+               throw new IllegalArgumentException(type);
+         }
+         bytes = marshaller.objectToByteBuffer(object);
+      }
+
+      @TearDown(Level.Trial)
+      public void tearDown() {
+         CacheManagers.stop(cacheManagers);
+      }
+   }
+}
@@ -0,0 +1,83 @@
+package org.infinispan.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.eviction.EvictionType;
+import org.infinispan.eviction.OffHeapEvictionMode;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the read and write throughput of a bounded off-heap cache using each of the eviction modes, with as many
+ * threads as there are processors.
+ *
+ * @since 9.2
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@Threads(Threads.MAX)
+public class OffHeapEvictionModeBenchmark {
+
+   @Benchmark
+   public Integer get(EvictionState state) {
+      return state.cache.get(ThreadLocalRandom.current().nextInt(EvictionState.MAX_ENTRIES));
+   }
+
+   @Benchmark
+   public Integer putWithEviction(EvictionState state) {
+      // Twice as many keys as the container can hold, so half of the puts evict
+      int key = ThreadLocalRandom.current().nextInt(2 * EvictionState.MAX_ENTRIES);
+      return state.cache.put(key, key);
+   }
+
+   @State(Scope.Benchmark)
+   public static class EvictionState {
+      static final int MAX_ENTRIES = 100_000;
+
+      @Param({"LRU", "STRIPED_LRU", "TINY_LFU"})
+      public OffHeapEvictionMode evictionMode;
+
+      private final List<EmbeddedCacheManager> cacheManagers = new ArrayList<>(1);
+      Cache<Integer, Integer> cache;
+
+      @Setup(Level.Trial)
+      public void setup() {
+         ConfigurationBuilder builder = new ConfigurationBuilder();
+         builder.memory().storageType(StorageType.OFF_HEAP).evictionType(EvictionType.COUNT).size(MAX_ENTRIES)
+               .offHeapEvictionMode(evictionMode);
+         EmbeddedCacheManager cacheManager = CacheManagers.create(false, CacheState.CACHE_NAME, builder.build());
+         cacheManagers.add(cacheManager);
+         cache = cacheManager.getCache(CacheState.CACHE_NAME);
+         for (int i = 0; i < MAX_ENTRIES; ++i) {
+            cache.put(i, i);
+         }
+      }
+
+      @TearDown(Level.Trial)
+      public void tearDown() {
+         CacheManagers.stop(cacheManagers);
+      }
+   }
+}
@@ -0,0 +1,10 @@
+/**
+ * JMH benchmarks of the hot paths of the embedded cache and of the Hot Rod protocol.
+ * <p>
+ * Build the module with {@code mvn package}, then run all the benchmarks with {@code java -jar target/benchmarks.jar},
+ * or a subset of them and of their parameters with the usual JMH options, e.g.
+ * {@code java -jar target/benchmarks.jar CacheBenchmark -p cacheMode=DIST_SYNC -p storageType=OFF_HEAP}.
+ * The clustered benchmarks start all their nodes in the benchmark JVM, connected by the in-process JGroups stack in
+ * {@code benchmark-jgroups.xml}.
+ */
+package org.infinispan.benchmarks;
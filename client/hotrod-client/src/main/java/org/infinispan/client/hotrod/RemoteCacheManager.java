@@ -13,6 +13,7 @@
 import org.infinispan.client.hotrod.configuration.Configuration;
 import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
 import org.infinispan.client.hotrod.configuration.NearCacheConfiguration;
+import org.infinispan.client.hotrod.configuration.NearCacheMode;
 import org.infinispan.client.hotrod.event.ClientListenerNotifier;
 import org.infinispan.client.hotrod.exceptions.HotRodClientException;
 import org.infinispan.client.hotrod.impl.InvalidatedNearRemoteCache;
@@ -21,9 +22,11 @@
 import org.infinispan.client.hotrod.impl.operations.OperationsFactory;
 import org.infinispan.client.hotrod.impl.operations.PingOperation.PingResult;
 import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.protocol.Codec20;
 import org.infinispan.client.hotrod.impl.protocol.CodecFactory;
 import org.infinispan.client.hotrod.impl.protocol.HotRodConstants;
 import org.infinispan.client.hotrod.impl.transport.TransportFactory;
+import org.infinispan.client.hotrod.impl.transport.netty.PipelinedTransport;
 import org.infinispan.client.hotrod.impl.transport.tcp.TcpTransportFactory;
 import org.infinispan.client.hotrod.logging.Log;
 import org.infinispan.client.hotrod.logging.LogFactory;
@@ -69,6 +72,7 @@ public class RemoteCacheManager implements RemoteCacheContainer, Closeable {
    private Marshaller marshaller;
    protected TransportFactory transportFactory;
    private ExecutorService asyncExecutorService;
+   private PipelinedTransport pipelinedTransport;
    protected ClientListenerNotifier listenerNotifier;
    private final Runnable start = this::start;
    private final Runnable stop = this::stop;
@@ -203,6 +207,15 @@ public void start() {
       listenerNotifier = ClientListenerNotifier.create(codec, marshaller, transportFactory, configuration.serialWhitelist());
       transportFactory.start(codec, configuration, defaultCacheTopologyId, listenerNotifier);
 
+      if (configuration.pipelining()) {
+         if (configuration.security().ssl().enabled() || configuration.security().authentication().enabled()
+               || configuration.nearCache().mode() != NearCacheMode.DISABLED || !(codec instanceof Codec20)) {
+            log.pipeliningNotSupported();
+         } else {
+            pipelinedTransport = new PipelinedTransport(transportFactory);
+         }
+      }
+
       synchronized (cacheName2RemoteCache) {
          for (RemoteCacheHolder rcc : cacheName2RemoteCache.values()) {
             startRemoteCache(rcc);
@@ -245,6 +258,10 @@ private final void warnAboutUberJarDuplicates() {
    public void stop() {
       if (isStarted()) {
          listenerNotifier.stop();
+         if (pipelinedTransport != null) {
+            pipelinedTransport.stop();
+            pipelinedTransport = null;
+         }
          transportFactory.destroy();
          asyncExecutorService.shutdownNow();
       }
@@ -324,7 +341,7 @@ private void startRemoteCache(RemoteCacheHolder remoteCacheHolder) {
               transportFactory, remoteCache.getName(), remoteCacheHolder.forceReturnValue, codec, listenerNotifier,
             asyncExecutorService, configuration);
       remoteCache.init(marshaller, asyncExecutorService, operationsFactory, configuration.keySizeEstimate(),
-            configuration.valueSizeEstimate(), configuration.batchSize());
+            configuration.valueSizeEstimate(), configuration.batchSize(), pipelinedTransport);
    }
 
    @Override
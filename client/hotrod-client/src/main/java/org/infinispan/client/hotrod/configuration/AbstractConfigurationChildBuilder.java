@@ -175,6 +175,11 @@ public ConfigurationBuilder batchSize(int batchSize) {
       return builder.batchSize(batchSize);
    }
 
+   @Override
+   public ConfigurationBuilder pipelining(boolean pipelining) {
+      return builder.pipelining(pipelining);
+   }
+
    @Override
    public ConfigurationBuilder withProperties(Properties properties) {
       return builder.withProperties(properties);
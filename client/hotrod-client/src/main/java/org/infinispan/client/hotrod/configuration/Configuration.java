@@ -50,13 +50,14 @@ public class Configuration {
    private final List<ClusterConfiguration> clusters;
    private final List<String> serialWhitelist;
    private final int batchSize;
+   private final boolean pipelining;
 
    Configuration(ExecutorFactoryConfiguration asyncExecutorFactory, Class<? extends FailoverRequestBalancingStrategy> balancingStrategyClass, FailoverRequestBalancingStrategy balancingStrategy, ClassLoader classLoader,
          ClientIntelligence clientIntelligence, ConnectionPoolConfiguration connectionPool, int connectionTimeout, Class<? extends ConsistentHash>[] consistentHashImpl, boolean forceReturnValues, int keySizeEstimate,
          Marshaller marshaller, Class<? extends Marshaller> marshallerClass,
          ProtocolVersion protocolVersion, List<ServerConfiguration> servers, int socketTimeout, SecurityConfiguration security, boolean tcpNoDelay, boolean tcpKeepAlive,
          Class<? extends TransportFactory> transportFactory, int valueSizeEstimate, int maxRetries, NearCacheConfiguration nearCache,
-         List<ClusterConfiguration> clusters, List<String> serialWhitelist, int batchSize) {
+         List<ClusterConfiguration> clusters, List<String> serialWhitelist, int batchSize, boolean pipelining) {
       this.asyncExecutorFactory = asyncExecutorFactory;
       this.balancingStrategyClass = balancingStrategyClass;
       this.balancingStrategy = balancingStrategy;
@@ -82,6 +83,7 @@ public class Configuration {
       this.clusters = clusters;
       this.serialWhitelist = serialWhitelist;
       this.batchSize = batchSize;
+      this.pipelining = pipelining;
    }
 
    public ExecutorFactoryConfiguration asyncExecutorFactory() {
@@ -197,6 +199,10 @@ public int batchSize() {
       return batchSize;
    }
 
+   public boolean pipelining() {
+      return pipelining;
+   }
+
    @Override
    public String toString() {
       return "Configuration [asyncExecutorFactory=" + asyncExecutorFactory + ", balancingStrategyClass=" + balancingStrategyClass + ", balancingStrategy=" + balancingStrategy
@@ -207,6 +213,7 @@ public String toString() {
             + ", transportFactory=" + transportFactory + ", valueSizeEstimate=" + valueSizeEstimate + ", maxRetries=" + maxRetries
             + ", serialWhiteList=" + serialWhitelist
             + ", batchSize=" + batchSize
+            + ", pipelining=" + pipelining
             + "nearCache=" + nearCache + "]";
    }
 
@@ -313,6 +320,8 @@ public Properties properties() {
 
       properties.setProperty(ConfigurationProperties.BATCH_SIZE, Integer.toString(batchSize));
 
+      properties.setProperty(ConfigurationProperties.PIPELINING, Boolean.toString(pipelining));
+
       return properties;
    }
 }
@@ -72,6 +72,7 @@ public class ConfigurationBuilder implements ConfigurationChildBuilder, Builder<
    private final NearCacheConfigurationBuilder nearCache;
    private final List<String> whiteListRegExs = new ArrayList<>();
    private int batchSize = ConfigurationProperties.DEFAULT_BATCH_SIZE;
+   private boolean pipelining = false;
 
    private final List<ClusterConfigurationBuilder> clusters = new ArrayList<ClusterConfigurationBuilder>();
 
@@ -300,6 +301,12 @@ public ConfigurationBuilder batchSize(int batchSize) {
       return this;
    }
 
+   @Override
+   public ConfigurationBuilder pipelining(boolean pipelining) {
+      this.pipelining = pipelining;
+      return this;
+   }
+
    @Override
    public ConfigurationBuilder withProperties(Properties properties) {
       TypedProperties typed = TypedProperties.toTypedProperties(properties);
@@ -352,6 +359,7 @@ public ConfigurationBuilder withProperties(Properties properties) {
       }
 
       this.batchSize(typed.getIntProperty(ConfigurationProperties.BATCH_SIZE, batchSize, true));
+      this.pipelining(typed.getBooleanProperty(ConfigurationProperties.PIPELINING, pipelining, true));
 
       return this;
    }
@@ -393,7 +401,7 @@ public Configuration create() {
 
       return new Configuration(asyncExecutorFactory.create(), balancingStrategyClass, balancingStrategy, classLoader == null ? null : classLoader.get(), clientIntelligence, connectionPool.create(), connectionTimeout,
             consistentHashImpl, forceReturnValues, keySizeEstimate, marshaller, marshallerClass, protocolVersion, servers, socketTimeout, security.create(), tcpNoDelay, tcpKeepAlive, transportFactory,
-            valueSizeEstimate, maxRetries, nearCache.create(), serverClusterConfigs, whiteListRegExs, batchSize);
+            valueSizeEstimate, maxRetries, nearCache.create(), serverClusterConfigs, whiteListRegExs, batchSize, pipelining);
    }
 
    @Override
@@ -437,6 +445,7 @@ public ConfigurationBuilder read(Configuration template) {
       this.maxRetries = template.maxRetries();
       this.nearCache.read(template.nearCache());
       this.whiteListRegExs.addAll(template.serialWhitelist());
+      this.pipelining = template.pipelining();
 
       return this;
    }
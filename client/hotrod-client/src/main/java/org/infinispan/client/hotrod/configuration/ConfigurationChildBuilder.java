@@ -195,6 +195,16 @@ public interface ConfigurationChildBuilder {
     */
    ConfigurationBuilder batchSize(int batchSize);
 
+   /**
+    * Whether the asynchronous key operations (<code>getAsync</code>, <code>putAsync</code> and
+    * <code>removeAsync</code>) should be sent over a non-blocking connection that multiplexes many in-flight requests
+    * by message id, instead of borrowing a pooled connection on the async executor. Only used with protocol version 2.0
+    * or later, when neither SSL, authentication nor near caching is enabled. Defaults to false.
+    * @param pipelining whether to pipeline the asynchronous key operations
+    * @return this configuration builder with pipelining set
+    */
+   ConfigurationBuilder pipelining(boolean pipelining);
+
    /**
     * Configures this builder using the specified properties
     */
@@ -63,6 +63,7 @@ public class ConfigurationProperties {
          Pattern.compile('^' + ConfigurationProperties.SASL_PROPERTIES_PREFIX + '.');
    public static final String JAVA_SERIAL_WHITELIST = "infinispan.client.hotrod.java_serial_whitelist";
    public static final String BATCH_SIZE = "infinispan.client.hotrod.batch_size";
+   public static final String PIPELINING = "infinispan.client.hotrod.pipelining";
 
    // defaults
 
@@ -194,6 +195,10 @@ public int getBatchSize() {
       return props.getIntProperty(BATCH_SIZE, DEFAULT_BATCH_SIZE);
    }
 
+   public boolean getPipelining() {
+      return props.getBooleanProperty(PIPELINING, false);
+   }
+
    /**
     * Is version previous to, and not including, 1.2?
     */
@@ -55,6 +55,7 @@
 import org.infinispan.client.hotrod.impl.operations.ReplaceOperation;
 import org.infinispan.client.hotrod.impl.operations.SizeOperation;
 import org.infinispan.client.hotrod.impl.operations.StatsOperation;
+import org.infinispan.client.hotrod.impl.transport.netty.PipelinedTransport;
 import org.infinispan.client.hotrod.logging.Log;
 import org.infinispan.client.hotrod.logging.LogFactory;
 import org.infinispan.commons.marshall.Marshaller;
@@ -85,6 +86,7 @@
    private int estimateValueSize;
    private int batchSize;
    private volatile boolean hasCompatibility;
+   private volatile PipelinedTransport pipelinedTransport;
 
    private final Runnable clear = this::clear;
 
@@ -97,13 +99,14 @@ public RemoteCacheImpl(RemoteCacheManager rcm, String name) {
    }
 
    public void init(Marshaller marshaller, ExecutorService executorService, OperationsFactory operationsFactory,
-         int estimateKeySize, int estimateValueSize, int batchSize) {
+         int estimateKeySize, int estimateValueSize, int batchSize, PipelinedTransport pipelinedTransport) {
       this.marshaller = marshaller;
       this.executorService = executorService;
       this.operationsFactory = operationsFactory;
       this.estimateKeySize = estimateKeySize;
       this.estimateValueSize = estimateValueSize;
       this.batchSize = batchSize;
+      this.pipelinedTransport = pipelinedTransport;
    }
 
    public OperationsFactory getOperationsFactory() {
@@ -298,6 +301,11 @@ public boolean replace(K key, V oldValue, V value, long lifespan, TimeUnit lifes
    @Override
    public CompletableFuture<V> putAsync(final K key, final V value, final long lifespan, final TimeUnit lifespanUnit, final long maxIdle, final TimeUnit maxIdleUnit) {
       assertRemoteCacheManagerIsStarted();
+      if (pipelinedTransport != null) {
+         PutOperation<V> op = operationsFactory.newPutKeyValueOperation(compatKeyIfNeeded(key),
+            obj2bytes(key, true), obj2bytes(value, false), lifespan, lifespanUnit, maxIdle, maxIdleUnit);
+         return pipelinedTransport.execute(op);
+      }
       int flags = operationsFactory.flags();
       return CompletableFuture.supplyAsync(() -> {
          if (flags != 0)
@@ -326,6 +334,10 @@ public CompletableFuture<V> putIfAbsentAsync(final K key,final V value,final lon
    @Override
    public CompletableFuture<V> removeAsync(final Object key) {
       assertRemoteCacheManagerIsStarted();
+      if (pipelinedTransport != null) {
+         RemoveOperation<V> op = operationsFactory.newRemoveOperation(compatKeyIfNeeded(key), obj2bytes(key, true));
+         return pipelinedTransport.execute(op);
+      }
       int flags = operationsFactory.flags();
       return CompletableFuture.supplyAsync(() -> {
          if (flags != 0)
@@ -501,6 +513,10 @@ public RemoteCache<K, V> withFlags(Flag... flags) {
    @Override
    public CompletableFuture<V> getAsync(final K key) {
       assertRemoteCacheManagerIsStarted();
+      if (pipelinedTransport != null) {
+         GetOperation<V> op = operationsFactory.newGetKeyOperation(compatKeyIfNeeded(key), obj2bytes(key, true));
+         return pipelinedTransport.execute(op);
+      }
       return CompletableFuture.supplyAsync(() -> get(key), executorService);
    }
 
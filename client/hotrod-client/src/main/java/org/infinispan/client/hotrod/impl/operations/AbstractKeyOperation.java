@@ -41,16 +41,25 @@ protected Transport getTransport(int retryCount, Set<SocketAddress> failedServer
       }
    }
 
+   public SocketAddress getServer(Set<SocketAddress> failedServers) {
+      return transportFactory.getServer(key == null ? keyBytes : key, failedServers, cacheName);
+   }
+
    protected short sendKeyOperation(byte[] key, Transport transport, byte opCode, byte opRespCode) {
       // 1) write [header][key length][key]
-      HeaderParams params = writeHeader(transport, opCode);
-      transport.writeArray(key);
+      HeaderParams params = writeKeyOperation(key, transport, opCode);
       transport.flush();
 
       // 2) now read the header
       return readHeaderAndValidate(transport, params);
    }
 
+   protected HeaderParams writeKeyOperation(byte[] key, Transport transport, byte opCode) {
+      HeaderParams params = writeHeader(transport, opCode);
+      transport.writeArray(key);
+      return params;
+   }
+
    protected T returnPossiblePrevValue(Transport transport, short status) {
       return (T) codec.returnPossiblePrevValue(transport, status, flags, cfg.serialWhitelist());
    }
@@ -259,15 +259,17 @@ protected void readNewTopologyAndHash(Transport transport, AtomicInteger topolog
          localLog.newTopology(transport.getRemoteSocketAddress(), newTopologyId, topologyAge,
                socketAddresses.size(), socketAddresses);
       }
-      transport.getTransportFactory().updateServers(socketAddresses, cacheName, false);
-      if (hashFunctionVersion == 0) {
-         localLog.trace("Not using a consistent hash function (version 0).");
-      } else if (hashFunctionVersion == 1) {
-         localLog.trace("Ignoring obsoleted consistent hash function (version 1)");
-      } else {
-         transport.getTransportFactory().updateHashFunction(
-               servers2Hash, numKeyOwners, hashFunctionVersion, hashSpace, cacheName, topologyId);
-      }
+      transport.updateTopology(() -> {
+         transport.getTransportFactory().updateServers(socketAddresses, cacheName, false);
+         if (hashFunctionVersion == 0) {
+            localLog.trace("Not using a consistent hash function (version 0).");
+         } else if (hashFunctionVersion == 1) {
+            localLog.trace("Ignoring obsoleted consistent hash function (version 1)");
+         } else {
+            transport.getTransportFactory().updateHashFunction(
+                  servers2Hash, numKeyOwners, hashFunctionVersion, hashSpace, cacheName, topologyId);
+         }
+      });
    }
 
    protected Map<SocketAddress, Set<Integer>> computeNewHashes(Transport transport,
@@ -437,17 +437,19 @@ protected void readNewTopologyAndHash(Transport transport, HeaderParams params)
             localLog.newTopology(transport.getRemoteSocketAddress(), newTopologyId, topologyAge,
                addresses.length, new HashSet<>(addressList));
          }
-         transportFactory.updateServers(addressList, params.cacheName, false);
-         if (hashFunctionVersion >= 0) {
-            if (trace) {
-               if (hashFunctionVersion == 0)
-                  localLog.trace("Not using a consistent hash function (hash function version == 0).");
-               else
-                  localLog.tracef("Updating client hash function with %s number of segments", segmentOwners.length);
+         transport.updateTopology(() -> {
+            transportFactory.updateServers(addressList, params.cacheName, false);
+            if (hashFunctionVersion >= 0) {
+               if (trace) {
+                  if (hashFunctionVersion == 0)
+                     localLog.trace("Not using a consistent hash function (hash function version == 0).");
+                  else
+                     localLog.tracef("Updating client hash function with %s number of segments", segmentOwners.length);
+               }
+               transportFactory.updateHashFunction(segmentOwners,
+                     segmentOwners.length, hashFunctionVersion, params.cacheName, params.topologyId);
             }
-            transportFactory.updateHashFunction(segmentOwners,
-                  segmentOwners.length, hashFunctionVersion, params.cacheName, params.topologyId);
-         }
+         });
       } else {
          if (trace)
             localLog.tracef("Outdated topology received (topology id = %s, topology age = %s), so ignoring it: %s",
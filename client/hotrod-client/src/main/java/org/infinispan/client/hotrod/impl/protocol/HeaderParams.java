@@ -44,6 +44,10 @@ public HeaderParams clientIntel(ClientIntelligence clientIntel) {
       return this;
    }
 
+   public byte clientIntel() {
+      return clientIntel;
+   }
+
    public HeaderParams txMarker(byte txMarker) {
       this.txMarker = txMarker;
       return this;
@@ -59,6 +63,10 @@ public HeaderParams messageId(long messageId) {
       return this;
    }
 
+   public long messageId() {
+      return messageId;
+   }
+
    public HeaderParams topologyAge(int topologyAge) {
       this.topologyAge = topologyAge;
       return this;
@@ -111,6 +111,11 @@ public TransportFactory getTransportFactory() {
       return transportFactory;
    }
 
+   @Override
+   public void updateTopology(Runnable update) {
+      update.run();
+   }
+
    @Override
    public void writeArray(byte[] toAppend) {
       writeVInt(toAppend.length);
@@ -76,6 +76,12 @@ public interface Transport {
     */
    void invalidate();
 
+   /**
+    * Applies the changes to the topology read from a response. Transports that read responses on a thread that must
+    * not block, such as an event loop, run the update on another thread.
+    */
+   void updateTopology(Runnable update);
+
    boolean isValid();
 
    void setBusy(boolean busy);
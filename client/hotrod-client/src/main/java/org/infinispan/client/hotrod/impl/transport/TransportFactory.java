@@ -58,6 +58,12 @@ void updateHashFunction(SocketAddress[][] segmentOwners, int numSegments, short
 
    Transport getTransport(Object key, Set<SocketAddress> failedServers, byte[] cacheName);
 
+   /**
+    * Returns the server that {@link #getTransport(Object, Set, byte[])} would connect to, without borrowing a
+    * transport.
+    */
+   SocketAddress getServer(Object key, Set<SocketAddress> failedServers, byte[] cacheName);
+
    boolean isTcpNoDelay();
 
    boolean isTcpKeepAlive();
@@ -0,0 +1,153 @@
+package org.infinispan.client.hotrod.impl.transport.netty;
+
+import java.net.SocketAddress;
+import java.util.concurrent.Executor;
+
+import org.infinispan.client.hotrod.impl.transport.AbstractTransport;
+import org.infinispan.client.hotrod.impl.transport.TransportFactory;
+import org.infinispan.commons.io.SignedNumeric;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+
+/**
+ * Transport that writes requests to and reads responses from a Netty {@link ByteBuf} instead of a socket.
+ * <p>
+ * Reads never block: responses are only read once {@link ResponseFrame} found them complete, and reading past the end
+ * of the response throws an {@link IndexOutOfBoundsException}. Responses are read on the event loop, so topology updates
+ * run on a separate executor.
+ *
+ * @since 9.2
+ */
+class ByteBufTransport extends AbstractTransport {
+   private final SocketAddress serverAddress;
+   private final ByteBuf buf;
+   private final Executor topologyExecutor;
+   private boolean invalid;
+
+   ByteBufTransport(TransportFactory transportFactory, SocketAddress serverAddress, ByteBuf buf,
+                    Executor topologyExecutor) {
+      super(transportFactory);
+      this.serverAddress = serverAddress;
+      this.buf = buf;
+      this.topologyExecutor = topologyExecutor;
+   }
+
+   @Override
+   public void writeVInt(int vInt) {
+      while ((vInt & ~0x7F) != 0) {
+         buf.writeByte((vInt & 0x7F) | 0x80);
+         vInt >>>= 7;
+      }
+      buf.writeByte(vInt);
+   }
+
+   @Override
+   public void writeSignedVInt(int vInt) {
+      writeVInt(SignedNumeric.encode(vInt));
+   }
+
+   @Override
+   public void writeVLong(long l) {
+      while ((l & ~0x7FL) != 0) {
+         buf.writeByte((int) ((l & 0x7F) | 0x80));
+         l >>>= 7;
+      }
+      buf.writeByte((int) l);
+   }
+
+   @Override
+   public long readVLong() {
+      byte b = buf.readByte();
+      long i = b & 0x7F;
+      for (int shift = 7; (b & 0x80) != 0; shift += 7) {
+         b = buf.readByte();
+         i |= (b & 0x7FL) << shift;
+      }
+      return i;
+   }
+
+   @Override
+   public int readVInt() {
+      byte b = buf.readByte();
+      int i = b & 0x7F;
+      for (int shift = 7; (b & 0x80) != 0; shift += 7) {
+         b = buf.readByte();
+         i |= (b & 0x7F) << shift;
+      }
+      return i;
+   }
+
+   @Override
+   protected void writeBytes(byte[] toAppend) {
+      buf.writeBytes(toAppend);
+   }
+
+   @Override
+   protected void writeBytes(byte[] toAppend, int offset, int count) {
+      buf.writeBytes(toAppend, offset, count);
+   }
+
+   @Override
+   public void writeByte(short toWrite) {
+      buf.writeByte(toWrite);
+   }
+
+   @Override
+   public void flush() {
+      // The buffer is written to the channel as a whole once the request is complete
+   }
+
+   @Override
+   public short readByte() {
+      return buf.readUnsignedByte();
+   }
+
+   @Override
+   public void release() {
+      // Nothing to release, the channel owns the buffer
+   }
+
+   @Override
+   public void readByteArray(byte[] buffer, int size) {
+      buf.readBytes(buffer, 0, size);
+   }
+
+   @Override
+   public byte[] readByteArray(int size) {
+      byte[] bytes = new byte[size];
+      buf.readBytes(bytes);
+      return bytes;
+   }
+
+   @Override
+   public byte[] dumpStream() {
+      return ByteBufUtil.getBytes(buf);
+   }
+
+   @Override
+   public SocketAddress getRemoteSocketAddress() {
+      return serverAddress;
+   }
+
+   @Override
+   public void invalidate() {
+      invalid = true;
+   }
+
+   @Override
+   public void updateTopology(Runnable update) {
+      // Adding a server opens a connection while holding the lock of the transport factory
+      topologyExecutor.execute(update);
+   }
+
+   @Override
+   public boolean isValid() {
+      return !invalid;
+   }
+
+   @Override
+   public String toString() {
+      return "ByteBufTransport{serverAddress=" + serverAddress + '}';
+   }
+}
@@ -0,0 +1,202 @@
+package org.infinispan.client.hotrod.impl.transport.netty;
+
+import java.net.SocketAddress;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.client.hotrod.exceptions.HotRodClientException;
+import org.infinispan.client.hotrod.exceptions.InvalidResponseException;
+import org.infinispan.client.hotrod.exceptions.TransportException;
+import org.infinispan.client.hotrod.impl.protocol.HeaderParams;
+import org.infinispan.client.hotrod.impl.transport.TransportFactory;
+import org.infinispan.client.hotrod.logging.Log;
+import org.infinispan.client.hotrod.logging.LogFactory;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.util.concurrent.ScheduledFuture;
+
+/**
+ * A single connection to a server shared by any number of in-flight operations.
+ * <p>
+ * Requests are written as soon as they are sent and the pending operations are kept by message id. The server may
+ * answer them in any order, each response is matched to its operation by the message id and the operation future is
+ * completed from the event loop of the channel. A response is only parsed once all its bytes were received, which the
+ * decoder checks with a {@link ResponseFrame} before handing the response to the codec. A new topology found in a
+ * response is applied on the topology executor, because updating the servers of the {@link TransportFactory} blocks.
+ * <p>
+ * Any failure that leaves the stream in an unknown state, including a request that did not get a response within the
+ * socket timeout, closes the channel and fails all the pending operations with a {@link TransportException}.
+ *
+ * @since 9.2
+ */
+class PipelinedChannel {
+   private static final Log log = LogFactory.getLog(PipelinedChannel.class, Log.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   private final TransportFactory transportFactory;
+   private final SocketAddress server;
+   private final Executor topologyExecutor;
+   private final ConcurrentMap<Long, PendingOperation<?>> pending = new ConcurrentHashMap<>();
+   private volatile Channel channel;
+
+   PipelinedChannel(TransportFactory transportFactory, SocketAddress server, Executor topologyExecutor) {
+      this.transportFactory = transportFactory;
+      this.server = server;
+      this.topologyExecutor = topologyExecutor;
+   }
+
+   /**
+    * @return a new handler for the pipeline of the channel, it can not be shared
+    */
+   ByteToMessageDecoder createDecoder() {
+      return new ResponseDecoder();
+   }
+
+   void connected(Channel channel) {
+      this.channel = channel;
+      channel.closeFuture().addListener(f -> failAll(new TransportException("Connection closed", server)));
+   }
+
+   boolean isActive() {
+      return channel.isActive();
+   }
+
+   void close() {
+      channel.close();
+   }
+
+   <T> CompletableFuture<T> send(PipelinedOperation<T> operation) {
+      ByteBuf buf = channel.alloc().buffer();
+      HeaderParams params;
+      try {
+         params = operation.writeRequest(new ByteBufTransport(transportFactory, server, buf, topologyExecutor));
+      } catch (Throwable t) {
+         buf.release();
+         CompletableFuture<T> failed = new CompletableFuture<>();
+         failed.completeExceptionally(t);
+         return failed;
+      }
+      long messageId = params.messageId();
+      PendingOperation<T> pendingOperation = new PendingOperation<>(operation, params);
+      pending.put(messageId, pendingOperation);
+      int timeout = transportFactory.getSoTimeout();
+      if (timeout > 0) {
+         ScheduledFuture<?> timeoutFuture = channel.eventLoop().schedule(() -> {
+            if (!pendingOperation.isDone()) {
+               log.closingPipelinedChannel(server, new TransportException(
+                     "No response for messageId=" + messageId + " within " + timeout + " ms", server));
+               channel.close();
+            }
+         }, timeout, TimeUnit.MILLISECONDS);
+         pendingOperation.whenComplete((v, t) -> timeoutFuture.cancel(false));
+      }
+      // A write on a closed channel fails, so the operation can't be left behind by failAll
+      channel.writeAndFlush(buf).addListener(f -> {
+         if (!f.isSuccess() && pending.remove(messageId, pendingOperation)) {
+            pendingOperation.completeExceptionally(new TransportException(f.cause(), server));
+         }
+      });
+      return pendingOperation;
+   }
+
+   private void failAll(TransportException e) {
+      for (Iterator<PendingOperation<?>> it = pending.values().iterator(); it.hasNext(); ) {
+         PendingOperation<?> pendingOperation = it.next();
+         it.remove();
+         pendingOperation.completeExceptionally(e);
+      }
+   }
+
+   @Override
+   public String toString() {
+      return "PipelinedChannel{server=" + server + ", pending=" + pending.size() + '}';
+   }
+
+   private static class PendingOperation<T> extends CompletableFuture<T> {
+      final PipelinedOperation<T> operation;
+      final HeaderParams params;
+
+      PendingOperation(PipelinedOperation<T> operation, HeaderParams params) {
+         this.operation = operation;
+         this.params = params;
+      }
+
+      void readResponse(ByteBufTransport transport) {
+         complete(operation.readResponse(transport, params));
+      }
+   }
+
+   private class ResponseDecoder extends ByteToMessageDecoder {
+      private final ResponseFrame frame = new ResponseFrame();
+
+      @Override
+      protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+         while (in.isReadable() && ctx.channel().isActive()) {
+            int start = in.readerIndex();
+            long messageId = frame.messageId(in, start);
+            if (messageId == ResponseFrame.INCOMPLETE)
+               return;
+            PendingOperation<?> pendingOperation = pending.get(messageId);
+            if (pendingOperation == null) {
+               // Message id 0 means the server could not even parse a request
+               closeOnError(ctx, new InvalidResponseException("Unexpected response with messageId=" + messageId));
+               return;
+            }
+            int length;
+            try {
+               length = frame.length(in, start, pendingOperation.params.clientIntel());
+            } catch (InvalidResponseException e) {
+               pending.remove(messageId, pendingOperation);
+               pendingOperation.completeExceptionally(e);
+               closeOnError(ctx, e);
+               return;
+            }
+            if (length == ResponseFrame.INCOMPLETE)
+               return;
+            // The codec can't read past the response, and the next one starts after it whatever the codec read
+            ByteBufTransport transport = new ByteBufTransport(transportFactory, server, in.slice(start, length),
+                  topologyExecutor);
+            in.readerIndex(start + length);
+            try {
+               pendingOperation.readResponse(transport);
+               pending.remove(messageId, pendingOperation);
+               if (trace) {
+                  log.tracef("Received response for messageId=%d from %s", messageId, server);
+               }
+            } catch (HotRodClientException e) {
+               pending.remove(messageId, pendingOperation);
+               pendingOperation.completeExceptionally(e);
+               // Error responses are read in full before they are reported, so unless the codec gave up on the
+               // stream the next response is intact
+               if (e instanceof InvalidResponseException || !transport.isValid()) {
+                  closeOnError(ctx, e);
+                  return;
+               }
+            } catch (RuntimeException e) {
+               pending.remove(messageId, pendingOperation);
+               pendingOperation.completeExceptionally(e);
+               closeOnError(ctx, e);
+               return;
+            }
+         }
+      }
+
+      @Override
+      public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+         closeOnError(ctx, cause);
+      }
+
+      private void closeOnError(ChannelHandlerContext ctx, Throwable cause) {
+         log.closingPipelinedChannel(server, cause);
+         ctx.close();
+      }
+   }
+}
@@ -0,0 +1,36 @@
+package org.infinispan.client.hotrod.impl.transport.netty;
+
+import java.net.SocketAddress;
+import java.util.Set;
+
+import org.infinispan.client.hotrod.impl.protocol.HeaderParams;
+import org.infinispan.client.hotrod.impl.transport.Transport;
+
+/**
+ * Operation whose request and response can be handled separately, so that it can share a connection with other
+ * in-flight operations through {@link PipelinedTransport}.
+ *
+ * @since 9.2
+ */
+public interface PipelinedOperation<T> {
+
+   /**
+    * @param failedServers servers that failed to handle this operation before, may be null
+    * @return the server the operation should be sent to
+    */
+   SocketAddress getServer(Set<SocketAddress> failedServers);
+
+   /**
+    * Writes the complete request, without flushing the transport.
+    * @return the header parameters that have to be passed to {@link #readResponse(Transport, HeaderParams)}
+    */
+   HeaderParams writeRequest(Transport transport);
+
+   /**
+    * Reads the complete response of the request written with the given header parameters.
+    * <p>
+    * With {@link PipelinedTransport} this is only invoked once the whole response has been received, so the body of the
+    * response must be one the transport knows how to delimit.
+    */
+   T readResponse(Transport transport, HeaderParams params);
+}
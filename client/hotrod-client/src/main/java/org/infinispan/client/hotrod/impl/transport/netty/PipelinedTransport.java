@@ -0,0 +1,141 @@
+package org.infinispan.client.hotrod.impl.transport.netty;
+
+import java.net.SocketAddress;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.client.hotrod.exceptions.RemoteIllegalLifecycleStateException;
+import org.infinispan.client.hotrod.exceptions.RemoteNodeSuspectException;
+import org.infinispan.client.hotrod.exceptions.TransportException;
+import org.infinispan.client.hotrod.impl.transport.TransportFactory;
+import org.infinispan.client.hotrod.logging.Log;
+import org.infinispan.client.hotrod.logging.LogFactory;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+/**
+ * Non-blocking alternative to the connection pool of {@link TransportFactory} for operations that implement
+ * {@link PipelinedOperation}.
+ * <p>
+ * Every server gets a single {@link PipelinedChannel}, which all the operations routed to that server share, so the
+ * number of in-flight operations is neither bound by the number of connections nor by the number of threads. The
+ * futures returned by {@link #execute(PipelinedOperation)} are completed from the Netty event loop, so the stages
+ * depending on them must not block.
+ * <p>
+ * Servers are chosen by the operations themselves through the {@link TransportFactory}, so that the topology and the
+ * request balancing are the same as with the connection pool. An operation that fails because of its connection is
+ * retried on another server up to {@link TransportFactory#getMaxRetries()} times. The topology updates received in the
+ * responses are applied in order by a single thread, outside of the event loop.
+ *
+ * @since 9.2
+ */
+public class PipelinedTransport {
+   private static final Log log = LogFactory.getLog(PipelinedTransport.class, Log.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   private final TransportFactory transportFactory;
+   private final EventLoopGroup eventLoopGroup;
+   private final ExecutorService topologyExecutor;
+   private final Bootstrap bootstrap;
+   private final ConcurrentMap<SocketAddress, CompletableFuture<PipelinedChannel>> channels = new ConcurrentHashMap<>();
+
+   public PipelinedTransport(TransportFactory transportFactory) {
+      this.transportFactory = transportFactory;
+      this.eventLoopGroup = new NioEventLoopGroup(0, new DefaultThreadFactory("HotRod-client-pipelined", true));
+      this.topologyExecutor = Executors.newSingleThreadExecutor(
+            new DefaultThreadFactory("HotRod-client-pipelined-topology", true));
+      this.bootstrap = new Bootstrap()
+            .group(eventLoopGroup)
+            .channel(NioSocketChannel.class)
+            .option(ChannelOption.TCP_NODELAY, transportFactory.isTcpNoDelay())
+            .option(ChannelOption.SO_KEEPALIVE, transportFactory.isTcpKeepAlive())
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, transportFactory.getConnectTimeout());
+   }
+
+   public <T> CompletableFuture<T> execute(PipelinedOperation<T> operation) {
+      CompletableFuture<T> result = new CompletableFuture<>();
+      execute(operation, result, 0, null);
+      return result;
+   }
+
+   public void stop() {
+      channels.values().forEach(future -> future.thenAccept(PipelinedChannel::close));
+      channels.clear();
+      eventLoopGroup.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS);
+      topologyExecutor.shutdownNow();
+   }
+
+   private <T> void execute(PipelinedOperation<T> operation, CompletableFuture<T> result, int retryCount,
+                            Set<SocketAddress> failedServers) {
+      SocketAddress server;
+      try {
+         server = operation.getServer(failedServers);
+      } catch (Throwable t) {
+         result.completeExceptionally(t);
+         return;
+      }
+      getChannel(server).thenCompose(channel -> channel.send(operation)).whenComplete((value, t) -> {
+         if (t == null) {
+            result.complete(value);
+            return;
+         }
+         Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+         if (isRetriable(cause) && retryCount < transportFactory.getMaxRetries()) {
+            if (trace) {
+               log.tracef(cause, "Exception encountered. Retry %d out of %d", retryCount, transportFactory.getMaxRetries());
+            }
+            Set<SocketAddress> newFailedServers = failedServers == null ? new HashSet<>() : failedServers;
+            newFailedServers.add(server);
+            execute(operation, result, retryCount + 1, newFailedServers);
+         } else {
+            result.completeExceptionally(cause);
+         }
+      });
+   }
+
+   private boolean isRetriable(Throwable t) {
+      return t instanceof TransportException || t instanceof RemoteIllegalLifecycleStateException
+            || t instanceof RemoteNodeSuspectException;
+   }
+
+   private CompletableFuture<PipelinedChannel> getChannel(SocketAddress server) {
+      CompletableFuture<PipelinedChannel> future = channels.computeIfAbsent(server, this::connect);
+      if (future.isCompletedExceptionally() || (future.isDone() && !future.join().isActive())) {
+         // The connection failed or was lost, replace it unless another thread already did
+         channels.remove(server, future);
+         future = channels.computeIfAbsent(server, this::connect);
+      }
+      return future;
+   }
+
+   private CompletableFuture<PipelinedChannel> connect(SocketAddress server) {
+      CompletableFuture<PipelinedChannel> future = new CompletableFuture<>();
+      PipelinedChannel channel = new PipelinedChannel(transportFactory, server, topologyExecutor);
+      ChannelFuture connectFuture = bootstrap.clone().handler(channel.createDecoder()).connect(server);
+      connectFuture.addListener(f -> {
+         if (f.isSuccess()) {
+            if (trace) {
+               log.tracef("Created pipelined connection to %s", server);
+            }
+            channel.connected(connectFuture.channel());
+            future.complete(channel);
+         } else {
+            future.completeExceptionally(new TransportException(f.cause(), server));
+         }
+      });
+      return future;
+   }
+}
@@ -0,0 +1,148 @@
+package org.infinispan.client.hotrod.impl.transport.netty;
+
+import static org.infinispan.client.hotrod.impl.protocol.HotRodConstants.ERROR_RESPONSE;
+import static org.infinispan.client.hotrod.impl.protocol.HotRodConstants.GET_RESPONSE;
+import static org.infinispan.client.hotrod.impl.protocol.HotRodConstants.PUT_RESPONSE;
+import static org.infinispan.client.hotrod.impl.protocol.HotRodConstants.REMOVE_RESPONSE;
+
+import org.infinispan.client.hotrod.configuration.ClientIntelligence;
+import org.infinispan.client.hotrod.exceptions.InvalidResponseException;
+import org.infinispan.client.hotrod.impl.protocol.HotRodConstants;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Finds the boundaries of the Hot Rod 2.x responses in a buffer without decoding them, so that a response is only
+ * handed to the codec once it has been completely received.
+ * <p>
+ * Only the bodies of the responses to the operations implementing {@link PipelinedOperation} are known. Any other
+ * response ends with its header, the codec rejects it anyway.
+ * <p>
+ * An instance keeps the position it is scanning, so it must not be shared between channels.
+ *
+ * @since 9.2
+ */
+class ResponseFrame {
+   static final int INCOMPLETE = -1;
+
+   private ByteBuf buf;
+   private int index;
+   private boolean incomplete;
+
+   /**
+    * @return the message id of the response starting at {@code start}, or {@link #INCOMPLETE} if it has not been
+    * received yet
+    */
+   long messageId(ByteBuf buf, int start) {
+      reset(buf, start);
+      // The codec checks the magic when reading the whole response
+      readByte();
+      long messageId = readVLong();
+      return incomplete ? INCOMPLETE : messageId;
+   }
+
+   /**
+    * @param clientIntel the client intelligence of the request, which tells whether the topology update carries the
+    *                    segment owners
+    * @return the length of the response starting at {@code start}, or {@link #INCOMPLETE} if it has not been
+    * completely received yet
+    */
+   int length(ByteBuf buf, int start, byte clientIntel) {
+      reset(buf, start);
+      readByte();
+      readVLong();
+      int opCode = readByte();
+      short status = (short) readByte();
+      if (readByte() == 1) {
+         skipTopology(clientIntel);
+      }
+      if (!incomplete) {
+         switch (opCode) {
+            case ERROR_RESPONSE:
+               // The error message
+               skipArray();
+               break;
+            case GET_RESPONSE:
+               if (HotRodConstants.isSuccess(status))
+                  skipArray();
+               break;
+            case PUT_RESPONSE:
+            case REMOVE_RESPONSE:
+               if (HotRodConstants.hasPrevious(status))
+                  skipArray();
+               break;
+            default:
+               break;
+         }
+      }
+      return incomplete ? INCOMPLETE : index - start;
+   }
+
+   private void skipTopology(byte clientIntel) {
+      // Topology id
+      readVInt();
+      int clusterSize = readVInt();
+      for (int i = 0; i < clusterSize && !incomplete; i++) {
+         // Host and port
+         skipArray();
+         skip(2);
+      }
+      if (clientIntel == ClientIntelligence.HASH_DISTRIBUTION_AWARE.getValue()) {
+         int hashFunctionVersion = readByte();
+         int numSegments = readVInt();
+         if (hashFunctionVersion > 0) {
+            for (int i = 0; i < numSegments && !incomplete; i++) {
+               int numOwners = readByte();
+               for (int j = 0; j < numOwners && !incomplete; j++) {
+                  readVLong();
+               }
+            }
+         }
+      }
+   }
+
+   private void reset(ByteBuf buf, int start) {
+      this.buf = buf;
+      this.index = start;
+      this.incomplete = false;
+   }
+
+   private int readByte() {
+      if (index >= buf.writerIndex()) {
+         incomplete = true;
+         return 0;
+      }
+      return buf.getUnsignedByte(index++);
+   }
+
+   private long readVLong() {
+      int b = readByte();
+      long value = b & 0x7F;
+      for (int shift = 7; (b & 0x80) != 0 && !incomplete; shift += 7) {
+         b = readByte();
+         value |= (b & 0x7FL) << shift;
+      }
+      return value;
+   }
+
+   private int readVInt() {
+      long value = readVLong();
+      if (value > Integer.MAX_VALUE)
+         throw new InvalidResponseException("Invalid length or count " + value + " in response");
+      return (int) value;
+   }
+
+   private void skipArray() {
+      int length = readVInt();
+      if (!incomplete)
+         skip(length);
+   }
+
+   private void skip(int length) {
+      if ((long) index + length > buf.writerIndex()) {
+         incomplete = true;
+      } else {
+         index += length;
+      }
+   }
+}
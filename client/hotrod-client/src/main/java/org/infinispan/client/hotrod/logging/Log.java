@@ -257,4 +257,12 @@ public interface Log extends BasicLogger {
    @Message(value = "Class '%s' blocked by Java standard deserialization white list. Adjust the client configuration java serialization white list regular expression to include this class.", id = 4068)
    CacheException classNotInWhitelist(String className);
 
+   @LogMessage(level = WARN)
+   @Message(value = "Pipelining is not supported together with SSL, authentication, near caching or protocol versions before 2.0, asynchronous operations will use the connection pool instead", id = 4069)
+   void pipeliningNotSupported();
+
+   @LogMessage(level = WARN)
+   @Message(value = "Closing pipelined connection to %s", id = 4070)
+   void closingPipelinedChannel(SocketAddress server, @Cause Throwable cause);
+
 }
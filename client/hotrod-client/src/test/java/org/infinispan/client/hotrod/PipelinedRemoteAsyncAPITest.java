@@ -0,0 +1,58 @@
+package org.infinispan.client.hotrod;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.infinispan.client.hotrod.test.InternalRemoteCacheManager;
+import org.testng.annotations.Test;
+
+/**
+ * Runs the async API tests with the asynchronous key operations sent over a single pipelined connection.
+ *
+ * @since 9.2
+ */
+@Test(groups = "functional", testName = "client.hotrod.PipelinedRemoteAsyncAPITest")
+public class PipelinedRemoteAsyncAPITest extends RemoteAsyncAPITest {
+
+   @Override
+   protected RemoteCacheManager getRemoteCacheManager() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.forceReturnValues(isForceReturnValuesViaConfiguration());
+      builder.pipelining(true);
+      builder.addServer().host("127.0.0.1").port(hotrodServer.getPort());
+      return new InternalRemoteCacheManager(builder.build());
+   }
+
+   public void testManyConcurrentOperations() throws Exception {
+      int count = 1000;
+      List<CompletableFuture<String>> puts = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+         puts.add(remote().putAsync("k" + i, "v" + i));
+      }
+      for (CompletableFuture<String> put : puts) {
+         assertNull(put.get());
+      }
+
+      List<CompletableFuture<String>> gets = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+         gets.add(remote().getAsync("k" + i));
+      }
+      for (int i = 0; i < count; i++) {
+         assertEquals("v" + i, gets.get(i).get());
+      }
+
+      List<CompletableFuture<String>> removes = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+         removes.add(remote().removeAsync("k" + i));
+      }
+      for (int i = 0; i < count; i++) {
+         assertEquals("v" + i, removes.get(i).get());
+         assertNull(remote().get("k" + i));
+      }
+   }
+}
@@ -0,0 +1,107 @@
+package org.infinispan.client.hotrod.impl.transport.netty;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+
+import org.infinispan.client.hotrod.configuration.ClientIntelligence;
+import org.infinispan.client.hotrod.impl.protocol.HotRodConstants;
+import org.testng.annotations.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Tests that the pipelined transport only hands complete responses to the codec.
+ *
+ * @since 9.2
+ */
+@Test(groups = "unit", testName = "client.hotrod.impl.transport.netty.ResponseFrameTest")
+public class ResponseFrameTest {
+   private static final byte HASH_AWARE = ClientIntelligence.HASH_DISTRIBUTION_AWARE.getValue();
+
+   private static void writeVLong(ByteBuf buf, long l) {
+      while ((l & ~0x7FL) != 0) {
+         buf.writeByte((int) ((l & 0x7F) | 0x80));
+         l >>>= 7;
+      }
+      buf.writeByte((int) l);
+   }
+
+   private static void writeArray(ByteBuf buf, byte[] bytes) {
+      writeVLong(buf, bytes.length);
+      buf.writeBytes(bytes);
+   }
+
+   private static void writeHeader(ByteBuf buf, long messageId, byte opCode, int status, boolean topology,
+                                   boolean segments) {
+      buf.writeByte(HotRodConstants.RESPONSE_MAGIC);
+      writeVLong(buf, messageId);
+      buf.writeByte(opCode);
+      buf.writeByte(status);
+      buf.writeByte(topology ? 1 : 0);
+      if (topology) {
+         writeVLong(buf, 5);
+         // Two servers
+         writeVLong(buf, 2);
+         writeArray(buf, "127.0.0.1".getBytes(StandardCharsets.UTF_8));
+         buf.writeShort(11222);
+         writeArray(buf, "127.0.0.2".getBytes(StandardCharsets.UTF_8));
+         buf.writeShort(11222);
+         if (segments) {
+            // Hash function version and three segments with their owners
+            buf.writeByte(3);
+            writeVLong(buf, 3);
+            for (int i = 0; i < 3; i++) {
+               buf.writeByte(2);
+               writeVLong(buf, i % 2);
+               writeVLong(buf, (i + 1) % 2);
+            }
+         }
+      }
+   }
+
+   public void testPartialResponses() {
+      ByteBuf buf = Unpooled.buffer();
+      writeHeader(buf, 300, HotRodConstants.GET_RESPONSE, HotRodConstants.NO_ERROR_STATUS, true, true);
+      writeArray(buf, new byte[200]);
+      int getLength = buf.writerIndex();
+      writeHeader(buf, 301, HotRodConstants.PUT_RESPONSE, HotRodConstants.NO_ERROR_STATUS, false, false);
+      int putLength = buf.writerIndex() - getLength;
+      writeHeader(buf, 302, HotRodConstants.ERROR_RESPONSE, HotRodConstants.SERVER_ERROR_STATUS, false, false);
+      writeArray(buf, "failed".getBytes(StandardCharsets.UTF_8));
+      int errorLength = buf.writerIndex() - getLength - putLength;
+
+      ResponseFrame frame = new ResponseFrame();
+      int total = buf.writerIndex();
+      // Every prefix of a response is incomplete, whatever byte it stops at
+      for (int received = 0; received < getLength; received++) {
+         ByteBuf partial = buf.slice(0, received);
+         assertEquals(ResponseFrame.INCOMPLETE, frame.length(partial, 0, HASH_AWARE));
+      }
+      assertEquals(ResponseFrame.INCOMPLETE, frame.messageId(buf.slice(0, 1), 0));
+      assertEquals(300, frame.messageId(buf, 0));
+      assertEquals(getLength, frame.length(buf.slice(0, getLength), 0, HASH_AWARE));
+      assertEquals(getLength, frame.length(buf, 0, HASH_AWARE));
+
+      assertEquals(301, frame.messageId(buf, getLength));
+      assertEquals(putLength, frame.length(buf, getLength, HASH_AWARE));
+
+      int errorStart = getLength + putLength;
+      assertEquals(302, frame.messageId(buf, errorStart));
+      assertEquals(ResponseFrame.INCOMPLETE, frame.length(buf.slice(0, total - 1), errorStart, HASH_AWARE));
+      assertEquals(errorLength, frame.length(buf, errorStart, HASH_AWARE));
+   }
+
+   public void testTopologyWithoutSegments() {
+      // Only the hash distribution aware clients receive the segment owners
+      ByteBuf buf = Unpooled.buffer();
+      writeHeader(buf, 1, HotRodConstants.REMOVE_RESPONSE, HotRodConstants.SUCCESS_WITH_PREVIOUS, true, false);
+      writeArray(buf, new byte[]{1, 2, 3});
+
+      ResponseFrame frame = new ResponseFrame();
+      byte topologyAware = ClientIntelligence.TOPOLOGY_AWARE.getValue();
+      assertEquals(buf.writerIndex(), frame.length(buf, 0, topologyAware));
+      assertEquals(ResponseFrame.INCOMPLETE, frame.length(buf.slice(0, buf.writerIndex() - 1), 0, topologyAware));
+   }
+}
@@ -190,6 +190,8 @@ public interface Ids {
 
    int DATA_CONVERSION = 131;
 
+   int INT_SET = 132;
+
 
    int COUNTER_CONFIGURATION = 2000; //from counter
    int COUNTER_STATE = 2001; //from counter
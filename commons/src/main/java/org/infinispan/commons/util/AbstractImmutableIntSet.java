@@ -0,0 +1,87 @@
+package org.infinispan.commons.util;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+
+/**
+ * Base class for the immutable {@link IntSet} implementations returned by {@link IntSets}.
+ *
+ * @since 9.2
+ */
+abstract class AbstractImmutableIntSet extends AbstractSet<Integer> implements IntSet {
+
+   @Override
+   public boolean contains(Object o) {
+      return o instanceof Integer && contains((int) o);
+   }
+
+   @Override
+   public boolean containsAll(Collection<?> c) {
+      return c instanceof IntSet ? containsAll((IntSet) c) : super.containsAll(c);
+   }
+
+   @Override
+   public boolean containsAll(IntSet set) {
+      return set.intStream().allMatch(this::contains);
+   }
+
+   @Override
+   public boolean add(Integer integer) {
+      throw new UnsupportedOperationException();
+   }
+
+   @Override
+   public boolean add(int i) {
+      throw new UnsupportedOperationException();
+   }
+
+   @Override
+   public void set(int i) {
+      throw new UnsupportedOperationException();
+   }
+
+   @Override
+   public boolean remove(Object o) {
+      throw new UnsupportedOperationException();
+   }
+
+   @Override
+   public boolean remove(int i) {
+      throw new UnsupportedOperationException();
+   }
+
+   @Override
+   public boolean addAll(Collection<? extends Integer> c) {
+      throw new UnsupportedOperationException();
+   }
+
+   @Override
+   public boolean addAll(IntSet set) {
+      throw new UnsupportedOperationException();
+   }
+
+   @Override
+   public boolean removeAll(Collection<?> c) {
+      throw new UnsupportedOperationException();
+   }
+
+   @Override
+   public boolean removeAll(IntSet set) {
+      throw new UnsupportedOperationException();
+   }
+
+   @Override
+   public boolean retainAll(Collection<?> c) {
+      throw new UnsupportedOperationException();
+   }
+
+   @Override
+   public boolean retainAll(IntSet set) {
+      throw new UnsupportedOperationException();
+   }
+
+   @Override
+   public void clear() {
+      throw new UnsupportedOperationException();
+   }
+}
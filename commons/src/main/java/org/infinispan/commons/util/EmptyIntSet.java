@@ -0,0 +1,69 @@
+package org.infinispan.commons.util;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable empty {@link IntSet}.
+ *
+ * @since 9.2
+ */
+final class EmptyIntSet extends AbstractImmutableIntSet {
+   static final EmptyIntSet INSTANCE = new EmptyIntSet();
+
+   private static final PrimitiveIterator.OfInt EMPTY_ITERATOR = new PrimitiveIterator.OfInt() {
+      @Override
+      public boolean hasNext() {
+         return false;
+      }
+
+      @Override
+      public int nextInt() {
+         throw new NoSuchElementException();
+      }
+   };
+
+   private EmptyIntSet() {
+   }
+
+   @Override
+   public int size() {
+      return 0;
+   }
+
+   @Override
+   public boolean isEmpty() {
+      return true;
+   }
+
+   @Override
+   public boolean contains(int i) {
+      return false;
+   }
+
+   @Override
+   public boolean containsAll(IntSet set) {
+      return set.isEmpty();
+   }
+
+   @Override
+   public PrimitiveIterator.OfInt iterator() {
+      return EMPTY_ITERATOR;
+   }
+
+   @Override
+   public IntStream intStream() {
+      return IntStream.empty();
+   }
+
+   @Override
+   public int hashCode() {
+      return 0;
+   }
+
+   @Override
+   public String toString() {
+      return "{}";
+   }
+}
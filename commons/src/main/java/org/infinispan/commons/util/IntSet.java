@@ -0,0 +1,70 @@
+package org.infinispan.commons.util;
+
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * A set of non-negative integers, e.g. segments, with methods that do not box the elements.
+ * <p>
+ * Use {@link IntSets} to create instances. The implementations are not thread-safe, unless immutable.
+ *
+ * @since 9.2
+ */
+public interface IntSet extends Set<Integer> {
+
+   /**
+    * Adds an integer to the set without boxing it.
+    *
+    * @return {@code true} if the set did not contain the integer
+    */
+   boolean add(int i);
+
+   /**
+    * Adds an integer to the set without boxing it or checking whether it was already present.
+    */
+   void set(int i);
+
+   /**
+    * Removes an integer from the set without boxing it.
+    *
+    * @return {@code true} if the set contained the integer
+    */
+   boolean remove(int i);
+
+   /**
+    * Checks whether the set contains an integer without boxing it.
+    */
+   boolean contains(int i);
+
+   /**
+    * Adds all the elements of another {@code IntSet}, without boxing them.
+    */
+   boolean addAll(IntSet set);
+
+   /**
+    * Checks whether the set contains all the elements of another {@code IntSet}, without boxing them.
+    */
+   boolean containsAll(IntSet set);
+
+   /**
+    * Removes all the elements of another {@code IntSet}, without boxing them.
+    */
+   boolean removeAll(IntSet set);
+
+   /**
+    * Removes all the elements that are not in another {@code IntSet}, without boxing them.
+    */
+   boolean retainAll(IntSet set);
+
+   /**
+    * @return an iterator over the elements in ascending order, which can be used without boxing
+    */
+   @Override
+   PrimitiveIterator.OfInt iterator();
+
+   /**
+    * @return a stream over the elements in ascending order
+    */
+   IntStream intStream();
+}
@@ -0,0 +1,75 @@
+package org.infinispan.commons.util;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Set;
+
+import org.infinispan.commons.io.UnsignedNumeric;
+import org.infinispan.commons.marshall.AbstractExternalizer;
+import org.infinispan.commons.marshall.Ids;
+
+/**
+ * Externalizer for the {@link IntSet} implementations. A {@link RangeSet} or a singleton is written as a single number,
+ * and a {@link SmallIntSet} as the words of its bit set instead of one number per element.
+ *
+ * @since 9.2
+ */
+public class IntSetExternalizer extends AbstractExternalizer<IntSet> {
+   private static final int EMPTY = 0;
+   private static final int SINGLETON = 1;
+   private static final int RANGE = 2;
+   private static final int SMALL = 3;
+
+   @Override
+   public void writeObject(ObjectOutput output, IntSet intSet) throws IOException {
+      if (intSet instanceof SmallIntSet) {
+         output.writeByte(SMALL);
+         long[] words = ((SmallIntSet) intSet).toLongArray();
+         UnsignedNumeric.writeUnsignedInt(output, words.length);
+         for (long word : words) {
+            output.writeLong(word);
+         }
+      } else if (intSet instanceof RangeSet) {
+         output.writeByte(RANGE);
+         UnsignedNumeric.writeUnsignedInt(output, intSet.size());
+      } else if (intSet instanceof SingletonIntSet) {
+         output.writeByte(SINGLETON);
+         UnsignedNumeric.writeUnsignedInt(output, ((SingletonIntSet) intSet).value);
+      } else {
+         output.writeByte(EMPTY);
+      }
+   }
+
+   @Override
+   public IntSet readObject(ObjectInput input) throws IOException, ClassNotFoundException {
+      int type = input.readUnsignedByte();
+      switch (type) {
+         case SMALL:
+            long[] words = new long[UnsignedNumeric.readUnsignedInt(input)];
+            for (int i = 0; i < words.length; i++) {
+               words[i] = input.readLong();
+            }
+            return SmallIntSet.from(words);
+         case RANGE:
+            return IntSets.immutableRangeSet(UnsignedNumeric.readUnsignedInt(input));
+         case SINGLETON:
+            return IntSets.immutableSet(UnsignedNumeric.readUnsignedInt(input));
+         case EMPTY:
+            return IntSets.immutableEmptySet();
+         default:
+            throw new IllegalStateException("Unknown IntSet type: " + type);
+      }
+   }
+
+   @Override
+   public Integer getId() {
+      return Ids.INT_SET;
+   }
+
+   @Override
+   @SuppressWarnings("unchecked")
+   public Set<Class<? extends IntSet>> getTypeClasses() {
+      return Util.asSet(SmallIntSet.class, RangeSet.class, SingletonIntSet.class, EmptyIntSet.class);
+   }
+}
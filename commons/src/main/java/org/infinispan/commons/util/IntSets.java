@@ -0,0 +1,59 @@
+package org.infinispan.commons.util;
+
+import java.util.Set;
+
+/**
+ * Static factory methods for {@link IntSet} instances.
+ *
+ * @since 9.2
+ */
+public final class IntSets {
+   private IntSets() {
+   }
+
+   /**
+    * @return an immutable set without any element
+    */
+   public static IntSet immutableEmptySet() {
+      return EmptyIntSet.INSTANCE;
+   }
+
+   /**
+    * @return an immutable set with a single element
+    */
+   public static IntSet immutableSet(int value) {
+      return new SingletonIntSet(value);
+   }
+
+   /**
+    * @return an immutable set with all the integers from {@code 0} to {@code endExclusive - 1}
+    */
+   public static IntSet immutableRangeSet(int endExclusive) {
+      return endExclusive == 0 ? EmptyIntSet.INSTANCE : new RangeSet(endExclusive);
+   }
+
+   /**
+    * @param maxExclusive the expected upper bound of the elements, used to size the set
+    * @return a new mutable empty set
+    */
+   public static IntSet mutableEmptySet(int maxExclusive) {
+      return new SmallIntSet(maxExclusive);
+   }
+
+   /**
+    * @return a new mutable set with the same elements as {@code set}
+    */
+   public static IntSet mutableCopyFrom(Set<Integer> set) {
+      return new SmallIntSet(set);
+   }
+
+   /**
+    * @return {@code set} itself if it is already an {@code IntSet}, or a mutable copy otherwise. {@code null} is
+    * returned as is.
+    */
+   public static IntSet from(Set<Integer> set) {
+      if (set == null || set instanceof IntSet)
+         return (IntSet) set;
+      return new SmallIntSet(set);
+   }
+}
@@ -0,0 +1,76 @@
+package org.infinispan.commons.util;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable {@link IntSet} with a single element.
+ *
+ * @since 9.2
+ */
+final class SingletonIntSet extends AbstractImmutableIntSet {
+   final int value;
+
+   SingletonIntSet(int value) {
+      if (value < 0)
+         throw new IllegalArgumentException("Only non-negative values are supported: " + value);
+      this.value = value;
+   }
+
+   @Override
+   public int size() {
+      return 1;
+   }
+
+   @Override
+   public boolean isEmpty() {
+      return false;
+   }
+
+   @Override
+   public boolean contains(int i) {
+      return i == value;
+   }
+
+   @Override
+   public boolean containsAll(IntSet set) {
+      int size = set.size();
+      return size == 0 || size == 1 && set.contains(value);
+   }
+
+   @Override
+   public PrimitiveIterator.OfInt iterator() {
+      return new PrimitiveIterator.OfInt() {
+         private boolean hasNext = true;
+
+         @Override
+         public boolean hasNext() {
+            return hasNext;
+         }
+
+         @Override
+         public int nextInt() {
+            if (!hasNext)
+               throw new NoSuchElementException();
+            hasNext = false;
+            return value;
+         }
+      };
+   }
+
+   @Override
+   public IntStream intStream() {
+      return IntStream.of(value);
+   }
+
+   @Override
+   public int hashCode() {
+      return value;
+   }
+
+   @Override
+   public String toString() {
+      return "{" + value + "}";
+   }
+}
@@ -7,11 +7,14 @@
 import java.util.Collection;
 import java.util.PrimitiveIterator;
 import java.util.Set;
+import java.util.stream.IntStream;
 
 import org.infinispan.commons.io.UnsignedNumeric;
 
 /**
  * Represent a set of integers (e.g. segments) as a {@code BitSet}.
+ * <p>
+ * This is the mutable {@link IntSet} implementation returned by {@link IntSets}.
  *
  * Memory usage depends on the highest element, as in {@link BitSet} and unlike in other collections such as
  * {@link java.util.HashSet}.
@@ -19,7 +22,7 @@
  * @author Dan Berindei
  * @since 9.0
  */
-public class SmallIntSet implements Set<Integer> {
+public class SmallIntSet implements IntSet {
    private final BitSet bitSet;
 
    public static SmallIntSet of(int i1) {
@@ -68,8 +71,52 @@ public SmallIntSet(SmallIntSet other) {
    }
 
    public SmallIntSet(Set<Integer> set) {
-      bitSet = new BitSet();
-      set.forEach(bitSet::set);
+      if (set instanceof SmallIntSet) {
+         BitSet otherBitSet = ((SmallIntSet) set).bitSet;
+         bitSet = new BitSet(otherBitSet.size());
+         bitSet.or(otherBitSet);
+      } else if (set instanceof IntSet) {
+         bitSet = new BitSet();
+         for (PrimitiveIterator.OfInt iterator = ((IntSet) set).iterator(); iterator.hasNext(); ) {
+            bitSet.set(iterator.nextInt());
+         }
+      } else {
+         bitSet = new BitSet();
+         set.forEach(bitSet::set);
+      }
+   }
+
+   private SmallIntSet(BitSet bitSet) {
+      this.bitSet = bitSet;
+   }
+
+   /**
+    * Create a new {@code SmallIntSet} from the little-endian representation returned by {@link #toByteArray()} or
+    * {@link BitSet#toByteArray()}.
+    */
+   public static SmallIntSet from(byte[] bytes) {
+      return new SmallIntSet(BitSet.valueOf(bytes));
+   }
+
+   /**
+    * Create a new {@code SmallIntSet} from the little-endian representation returned by {@link #toLongArray()}.
+    */
+   public static SmallIntSet from(long[] words) {
+      return new SmallIntSet(BitSet.valueOf(words));
+   }
+
+   /**
+    * @return the elements as a little-endian bit array, see {@link BitSet#toByteArray()}
+    */
+   public byte[] toByteArray() {
+      return bitSet.toByteArray();
+   }
+
+   /**
+    * @return the elements as a little-endian bit array, see {@link BitSet#toLongArray()}
+    */
+   public long[] toLongArray() {
+      return bitSet.toLongArray();
    }
 
    @Override
@@ -98,8 +145,9 @@ public boolean contains(Integer o) {
    /**
     * Check if the set contains an integer without boxing the parameter.
     */
+   @Override
    public boolean contains(int i) {
-      return bitSet.get(i);
+      return i >= 0 && bitSet.get(i);
    }
 
    @Override
@@ -107,6 +155,11 @@ public PrimitiveIterator.OfInt iterator() {
       return bitSet.stream().iterator();
    }
 
+   @Override
+   public IntStream intStream() {
+      return bitSet.stream();
+   }
+
    @Override
    public Object[] toArray() {
       int size = size();
@@ -142,6 +195,7 @@ public boolean add(Integer i) {
    /**
     * Add an integer to the set without boxing the parameter.
     */
+   @Override
    public boolean add(int i) {
       boolean wasSet = bitSet.get(i);
       if (!wasSet) {
@@ -154,6 +208,7 @@ public boolean add(int i) {
    /**
     * Add an integer to the set without boxing the parameter or checking if the integer was already present in the set.
     */
+   @Override
    public void set(int i) {
       bitSet.set(i);
    }
@@ -176,7 +231,10 @@ public boolean remove(Object o) {
    /**
     * Remove an integer from the set without boxing.
     */
+   @Override
    public boolean remove(int i) {
+      if (i < 0)
+         return false;
       boolean wasSet = bitSet.get(i);
       if (wasSet) {
          bitSet.clear(i);
@@ -187,11 +245,25 @@ public boolean remove(int i) {
 
    @Override
    public boolean containsAll(Collection<?> c) {
+      if (c instanceof IntSet)
+         return containsAll((IntSet) c);
       return c.stream().allMatch(this::contains);
    }
 
+   @Override
+   public boolean containsAll(IntSet set) {
+      if (set instanceof SmallIntSet) {
+         BitSet missing = (BitSet) ((SmallIntSet) set).bitSet.clone();
+         missing.andNot(bitSet);
+         return missing.isEmpty();
+      }
+      return set.intStream().allMatch(this::contains);
+   }
+
    @Override
    public boolean addAll(Collection<? extends Integer> c) {
+      if (c instanceof IntSet)
+         return addAll((IntSet) c);
       boolean modified = false;
       for (Integer integer : c) {
          modified |= add(integer);
@@ -199,8 +271,21 @@ public boolean addAll(Collection<? extends Integer> c) {
       return modified;
    }
 
+   @Override
+   public boolean addAll(IntSet set) {
+      int size = size();
+      if (set instanceof SmallIntSet) {
+         bitSet.or(((SmallIntSet) set).bitSet);
+      } else {
+         set.intStream().forEach(bitSet::set);
+      }
+      return size() != size;
+   }
+
    @Override
    public boolean removeAll(Collection<?> c) {
+      if (c instanceof IntSet)
+         return removeAll((IntSet) c);
       boolean modified = false;
       for (Object integer : c) {
          modified |= remove(integer);
@@ -208,8 +293,21 @@ public boolean removeAll(Collection<?> c) {
       return modified;
    }
 
+   @Override
+   public boolean removeAll(IntSet set) {
+      int size = size();
+      if (set instanceof SmallIntSet) {
+         bitSet.andNot(((SmallIntSet) set).bitSet);
+      } else {
+         set.intStream().forEach(bitSet::clear);
+      }
+      return size() != size;
+   }
+
    @Override
    public boolean retainAll(Collection<?> c) {
+      if (c instanceof IntSet)
+         return retainAll((IntSet) c);
       boolean modified = false;
       for (int i = bitSet.nextSetBit(0); i >= 0; i = bitSet.nextSetBit(i + 1)) {
          if (!c.contains(i)) {
@@ -220,6 +318,23 @@ public boolean retainAll(Collection<?> c) {
       return modified;
    }
 
+   @Override
+   public boolean retainAll(IntSet set) {
+      if (set instanceof SmallIntSet) {
+         int size = size();
+         bitSet.and(((SmallIntSet) set).bitSet);
+         return size() != size;
+      }
+      boolean modified = false;
+      for (int i = bitSet.nextSetBit(0); i >= 0; i = bitSet.nextSetBit(i + 1)) {
+         if (!set.contains(i)) {
+            bitSet.clear(i);
+            modified = true;
+         }
+      }
+      return modified;
+   }
+
    @Override
    public void clear() {
       bitSet.clear();
@@ -243,7 +358,12 @@ public boolean equals(Object o) {
 
    @Override
    public int hashCode() {
-      return bitSet.hashCode();
+      // The sum of the elements, as required by Set.hashCode(), so that it matches the other IntSet implementations
+      int hashCode = 0;
+      for (int i = bitSet.nextSetBit(0); i >= 0; i = bitSet.nextSetBit(i + 1)) {
+         hashCode += i;
+      }
+      return hashCode;
    }
 
    @Override
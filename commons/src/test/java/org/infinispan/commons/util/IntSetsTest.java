@@ -0,0 +1,93 @@
+package org.infinispan.commons.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class IntSetsTest {
+   @Test
+   public void testEqualsAndHashCodeAcrossImplementations() {
+      Set<Integer> expected = new HashSet<>(Arrays.asList(0, 1, 2, 3));
+      IntSet range = IntSets.immutableRangeSet(4);
+      IntSet small = IntSets.mutableCopyFrom(expected);
+
+      assertEquals(expected, range);
+      assertEquals(expected, small);
+      assertEquals(range, small);
+      assertEquals(expected.hashCode(), range.hashCode());
+      assertEquals(expected.hashCode(), small.hashCode());
+
+      assertEquals(new HashSet<>(Arrays.asList(5)), IntSets.immutableSet(5));
+      assertEquals(5, IntSets.immutableSet(5).hashCode());
+      assertEquals(new HashSet<Integer>(), IntSets.immutableEmptySet());
+      assertSame(IntSets.immutableEmptySet(), IntSets.immutableRangeSet(0));
+   }
+
+   @Test
+   public void testPrimitiveIteration() {
+      IntSet set = IntSets.mutableEmptySet(64);
+      set.add(3);
+      set.add(17);
+      set.add(63);
+
+      PrimitiveIterator.OfInt iterator = set.iterator();
+      assertEquals(3, iterator.nextInt());
+      assertEquals(17, iterator.nextInt());
+      assertEquals(63, iterator.nextInt());
+      assertFalse(iterator.hasNext());
+      assertArrayEquals(new int[]{3, 17, 63}, set.intStream().toArray());
+      assertArrayEquals(new int[]{0, 1, 2}, IntSets.immutableRangeSet(3).intStream().toArray());
+   }
+
+   @Test
+   public void testBulkOperations() {
+      IntSet set = IntSets.mutableCopyFrom(IntSets.immutableRangeSet(10));
+      assertTrue(set.containsAll(IntSets.immutableSet(9)));
+      assertFalse(set.containsAll(IntSets.immutableSet(10)));
+
+      assertTrue(set.retainAll(IntSets.immutableRangeSet(5)));
+      assertEquals(IntSets.immutableRangeSet(5), set);
+
+      assertTrue(set.removeAll(IntSets.immutableSet(4)));
+      assertFalse(set.removeAll(IntSets.immutableSet(4)));
+      assertEquals(IntSets.immutableRangeSet(4), set);
+
+      assertTrue(set.addAll(IntSets.immutableSet(100)));
+      assertTrue(set.contains(100));
+      assertFalse(set.contains(-1));
+      assertEquals(5, set.size());
+   }
+
+   @Test
+   public void testFrom() {
+      IntSet set = IntSets.immutableRangeSet(3);
+      assertSame(set, IntSets.from(set));
+
+      Set<Integer> hashSet = new HashSet<>(Arrays.asList(1, 5));
+      IntSet converted = IntSets.from(hashSet);
+      assertEquals(hashSet, converted);
+   }
+
+   @Test
+   public void testSmallIntSetWords() {
+      SmallIntSet set = new SmallIntSet();
+      set.add(1);
+      set.add(70);
+      assertEquals(set, SmallIntSet.from(set.toLongArray()));
+      assertEquals(set, SmallIntSet.from(set.toByteArray()));
+   }
+
+   @Test(expected = UnsupportedOperationException.class)
+   public void testImmutableSetRejectsAdd() {
+      IntSets.immutableSet(1).add(2);
+   }
+}
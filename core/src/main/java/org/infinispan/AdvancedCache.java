@@ -561,6 +561,55 @@ default V merge(K key, V value, SerializableBiFunction<? super V, ? super V, ? e
     */
    CompletableFuture<V> putAsync(K key, V value, Metadata metadata);
 
+   /**
+    * Asynchronous version of {@link #putIfAbsent(Object, Object, Metadata)} which stores metadata alongside the value.
+    *
+    * @param key   key to use
+    * @param value value to store
+    * @param metadata information to store alongside the new value
+    * @return a future containing the previous value, or null if the value was stored
+    *
+    * @since 9.2
+    */
+   CompletableFuture<V> putIfAbsentAsync(K key, V value, Metadata metadata);
+
+   /**
+    * Asynchronous version of {@link #replace(Object, Object, Metadata)} which stores metadata alongside the value.
+    *
+    * @param key   key to use
+    * @param value value to store
+    * @param metadata information to store alongside the new value
+    * @return a future containing the previous value, or null if there was no mapping for the key
+    *
+    * @since 9.2
+    */
+   CompletableFuture<V> replaceAsync(K key, V value, Metadata metadata);
+
+   /**
+    * Asynchronous version of {@link #replace(Object, Object, Object, Metadata)} which stores metadata alongside the
+    * value.
+    *
+    * @param key   key to use
+    * @param oldValue value expected to be associated with the key
+    * @param newValue value to store
+    * @param metadata information to store alongside the new value
+    * @return a future containing whether the value was replaced
+    *
+    * @since 9.2
+    */
+   CompletableFuture<Boolean> replaceAsync(K key, V oldValue, V newValue, Metadata metadata);
+
+   /**
+    * Asynchronous version of {@link #putAll(Map, Metadata)} which stores metadata alongside the values.
+    *
+    * @param map the values to store
+    * @param metadata information to store alongside the new values
+    * @return a future completed when the values are stored
+    *
+    * @since 9.2
+    */
+   CompletableFuture<Void> putAllAsync(Map<? extends K, ? extends V> map, Metadata metadata);
+
    // TODO: Even better: add replace/remove calls that apply the changes if a given function is successful
    // That way, you could do comparison not only on the cache value, but also based on version...etc
 
@@ -600,6 +649,17 @@ default V merge(K key, V value, SerializableBiFunction<? super V, ? super V, ? e
     */
    CacheEntry<K, V> getCacheEntry(Object key);
 
+   /**
+    * Asynchronous version of {@link #getCacheEntry(Object)}. This method does not block on remote calls.
+    *
+    * @param key the key whose associated cache entry is to be returned
+    * @return a future containing the cache entry to which the specified key is mapped, or {@code null} if this map
+    *         contains no mapping for the key
+    *
+    * @since 9.2
+    */
+   CompletableFuture<CacheEntry<K, V>> getCacheEntryAsync(Object key);
+
    /**
     * Gets a collection of entries from the {@link AdvancedCache}, returning them as
     * {@link Map} of the cache entries associated with the set of keys requested.
@@ -625,6 +685,17 @@ default V merge(K key, V value, SerializableBiFunction<? super V, ? super V, ? e
     */
    Map<K, CacheEntry<K, V>> getAllCacheEntries(Set<?> keys);
 
+   /**
+    * Asynchronous version of {@link #getAllCacheEntries(Set)}. This method does not block on remote calls.
+    *
+    * @param keys The keys whose associated values are to be returned.
+    * @return a future containing a map of the entries that were found for the given keys
+    * @throws NullPointerException  if keys is null or if keys contains a null
+    *
+    * @since 9.2
+    */
+   CompletableFuture<Map<K, CacheEntry<K, V>>> getAllCacheEntriesAsync(Set<?> keys);
+
    /**
     * Executes an equivalent of {@link Map#putAll(Map)}, returning previous values
     * of the modified entries.
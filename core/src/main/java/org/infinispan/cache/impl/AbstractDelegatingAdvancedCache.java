@@ -293,11 +293,21 @@ public CacheEntry<K, V> getCacheEntry(Object key) {
       return cache.getCacheEntry(key);
    }
 
+   @Override
+   public CompletableFuture<CacheEntry<K, V>> getCacheEntryAsync(Object key) {
+      return cache.getCacheEntryAsync(key);
+   }
+
    @Override
    public Map<K, CacheEntry<K, V>> getAllCacheEntries(Set<?> keys) {
       return cache.getAllCacheEntries(keys);
    }
 
+   @Override
+   public CompletableFuture<Map<K, CacheEntry<K, V>>> getAllCacheEntriesAsync(Set<?> keys) {
+      return cache.getAllCacheEntriesAsync(keys);
+   }
+
    @Override
    public Map<K, V> getAndPutAll(Map<? extends K, ? extends V> map) {
       return cache.getAndPutAll(map);
@@ -338,6 +348,26 @@ public CompletableFuture<V> putAsync(K key, V value, Metadata metadata) {
       return cache.putAsync(key, value, metadata);
    }
 
+   @Override
+   public CompletableFuture<V> putIfAbsentAsync(K key, V value, Metadata metadata) {
+      return cache.putIfAbsentAsync(key, value, metadata);
+   }
+
+   @Override
+   public CompletableFuture<V> replaceAsync(K key, V value, Metadata metadata) {
+      return cache.replaceAsync(key, value, metadata);
+   }
+
+   @Override
+   public CompletableFuture<Boolean> replaceAsync(K key, V oldValue, V newValue, Metadata metadata) {
+      return cache.replaceAsync(key, oldValue, newValue, metadata);
+   }
+
+   @Override
+   public CompletableFuture<Void> putAllAsync(Map<? extends K, ? extends V> map, Metadata metadata) {
+      return cache.putAllAsync(map, metadata);
+   }
+
    @Override
    public void putForExternalRead(K key, V value, Metadata metadata) {
       cache.putForExternalRead(key, value, metadata);
@@ -14,6 +14,7 @@
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -69,6 +70,7 @@
 import org.infinispan.commons.dataconversion.Encoder;
 import org.infinispan.commons.dataconversion.Wrapper;
 import org.infinispan.commons.marshall.StreamingMarshaller;
+import org.infinispan.commons.util.ByRef;
 import org.infinispan.commons.util.EnumUtil;
 import org.infinispan.commons.util.InfinispanCollections;
 import org.infinispan.commons.util.Util;
@@ -77,11 +79,13 @@
 import org.infinispan.configuration.global.GlobalConfiguration;
 import org.infinispan.container.DataContainer;
 import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.context.Flag;
 import org.infinispan.context.InvocationContext;
 import org.infinispan.context.InvocationContextContainer;
 import org.infinispan.context.InvocationContextFactory;
 import org.infinispan.context.impl.FlagBitSets;
+import org.infinispan.context.impl.ImmutableContext;
 import org.infinispan.context.impl.TxInvocationContext;
 import org.infinispan.distribution.DistributionManager;
 import org.infinispan.encoding.DataConversion;
@@ -96,6 +100,16 @@
 import org.infinispan.interceptors.AsyncInterceptor;
 import org.infinispan.interceptors.AsyncInterceptorChain;
 import org.infinispan.interceptors.base.CommandInterceptor;
+import org.infinispan.interceptors.distribution.DistributionBulkInterceptor;
+import org.infinispan.interceptors.distribution.NonTxDistributionInterceptor;
+import org.infinispan.interceptors.distribution.TriangleDistributionInterceptor;
+import org.infinispan.interceptors.impl.CacheMgmtInterceptor;
+import org.infinispan.interceptors.impl.CallInterceptor;
+import org.infinispan.interceptors.impl.EntryWrappingInterceptor;
+import org.infinispan.interceptors.impl.InvocationContextInterceptor;
+import org.infinispan.interceptors.impl.NotificationInterceptor;
+import org.infinispan.interceptors.locking.NonTransactionalLockingInterceptor;
+import org.infinispan.interceptors.xsite.NonTransactionalBackupInterceptor;
 import org.infinispan.jmx.annotations.DataType;
 import org.infinispan.jmx.annotations.DisplayType;
 import org.infinispan.jmx.annotations.MBean;
@@ -107,12 +121,17 @@
 import org.infinispan.metadata.Metadata;
 import org.infinispan.notifications.cachelistener.CacheNotifier;
 import org.infinispan.notifications.cachelistener.ListenerHolder;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryCreated;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryRemoved;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryVisited;
 import org.infinispan.notifications.cachelistener.filter.CacheEventConverter;
 import org.infinispan.notifications.cachelistener.filter.CacheEventFilter;
 import org.infinispan.partitionhandling.AvailabilityMode;
 import org.infinispan.partitionhandling.impl.PartitionHandlingManager;
 import org.infinispan.remoting.rpc.RpcManager;
 import org.infinispan.security.AuthorizationManager;
+import org.infinispan.statetransfer.StateTransferInterceptor;
 import org.infinispan.stats.Stats;
 import org.infinispan.stats.impl.StatsImpl;
 import org.infinispan.stream.StreamMarshalling;
@@ -124,6 +143,7 @@
 import org.infinispan.transaction.impl.TransactionTable;
 import org.infinispan.transaction.xa.TransactionXaAdapter;
 import org.infinispan.transaction.xa.XaTransactionTable;
+import org.infinispan.util.TimeService;
 import org.infinispan.util.concurrent.CompletableFutures;
 import org.infinispan.util.concurrent.locks.LockManager;
 import org.infinispan.util.logging.Log;
@@ -141,6 +161,12 @@
 public class CacheImpl<K, V> implements AdvancedCache<K, V> {
    public static final String OBJECT_NAME = "Cache";
    private static final long PFER_FLAGS = EnumUtil.bitSetOf(FAIL_SILENTLY, FORCE_ASYNCHRONOUS, ZERO_LOCK_ACQUISITION_TIMEOUT, PUT_FOR_EXTERNAL_READ, IGNORE_RETURN_VALUES);
+   // The interceptors that return the value in the data container for a non-tx read on an owner
+   private static final Set<Class<?>> FAST_READ_INTERCEPTORS = new HashSet<>(Arrays.asList(
+         DistributionBulkInterceptor.class, InvocationContextInterceptor.class, CacheMgmtInterceptor.class,
+         StateTransferInterceptor.class, NonTransactionalLockingInterceptor.class, NotificationInterceptor.class,
+         NonTransactionalBackupInterceptor.class, EntryWrappingInterceptor.class, NonTxDistributionInterceptor.class,
+         TriangleDistributionInterceptor.class, CallInterceptor.class));
 
    protected InvocationContextFactory invocationContextFactory;
    protected CommandsFactory commandsFactory;
@@ -159,6 +185,7 @@
    private DataContainer dataContainer;
    private static final Log log = LogFactory.getLog(CacheImpl.class);
    private static final boolean trace = log.isTraceEnabled();
+   private static final Object KEY_LOCKED = new Object();
    private EmbeddedCacheManager cacheManager;
    private LockManager lockManager;
    private DistributionManager distributionManager;
@@ -170,6 +197,14 @@
    private volatile boolean stopping = false;
    private boolean transactional;
    private boolean batchingEnabled;
+   /**
+    * The interceptor chain for which {@link #get(Object)} can read the data container directly, {@code null} if an
+    * interceptor could change the result.
+    */
+   private List<AsyncInterceptor> fastReadInterceptors;
+   private CacheMgmtInterceptor cacheMgmtInterceptor;
+   private boolean lockFreeWrites;
+   private TimeService timeService;
 
    public CacheImpl(String name) {
       this.name = name;
@@ -201,6 +236,7 @@ public void injectDependencies(EvictionManager evictionManager,
       this.config = configuration;
       this.notifier = notifier;
       this.componentRegistry = componentRegistry;
+      this.timeService = componentRegistry.getTimeService();
       this.transactionManager = transactionManager;
       this.batchContainer = batchContainer;
       this.rpcManager = rpcManager;
@@ -224,6 +260,84 @@ public void injectDependencies(EvictionManager evictionManager,
             .lifespan(config.expiration().lifespan()).maxIdle(config.expiration().maxIdle()).build();
       transactional = config.transaction().transactionMode().isTransactional();
       batchingEnabled = config.invocationBatching().enabled();
+      initFastRead(interceptorChain);
+   }
+
+   private void initFastRead(AsyncInterceptorChain interceptorChain) {
+      if (transactional)
+         return;
+      List<AsyncInterceptor> interceptors = interceptorChain.getInterceptors();
+      for (AsyncInterceptor interceptor : interceptors) {
+         if (!FAST_READ_INTERCEPTORS.contains(interceptor.getClass()))
+            return;
+      }
+      cacheMgmtInterceptor = interceptorChain.findInterceptorWithClass(CacheMgmtInterceptor.class);
+      fastReadInterceptors = interceptors;
+      // The primary owner must hold the lock while it updates the backups
+      lockFreeWrites = config.locking().lockFreeWrites() && !config.clustering().cacheMode().isClustered() &&
+            !config.persistence().usingStores();
+   }
+
+   private boolean canSkipInterceptors() {
+      return fastReadInterceptors != null && invoker.getInterceptors() == fastReadInterceptors &&
+            componentRegistry.getStatus() == ComponentStatus.RUNNING &&
+            (cacheMgmtInterceptor == null || !cacheMgmtInterceptor.getStatisticsEnabled());
+   }
+
+   /**
+    * A read returns the value in the data container, without invoking the interceptors, if the chain was not modified
+    * since the cache was created, and no statistics or listeners need the read to go through it. Non-owners still go
+    * through the chain for the remote lookup.
+    */
+   private boolean isFastReadAllowed(Object key) {
+      if (!canSkipInterceptors() || notifier.hasListener(CacheEntryVisited.class))
+         return false;
+      return distributionManager == null || distributionManager.getCacheTopology().isReadOwner(key);
+   }
+
+   /**
+    * With {@link org.infinispan.configuration.cache.LockingConfiguration#lockFreeWrites()}, a write without flags is
+    * applied with {@link DataContainer#compute(Object, DataContainer.ComputeAction)} instead of the interceptor chain,
+    * if no listener needs the write notifications. Deltas always go through the chain.
+    */
+   private boolean isLockFreeWriteAllowed(Object value) {
+      if (!lockFreeWrites || !canSkipInterceptors())
+         return false;
+      if (value instanceof Delta || value instanceof DeltaAware)
+         return false;
+      return !notifier.hasListener(CacheEntryCreated.class) && !notifier.hasListener(CacheEntryModified.class) &&
+            !notifier.hasListener(CacheEntryRemoved.class);
+   }
+
+   /**
+    * Applies the write atomically in the data container. The action receives {@code null} instead of an expired entry.
+    * <p>
+    * No lock is acquired. The key lock is only checked inside the compute, and a write going through the interceptor
+    * chain acquires it before it reads the entry with a compute as well (see {@link org.infinispan.container.EntryFactoryImpl}), so either this
+    * write happens before the chain reads the entry, or it sees the key locked until the chain committed.
+    *
+    * @return the value before the write, or {@link #KEY_LOCKED} if the key lock is held by another write, and the
+    * write must go through the interceptor chain. The value is read before the action runs, because
+    * {@link org.infinispan.container.InternalEntryFactory#update(InternalCacheEntry, Object, Metadata)} modifies the entry in place.
+    */
+   @SuppressWarnings("unchecked")
+   private Object lockFreeWrite(Object key, DataContainer.ComputeAction<K, V> action) {
+      ByRef<Object> previous = new ByRef<>(null);
+      DataContainer<K, V> container = dataContainer;
+      container.compute((K) key, (k, oldEntry, factory) -> {
+         if (lockManager.isLocked(k)) {
+            previous.set(KEY_LOCKED);
+            return oldEntry;
+         }
+         InternalCacheEntry<K, V> current = oldEntry;
+         if (current != null && current.canExpire() && current.isExpired(timeService.wallClockTime())) {
+            notifier.notifyCacheEntryExpired(k, current.getValue(), current.getMetadata(), ImmutableContext.INSTANCE);
+            current = null;
+         }
+         previous.set(current == null ? null : current.getValue());
+         return action.compute(k, current, factory);
+      });
+      return previous.get();
    }
 
    private void assertKeyNotNull(Object key) {
@@ -437,6 +551,13 @@ public final void putAll(Map<? extends K, ? extends V> m) {
 
    @Override
    public final boolean remove(Object key, Object value) {
+      if (isLockFreeWriteAllowed(value)) {
+         assertKeyValueNotNull(key, value);
+         Object previous = lockFreeWrite(key, (k, oldEntry, factory) ->
+               oldEntry != null && oldEntry.getValue().equals(value) ? null : oldEntry);
+         if (previous != KEY_LOCKED)
+            return previous != null && previous.equals(value);
+      }
       return remove(key, value, EnumUtil.EMPTY_BIT_SET, getInvocationContextWithImplicitTransaction(false, 1));
    }
 
@@ -489,7 +610,13 @@ public final boolean containsValue(Object value) {
    }
 
    @Override
+   @SuppressWarnings("unchecked")
    public final V get(Object key) {
+      assertKeyNotNull(key);
+      if (isFastReadAllowed(key)) {
+         InternalCacheEntry<K, V> entry = dataContainer.get(key);
+         return entry == null ? null : entry.getValue();
+      }
       return get(key, EnumUtil.EMPTY_BIT_SET, invocationContextFactory.createInvocationContext(false, 1));
    }
 
@@ -512,6 +639,18 @@ public final CacheEntry getCacheEntry(Object key) {
       return getCacheEntry(key, EnumUtil.EMPTY_BIT_SET, invocationContextFactory.createInvocationContext(false, 1));
    }
 
+   @Override
+   public final CompletableFuture<CacheEntry<K, V>> getCacheEntryAsync(Object key) {
+      return getCacheEntryAsync(key, EnumUtil.EMPTY_BIT_SET, invocationContextFactory.createInvocationContext(false, 1));
+   }
+
+   @SuppressWarnings("unchecked")
+   final CompletableFuture<CacheEntry<K, V>> getCacheEntryAsync(Object key, long explicitFlags, InvocationContext ctx) {
+      assertKeyNotNull(key);
+      GetCacheEntryCommand command = commandsFactory.buildGetCacheEntryCommand(key, explicitFlags);
+      return invoker.invokeAsync(ctx, command).thenApply(ret -> (CacheEntry<K, V>) ret);
+   }
+
    @Override
    public Map<K, V> getAll(Set<?> keys) {
       return getAll(keys, EnumUtil.EMPTY_BIT_SET, invocationContextFactory.createInvocationContext(false, keys.size()));
@@ -543,7 +682,23 @@ public Map<K, CacheEntry<K, V>> getAllCacheEntries(Set<?> keys) {
    public final Map<K, CacheEntry<K, V>> getAllCacheEntries(Set<?> keys,
                                                             long explicitFlags, InvocationContext ctx) {
       GetAllCommand command = commandsFactory.buildGetAllCommand(keys, explicitFlags, true);
-      Map<K, CacheEntry<K, V>> map = (Map<K, CacheEntry<K, V>>) invoker.invoke(ctx, command);
+      return removeMissingEntries((Map<K, CacheEntry<K, V>>) invoker.invoke(ctx, command));
+   }
+
+   @Override
+   public final CompletableFuture<Map<K, CacheEntry<K, V>>> getAllCacheEntriesAsync(Set<?> keys) {
+      return getAllCacheEntriesAsync(keys, EnumUtil.EMPTY_BIT_SET,
+            invocationContextFactory.createInvocationContext(false, keys.size()));
+   }
+
+   @SuppressWarnings("unchecked")
+   final CompletableFuture<Map<K, CacheEntry<K, V>>> getAllCacheEntriesAsync(Set<?> keys, long explicitFlags,
+                                                                              InvocationContext ctx) {
+      GetAllCommand command = commandsFactory.buildGetAllCommand(keys, explicitFlags, true);
+      return invoker.invokeAsync(ctx, command).thenApply(ret -> removeMissingEntries((Map<K, CacheEntry<K, V>>) ret));
+   }
+
+   private Map<K, CacheEntry<K, V>> removeMissingEntries(Map<K, CacheEntry<K, V>> map) {
       Iterator<Map.Entry<K, CacheEntry<K, V>>> entryIterator = map.entrySet().iterator();
       while (entryIterator.hasNext()) {
          Map.Entry<K, CacheEntry<K, V>> entry = entryIterator.next();
@@ -623,7 +778,14 @@ private void nonTransactionalRemoveGroup(String groupName, long explicitFlags) {
    }
 
    @Override
+   @SuppressWarnings("unchecked")
    public final V remove(Object key) {
+      if (isLockFreeWriteAllowed(null)) {
+         assertKeyNotNull(key);
+         Object previous = lockFreeWrite(key, (k, oldEntry, factory) -> null);
+         if (previous != KEY_LOCKED)
+            return (V) previous;
+      }
       return remove(key, EnumUtil.EMPTY_BIT_SET, getInvocationContextWithImplicitTransaction(false, 1));
    }
 
@@ -1500,7 +1662,8 @@ public final CompletableFuture<Void> putAllAsync(Map<? extends K, ? extends V> d
       return putAllAsync(data, metadata);
    }
 
-   final CompletableFuture<Void> putAllAsync(final Map<? extends K, ? extends V> data, final Metadata metadata) {
+   @Override
+   public final CompletableFuture<Void> putAllAsync(final Map<? extends K, ? extends V> data, final Metadata metadata) {
       return putAllAsync(data, metadata, EnumUtil.EMPTY_BIT_SET, getInvocationContextWithImplicitTransaction(false, data.size()));
    }
 
@@ -1530,7 +1693,8 @@ public final CompletableFuture<V> putIfAbsentAsync(K key, V value, long lifespan
       return putIfAbsentAsync(key, value, metadata);
    }
 
-   final CompletableFuture<V> putIfAbsentAsync(final K key, final V value, final Metadata metadata) {
+   @Override
+   public final CompletableFuture<V> putIfAbsentAsync(final K key, final V value, final Metadata metadata) {
       return putIfAbsentAsync(key, value, metadata, EnumUtil.EMPTY_BIT_SET, getInvocationContextWithImplicitTransaction(false, 1));
    }
 
@@ -1572,7 +1736,8 @@ public final CompletableFuture<V> replaceAsync(K key, V value, long lifespan, Ti
       return replaceAsync(key, value, metadata);
    }
 
-   final CompletableFuture<V> replaceAsync(final K key, final V value, final Metadata metadata) {
+   @Override
+   public final CompletableFuture<V> replaceAsync(final K key, final V value, final Metadata metadata) {
       return replaceAsync(key, value, metadata, EnumUtil.EMPTY_BIT_SET, getInvocationContextWithImplicitTransaction(false, 1));
    }
 
@@ -1591,8 +1756,9 @@ public final CompletableFuture<Boolean> replaceAsync(K key, V oldValue, V newVal
       return replaceAsync(key, oldValue, newValue, metadata);
    }
 
-   final CompletableFuture<Boolean> replaceAsync(final K key, final V oldValue, final V newValue,
-                                                 final Metadata metadata) {
+   @Override
+   public final CompletableFuture<Boolean> replaceAsync(final K key, final V oldValue, final V newValue,
+                                                        final Metadata metadata) {
       return replaceAsync(key, oldValue, newValue, metadata, EnumUtil.EMPTY_BIT_SET, getInvocationContextWithImplicitTransaction(false, 1));
    }
 
@@ -1771,7 +1937,16 @@ public AdvancedCache<K, V> with(ClassLoader classLoader) {
    }
 
    @Override
+   @SuppressWarnings("unchecked")
    public V put(K key, V value, Metadata metadata) {
+      if (isLockFreeWriteAllowed(value)) {
+         assertKeyValueNotNull(key, value);
+         Metadata merged = applyDefaultMetadata(metadata);
+         Object previous = lockFreeWrite(key, (k, oldEntry, factory) -> oldEntry == null ?
+               factory.create(k, value, merged) : factory.update(oldEntry, value, merged));
+         if (previous != KEY_LOCKED)
+            return (V) previous;
+      }
       return put(key, value, metadata, EnumUtil.EMPTY_BIT_SET, getInvocationContextWithImplicitTransaction(false, 1));
    }
 
@@ -1789,17 +1964,44 @@ private Metadata applyDefaultMetadata(Metadata metadata) {
    }
 
    @Override
+   @SuppressWarnings("unchecked")
    public V replace(K key, V value, Metadata metadata) {
+      if (isLockFreeWriteAllowed(value)) {
+         assertKeyValueNotNull(key, value);
+         Metadata merged = applyDefaultMetadata(metadata);
+         Object previous = lockFreeWrite(key, (k, oldEntry, factory) -> oldEntry == null ?
+               null : factory.update(oldEntry, value, merged));
+         if (previous != KEY_LOCKED)
+            return (V) previous;
+      }
       return replace(key, value, metadata, EnumUtil.EMPTY_BIT_SET, getInvocationContextWithImplicitTransaction(false, 1));
    }
 
    @Override
    public boolean replace(K key, V oldValue, V value, Metadata metadata) {
+      if (isLockFreeWriteAllowed(value)) {
+         assertKeyValueNotNull(key, value);
+         assertValueNotNull(oldValue);
+         Metadata merged = applyDefaultMetadata(metadata);
+         Object previous = lockFreeWrite(key, (k, oldEntry, factory) ->
+               oldEntry != null && oldEntry.getValue().equals(oldValue) ? factory.update(oldEntry, value, merged) : oldEntry);
+         if (previous != KEY_LOCKED)
+            return previous != null && previous.equals(oldValue);
+      }
       return replace(key, oldValue, value, metadata, EnumUtil.EMPTY_BIT_SET, getInvocationContextWithImplicitTransaction(false, 1));
    }
 
    @Override
+   @SuppressWarnings("unchecked")
    public V putIfAbsent(K key, V value, Metadata metadata) {
+      if (isLockFreeWriteAllowed(value)) {
+         assertKeyValueNotNull(key, value);
+         Metadata merged = applyDefaultMetadata(metadata);
+         Object previous = lockFreeWrite(key, (k, oldEntry, factory) -> oldEntry == null ?
+               factory.create(k, value, merged) : oldEntry);
+         if (previous != KEY_LOCKED)
+            return (V) previous;
+      }
       return putIfAbsent(key, value, metadata, EnumUtil.EMPTY_BIT_SET);
    }
 
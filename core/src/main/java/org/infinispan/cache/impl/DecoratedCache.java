@@ -357,7 +357,8 @@ public CompletableFuture<Void> putAllAsync(Map<? extends K, ? extends V> data, l
       return putAllAsync(data, metadata);
    }
 
-   CompletableFuture<Void> putAllAsync(final Map<? extends K, ? extends V> data, final Metadata metadata) {
+   @Override
+   public CompletableFuture<Void> putAllAsync(final Map<? extends K, ? extends V> data, final Metadata metadata) {
       return cacheImplementation.putAllAsync(data, metadata, flags, writeContext(data.size()));
    }
 
@@ -391,7 +392,8 @@ public CompletableFuture<V> putIfAbsentAsync(K key, V value, long lifespan, Time
       return putIfAbsentAsync(key, value, metadata);
    }
 
-   CompletableFuture<V> putIfAbsentAsync(final K key, final V value, final Metadata metadata) {
+   @Override
+   public CompletableFuture<V> putIfAbsentAsync(final K key, final V value, final Metadata metadata) {
       return cacheImplementation.putIfAbsentAsync(key, value, metadata, flags, writeContext(1));
    }
 
@@ -430,7 +432,8 @@ public CompletableFuture<V> replaceAsync(K key, V value, long lifespan, TimeUnit
       return replaceAsync(key, value, metadata);
    }
 
-   CompletableFuture<V> replaceAsync(final K key, final V value, final Metadata metadata) {
+   @Override
+   public CompletableFuture<V> replaceAsync(final K key, final V value, final Metadata metadata) {
       return cacheImplementation.replaceAsync(key, value, metadata, flags, writeContext(1));
    }
 
@@ -459,8 +462,9 @@ public CompletableFuture<Boolean> replaceAsync(K key, V oldValue, V newValue, lo
       return replaceAsync(key, oldValue, newValue, metadata);
    }
 
-   CompletableFuture<Boolean> replaceAsync(final K key, final V oldValue, final V newValue,
-         final Metadata metadata) {
+   @Override
+   public CompletableFuture<Boolean> replaceAsync(final K key, final V oldValue, final V newValue,
+                                                 final Metadata metadata) {
       return cacheImplementation.replaceAsync(key, oldValue, newValue, metadata, flags, writeContext(1));
    }
 
@@ -505,6 +509,11 @@ public Map<K, CacheEntry<K, V>> getAllCacheEntries(Set<?> keys) {
       return cacheImplementation.getAllCacheEntries(keys, flags, readContext(keys.size()));
    }
 
+   @Override
+   public CompletableFuture<Map<K, CacheEntry<K, V>>> getAllCacheEntriesAsync(Set<?> keys) {
+      return cacheImplementation.getAllCacheEntriesAsync(keys, flags, readContext(keys.size()));
+   }
+
    @Override
    public V put(K key, V value) {
       return put(key, value, cacheImplementation.defaultMetadata);
@@ -666,6 +675,11 @@ public CacheEntry getCacheEntry(Object key) {
       return cacheImplementation.getCacheEntry(key, flags, readContext(1));
    }
 
+   @Override
+   public CompletableFuture<CacheEntry<K, V>> getCacheEntryAsync(Object key) {
+      return cacheImplementation.getCacheEntryAsync(key, flags, readContext(1));
+   }
+
    protected InvocationContext readContext(int size) {
       InvocationContext ctx = cacheImplementation.invocationContextFactory.createInvocationContext(false, size);
       if (lockOwner != null) {
@@ -10,6 +10,7 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
@@ -26,12 +27,14 @@
 import org.infinispan.commands.read.AbstractCloseableIteratorCollection;
 import org.infinispan.commons.dataconversion.Encoder;
 import org.infinispan.commons.dataconversion.Wrapper;
+import org.infinispan.commons.marshall.WrappedBytes;
 import org.infinispan.commons.util.CloseableIterator;
 import org.infinispan.commons.util.CloseableIteratorMapper;
 import org.infinispan.commons.util.CloseableSpliterator;
 import org.infinispan.commons.util.CloseableSpliteratorMapper;
 import org.infinispan.compat.BiFunctionMapper;
 import org.infinispan.compat.FunctionMapper;
+import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.container.InternalEntryFactory;
 import org.infinispan.container.entries.CacheEntry;
 import org.infinispan.container.entries.ForwardingCacheEntry;
@@ -49,6 +52,8 @@
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 /**
  * Cache decoration that makes use of the {@link Encoder} and {@link Wrapper} to convert between storage value and
  * read/write value.
@@ -64,6 +69,8 @@
 
    private InternalEntryFactory entryFactory;
    private ComponentRegistry componentRegistry;
+   // Decoded values by their stored key and value, so no invalidation is needed when the value is written
+   private ConcurrentMap<StoredValue, Object> decodedValues;
 
    private final Function<V, V> decodedValueForRead = this::valueFromStorage;
 
@@ -107,10 +114,26 @@ public V valueFromStorage(Object value) {
       return (V) valueDataConversion.fromStorage(value);
    }
 
+   /**
+    * Decodes a value returned by a plain read, reusing the decoded value cache if enabled. The values passed to or
+    * returned by the functions and the write operations are always decoded again, as the caller may modify them.
+    */
+   private V readValueFromStorage(Object storageKey, Object value) {
+      if (decodedValues != null && value instanceof WrappedBytes) {
+         return (V) decodedValues.computeIfAbsent(new StoredValue(storageKey, value),
+               stored -> valueDataConversion.fromStorage(stored.value));
+      }
+      return valueFromStorage(value);
+   }
+
    @Inject
-   public void wireRealCache(ComponentRegistry registry, InternalEntryFactory entryFactory) {
+   public void wireRealCache(ComponentRegistry registry, InternalEntryFactory entryFactory, Configuration configuration) {
       this.entryFactory = entryFactory;
       this.componentRegistry = registry;
+      int decodedValueCacheSize = configuration.memory().decodedValueCacheSize();
+      if (decodedValueCacheSize > 0) {
+         this.decodedValues = Caffeine.newBuilder().maximumSize(decodedValueCacheSize).<StoredValue, Object>build().asMap();
+      }
       registry.wireDependencies(keyDataConversion);
       registry.wireDependencies(valueDataConversion);
       registry.wireDependencies(cache);
@@ -128,6 +151,12 @@ private Map<K, V> decodeMapForRead(Map<? extends K, ? extends V> map) {
       return newMap;
    }
 
+   private Map<K, V> decodeReadMap(Map<? extends K, ? extends V> map) {
+      Map<K, V> newMap = new LinkedHashMap<>(map.size());
+      map.forEach((k, v) -> newMap.put(keyFromStorage(k), readValueFromStorage(k, v)));
+      return newMap;
+   }
+
    private CacheEntry<K, V> convertEntry(K newKey, V newValue, CacheEntry<K, V> entry) {
       if (entry instanceof InternalCacheEntry) {
          return entryFactory.create(newKey, newValue, (InternalCacheEntry) entry);
@@ -148,7 +177,7 @@ private Map<K, CacheEntry<K, V>> decodeEntryMapForRead(Map<K, CacheEntry<K, V>>
          K originalKey = v.getKey();
          K unwrappedKey = keyFromStorage(originalKey);
          V originalValue = v.getValue();
-         V unwrappedValue = valueFromStorage(originalValue);
+         V unwrappedValue = readValueFromStorage(originalKey, originalValue);
          CacheEntry<K, V> entryToPut;
          if (unwrappedKey != originalKey || unwrappedValue != originalValue) {
             entryToPut = convertEntry(unwrappedKey, unwrappedValue, v);
@@ -160,6 +189,33 @@ private Map<K, CacheEntry<K, V>> decodeEntryMapForRead(Map<K, CacheEntry<K, V>>
       return entryMap;
    }
 
+   /**
+    * Key of the decoded value cache. Identical values stored under different keys are decoded separately, so that
+    * reads of different keys never share an instance.
+    */
+   private static final class StoredValue {
+      final Object key;
+      final Object value;
+
+      StoredValue(Object key, Object value) {
+         this.key = key;
+         this.value = value;
+      }
+
+      @Override
+      public boolean equals(Object o) {
+         if (this == o) return true;
+         if (o == null || getClass() != o.getClass()) return false;
+         StoredValue that = (StoredValue) o;
+         return key.equals(that.key) && value.equals(that.value);
+      }
+
+      @Override
+      public int hashCode() {
+         return 31 * key.hashCode() + value.hashCode();
+      }
+   }
+
    private class EncodedCacheStream<R> extends AbstractDelegatingCacheStream<R> {
 
       public EncodedCacheStream(CacheStream<R> stream) {
@@ -388,16 +444,25 @@ public CompletableFuture<V> replaceAsync(K key, V value, long lifespan, TimeUnit
    @Override
    public Map<K, V> getAll(Set<?> keys) {
       Map<K, V> ret = super.getAll(encodeKeysForWrite(keys));
-      return decodeMapForRead(ret);
+      return decodeReadMap(ret);
    }
 
    @Override
    public CacheEntry<K, V> getCacheEntry(Object key) {
       K keyToStorage = keyToStorage(key);
-      CacheEntry<K, V> returned = super.getCacheEntry(keyToStorage);
+      return decodeEntryForRead(key, keyToStorage, super.getCacheEntry(keyToStorage));
+   }
+
+   @Override
+   public CompletableFuture<CacheEntry<K, V>> getCacheEntryAsync(Object key) {
+      K keyToStorage = keyToStorage(key);
+      return super.getCacheEntryAsync(keyToStorage).thenApply(returned -> decodeEntryForRead(key, keyToStorage, returned));
+   }
+
+   private CacheEntry<K, V> decodeEntryForRead(Object key, K keyToStorage, CacheEntry<K, V> returned) {
       if (returned != null) {
          V originalValue = returned.getValue();
-         V valueFromStorage = valueFromStorage(originalValue);
+         V valueFromStorage = readValueFromStorage(keyToStorage, originalValue);
          if (keyToStorage != key || valueFromStorage != originalValue) {
             return convertEntry((K) key, valueFromStorage, returned);
          }
@@ -417,6 +482,11 @@ public Map<K, CacheEntry<K, V>> getAllCacheEntries(Set<?> keys) {
       return decodeEntryMapForRead(returned);
    }
 
+   @Override
+   public CompletableFuture<Map<K, CacheEntry<K, V>>> getAllCacheEntriesAsync(Set<?> keys) {
+      return super.getAllCacheEntriesAsync(encodeKeysForWrite(keys)).thenApply(this::decodeEntryMapForRead);
+   }
+
    @Override
    public Map<K, V> getGroup(String groupName) {
       Map<K, V> ret = super.getGroup(groupName);
@@ -466,6 +536,26 @@ public CompletableFuture<V> putAsync(K key, V value, Metadata metadata) {
       return super.putAsync(keyToStorage(key), valueToStorage(value), metadata).thenApply(decodedValueForRead);
    }
 
+   @Override
+   public CompletableFuture<V> putIfAbsentAsync(K key, V value, Metadata metadata) {
+      return super.putIfAbsentAsync(keyToStorage(key), valueToStorage(value), metadata).thenApply(decodedValueForRead);
+   }
+
+   @Override
+   public CompletableFuture<V> replaceAsync(K key, V value, Metadata metadata) {
+      return super.replaceAsync(keyToStorage(key), valueToStorage(value), metadata).thenApply(decodedValueForRead);
+   }
+
+   @Override
+   public CompletableFuture<Boolean> replaceAsync(K key, V oldValue, V newValue, Metadata metadata) {
+      return super.replaceAsync(keyToStorage(key), valueToStorage(oldValue), valueToStorage(newValue), metadata);
+   }
+
+   @Override
+   public CompletableFuture<Void> putAllAsync(Map<? extends K, ? extends V> map, Metadata metadata) {
+      return super.putAllAsync(encodeMapForWrite(map), metadata);
+   }
+
    @Override
    public void putForExternalRead(K key, V value, Metadata metadata) {
       super.putForExternalRead(keyToStorage(key), valueToStorage(value), metadata);
@@ -503,6 +593,10 @@ private void lookupEncoderWrapper() {
    private void initState(EncoderCache<K, V> encoderCache, EncoderCache<K, V> template) {
       encoderCache.entryFactory = template.entryFactory;
       encoderCache.componentRegistry = template.componentRegistry;
+      // The values are decoded the same way only if the conversion did not change
+      if (encoderCache.valueDataConversion.equals(template.valueDataConversion)) {
+         encoderCache.decodedValues = template.decodedValues;
+      }
       encoderCache.lookupEncoderWrapper();
    }
 
@@ -629,8 +723,9 @@ public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction
 
    @Override
    public V get(Object key) {
-      V v = super.get(keyToStorage(key));
-      return valueFromStorage(v);
+      K keyToStorage = keyToStorage(key);
+      V v = super.get(keyToStorage);
+      return readValueFromStorage(keyToStorage, v);
    }
 
    @Override
@@ -888,7 +983,8 @@ public CacheCollection<V> values() {
 
    @Override
    public CompletableFuture<V> getAsync(K key) {
-      return super.getAsync(keyToStorage(key)).thenApply(decodedValueForRead);
+      K keyToStorage = keyToStorage(key);
+      return super.getAsync(keyToStorage).thenApply(v -> readValueFromStorage(keyToStorage, v));
    }
 
    @Override
@@ -233,6 +233,27 @@ public CompletableFuture<V> putAsync(K key, V value, Metadata metadata) {
       return CompletableFuture.completedFuture(getAndPutInternal(key, value, applyDefaultMetadata(metadata)));
    }
 
+   @Override
+   public CompletableFuture<V> putIfAbsentAsync(K key, V value, Metadata metadata) {
+      return CompletableFuture.completedFuture(putIfAbsent(key, value, metadata));
+   }
+
+   @Override
+   public CompletableFuture<V> replaceAsync(K key, V value, Metadata metadata) {
+      return CompletableFuture.completedFuture(replace(key, value, metadata));
+   }
+
+   @Override
+   public CompletableFuture<Boolean> replaceAsync(K key, V oldValue, V newValue, Metadata metadata) {
+      return CompletableFuture.completedFuture(replace(key, oldValue, newValue, metadata));
+   }
+
+   @Override
+   public CompletableFuture<Void> putAllAsync(Map<? extends K, ? extends V> map, Metadata metadata) {
+      putAll(map, metadata);
+      return CompletableFuture.completedFuture(null);
+   }
+
    @Override
    public Map<K, V> getAll(Set<?> keys) {
       Map<K, V> map = CollectionFactory
@@ -889,6 +910,16 @@ public CompletableFuture<V> getAsync(K key) {
       return CompletableFuture.completedFuture(get(key));
    }
 
+   @Override
+   public CompletableFuture<CacheEntry<K, V>> getCacheEntryAsync(Object key) {
+      return CompletableFuture.completedFuture(getCacheEntry(key));
+   }
+
+   @Override
+   public CompletableFuture<Map<K, CacheEntry<K, V>>> getAllCacheEntriesAsync(Set<?> keys) {
+      return CompletableFuture.completedFuture(getAllCacheEntries(keys));
+   }
+
    @Override
    public boolean startBatch() {
       // invocation batching implies CacheImpl
@@ -0,0 +1,51 @@
+package org.infinispan.configuration.cache;
+
+import org.infinispan.commons.configuration.BuiltBy;
+import org.infinispan.commons.configuration.ConfigurationFor;
+import org.infinispan.commons.configuration.attributes.Attribute;
+import org.infinispan.commons.configuration.attributes.AttributeDefinition;
+import org.infinispan.commons.configuration.attributes.AttributeSet;
+import org.infinispan.persistence.file.CompactingFileStore;
+
+/**
+ * Defines the configuration for the compacting file cache store.
+ *
+ * @since 9.2
+ */
+@BuiltBy(CompactingFileStoreConfigurationBuilder.class)
+@ConfigurationFor(CompactingFileStore.class)
+public class CompactingFileStoreConfiguration extends AbstractStoreConfiguration {
+   public static final AttributeDefinition<String> LOCATION = AttributeDefinition.builder("location", "Infinispan-SingleFileStore").immutable().xmlName("path").build();
+   public static final AttributeDefinition<Float> FRAGMENTATION_FACTOR = AttributeDefinition.builder("fragmentationFactor", 0.75f).immutable().build();
+   public static AttributeSet attributeDefinitionSet() {
+      return new AttributeSet(CompactingFileStoreConfiguration.class, AbstractStoreConfiguration.attributeDefinitionSet(), LOCATION, FRAGMENTATION_FACTOR);
+   }
+
+   private final Attribute<String> location;
+   private final Attribute<Float> fragmentationFactor;
+
+   public CompactingFileStoreConfiguration(AttributeSet attributes, AsyncStoreConfiguration async,
+                                           SingletonStoreConfiguration singletonStore) {
+      super(attributes, async, singletonStore);
+      location = attributes.attribute(LOCATION);
+      fragmentationFactor = attributes.attribute(FRAGMENTATION_FACTOR);
+   }
+
+   public String location() {
+      return location.get();
+   }
+
+   public float fragmentationFactor() {
+      return fragmentationFactor.get();
+   }
+
+   @Override
+   public AttributeSet attributes() {
+      return attributes;
+   }
+
+   @Override
+   public String toString() {
+      return "CompactingFileStoreConfiguration [attributes=" + attributes + "]";
+   }
+}
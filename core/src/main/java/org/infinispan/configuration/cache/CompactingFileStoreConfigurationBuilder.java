@@ -0,0 +1,72 @@
+package org.infinispan.configuration.cache;
+
+import static org.infinispan.configuration.cache.CompactingFileStoreConfiguration.FRAGMENTATION_FACTOR;
+import static org.infinispan.configuration.cache.CompactingFileStoreConfiguration.LOCATION;
+
+import org.infinispan.commons.configuration.Builder;
+import org.infinispan.commons.configuration.attributes.AttributeSet;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * Compacting file cache store configuration builder.
+ *
+ * @since 9.2
+ */
+public class CompactingFileStoreConfigurationBuilder
+      extends AbstractStoreConfigurationBuilder<CompactingFileStoreConfiguration, CompactingFileStoreConfigurationBuilder> {
+   private static final Log log = LogFactory.getLog(CompactingFileStoreConfigurationBuilder.class);
+
+   public CompactingFileStoreConfigurationBuilder(PersistenceConfigurationBuilder builder) {
+      this(builder, CompactingFileStoreConfiguration.attributeDefinitionSet());
+   }
+
+   public CompactingFileStoreConfigurationBuilder(PersistenceConfigurationBuilder builder, AttributeSet attributeSet) {
+      super(builder, attributeSet);
+   }
+
+   @Override
+   public CompactingFileStoreConfigurationBuilder self() {
+      return this;
+   }
+
+   /**
+    * Sets a location on disk where the store can write. The data file has the same format as the one of the single
+    * file store, so both stores can be pointed at the same location.
+    */
+   public CompactingFileStoreConfigurationBuilder location(String location) {
+      attributes.attribute(LOCATION).set(location);
+      return this;
+   }
+
+   /**
+    * New and updated entries are always appended to the data file, and the space of the removed and overwritten
+    * entries is only reclaimed by compacting the file, which copies the live entries to a new file in the background.
+    * The fragmentationFactor decides when to compact: if it is set to 0.75, the file is compacted as soon as the live
+    * entries take less than 0.75 times its size.
+    */
+   public CompactingFileStoreConfigurationBuilder fragmentationFactor(float fragmentationFactor) {
+      attributes.attribute(FRAGMENTATION_FACTOR).set(fragmentationFactor);
+      return this;
+   }
+
+   @Override
+   protected void validate(boolean skipClassChecks) {
+      super.validate(skipClassChecks);
+      float fragmentationFactor = attributes.attribute(FRAGMENTATION_FACTOR).get();
+      if (fragmentationFactor <= 0 || fragmentationFactor > 1)
+         throw log.invalidFragmentationFactor(fragmentationFactor);
+   }
+
+   @Override
+   public CompactingFileStoreConfiguration create() {
+      return new CompactingFileStoreConfiguration(attributes.protect(), async.create(), singletonStore.create());
+   }
+
+   @Override
+   public Builder<?> read(CompactingFileStoreConfiguration template) {
+      super.read(template);
+      return this;
+   }
+
+}
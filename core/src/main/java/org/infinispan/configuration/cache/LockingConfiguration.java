@@ -19,15 +19,17 @@ public class LockingConfiguration {
    public static final AttributeDefinition<Long> LOCK_ACQUISITION_TIMEOUT  = AttributeDefinition.builder("lockAcquisitionTimeout", TimeUnit.SECONDS.toMillis(10)).xmlName("acquire-timeout").build();
    public static final AttributeDefinition<Boolean> USE_LOCK_STRIPING = AttributeDefinition.builder("striping", false).immutable().build();
    public static final AttributeDefinition<Boolean> WRITE_SKEW_CHECK = AttributeDefinition.builder("writeSkewCheck", true).xmlName("write-skew").immutable().build();
+   public static final AttributeDefinition<Boolean> LOCK_FREE_WRITES = AttributeDefinition.builder("lockFreeWrites", false).immutable().build();
 
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(LockingConfiguration.class, CONCURRENCY_LEVEL, ISOLATION_LEVEL, LOCK_ACQUISITION_TIMEOUT, USE_LOCK_STRIPING, WRITE_SKEW_CHECK);
+      return new AttributeSet(LockingConfiguration.class, CONCURRENCY_LEVEL, ISOLATION_LEVEL, LOCK_ACQUISITION_TIMEOUT, USE_LOCK_STRIPING, WRITE_SKEW_CHECK, LOCK_FREE_WRITES);
    }
 
    private final Attribute<Integer> concurrencyLevel;
    private final Attribute<IsolationLevel> isolationLevel;
    private final Attribute<Long> lockAcquisitionTimeout;
    private final Attribute<Boolean> useLockStriping;
+   private final Attribute<Boolean> lockFreeWrites;
 
    private final AttributeSet attributes;
 
@@ -38,6 +40,7 @@ static AttributeSet attributeDefinitionSet() {
       isolationLevel = attributes.attribute(ISOLATION_LEVEL);
       lockAcquisitionTimeout = attributes.attribute(LOCK_ACQUISITION_TIMEOUT);
       useLockStriping = attributes.attribute(USE_LOCK_STRIPING);
+      lockFreeWrites = attributes.attribute(LOCK_FREE_WRITES);
    }
 
    /**
@@ -92,6 +95,18 @@ public boolean useLockStriping() {
       return useLockStriping.get();
    }
 
+   /**
+    * If true, the unconditional and conditional writes of non-transactional local caches without stores, listeners,
+    * statistics or custom interceptors are applied atomically in the data container, without invoking the interceptor
+    * chain and without acquiring the key lock. The writes going through the interceptor chain read the entry
+    * atomically in the data container after acquiring the key lock, so the writes are still atomic with respect to
+    * each other. When the key lock is held by a write going through the interceptor chain, the write goes through the
+    * interceptor chain too.
+    */
+   public boolean lockFreeWrites() {
+      return lockFreeWrites.get();
+   }
+
    /**
     * This setting is only applicable in the case of REPEATABLE_READ. When write skew check is set
     * to false, if the writer at commit time discovers that the working entry and the underlying
@@ -3,6 +3,7 @@
 import static org.infinispan.configuration.cache.LockingConfiguration.CONCURRENCY_LEVEL;
 import static org.infinispan.configuration.cache.LockingConfiguration.ISOLATION_LEVEL;
 import static org.infinispan.configuration.cache.LockingConfiguration.LOCK_ACQUISITION_TIMEOUT;
+import static org.infinispan.configuration.cache.LockingConfiguration.LOCK_FREE_WRITES;
 import static org.infinispan.configuration.cache.LockingConfiguration.USE_LOCK_STRIPING;
 
 import java.util.concurrent.TimeUnit;
@@ -94,6 +95,19 @@ public LockingConfigurationBuilder useLockStriping(boolean b) {
       return this;
    }
 
+   /**
+    * If true, the unconditional and conditional writes of non-transactional local caches without stores, listeners,
+    * statistics or custom interceptors are applied atomically in the data container, without invoking the interceptor
+    * chain and without acquiring the key lock. The writes going through the interceptor chain read the entry
+    * atomically in the data container after acquiring the key lock, so the writes are still atomic with respect to
+    * each other. When the key lock is held by a write going through the interceptor chain, the write goes through the
+    * interceptor chain too.
+    */
+   public LockingConfigurationBuilder lockFreeWrites(boolean b) {
+      attributes.attribute(LOCK_FREE_WRITES).set(b);
+      return this;
+   }
+
    /**
     * This setting is only applicable in the case of REPEATABLE_READ. When write skew check is set
     * to false, if the writer at commit time discovers that the working entry and the underlying
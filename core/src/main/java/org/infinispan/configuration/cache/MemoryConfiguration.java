@@ -6,6 +6,7 @@
 import org.infinispan.commons.configuration.attributes.AttributeSet;
 import org.infinispan.commons.configuration.attributes.IdentityAttributeCopier;
 import org.infinispan.eviction.EvictionType;
+import org.infinispan.eviction.OffHeapEvictionMode;
 
 /**
  * Controls the memory storage configuration for the cache.
@@ -18,16 +19,23 @@ public class MemoryConfiguration {
          .builder("storage", StorageType.OBJECT).copier(IdentityAttributeCopier.INSTANCE).immutable().build();
    public static final AttributeDefinition<Long> SIZE  = AttributeDefinition.builder("size", -1L).build();
    public static final AttributeDefinition<EvictionType> EVICTION_TYPE  = AttributeDefinition.builder("type", EvictionType.COUNT).build();
+   public static final AttributeDefinition<OffHeapEvictionMode> OFF_HEAP_EVICTION_MODE = AttributeDefinition
+         .builder("eviction-mode", OffHeapEvictionMode.LRU).immutable().build();
+   public static final AttributeDefinition<Integer> DECODED_VALUE_CACHE_SIZE = AttributeDefinition
+         .builder("decoded-value-cache-size", 0).immutable().build();
 
    static public AttributeSet attributeDefinitionSet() {
       return new AttributeSet(MemoryConfiguration.class, AbstractTypedPropertiesConfiguration.attributeSet(),
-            STORAGE_TYPE, SIZE, EVICTION_TYPE, ADDRESS_COUNT);
+            STORAGE_TYPE, SIZE, EVICTION_TYPE, ADDRESS_COUNT, OFF_HEAP_EVICTION_MODE,
+            DECODED_VALUE_CACHE_SIZE);
    }
 
    private final Attribute<Long> size;
    private final Attribute<EvictionType> evictionType;
    private final Attribute<StorageType> storageType;
    private final Attribute<Integer> addressCount;
+   private final Attribute<OffHeapEvictionMode> offHeapEvictionMode;
+   private final Attribute<Integer> decodedValueCacheSize;
    private final AttributeSet attributes;
 
    MemoryConfiguration(AttributeSet attributes) {
@@ -36,6 +44,8 @@ static public AttributeSet attributeDefinitionSet() {
       size = attributes.attribute(SIZE);
       evictionType = attributes.attribute(EVICTION_TYPE);
       addressCount = attributes.attribute(ADDRESS_COUNT);
+      offHeapEvictionMode = attributes.attribute(OFF_HEAP_EVICTION_MODE);
+      decodedValueCacheSize = attributes.attribute(DECODED_VALUE_CACHE_SIZE);
    }
 
    /**
@@ -78,6 +88,22 @@ public int addressCount() {
       return addressCount.get();
    }
 
+   /**
+    * How a bounded off-heap container orders its entries for eviction
+    * @return
+    */
+   public OffHeapEvictionMode offHeapEvictionMode() {
+      return offHeapEvictionMode.get();
+   }
+
+   /**
+    * How many decoded values are kept on heap when using binary or off-heap storage, 0 if disabled
+    * @return
+    */
+   public int decodedValueCacheSize() {
+      return decodedValueCacheSize.get();
+   }
+
    public AttributeSet attributes() {
       return attributes;
    }
@@ -1,7 +1,9 @@
 package org.infinispan.configuration.cache;
 
 import static org.infinispan.configuration.cache.MemoryConfiguration.ADDRESS_COUNT;
+import static org.infinispan.configuration.cache.MemoryConfiguration.DECODED_VALUE_CACHE_SIZE;
 import static org.infinispan.configuration.cache.MemoryConfiguration.EVICTION_TYPE;
+import static org.infinispan.configuration.cache.MemoryConfiguration.OFF_HEAP_EVICTION_MODE;
 import static org.infinispan.configuration.cache.MemoryConfiguration.SIZE;
 import static org.infinispan.configuration.cache.MemoryConfiguration.STORAGE_TYPE;
 
@@ -10,6 +12,7 @@
 import org.infinispan.commons.configuration.attributes.AttributeSet;
 import org.infinispan.configuration.global.GlobalConfiguration;
 import org.infinispan.eviction.EvictionType;
+import org.infinispan.eviction.OffHeapEvictionMode;
 
 /**
  * Controls the data container for the cache.
@@ -77,6 +80,31 @@ public MemoryConfigurationBuilder addressCount(int addressCount) {
       return this;
    }
 
+   /**
+    * Configuration setting when using bounded off-heap storage that defines how the access order of the entries
+    * is maintained. {@link OffHeapEvictionMode#STRIPED_LRU} trades exact LRU ordering for less contention between
+    * concurrent readers.
+    * @param mode
+    * @return this
+    */
+   public MemoryConfigurationBuilder offHeapEvictionMode(OffHeapEvictionMode mode) {
+      attributes.attribute(OFF_HEAP_EVICTION_MODE).set(mode);
+      return this;
+   }
+
+   /**
+    * Configuration setting when using binary or off-heap storage that defines how many decoded values are kept on
+    * heap, so that reading the same value again does not unmarshall it again. Only the values returned by get, getAll
+    * and getCacheEntry are kept. They are shared between the reads of the same key and must not be modified. 0, the
+    * default, disables it.
+    * @param size
+    * @return this
+    */
+   public MemoryConfigurationBuilder decodedValueCacheSize(int size) {
+      attributes.attribute(DECODED_VALUE_CACHE_SIZE).set(size);
+      return this;
+   }
+
    @Override
    public void validate() {
       StorageType type = attributes.attribute(STORAGE_TYPE).get();
@@ -90,6 +118,13 @@ public void validate() {
             throw new CacheConfigurationException("MEMORY based eviction requires binary but was : " + type);
          }
       }
+      int decodedValueCacheSize = attributes.attribute(DECODED_VALUE_CACHE_SIZE).get();
+      if (decodedValueCacheSize < 0) {
+         throw new CacheConfigurationException("Decoded value cache size must not be negative but was : " + decodedValueCacheSize);
+      }
+      if (decodedValueCacheSize > 0 && type == StorageType.OBJECT) {
+         throw new CacheConfigurationException("Decoded value cache requires binary or off-heap storage but was : " + type);
+      }
    }
 
    @Override
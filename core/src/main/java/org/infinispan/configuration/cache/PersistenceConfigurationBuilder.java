@@ -91,6 +91,15 @@ public SingleFileStoreConfigurationBuilder addSingleFileStore() {
       return builder;
    }
 
+   /**
+    * Adds a compacting file cache store
+    */
+   public CompactingFileStoreConfigurationBuilder addCompactingFileStore() {
+      CompactingFileStoreConfigurationBuilder builder = new CompactingFileStoreConfigurationBuilder(this);
+      this.stores.add(builder);
+      return builder;
+   }
+
    /**
     * Removes any configured stores from this builder.
     */
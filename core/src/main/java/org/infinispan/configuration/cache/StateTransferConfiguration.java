@@ -17,15 +17,22 @@ public class StateTransferConfiguration {
    public static final AttributeDefinition<Boolean> FETCH_IN_MEMORY_STATE = AttributeDefinition.builder("fetchInMemoryState", true).xmlName("enabled").immutable().build();
    public static final AttributeDefinition<Long> TIMEOUT = AttributeDefinition.builder("timeout", TimeUnit.MINUTES.toMillis(4)).immutable().build();
    public static final AttributeDefinition<Integer> CHUNK_SIZE = AttributeDefinition.builder("chunkSize", 512).immutable().build();
+   public static final AttributeDefinition<Integer> MAX_IN_FLIGHT_CHUNKS = AttributeDefinition.builder("maxInFlightChunks", 1).immutable().build();
+   public static final AttributeDefinition<Integer> PARALLEL_SEGMENTS = AttributeDefinition.builder("parallelSegments", 1).immutable().build();
+   public static final AttributeDefinition<Boolean> BULK_APPLY = AttributeDefinition.builder("bulkApply", false).immutable().build();
 
    static final AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(StoreAsBinaryConfiguration.class, FETCH_IN_MEMORY_STATE, TIMEOUT, CHUNK_SIZE, AWAIT_INITIAL_TRANSFER);
+      return new AttributeSet(StoreAsBinaryConfiguration.class, FETCH_IN_MEMORY_STATE, TIMEOUT, CHUNK_SIZE,
+            AWAIT_INITIAL_TRANSFER, MAX_IN_FLIGHT_CHUNKS, PARALLEL_SEGMENTS, BULK_APPLY);
    }
 
    private final Attribute<Boolean> awaitInitialTransfer;
    private final Attribute<Boolean> fetchInMemoryState;
    private final Attribute<Long> timeout;
    private final Attribute<Integer> chunkSize;
+   private final Attribute<Integer> maxInFlightChunks;
+   private final Attribute<Integer> parallelSegments;
+   private final Attribute<Boolean> bulkApply;
    private final AttributeSet attributes;
 
    StateTransferConfiguration(AttributeSet attributes) {
@@ -34,6 +41,9 @@ static final AttributeSet attributeDefinitionSet() {
       fetchInMemoryState = attributes.attribute(FETCH_IN_MEMORY_STATE);
       timeout = attributes.attribute(TIMEOUT);
       chunkSize = attributes.attribute(CHUNK_SIZE);
+      maxInFlightChunks = attributes.attribute(MAX_IN_FLIGHT_CHUNKS);
+      parallelSegments = attributes.attribute(PARALLEL_SEGMENTS);
+      bulkApply = attributes.attribute(BULK_APPLY);
    }
 
    /**
@@ -73,6 +83,29 @@ public int chunkSize() {
       return chunkSize.get();
    }
 
+   /**
+    * The maximum number of chunks sent to a node and not yet applied by it. With 1, each chunk is sent after the
+    * previous one was applied.
+    */
+   public int maxInFlightChunks() {
+      return maxInFlightChunks.get();
+   }
+
+   /**
+    * The number of threads reading the in-memory segments requested by a node in parallel.
+    */
+   public int parallelSegments() {
+      return parallelSegments.get();
+   }
+
+   /**
+    * If {@code true}, the received entries are written directly in the data container instead of going through the
+    * interceptor chain, when the cache is not transactional, has no stores, no indexing and no listeners.
+    */
+   public boolean bulkApply() {
+      return bulkApply.get();
+   }
+
    /**
     * If {@code true}, this will cause the first call to method {@code CacheManager.getCache()} on the joiner node to
     * block and wait until the joining is complete and the cache has finished receiving state from neighboring caches
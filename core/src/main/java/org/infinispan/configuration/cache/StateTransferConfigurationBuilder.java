@@ -1,8 +1,11 @@
 package org.infinispan.configuration.cache;
 
 import static org.infinispan.configuration.cache.StateTransferConfiguration.AWAIT_INITIAL_TRANSFER;
+import static org.infinispan.configuration.cache.StateTransferConfiguration.BULK_APPLY;
 import static org.infinispan.configuration.cache.StateTransferConfiguration.CHUNK_SIZE;
 import static org.infinispan.configuration.cache.StateTransferConfiguration.FETCH_IN_MEMORY_STATE;
+import static org.infinispan.configuration.cache.StateTransferConfiguration.MAX_IN_FLIGHT_CHUNKS;
+import static org.infinispan.configuration.cache.StateTransferConfiguration.PARALLEL_SEGMENTS;
 import static org.infinispan.configuration.cache.StateTransferConfiguration.TIMEOUT;
 
 import java.util.concurrent.TimeUnit;
@@ -67,6 +70,32 @@ public StateTransferConfigurationBuilder chunkSize(int i) {
       return this;
    }
 
+   /**
+    * The maximum number of chunks sent to a node and not yet applied by it. With 1, each chunk is sent after the
+    * previous one was applied.
+    */
+   public StateTransferConfigurationBuilder maxInFlightChunks(int i) {
+      attributes.attribute(MAX_IN_FLIGHT_CHUNKS).set(i);
+      return this;
+   }
+
+   /**
+    * The number of threads reading the in-memory segments requested by a node in parallel.
+    */
+   public StateTransferConfigurationBuilder parallelSegments(int i) {
+      attributes.attribute(PARALLEL_SEGMENTS).set(i);
+      return this;
+   }
+
+   /**
+    * If {@code true}, the received entries are written directly in the data container instead of going through the
+    * interceptor chain, when the cache is not transactional, has no stores, no indexing and no listeners.
+    */
+   public StateTransferConfigurationBuilder bulkApply(boolean b) {
+      attributes.attribute(BULK_APPLY).set(b);
+      return this;
+   }
+
    /**
     * This is the maximum amount of time - in milliseconds - to wait for state from neighboring
     * caches, before throwing an exception and aborting startup.
@@ -89,6 +118,12 @@ public void validate() {
       if (attributes.attribute(CHUNK_SIZE).get() <= 0) {
          throw new CacheConfigurationException("chunkSize can not be <= 0");
       }
+      if (attributes.attribute(MAX_IN_FLIGHT_CHUNKS).get() <= 0) {
+         throw new CacheConfigurationException("maxInFlightChunks can not be <= 0");
+      }
+      if (attributes.attribute(PARALLEL_SEGMENTS).get() <= 0) {
+         throw new CacheConfigurationException("parallelSegments can not be <= 0");
+      }
 
       if (clustering().cacheMode().isInvalidation()) {
          Attribute<Boolean> fetchAttribute = attributes.attribute(FETCH_IN_MEMORY_STATE);
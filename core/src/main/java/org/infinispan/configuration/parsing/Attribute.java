@@ -28,6 +28,7 @@ public enum Attribute {
     AWAIT_INITIAL_TRANSFER("await-initial-transfer"),
     BACKUP_FAILURE_POLICY("failure-policy"),
     BEFORE("before"),
+    BULK_APPLY("bulk-apply"),
     CAPACITY_FACTOR("capacity"),
     CHUNK_SIZE("chunk-size"),
     CLASS("class"),
@@ -38,12 +39,14 @@ public enum Attribute {
     CONSISTENT_HASH_FACTORY("consistent-hash-factory"),
     CORE_THREADS("core-threads"),
     DATA_CONTAINER("data-container"),
+    DECODED_VALUE_CACHE_SIZE("decoded-value-cache-size"),
     DEFAULT_CACHE("default-cache"),
     ENABLED("enabled"),
     EXECUTOR("executor"),
     EVICTION("eviction"),
     @Deprecated
     EVICTION_EXECUTOR("eviction-executor"),
+    EVICTION_MODE("eviction-mode"),
     EXPIRATION_EXECUTOR("expiration-executor"),
     FAILURE_POLICY_CLASS("failure-policy-class"),
     FETCH_STATE("fetch-state"),
@@ -67,6 +70,7 @@ public enum Attribute {
     LIFESPAN("lifespan"),
     LISTENER_EXECUTOR("listener-executor"),
     LOCATION("location"),
+    LOCK_FREE_WRITES("lock-free-writes"),
     LOCK_TIMEOUT("lock-timeout"),
     LOCKING("locking"),
     MACHINE_ID("machine"),
@@ -75,6 +79,7 @@ public enum Attribute {
     MAX_BATCH_SIZE("max-batch-size"),
     MAX_ENTRIES("max-entries"),
     MAX_IDLE("max-idle"),
+    MAX_IN_FLIGHT_CHUNKS("max-in-flight-chunks"),
     MAX_RETRIES("max-retries"),
     MAX_THREADS("max-threads"),
     MBEAN_SERVER_LOOKUP("mbean-server-lookup"),
@@ -88,6 +93,7 @@ public enum Attribute {
     NOTIFICATIONS("notifications"),
     ON_REHASH("onRehash"),
     OWNERS("owners"),
+    PARALLEL_SEGMENTS("parallel-segments"),
     PATH("path"),
     PASSIVATION("passivation"),
     PERMISSIONS("permissions"),
@@ -62,6 +62,7 @@
 import org.infinispan.conflict.EntryMergePolicy;
 import org.infinispan.conflict.MergePolicies;
 import org.infinispan.eviction.EvictionType;
+import org.infinispan.eviction.OffHeapEvictionMode;
 import org.infinispan.factories.threads.DefaultThreadFactory;
 import org.infinispan.partitionhandling.PartitionHandling;
 import org.infinispan.persistence.cluster.ClusterLoader;
@@ -1622,6 +1623,12 @@ private void parseOffHeapMemoryAttributes(final XMLExtendedStreamReader reader,
             case ADDRESS_COUNT:
                memoryBuilder.addressCount(Integer.parseInt(value));
                break;
+            case EVICTION_MODE:
+               memoryBuilder.offHeapEvictionMode(OffHeapEvictionMode.valueOf(value));
+               break;
+            case DECODED_VALUE_CACHE_SIZE:
+               memoryBuilder.decodedValueCacheSize(Integer.parseInt(value));
+               break;
             default:
                throw ParseUtils.unexpectedAttribute(reader, i);
          }
@@ -1659,6 +1666,9 @@ private void parseBinaryMemoryAttributes(final XMLExtendedStreamReader reader, f
             case EVICTION:
                memoryBuilder.evictionType(EvictionType.valueOf(value));
                break;
+            case DECODED_VALUE_CACHE_SIZE:
+               memoryBuilder.decodedValueCacheSize(Integer.parseInt(value));
+               break;
             default:
                throw ParseUtils.unexpectedAttribute(reader, i);
          }
@@ -1797,6 +1807,10 @@ protected void parseLocking(XMLExtendedStreamReader reader, ConfigurationBuilder
                builder.locking().concurrencyLevel(Integer.parseInt(value));
                break;
             }
+            case LOCK_FREE_WRITES: {
+               builder.locking().lockFreeWrites(Boolean.parseBoolean(value));
+               break;
+            }
             case WRITE_SKEW_CHECK: {
                log.ignoredAttribute("write skew attribute", "9.0", attribute.getLocalName(), reader.getLocation().getLineNumber());
                break;
@@ -2053,6 +2067,18 @@ private void parseStateTransfer(XMLExtendedStreamReader reader, ConfigurationBui
                builder.clustering().stateTransfer().chunkSize(Integer.parseInt(value));
                break;
             }
+            case MAX_IN_FLIGHT_CHUNKS: {
+               builder.clustering().stateTransfer().maxInFlightChunks(Integer.parseInt(value));
+               break;
+            }
+            case PARALLEL_SEGMENTS: {
+               builder.clustering().stateTransfer().parallelSegments(Integer.parseInt(value));
+               break;
+            }
+            case BULK_APPLY: {
+               builder.clustering().stateTransfer().bulkApply(Boolean.parseBoolean(value));
+               break;
+            }
             default: {
                throw ParseUtils.unexpectedAttribute(reader, i);
             }
@@ -475,8 +475,10 @@ private void writeMemory(XMLExtendedStreamWriter writer, Configuration configura
          switch (memory.storageType()) {
             case OFF_HEAP:
                attributes.write(writer, MemoryConfiguration.ADDRESS_COUNT, Attribute.ADDRESS_COUNT);
+               attributes.write(writer, MemoryConfiguration.OFF_HEAP_EVICTION_MODE, Attribute.EVICTION_MODE);
             case BINARY:
                attributes.write(writer, MemoryConfiguration.EVICTION_TYPE, Attribute.EVICTION);
+               attributes.write(writer, MemoryConfiguration.DECODED_VALUE_CACHE_SIZE, Attribute.DECODED_VALUE_CACHE_SIZE);
             case OBJECT:
                attributes.write(writer, MemoryConfiguration.SIZE, Attribute.SIZE);
          }
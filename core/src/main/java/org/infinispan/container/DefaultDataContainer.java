@@ -238,6 +238,7 @@ public void put(K k, V v, Metadata metadata) {
          activator.onUpdate(key, entry == null);
          return copy;
       });
+      scheduleExpiration(copy);
    }
 
    @Override
@@ -262,6 +263,9 @@ public InternalCacheEntry<K, V> remove(Object k) {
          return null;
       });
       InternalCacheEntry<K, V> e = reference[0];
+      if (e != null) {
+         expirationManager.unscheduleExpiration(e.getKey());
+      }
       if (trace) {
          log.tracef("Removed %s from container", e);
       }
@@ -310,6 +314,7 @@ public int sizeIncludingExpired() {
    public void clear() {
       log.tracef("Clearing data container");
       entries.clear();
+      expirationManager.unscheduleAllExpirations();
    }
 
    @Override
@@ -331,6 +336,7 @@ public Set<InternalCacheEntry<K, V>> entrySet() {
    public void evict(K key) {
       entries.computeIfPresent(key, (o, entry) -> {
          passivator.passivate(entry);
+         expirationManager.unscheduleExpiration(o);
          return null;
       });
    }
@@ -343,15 +349,25 @@ public InternalCacheEntry<K, V> compute(K key, ComputeAction<K, V> action) {
             return oldEntry;
          } else if (newEntry == null) {
             activator.onRemove(k, false);
+            expirationManager.unscheduleExpiration(k);
             return null;
          }
          activator.onUpdate(k, oldEntry == null);
          if (trace)
             log.tracef("Store %s in container", newEntry);
+         scheduleExpiration(newEntry);
          return newEntry;
       });
    }
 
+   private void scheduleExpiration(InternalCacheEntry<K, V> entry) {
+      if (entry.canExpire()) {
+         expirationManager.scheduleExpiration(entry.getKey(), entry.getExpiryTime());
+      } else {
+         expirationManager.unscheduleExpiration(entry.getKey());
+      }
+   }
+
    @Override
    public Iterator<InternalCacheEntry<K, V>> iterator() {
       return new EntryIterator(entries.values().iterator(), false);
@@ -0,0 +1,448 @@
+package org.infinispan.container;
+
+import static org.infinispan.commons.util.Util.toStr;
+
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.infinispan.commons.logging.Log;
+import org.infinispan.commons.logging.LogFactory;
+import org.infinispan.commons.util.CollectionFactory;
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.eviction.ActivationManager;
+import org.infinispan.eviction.PassivationManager;
+import org.infinispan.expiration.ExpirationManager;
+import org.infinispan.factories.annotations.Inject;
+import org.infinispan.filter.KeyFilter;
+import org.infinispan.filter.KeyValueFilter;
+import org.infinispan.metadata.Metadata;
+import org.infinispan.metadata.impl.L1Metadata;
+import org.infinispan.util.CoreImmutables;
+import org.infinispan.util.TimeService;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Unbounded heap data container that keeps a separate concurrent map for every segment. Segment scoped operations
+ * such as {@link #iterator(Set)} only visit the maps of the requested segments and {@link #removeSegments(Set)}
+ * simply drops the maps.
+ *
+ * @since 9.2
+ */
+@ThreadSafe
+public class DefaultSegmentedDataContainer<K, V> implements SegmentedDataContainer<K, V> {
+
+   private static final Log log = LogFactory.getLog(DefaultSegmentedDataContainer.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   private final AtomicReferenceArray<ConcurrentMap<K, InternalCacheEntry<K, V>>> maps;
+   private final int concurrencyLevel;
+   protected InternalEntryFactory entryFactory;
+   private KeyPartitioner keyPartitioner;
+   private PassivationManager passivator;
+   private ActivationManager activator;
+   private TimeService timeService;
+   private ExpirationManager<K, V> expirationManager;
+
+   public DefaultSegmentedDataContainer(int concurrencyLevel, int numSegments) {
+      this.concurrencyLevel = concurrencyLevel;
+      this.maps = new AtomicReferenceArray<>(numSegments);
+   }
+
+   @Inject
+   public void initialize(PassivationManager passivator, InternalEntryFactory entryFactory,
+                          ActivationManager activator, TimeService timeService,
+                          ExpirationManager<K, V> expirationManager, KeyPartitioner keyPartitioner) {
+      this.passivator = passivator;
+      this.entryFactory = entryFactory;
+      this.activator = activator;
+      this.timeService = timeService;
+      this.expirationManager = expirationManager;
+      this.keyPartitioner = keyPartitioner;
+   }
+
+   /**
+    * Returns the map for the segment the key maps to, or {@code null} if the segment has no storage allocated
+    */
+   private ConcurrentMap<K, InternalCacheEntry<K, V>> getMapForRead(Object key) {
+      return maps.get(keyPartitioner.getSegment(key));
+   }
+
+   /**
+    * Returns the map for the segment the key maps to, allocating it if required
+    */
+   private ConcurrentMap<K, InternalCacheEntry<K, V>> getMapForWrite(Object key) {
+      return getOrCreateMap(keyPartitioner.getSegment(key));
+   }
+
+   private ConcurrentMap<K, InternalCacheEntry<K, V>> getOrCreateMap(int segment) {
+      ConcurrentMap<K, InternalCacheEntry<K, V>> map = maps.get(segment);
+      if (map == null) {
+         ConcurrentMap<K, InternalCacheEntry<K, V>> newMap = CollectionFactory.makeConcurrentParallelMap(16,
+               concurrencyLevel);
+         if (maps.compareAndSet(segment, null, newMap)) {
+            map = newMap;
+         } else {
+            map = maps.get(segment);
+         }
+      }
+      return map;
+   }
+
+   @Override
+   public InternalCacheEntry<K, V> peek(Object key) {
+      ConcurrentMap<K, InternalCacheEntry<K, V>> map = getMapForRead(key);
+      return map == null ? null : map.get(key);
+   }
+
+   @Override
+   public InternalCacheEntry<K, V> get(Object k) {
+      InternalCacheEntry<K, V> e = peek(k);
+      if (e != null && e.canExpire()) {
+         long currentTimeMillis = timeService.wallClockTime();
+         if (e.isExpired(currentTimeMillis)) {
+            expirationManager.handleInMemoryExpiration(e, currentTimeMillis);
+            e = null;
+         } else {
+            e.touch(currentTimeMillis);
+         }
+      }
+      return e;
+   }
+
+   @Override
+   public void put(K k, V v, Metadata metadata) {
+      boolean l1Entry = false;
+      if (metadata instanceof L1Metadata) {
+         metadata = ((L1Metadata) metadata).metadata();
+         l1Entry = true;
+      }
+      ConcurrentMap<K, InternalCacheEntry<K, V>> map = getMapForWrite(k);
+      InternalCacheEntry<K, V> e = map.get(k);
+
+      if (trace) {
+         log.tracef("Creating new ICE for writing. Existing=%s, metadata=%s, new value=%s", e, metadata, toStr(v));
+      }
+      final InternalCacheEntry<K, V> copy;
+      if (l1Entry) {
+         copy = entryFactory.createL1(k, v, metadata);
+      } else if (e != null) {
+         copy = entryFactory.update(e, v, metadata);
+      } else {
+         // this is a brand-new entry
+         copy = entryFactory.create(k, v, metadata);
+      }
+
+      if (trace)
+         log.tracef("Store %s in container", copy);
+
+      map.compute(copy.getKey(), (key, entry) -> {
+         activator.onUpdate(key, entry == null);
+         return copy;
+      });
+      scheduleExpiration(copy);
+   }
+
+   @Override
+   public boolean containsKey(Object k) {
+      InternalCacheEntry<K, V> ice = peek(k);
+      if (ice != null && ice.canExpire()) {
+         long currentTimeMillis = timeService.wallClockTime();
+         if (ice.isExpired(currentTimeMillis)) {
+            expirationManager.handleInMemoryExpiration(ice, currentTimeMillis);
+            ice = null;
+         }
+      }
+      return ice != null;
+   }
+
+   @Override
+   public InternalCacheEntry<K, V> remove(Object k) {
+      ConcurrentMap<K, InternalCacheEntry<K, V>> map = getMapForRead(k);
+      if (map == null) {
+         activator.onRemove(k, true);
+         return null;
+      }
+      final InternalCacheEntry<K,V>[] reference = new InternalCacheEntry[1];
+      map.compute((K) k, (key, entry) -> {
+         activator.onRemove(key, entry == null);
+         reference[0] = entry;
+         return null;
+      });
+      InternalCacheEntry<K, V> e = reference[0];
+      if (e != null) {
+         expirationManager.unscheduleExpiration(e.getKey());
+      }
+      if (trace) {
+         log.tracef("Removed %s from container", e);
+      }
+      return e == null || (e.canExpire() && e.isExpired(timeService.wallClockTime())) ? null : e;
+   }
+
+   @Override
+   public int size() {
+      int size = 0;
+      // We have to loop through to make sure to remove expired entries
+      for (Iterator<InternalCacheEntry<K, V>> iter = iterator(); iter.hasNext(); ) {
+         iter.next();
+         if (++size == Integer.MAX_VALUE) return Integer.MAX_VALUE;
+      }
+      return size;
+   }
+
+   @Override
+   public int sizeIncludingExpired() {
+      long size = 0;
+      for (int i = 0; i < maps.length(); ++i) {
+         size += sizeIncludingExpired(i);
+      }
+      return (int) Math.min(size, Integer.MAX_VALUE);
+   }
+
+   @Override
+   public int sizeIncludingExpired(int segment) {
+      ConcurrentMap<K, InternalCacheEntry<K, V>> map = maps.get(segment);
+      return map == null ? 0 : map.size();
+   }
+
+   @Override
+   public void clear() {
+      log.tracef("Clearing data container");
+      for (int i = 0; i < maps.length(); ++i) {
+         ConcurrentMap<K, InternalCacheEntry<K, V>> map = maps.get(i);
+         if (map != null) {
+            map.clear();
+         }
+      }
+      expirationManager.unscheduleAllExpirations();
+   }
+
+   @Override
+   public void addSegments(IntSet segments) {
+      segments.intStream().forEach(this::getOrCreateMap);
+   }
+
+   @Override
+   public void removeSegments(IntSet segments) {
+      if (trace) {
+         log.tracef("Removing segments %s from data container", segments);
+      }
+      segments.intStream().forEach(s -> {
+         ConcurrentMap<K, InternalCacheEntry<K, V>> map = maps.getAndSet(s, null);
+         if (map != null) {
+            map.keySet().forEach(expirationManager::unscheduleExpiration);
+         }
+      });
+   }
+
+   @Override
+   public Set<K> keySet() {
+      return new AbstractSet<K>() {
+         @Override
+         public Iterator<K> iterator() {
+            return entryStream(allSegments()).map(Map.Entry::getKey).iterator();
+         }
+
+         @Override
+         public boolean contains(Object o) {
+            return peek(o) != null;
+         }
+
+         @Override
+         public int size() {
+            return sizeIncludingExpired();
+         }
+
+         @Override
+         public Spliterator<K> spliterator() {
+            return Spliterators.spliterator(this, Spliterator.CONCURRENT);
+         }
+      };
+   }
+
+   @Override
+   public Collection<V> values() {
+      return new AbstractCollection<V>() {
+         @Override
+         public Iterator<V> iterator() {
+            return entryStream(allSegments()).map(Map.Entry::getValue).iterator();
+         }
+
+         @Override
+         public int size() {
+            return sizeIncludingExpired();
+         }
+
+         @Override
+         public Spliterator<V> spliterator() {
+            return Spliterators.spliterator(this, Spliterator.CONCURRENT);
+         }
+      };
+   }
+
+   @Override
+   public Set<InternalCacheEntry<K, V>> entrySet() {
+      return new AbstractSet<InternalCacheEntry<K, V>>() {
+         @Override
+         public boolean contains(Object o) {
+            if (!(o instanceof Map.Entry)) {
+               return false;
+            }
+            Map.Entry e = (Map.Entry) o;
+            InternalCacheEntry ice = peek(e.getKey());
+            return ice != null && ice.getValue().equals(e.getValue());
+         }
+
+         @Override
+         public Iterator<InternalCacheEntry<K, V>> iterator() {
+            return filterExpired(entryStream(allSegments()))
+                  .map(CoreImmutables::immutableInternalCacheEntry).iterator();
+         }
+
+         @Override
+         public int size() {
+            return sizeIncludingExpired();
+         }
+
+         @Override
+         public Spliterator<InternalCacheEntry<K, V>> spliterator() {
+            return Spliterators.spliterator(this, Spliterator.CONCURRENT);
+         }
+      };
+   }
+
+   @Override
+   public void evict(K key) {
+      ConcurrentMap<K, InternalCacheEntry<K, V>> map = getMapForRead(key);
+      if (map != null) {
+         map.computeIfPresent(key, (o, entry) -> {
+            passivator.passivate(entry);
+            expirationManager.unscheduleExpiration(o);
+            return null;
+         });
+      }
+   }
+
+   @Override
+   public InternalCacheEntry<K, V> compute(K key, ComputeAction<K, V> action) {
+      return getMapForWrite(key).compute(key, (k, oldEntry) -> {
+         InternalCacheEntry<K, V> newEntry = action.compute(k, oldEntry, entryFactory);
+         if (newEntry == oldEntry) {
+            return oldEntry;
+         } else if (newEntry == null) {
+            activator.onRemove(k, false);
+            expirationManager.unscheduleExpiration(k);
+            return null;
+         }
+         activator.onUpdate(k, oldEntry == null);
+         if (trace)
+            log.tracef("Store %s in container", newEntry);
+         scheduleExpiration(newEntry);
+         return newEntry;
+      });
+   }
+
+   private void scheduleExpiration(InternalCacheEntry<K, V> entry) {
+      if (entry.canExpire()) {
+         expirationManager.scheduleExpiration(entry.getKey(), entry.getExpiryTime());
+      } else {
+         expirationManager.unscheduleExpiration(entry.getKey());
+      }
+   }
+
+   @Override
+   public void executeTask(KeyFilter<? super K> filter, BiConsumer<? super K, InternalCacheEntry<K, V>> action)
+         throws InterruptedException {
+      if (filter == null)
+         throw new IllegalArgumentException("No filter specified");
+      if (action == null)
+         throw new IllegalArgumentException("No action specified");
+
+      forEachMap(map -> map.forEach((K key, InternalCacheEntry<K, V> value) -> {
+         if (filter.accept(key)) {
+            action.accept(key, value);
+         }
+      }));
+   }
+
+   @Override
+   public void executeTask(KeyValueFilter<? super K, ? super V> filter,
+                           BiConsumer<? super K, InternalCacheEntry<K, V>> action) throws InterruptedException {
+      if (filter == null)
+         throw new IllegalArgumentException("No filter specified");
+      if (action == null)
+         throw new IllegalArgumentException("No action specified");
+
+      forEachMap(map -> map.forEach((K key, InternalCacheEntry<K, V> value) -> {
+         if (filter.accept(key, value.getValue(), value.getMetadata())) {
+            action.accept(key, value);
+         }
+      }));
+   }
+
+   private void forEachMap(Consumer<ConcurrentMap<K, InternalCacheEntry<K, V>>> consumer)
+         throws InterruptedException {
+      for (int i = 0; i < maps.length(); ++i) {
+         ConcurrentMap<K, InternalCacheEntry<K, V>> map = maps.get(i);
+         if (map != null) {
+            consumer.accept(map);
+         }
+         if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedException();
+         }
+      }
+   }
+
+   private IntStream allSegments() {
+      return IntStream.range(0, maps.length());
+   }
+
+   private Stream<InternalCacheEntry<K, V>> entryStream(IntStream segments) {
+      // Not flatMap, its iterator reads a whole segment at once on JDK 8 (JDK-8075939)
+      Iterator<InternalCacheEntry<K, V>> iterator = new SegmentedIterator<>(segments.iterator(), segment -> {
+         ConcurrentMap<K, InternalCacheEntry<K, V>> map = maps.get(segment);
+         return map == null ? null : map.values().iterator();
+      });
+      return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.CONCURRENT), false);
+   }
+
+   private Stream<InternalCacheEntry<K, V>> filterExpired(Stream<InternalCacheEntry<K, V>> stream) {
+      long now = timeService.wallClockTime();
+      return stream.filter(e -> !e.canExpire() || !e.isExpired(now));
+   }
+
+   @Override
+   public Iterator<InternalCacheEntry<K, V>> iterator() {
+      return filterExpired(entryStream(allSegments())).iterator();
+   }
+
+   @Override
+   public Iterator<InternalCacheEntry<K, V>> iteratorIncludingExpired() {
+      return entryStream(allSegments()).iterator();
+   }
+
+   @Override
+   public Iterator<InternalCacheEntry<K, V>> iterator(IntSet segments) {
+      return filterExpired(entryStream(segments.intStream())).iterator();
+   }
+
+   @Override
+   public Iterator<InternalCacheEntry<K, V>> iteratorIncludingExpired(IntSet segments) {
+      return entryStream(segments.intStream()).iterator();
+   }
+}
@@ -40,6 +40,7 @@ public class EntryFactoryImpl implements EntryFactory {
    private TimeService timeService;
    private VersionGenerator versionGenerator;
    private boolean useVersioning;
+   private boolean lockFreeWrites;
 
    @Inject
    public void injectDependencies(DataContainer dataContainer, Configuration configuration,
@@ -60,6 +61,10 @@ public void init() {
       isL1Enabled = configuration.clustering().l1().enabled();
       // Write-skew check implies isolation level = REPEATABLE_READ && locking mode = OPTIMISTIC
       useVersioning = Configurations.isTxVersioned(configuration);
+      // Same conditions as in CacheImpl, the lock-free writes are only applied to local caches without stores
+      lockFreeWrites = configuration.locking().lockFreeWrites() &&
+            !configuration.transaction().transactionMode().isTransactional() &&
+            !configuration.clustering().cacheMode().isClustered() && !configuration.persistence().usingStores();
    }
 
    @Override
@@ -209,7 +214,9 @@ private InternalCacheEntry innerGetFromContainer(Object key, boolean writeOperat
       // Write operations should not cause expiration events to occur, because we will most likely overwrite the
       // value anyways - also required for remove expired to not cause infinite loop
       if (writeOperation) {
-         ice = container.peek(key);
+         // The lock-free writes check the key lock inside a compute, so the entry must be read in a compute after
+         // acquiring the lock to not miss a lock-free write that is in progress
+         ice = lockFreeWrites ? container.compute(key, (k, oldEntry, factory) -> oldEntry) : container.peek(key);
          if (ice != null && ice.canExpire()) {
             long wallClockTime = timeService.wallClockTime();
             if (ice.isExpired(wallClockTime)) {
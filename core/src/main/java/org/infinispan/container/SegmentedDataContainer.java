@@ -0,0 +1,54 @@
+package org.infinispan.container;
+
+import java.util.Iterator;
+
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.container.entries.InternalCacheEntry;
+
+/**
+ * A {@link DataContainer} that stores its entries partitioned by segment, so that operations restricted to a subset
+ * of the segments only have to touch the entries mapping to those segments.
+ * <p>
+ * Segments are mapped using the cache {@link org.infinispan.distribution.ch.KeyPartitioner}. Storage for a segment
+ * is allocated lazily when the first entry mapping to it is written, or eagerly with {@link #addSegments(IntSet)}.
+ *
+ * @since 9.2
+ */
+public interface SegmentedDataContainer<K, V> extends DataContainer<K, V> {
+
+   /**
+    * Same as {@link DataContainer#iterator()} except that only entries mapping to the provided segments are returned.
+    * @param segments the segments to return entries for
+    * @return iterator that doesn't produce expired entries
+    */
+   Iterator<InternalCacheEntry<K, V>> iterator(IntSet segments);
+
+   /**
+    * Same as {@link DataContainer#iteratorIncludingExpired()} except that only entries mapping to the provided
+    * segments are returned.
+    * @param segments the segments to return entries for
+    * @return iterator that returns all entries for the segments including expired ones
+    */
+   Iterator<InternalCacheEntry<K, V>> iteratorIncludingExpired(IntSet segments);
+
+   /**
+    * Returns how many entries are present in the given segment, including expired ones.
+    * @param segment the segment
+    * @return count of the entries in the segment including expired entries
+    */
+   int sizeIncludingExpired(int segment);
+
+   /**
+    * Allocates the storage for the given segments ahead of any writes. Segments that are already present are not
+    * affected.
+    * @param segments the segments to allocate storage for
+    */
+   void addSegments(IntSet segments);
+
+   /**
+    * Drops all the entries mapping to the given segments at once, without invoking any listeners or activation
+    * and passivation callbacks. The caller must make sure no further writes are expected for these segments.
+    * @param segments the segments to remove
+    */
+   void removeSegments(IntSet segments);
+}
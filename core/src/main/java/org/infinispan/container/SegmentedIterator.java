@@ -0,0 +1,50 @@
+package org.infinispan.container;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntFunction;
+
+/**
+ * Iterator over the elements of several segments, that walks the segments in turn and only pulls elements from the
+ * iterator of the current segment.
+ * <p>
+ * Unlike {@link java.util.stream.Stream#flatMap(java.util.function.Function)}, which buffers all the elements of a
+ * segment before returning the first one on JDK 8, this iterator keeps at most one element of a segment.
+ *
+ * @since 9.2
+ */
+public class SegmentedIterator<E> implements Iterator<E> {
+   private final PrimitiveIterator.OfInt segments;
+   private final IntFunction<Iterator<E>> segmentIterator;
+   private Iterator<E> current = Collections.emptyIterator();
+
+   /**
+    * @param segments        the segments to iterate over, in order
+    * @param segmentIterator returns the iterator of a segment, or {@code null} if the segment has no elements
+    */
+   public SegmentedIterator(PrimitiveIterator.OfInt segments, IntFunction<Iterator<E>> segmentIterator) {
+      this.segments = segments;
+      this.segmentIterator = segmentIterator;
+   }
+
+   @Override
+   public boolean hasNext() {
+      while (!current.hasNext()) {
+         if (!segments.hasNext())
+            return false;
+         Iterator<E> next = segmentIterator.apply(segments.nextInt());
+         if (next != null)
+            current = next;
+      }
+      return true;
+   }
+
+   @Override
+   public E next() {
+      if (!hasNext())
+         throw new NoSuchElementException();
+      return current.next();
+   }
+}
@@ -1,6 +1,5 @@
 package org.infinispan.container.offheap;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.locks.Lock;
@@ -16,7 +15,7 @@
  * Data Container implementation that stores entries in native memory (off-heap) that is also bounded.  This
  * implementation uses a simple LRU doubly linked list off-heap guarded by a single lock.
  * <p>
- * The link list is represented by firstAddress as the had of the list and lastAddress as the tail of the list. Each
+ * The link list is represented by an {@link OffHeapLruList} with the least recently used node at its head. Each
  * entry in the list consists of 28 bytes (3 longs and 1 int), the first long is the actual entry address, the second is
  * a pointer to the previous element in the list, the third is the next pointer and lastly the int is the hashCode of
  * the key to retrieve the lock. The hashCode is required to know which lock to use when trying to read the entry.
@@ -25,13 +24,13 @@
  * @since 9.0
  */
 public class BoundedOffHeapDataContainer extends OffHeapDataContainer {
-   private final long maxSize;
-   private final Lock lruLock;
-   private final LongUnaryOperator sizeCalculator;
+   protected final long maxSize;
+   protected final Lock lruLock;
+   protected final LongUnaryOperator sizeCalculator;
+
+   private final OffHeapLruList lruList;
 
    private long currentSize;
-   private long firstAddress;
-   private long lastAddress;
 
    public BoundedOffHeapDataContainer(int desiredSize, long maxSize, EvictionType type) {
       super(desiredSize);
@@ -39,11 +38,11 @@ public BoundedOffHeapDataContainer(int desiredSize, long maxSize, EvictionType t
       if (type == EvictionType.COUNT) {
          sizeCalculator = i -> 1;
       } else {
-         // Use size of entry plus 28 for our LRU pointer node
-         sizeCalculator = i -> offHeapEntryFactory.getSize(i) + OffHeapLruNode.getSize();
+         // Use size of entry plus the size of our LRU pointer node
+         sizeCalculator = i -> offHeapEntryFactory.getSize(i) + lruNodeSize();
       }
       this.lruLock = new ReentrantLock();
-      firstAddress = 0;
+      this.lruList = new OffHeapLruList();
    }
 
    @Override
@@ -82,7 +81,7 @@ protected void entryReplaced(long newAddress, long oldAddress) {
          offHeapEntryFactory.setLruNode(newAddress, lruNode);
          OffHeapLruNode.setEntry(lruNode, newAddress);
 
-         moveToEnd(lruNode);
+         nodeReplaced(lruNode, oldSize, newSize);
 
          currentSize += newSize;
          currentSize -= oldSize;
@@ -99,7 +98,7 @@ protected void entryCreated(long newAddress) {
       lruLock.lock();
       try {
          currentSize += newSize;
-         addEntryAddressToEnd(newAddress, hashCode);
+         addEntryAddressToEnd(newAddress, hashCode, newSize);
       } finally {
          lruLock.unlock();
       }
@@ -115,42 +114,11 @@ protected void entryRemoved(long removedAddress) {
       try {
          // Current size has to be updated in the lock
          currentSize -= removedSize;
-         boolean middleNode = true;
-         if (lruNode == lastAddress) {
-            if (trace) {
-               log.tracef("Removing last LRU node at 0x%016x", lruNode);
-            }
-            long previousLRUNode = OffHeapLruNode.getPrevious(lruNode);
-            if (previousLRUNode != 0) {
-               OffHeapLruNode.setNext(previousLRUNode, 0);
-            }
-            lastAddress = previousLRUNode;
-            middleNode = false;
-         }
-         if (lruNode == firstAddress) {
-            if (trace) {
-               log.tracef("Removing first LRU node at 0x%016x", lruNode);
-            }
-            long nextLRUNode = OffHeapLruNode.getNext(lruNode);
-            if (nextLRUNode != 0) {
-               OffHeapLruNode.setPrevious(nextLRUNode, 0);
-            }
-            firstAddress = nextLRUNode;
-            middleNode = false;
-         }
-         if (middleNode) {
-            if (trace) {
-               log.tracef("Removing middle LRU node at 0x%016x", lruNode);
-            }
-            // We are a middle pointer so both of these have to be non zero
-            long previousLRUNode = OffHeapLruNode.getPrevious(lruNode);
-            long nextLRUNode = OffHeapLruNode.getNext(lruNode);
-            assert previousLRUNode != 0;
-            assert nextLRUNode != 0;
-            OffHeapLruNode.setNext(previousLRUNode, nextLRUNode);
-            OffHeapLruNode.setPrevious(nextLRUNode, previousLRUNode);
+         if (trace) {
+            log.tracef("Removing LRU node at 0x%016x", lruNode);
          }
-         allocator.deallocate(lruNode, OffHeapLruNode.getSize());
+         nodeRemoved(lruNode, removedSize);
+         allocator.deallocate(lruNode, lruNodeSize());
       } finally {
          lruLock.unlock();
       }
@@ -165,7 +133,7 @@ protected void entryRetrieved(long entryAddress) {
          if (trace) {
             log.tracef("Moving lruNode 0x%016x to the end which points at address 0x%016x", lruNode, entryAddress);
          }
-         moveToEnd(lruNode);
+         nodeAccessed(lruNode);
       } finally {
          lruLock.unlock();
       }
@@ -180,15 +148,8 @@ protected void performClear() {
       // Technically we don't need to do lruLock since clear obtains all write locks first
       lruLock.lock();
       try {
-         long address = firstAddress;
-         while (address != 0) {
-            long nextAddress = OffHeapLruNode.getNext(address);
-            allocator.deallocate(address, OffHeapLruNode.getSize());
-            address = nextAddress;
-         }
+         clearNodes();
          currentSize = 0;
-         firstAddress = 0;
-         lastAddress = 0;
       } finally {
          lruLock.unlock();
       }
@@ -223,12 +184,13 @@ private void ensureSize() {
             if (currentSize <= maxSize) {
                break;
             }
-            int hashCode = OffHeapLruNode.getHashCode(firstAddress);
+            long lruNode = evictionNode();
+            int hashCode = OffHeapLruNode.getHashCode(lruNode);
             entryWriteLock = locks.getLockFromHashCode(hashCode).writeLock();
             if (!entryWriteLock.tryLock()) {
                addressToRemove = 0;
             } else {
-               addressToRemove = OffHeapLruNode.getEntry(firstAddress);
+               addressToRemove = OffHeapLruNode.getEntry(lruNode);
             }
          } finally {
             lruLock.unlock();
@@ -242,10 +204,11 @@ private void ensureSize() {
                   if (currentSize <= maxSize) {
                      break;
                   }
-                  int hashCode = OffHeapLruNode.getHashCode(firstAddress);
+                  long lruNode = evictionNode();
+                  int hashCode = OffHeapLruNode.getHashCode(lruNode);
                   Lock innerLock = locks.getLockFromHashCode(hashCode).writeLock();
                   if (innerLock == entryWriteLock) {
-                     addressToRemove = OffHeapLruNode.getEntry(firstAddress);
+                     addressToRemove = OffHeapLruNode.getEntry(lruNode);
                   } else {
                      addressToRemove = 0;
                   }
@@ -282,9 +245,11 @@ private void ensureSize() {
     * This method should only be invoked after acquiring the lruLock
     *
     * @param entryAddress the new entry address pointer *NOT* the lru node
+    * @param hashCode the hashCode of the entry key
+    * @param size the size of the entry as computed by the size calculator
     */
-   private void addEntryAddressToEnd(long entryAddress, int hashCode) {
-      long nodeAddress = allocator.allocate(OffHeapLruNode.getSize());
+   private void addEntryAddressToEnd(long entryAddress, int hashCode, long size) {
+      long nodeAddress = allocator.allocate(lruNodeSize());
       if (trace) {
          log.tracef("Creating LRU node 0x%016x for new entry 0x%016x", nodeAddress, entryAddress);
       }
@@ -292,66 +257,75 @@ private void addEntryAddressToEnd(long entryAddress, int hashCode) {
       OffHeapLruNode.setEntry(nodeAddress, entryAddress);
       // Also our entry address needs a pointer to its lru node
       offHeapEntryFactory.setLruNode(entryAddress, nodeAddress);
-      // This means it is the first entry
-      if (lastAddress == 0) {
-         firstAddress = nodeAddress;
-         lastAddress = nodeAddress;
-         // Have to make sure the memory is cleared so we don't use unitialized values
-         OffHeapLruNode.setPrevious(nodeAddress, 0);
-      } else {
-         // Writes back pointer to the old lastAddress
-         OffHeapLruNode.setPrevious(nodeAddress, lastAddress);
-         // Write the forward pointer in old lastAddress to point to us
-         OffHeapLruNode.setNext(lastAddress, nodeAddress);
-         // Finally make us the last address
-         lastAddress = nodeAddress;
-      }
-      // Since we are last there is no pointer after us
-      OffHeapLruNode.setNext(nodeAddress, 0);
       OffHeapLruNode.setHashCode(nodeAddress, hashCode);
+      nodeCreated(nodeAddress, size);
    }
 
    /**
-    * Method to be invoked when moving an existing lru node to the end.  This occurs when the entry is accessed for this
-    * node.
-    * This method should only be invoked after acquiring the lruLock.
-    *
-    * @param lruNode the node to move to the end
+    * Invoked with the lruLock held when the lru node of a newly created entry has been allocated and initialized.
+    * @param lruNode the new lru node
+    * @param size the size of the entry
     */
-   private void moveToEnd(long lruNode) {
-      if (lruNode != lastAddress) {
-         long nextLruNode = OffHeapLruNode.getNext(lruNode);
-         if (lruNode == firstAddress) {
-            OffHeapLruNode.setPrevious(nextLruNode, 0);
-            firstAddress = nextLruNode;
-         } else {
-            long prevLruNode = OffHeapLruNode.getPrevious(lruNode);
-            OffHeapLruNode.setNext(prevLruNode, nextLruNode);
-            OffHeapLruNode.setPrevious(nextLruNode, prevLruNode);
-         }
-         // Link the previous last node to our new last node
-         OffHeapLruNode.setNext(lastAddress, lruNode);
-         // Sets the previous node of our new tail node to the previous tail node
-         OffHeapLruNode.setPrevious(lruNode, lastAddress);
-         OffHeapLruNode.setNext(lruNode, 0);
-         lastAddress = lruNode;
-      }
+   protected void nodeCreated(long lruNode, long size) {
+      lruList.addToEnd(lruNode);
+   }
+
+   /**
+    * Invoked with the lruLock held when the entry of the lru node was read.
+    * @param lruNode the lru node of the entry
+    */
+   protected void nodeAccessed(long lruNode) {
+      lruList.moveToEnd(lruNode);
+   }
+
+   /**
+    * Invoked with the lruLock held when the entry of the lru node was replaced with a new value.
+    * @param lruNode the lru node, already pointing at the new entry
+    * @param oldSize the size of the replaced entry
+    * @param newSize the size of the new entry
+    */
+   protected void nodeReplaced(long lruNode, long oldSize, long newSize) {
+      lruList.moveToEnd(lruNode);
+   }
+
+   /**
+    * Invoked with the lruLock held when the entry of the lru node is removed. The node memory is released
+    * afterwards by the caller.
+    * @param lruNode the lru node of the removed entry
+    * @param size the size of the removed entry
+    */
+   protected void nodeRemoved(long lruNode, long size) {
+      lruList.remove(lruNode);
+   }
+
+   /**
+    * Invoked with the lruLock held when the container is over its maximum size. The returned node must be non zero,
+    * and an implementation may reorganize its nodes while choosing it.
+    * @return the lru node of the entry that should be evicted next
+    */
+   protected long evictionNode() {
+      return lruList.getFirst();
+   }
+
+   /**
+    * Invoked with the lruLock held to release all the lru nodes when the container is cleared.
+    */
+   protected void clearNodes() {
+      lruList.clear(allocator, lruNodeSize());
+   }
+
+   /**
+    * @return how many bytes an lru node uses
+    */
+   protected long lruNodeSize() {
+      return OffHeapLruNode.getSize();
    }
 
    @SuppressWarnings("unused")
    private List<String> debugLruList() {
-      if (firstAddress == 0)
-         return Collections.emptyList();
-
       lruLock.lock();
       try {
-         List<String> list = new ArrayList<>(sizeIncludingExpired());
-         for (long a = firstAddress; a != 0; a = OffHeapLruNode.getNext(a)) {
-            long n = OffHeapLruNode.getNext(a);
-            list.add(OffHeapLruNode.debugString(a));
-            assert n == 0 || OffHeapLruNode.getPrevious(n) == a;
-         }
-         return list;
+         return lruList.debugList();
       } finally {
          lruLock.unlock();
       }
@@ -22,6 +22,7 @@
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.eviction.EvictionManager;
 import org.infinispan.eviction.PassivationManager;
+import org.infinispan.expiration.ExpirationManager;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Stop;
 import org.infinispan.filter.KeyFilter;
@@ -51,6 +52,7 @@ public class OffHeapDataContainer implements DataContainer<WrappedBytes, Wrapped
    protected TimeService timeService;
    protected EvictionManager evictionManager;
    protected PassivationManager passivator;
+   protected ExpirationManager<WrappedBytes, WrappedBytes> expirationManager;
    // Variable to make sure memory locations aren't read after being deallocated
    // This variable should always be read first after acquiring either the read or write lock
    private boolean dellocated = false;
@@ -82,13 +84,15 @@ public OffHeapDataContainer(int desiredSize) {
 
    @Inject
    public void inject(EvictionManager evictionManager, PassivationManager passivator, OffHeapEntryFactory offHeapEntryFactory,
-                      OffHeapMemoryAllocator allocator, TimeService timeService, InternalEntryFactory internalEntryFactory) {
+                      OffHeapMemoryAllocator allocator, TimeService timeService, InternalEntryFactory internalEntryFactory,
+                      ExpirationManager<WrappedBytes, WrappedBytes> expirationManager) {
       this.evictionManager = evictionManager;
       this.passivator = passivator;
       this.internalEntryFactory = internalEntryFactory;
       this.allocator = allocator;
       this.offHeapEntryFactory = offHeapEntryFactory;
       this.timeService = timeService;
+      this.expirationManager = expirationManager;
    }
 
    /**
@@ -144,10 +148,10 @@ protected InternalCacheEntry<WrappedBytes, WrappedBytes> performGet(long address
       WrappedBytes wrappedKey = toWrapper(k);
       while (address != 0) {
          long nextAddress = offHeapEntryFactory.getNext(address);
-         InternalCacheEntry<WrappedBytes, WrappedBytes> ice = offHeapEntryFactory.fromMemory(address);
-         if (wrappedKey.equalsWrappedBytes(ice.getKey())) {
+         // Compare the key in place, only the matching entry is read on heap
+         if (offHeapEntryFactory.equalsKey(address, wrappedKey)) {
             entryRetrieved(address);
-            return ice;
+            return offHeapEntryFactory.fromMemory(address);
          } else {
             address = nextAddress;
          }
@@ -168,6 +172,7 @@ public void put(WrappedBytes key, WrappedBytes value, Metadata metadata) {
          checkDeallocation();
          long newAddress = offHeapEntryFactory.create(key, value, metadata);
          performPut(newAddress, key);
+         scheduleExpiration(key, metadata);
       } finally {
          lock.unlock();
       }
@@ -241,6 +246,24 @@ protected void performPut(long address, long newAddress, WrappedBytes key) {
       }
    }
 
+   /**
+    * Registers the entry that was just written with the expiration manager if it can expire, otherwise makes sure
+    * the key of a replaced entry is no longer scheduled.
+    * @param key the key of the entry
+    * @param metadata the metadata of the entry
+    */
+   private void scheduleExpiration(WrappedBytes key, Metadata metadata) {
+      long lifespan = metadata.lifespan();
+      long maxIdle = metadata.maxIdle();
+      if (lifespan >= 0 || maxIdle >= 0) {
+         // The entry was just created in memory, so both its lifespan and its max idle start now
+         long timeout = lifespan < 0 ? maxIdle : maxIdle < 0 ? lifespan : Math.min(lifespan, maxIdle);
+         expirationManager.scheduleExpiration(key, timeService.wallClockTime() + timeout);
+      } else {
+         expirationManager.unscheduleExpiration(key);
+      }
+   }
+
    /**
     * Invoked when an entry is about to be created.  The new address is fully addressable,
     * The write lock will already be acquired for the given * segment the key mapped to.
@@ -314,6 +337,7 @@ public InternalCacheEntry<WrappedBytes, WrappedBytes> remove(Object key) {
          if (address == 0) {
             return null;
          }
+         expirationManager.unscheduleExpiration((WrappedBytes) key);
          return performRemove(address, key);
       } finally {
          lock.unlock();
@@ -332,8 +356,8 @@ protected InternalCacheEntry<WrappedBytes, WrappedBytes> performRemove(long addr
 
       while (address != 0) {
          long nextAddress = offHeapEntryFactory.getNext(address);
-         InternalCacheEntry<WrappedBytes, WrappedBytes> ice = offHeapEntryFactory.fromMemory(address);
-         if (ice.getKey().equals(wba)) {
+         if (offHeapEntryFactory.equalsKey(address, wba)) {
+            InternalCacheEntry<WrappedBytes, WrappedBytes> ice = offHeapEntryFactory.fromMemory(address);
             entryRemoved(address);
             // Free the node
             allocator.deallocate(address);
@@ -353,11 +377,36 @@ protected InternalCacheEntry<WrappedBytes, WrappedBytes> performRemove(long addr
 
    @Override
    public int size() {
-      long time = timeService.wallClockTime();
-      long count = entryStream().filter(e -> !e.isExpired(time)).count();
+      long count = sizeNotExpired(timeService.wallClockTime());
       return (int) Math.min(count, Integer.MAX_VALUE);
    }
 
+   /**
+    * Counts the entries that are not expired, checking the expiration off-heap
+    */
+   long sizeNotExpired(long now) {
+      long count = 0;
+      for (int i = 0; i < lockCount; ++i) {
+         Lock lock = locks.getLockWithOffset(i).readLock();
+         lock.lock();
+         try {
+            checkDeallocation();
+            for (int j = i; j < memoryAddressCount; j += lockCount) {
+               long address = memoryLookup.getMemoryAddressOffset(j);
+               while (address != 0) {
+                  if (!offHeapEntryFactory.isExpired(address, now)) {
+                     count++;
+                  }
+                  address = offHeapEntryFactory.getNext(address);
+               }
+            }
+         } finally {
+            lock.unlock();
+         }
+      }
+      return count;
+   }
+
    @Override
    public int sizeIncludingExpired() {
       return (int) Math.min(size.get(), Integer.MAX_VALUE);
@@ -365,6 +414,14 @@ public int sizeIncludingExpired() {
 
    @Override
    public void clear() {
+      clearEntries();
+      expirationManager.unscheduleAllExpirations();
+   }
+
+   /**
+    * Removes all the entries without touching the expiration schedule, which may be shared with other containers.
+    */
+   void clearEntries() {
       locks.lockAll();
       try {
          checkDeallocation();
@@ -497,6 +554,7 @@ public void evict(WrappedBytes key) {
             if (ice != null) {
                passivator.passivate(ice);
                performRemove(address, key);
+               expirationManager.unscheduleExpiration(key);
             }
          }
       } finally {
@@ -519,8 +577,10 @@ public InternalCacheEntry<WrappedBytes, WrappedBytes> compute(WrappedBytes key,
          } else if (result != null) {
             long newAddress = offHeapEntryFactory.create(key, result.getValue(), result.getMetadata());
             performPut(address, newAddress, key);
+            scheduleExpiration(key, result.getMetadata());
          } else {
             performRemove(address, key);
+            expirationManager.unscheduleExpiration(key);
          }
          return result;
       } finally {
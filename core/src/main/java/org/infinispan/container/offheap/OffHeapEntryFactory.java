@@ -60,6 +60,14 @@ public interface OffHeapEntryFactory {
     */
    InternalCacheEntry<WrappedBytes, WrappedBytes> fromMemory(long address);
 
+   /**
+    * Returns whether the entry at the given address is expired, without creating the entry on heap when possible
+    * @param address the address of the entry to check
+    * @param now the current wall clock time
+    * @return whether the entry is expired
+    */
+   boolean isExpired(long address, long now);
+
    /**
     * Returns the key for the given address
     * @param address the address pointer to find the key of
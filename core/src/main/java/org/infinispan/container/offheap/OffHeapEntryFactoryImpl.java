@@ -8,8 +8,11 @@
 import org.infinispan.commons.marshall.WrappedBytes;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.container.InternalEntryFactory;
+import org.infinispan.container.entries.ExpiryHelper;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.container.versioning.EntryVersion;
+import org.infinispan.container.versioning.NumericVersion;
+import org.infinispan.container.versioning.SimpleClusteredVersion;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.metadata.EmbeddedMetadata;
 import org.infinispan.metadata.Metadata;
@@ -40,6 +43,11 @@ public class OffHeapEntryFactoryImpl implements OffHeapEntryFactory {
    private static final byte MORTAL = 1 << 3;
    private static final byte TRANSIENT = 1 << 4;
    private static final byte TRANSIENT_MORTAL = 1 << 5;
+   private static final int EXPIRATION_TYPES = IMMORTAL | MORTAL | TRANSIENT | TRANSIENT_MORTAL;
+   // Common versions are stored with a fixed layout instead of marshalling them, at most one of these is set and
+   // HAS_VERSION is not set with them
+   private static final byte NUMERIC_VERSION = 1 << 6;
+   private static final byte SIMPLE_CLUSTERED_VERSION = (byte) (1 << 7);
 
    /**
     * HEADER is composed of hashCode (int), keyLength (int), metadataLength (int), valueLength (int), type (byte)
@@ -67,48 +75,50 @@ public void inject(Marshaller marshaller, OffHeapMemoryAllocator allocator, Time
    public long create(WrappedBytes key, WrappedBytes value, Metadata metadata) {
       byte type;
       byte[] metadataBytes;
+      int metadataSize;
+      long lifespan = -1;
+      long maxIdle = -1;
+      EntryVersion version = null;
       if (metadata instanceof EmbeddedMetadata) {
-         EntryVersion version = metadata.version();
-         byte[] versionBytes;
-         if (version != null) {
+         version = metadata.version();
+         int versionSize;
+         if (version == null) {
+            type = 0;
+            versionSize = 0;
+            metadataBytes = EMPTY_BYTES;
+         } else if (version instanceof NumericVersion) {
+            type = NUMERIC_VERSION;
+            versionSize = 8;
+            metadataBytes = EMPTY_BYTES;
+         } else if (version instanceof SimpleClusteredVersion) {
+            type = SIMPLE_CLUSTERED_VERSION;
+            versionSize = 4 + 8;
+            metadataBytes = EMPTY_BYTES;
+         } else {
             type = HAS_VERSION;
             try {
-               versionBytes = marshaller.objectToByteBuffer(version);
+               metadataBytes = marshaller.objectToByteBuffer(version);
             } catch (IOException | InterruptedException e) {
                throw new CacheException(e);
             }
-         } else {
-            type = 0;
-            versionBytes = EMPTY_BYTES;
+            versionSize = metadataBytes.length;
          }
 
-         long lifespan = metadata.lifespan();
-         long maxIdle = metadata.maxIdle();
+         lifespan = metadata.lifespan();
+         maxIdle = metadata.maxIdle();
 
          if (lifespan < 0 && maxIdle < 0) {
             type |= IMMORTAL;
-            metadataBytes = versionBytes;
+            metadataSize = versionSize;
          } else if (lifespan > -1 && maxIdle < 0) {
             type |= MORTAL;
-            metadataBytes = new byte[16 + versionBytes.length];
-            Bits.putLong(metadataBytes, 0, lifespan);
-            Bits.putLong(metadataBytes, 8, timeService.wallClockTime());
-            System.arraycopy(versionBytes, 0, metadataBytes, 16, versionBytes.length);
+            metadataSize = 16 + versionSize;
          } else if (lifespan < 0 && maxIdle > -1) {
             type |= TRANSIENT;
-            metadataBytes = new byte[16 + versionBytes.length];
-            Bits.putLong(metadataBytes, 0, maxIdle);
-            Bits.putLong(metadataBytes, 8, timeService.wallClockTime());
-            System.arraycopy(versionBytes, 0, metadataBytes, 16, versionBytes.length);
+            metadataSize = 16 + versionSize;
          } else {
             type |= TRANSIENT_MORTAL;
-            metadataBytes = new byte[32 + versionBytes.length];
-            Bits.putLong(metadataBytes, 0, maxIdle);
-            Bits.putLong(metadataBytes, 8, lifespan);
-            long time = timeService.wallClockTime();
-            Bits.putLong(metadataBytes, 16, time);
-            Bits.putLong(metadataBytes, 24, time);
-            System.arraycopy(versionBytes, 0, metadataBytes, 32, versionBytes.length);
+            metadataSize = 32 + versionSize;
          }
       } else {
          type = CUSTOM;
@@ -117,9 +127,9 @@ public long create(WrappedBytes key, WrappedBytes value, Metadata metadata) {
          } catch (IOException | InterruptedException e) {
             throw new CacheException(e);
          }
+         metadataSize = metadataBytes.length;
       }
       int keySize = key.getLength();
-      int metadataSize = metadataBytes.length;
       int valueSize = value.getLength();
 
       // Eviction requires an additional memory pointer at the beginning that points to
@@ -138,7 +148,7 @@ public long create(WrappedBytes key, WrappedBytes value, Metadata metadata) {
       offset += 4;
       MEMORY.putInt(memoryAddress, offset, key.getLength());
       offset += 4;
-      MEMORY.putInt(memoryAddress, offset, metadataBytes.length);
+      MEMORY.putInt(memoryAddress, offset, metadataSize);
       offset += 4;
       MEMORY.putInt(memoryAddress, offset, value.getLength());
       offset += 4;
@@ -148,8 +158,12 @@ public long create(WrappedBytes key, WrappedBytes value, Metadata metadata) {
       MEMORY.putBytes(key.getBytes(), key.backArrayOffset(), memoryAddress, offset, keySize);
       offset += keySize;
 
-      MEMORY.putBytes(metadataBytes, 0, memoryAddress, offset, metadataSize);
-      offset += metadataSize;
+      if ((type & CUSTOM) == CUSTOM) {
+         MEMORY.putBytes(metadataBytes, 0, memoryAddress, offset, metadataSize);
+         offset += metadataSize;
+      } else {
+         offset = writeMetadata(memoryAddress, offset, type, lifespan, maxIdle, version, metadataBytes);
+      }
 
       MEMORY.putBytes(value.getBytes(), value.backArrayOffset(), memoryAddress, offset, valueSize);
       offset += valueSize;
@@ -159,6 +173,47 @@ public long create(WrappedBytes key, WrappedBytes value, Metadata metadata) {
       return memoryAddress;
    }
 
+   /**
+    * Writes the expiration fields followed by the version with the fixed layout described by the type
+    * @return the offset after the metadata
+    */
+   private int writeMetadata(long memoryAddress, int offset, byte type, long lifespan, long maxIdle,
+         EntryVersion version, byte[] versionBytes) {
+      switch (type & EXPIRATION_TYPES) {
+         case MORTAL:
+            MEMORY.putLong(memoryAddress, offset, lifespan);
+            MEMORY.putLong(memoryAddress, offset + 8, timeService.wallClockTime());
+            offset += 16;
+            break;
+         case TRANSIENT:
+            MEMORY.putLong(memoryAddress, offset, maxIdle);
+            MEMORY.putLong(memoryAddress, offset + 8, timeService.wallClockTime());
+            offset += 16;
+            break;
+         case TRANSIENT_MORTAL:
+            long time = timeService.wallClockTime();
+            MEMORY.putLong(memoryAddress, offset, lifespan);
+            MEMORY.putLong(memoryAddress, offset + 8, maxIdle);
+            MEMORY.putLong(memoryAddress, offset + 16, time);
+            MEMORY.putLong(memoryAddress, offset + 24, time);
+            offset += 32;
+            break;
+      }
+      if ((type & NUMERIC_VERSION) != 0) {
+         MEMORY.putLong(memoryAddress, offset, ((NumericVersion) version).getVersion());
+         offset += 8;
+      } else if ((type & SIMPLE_CLUSTERED_VERSION) != 0) {
+         SimpleClusteredVersion clusteredVersion = (SimpleClusteredVersion) version;
+         MEMORY.putInt(memoryAddress, offset, clusteredVersion.topologyId);
+         MEMORY.putLong(memoryAddress, offset + 4, clusteredVersion.version);
+         offset += 4 + 8;
+      } else if ((type & HAS_VERSION) != 0) {
+         MEMORY.putBytes(versionBytes, 0, memoryAddress, offset, versionBytes.length);
+         offset += versionBytes.length;
+      }
+      return offset;
+   }
+
    @Override
    public long getSize(long entryAddress) {
       int headerOffset = evictionEnabled ? 16 : 8;
@@ -212,7 +267,7 @@ public InternalCacheEntry<WrappedBytes, WrappedBytes> fromMemory(long address) {
       offset += 4;
       byte[] keyBytes = new byte[MEMORY.getInt(address, offset)];
       offset += 4;
-      byte[] metadataBytes = new byte[MEMORY.getInt(address, offset)];
+      int metadataLength = MEMORY.getInt(address, offset);
       offset += 4;
       byte[] valueBytes = new byte[MEMORY.getInt(address, offset)];
       offset += 4;
@@ -221,14 +276,16 @@ public InternalCacheEntry<WrappedBytes, WrappedBytes> fromMemory(long address) {
 
       MEMORY.getBytes(address, offset, keyBytes, 0, keyBytes.length);
       offset += keyBytes.length;
-      MEMORY.getBytes(address, offset, metadataBytes, 0, metadataBytes.length);
-      offset += metadataBytes.length;
+      int metadataOffset = offset;
+      offset += metadataLength;
       MEMORY.getBytes(address, offset, valueBytes, 0, valueBytes.length);
       offset += valueBytes.length;
 
       Metadata metadata;
       // This is a custom metadata
-      if ((metadataType & 1) == 1) {
+      if ((metadataType & CUSTOM) == CUSTOM) {
+         byte[] metadataBytes = new byte[metadataLength];
+         MEMORY.getBytes(address, metadataOffset, metadataBytes, 0, metadataLength);
          try {
             metadata = (Metadata) marshaller.objectFromByteBuffer(metadataBytes);
          } catch (IOException | ClassNotFoundException e) {
@@ -241,10 +298,9 @@ public InternalCacheEntry<WrappedBytes, WrappedBytes> fromMemory(long address) {
          long maxIdle;
          long created;
          long lastUsed;
-         offset = 0;
-         boolean hasVersion = (metadataType & 2) == 2;
-         // Ignore CUSTOM and VERSION to find type
-         switch (metadataType & 0xFC) {
+         offset = metadataOffset;
+         // Ignore CUSTOM and the versions to find type
+         switch (metadataType & EXPIRATION_TYPES) {
             case IMMORTAL:
                lifespan = -1;
                maxIdle = -1;
@@ -253,34 +309,32 @@ public InternalCacheEntry<WrappedBytes, WrappedBytes> fromMemory(long address) {
                break;
             case MORTAL:
                maxIdle = -1;
-               lifespan = Bits.getLong(metadataBytes, offset);
-               created = Bits.getLong(metadataBytes, offset += 8);
+               lifespan = MEMORY.getLong(address, offset);
+               created = MEMORY.getLong(address, offset + 8);
                lastUsed = -1;
+               offset += 16;
                break;
             case TRANSIENT:
                lifespan = -1;
-               maxIdle = Bits.getLong(metadataBytes, offset);
+               maxIdle = MEMORY.getLong(address, offset);
                created = -1;
-               lastUsed = Bits.getLong(metadataBytes, offset += 8);
+               lastUsed = MEMORY.getLong(address, offset + 8);
+               offset += 16;
                break;
             case TRANSIENT_MORTAL:
-               lifespan = Bits.getLong(metadataBytes, offset);
-               maxIdle = Bits.getLong(metadataBytes, offset += 8);
-               created = Bits.getLong(metadataBytes, offset += 8);
-               lastUsed = Bits.getLong(metadataBytes, offset += 8);
+               lifespan = MEMORY.getLong(address, offset);
+               maxIdle = MEMORY.getLong(address, offset + 8);
+               created = MEMORY.getLong(address, offset + 16);
+               lastUsed = MEMORY.getLong(address, offset + 24);
+               offset += 32;
                break;
             default:
                throw new IllegalArgumentException("Unsupported type: " + metadataType);
          }
-         if (hasVersion) {
-            try {
-               EntryVersion version = (EntryVersion) marshaller.objectFromByteBuffer(metadataBytes, offset,
-                     metadataBytes.length - offset);
-               return internalEntryFactory.create(new WrappedByteArray(keyBytes, hashCode),
-                     new WrappedByteArray(valueBytes), version, created, lifespan, lastUsed, maxIdle);
-            } catch (IOException | ClassNotFoundException e) {
-               throw new CacheException(e);
-            }
+         EntryVersion version = readVersion(address, offset, metadataType, metadataOffset + metadataLength - offset);
+         if (version != null) {
+            return internalEntryFactory.create(new WrappedByteArray(keyBytes, hashCode),
+                  new WrappedByteArray(valueBytes), version, created, lifespan, lastUsed, maxIdle);
          } else {
             return internalEntryFactory.create(new WrappedByteArray(keyBytes, hashCode),
                   new WrappedByteArray(valueBytes), (Metadata) null, created, lifespan, lastUsed, maxIdle);
@@ -288,6 +342,54 @@ public InternalCacheEntry<WrappedBytes, WrappedBytes> fromMemory(long address) {
       }
    }
 
+   private EntryVersion readVersion(long address, int offset, byte metadataType, int versionLength) {
+      if ((metadataType & NUMERIC_VERSION) != 0) {
+         return new NumericVersion(MEMORY.getLong(address, offset));
+      } else if ((metadataType & SIMPLE_CLUSTERED_VERSION) != 0) {
+         return new SimpleClusteredVersion(MEMORY.getInt(address, offset), MEMORY.getLong(address, offset + 4));
+      } else if ((metadataType & HAS_VERSION) != 0) {
+         byte[] versionBytes = new byte[versionLength];
+         MEMORY.getBytes(address, offset, versionBytes, 0, versionLength);
+         try {
+            return (EntryVersion) marshaller.objectFromByteBuffer(versionBytes);
+         } catch (IOException | ClassNotFoundException e) {
+            throw new CacheException(e);
+         }
+      }
+      return null;
+   }
+
+   /**
+    * Checks the expiration of the entry against the fields stored off-heap, so that only entries with custom metadata
+    * have to be read on heap.
+    * @param address the address of the entry to check
+    * @param now the current wall clock time
+    * @return whether the entry is expired
+    */
+   @Override
+   public boolean isExpired(long address, long now) {
+      int headerOffset = evictionEnabled ? 16 : 8;
+      byte metadataType = MEMORY.getByte(address, headerOffset + 16);
+      if ((metadataType & CUSTOM) == CUSTOM) {
+         return fromMemory(address).isExpired(now);
+      }
+      long metadataOffset = headerOffset + HEADER_LENGTH + MEMORY.getInt(address, headerOffset + 4);
+      switch (metadataType & EXPIRATION_TYPES) {
+         case MORTAL:
+            return ExpiryHelper.isExpiredMortal(MEMORY.getLong(address, metadataOffset),
+                  MEMORY.getLong(address, metadataOffset + 8), now);
+         case TRANSIENT:
+            return ExpiryHelper.isExpiredTransient(MEMORY.getLong(address, metadataOffset),
+                  MEMORY.getLong(address, metadataOffset + 8), now);
+         case TRANSIENT_MORTAL:
+            return ExpiryHelper.isExpiredTransientMortal(MEMORY.getLong(address, metadataOffset + 8),
+                  MEMORY.getLong(address, metadataOffset + 24), MEMORY.getLong(address, metadataOffset),
+                  MEMORY.getLong(address, metadataOffset + 16), now);
+         default:
+            return false;
+      }
+   }
+
    @Override
    public WrappedBytes getKey(long address) {
       long headerOffset = (evictionEnabled ? 16 : 8);
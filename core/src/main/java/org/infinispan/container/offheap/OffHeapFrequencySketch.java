@@ -0,0 +1,116 @@
+package org.infinispan.container.offheap;
+
+import sun.misc.Unsafe;
+
+/**
+ * Count-min sketch of 4 bit counters stored in native memory, used to estimate how often a key hash was seen.
+ * <p>
+ * Every long of the table holds 16 counters, split in 4 groups of 4 counters, one group per hash function. A key
+ * increments one counter in each of 4 longs, and its frequency is the minimum of those 4 counters. Counters saturate
+ * at 15 and once the number of increments reaches the sample size all the counters are halved, so that the sketch
+ * ages out keys that were popular in the past.
+ * <p>
+ * This class is not thread safe, callers must guard every invocation with the lock owning the sketch.
+ *
+ * @since 9.2
+ */
+class OffHeapFrequencySketch {
+   private static final Unsafe UNSAFE = UnsafeHolder.UNSAFE;
+   private static final int MAXIMUM_CAPACITY = 1 << 26;
+   private static final long[] SEEDS = {
+         0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+   private static final long RESET_MASK = 0x7777777777777777L;
+
+   private final long memory;
+   private final int tableMask;
+   private final int sampleSize;
+   private int size;
+
+   /**
+    * @param capacity how many distinct keys the sketch should be able to tell apart, usually the maximum number of
+    *                 entries of the container
+    */
+   OffHeapFrequencySketch(long capacity) {
+      int tableLength = OffHeapDataContainer.nextPowerOfTwo((int) Math.max(16, Math.min(capacity, MAXIMUM_CAPACITY)));
+      this.tableMask = tableLength - 1;
+      this.sampleSize = 10 * tableLength;
+      long bytes = ((long) tableLength) << 3;
+      memory = UNSAFE.allocateMemory(bytes);
+      // Counters have to start at 0
+      UNSAFE.setMemory(memory, bytes, (byte) 0);
+   }
+
+   /**
+    * @param hashCode the hash code of the key
+    * @return the estimated number of times the key was seen, between 0 and 15
+    */
+   int frequency(int hashCode) {
+      int hash = spread(hashCode);
+      int start = (hash & 3) << 2;
+      int frequency = Integer.MAX_VALUE;
+      for (int i = 0; i < 4; ++i) {
+         long value = UNSAFE.getLong(addressOf(hash, i));
+         int count = (int) ((value >>> ((start + i) << 2)) & 0xfL);
+         frequency = Math.min(frequency, count);
+      }
+      return frequency;
+   }
+
+   /**
+    * Records an occurrence of the key, halving all the counters if the sample size was reached.
+    * @param hashCode the hash code of the key
+    */
+   void increment(int hashCode) {
+      int hash = spread(hashCode);
+      int start = (hash & 3) << 2;
+      boolean added = false;
+      for (int i = 0; i < 4; ++i) {
+         added |= incrementAt(addressOf(hash, i), start + i);
+      }
+      if (added && ++size == sampleSize) {
+         reset();
+      }
+   }
+
+   /**
+    * Sets all the counters back to 0.
+    */
+   void clear() {
+      UNSAFE.setMemory(memory, ((long) tableMask + 1) << 3, (byte) 0);
+      size = 0;
+   }
+
+   void deallocate() {
+      UNSAFE.freeMemory(memory);
+   }
+
+   private boolean incrementAt(long address, int counter) {
+      int offset = counter << 2;
+      long mask = 0xfL << offset;
+      long value = UNSAFE.getLong(address);
+      if ((value & mask) != mask) {
+         UNSAFE.putLong(address, value + (1L << offset));
+         return true;
+      }
+      return false;
+   }
+
+   private void reset() {
+      for (int i = 0; i <= tableMask; ++i) {
+         long address = memory + (((long) i) << 3);
+         UNSAFE.putLong(address, (UNSAFE.getLong(address) >>> 1) & RESET_MASK);
+      }
+      size >>>= 1;
+   }
+
+   private long addressOf(int hash, int depth) {
+      long h = (hash + SEEDS[depth]) * SEEDS[depth];
+      h += h >>> 32;
+      return memory + ((((int) h) & tableMask) << 3);
+   }
+
+   private static int spread(int hashCode) {
+      int h = hashCode * 0x9e3779b9;
+      return h ^ (h >>> 16);
+   }
+}
@@ -0,0 +1,135 @@
+package org.infinispan.container.offheap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Doubly linked list of {@link OffHeapLruNode}s stored in native memory, ordered from the least recently used node
+ * (head) to the most recently used one (tail).
+ * <p>
+ * This class is not thread safe, callers must guard every invocation with the lock owning the list.
+ *
+ * @since 9.2
+ */
+class OffHeapLruList {
+   private long firstAddress;
+   private long lastAddress;
+
+   long getFirst() {
+      return firstAddress;
+   }
+
+   boolean isEmpty() {
+      return firstAddress == 0;
+   }
+
+   /**
+    * Appends a freshly allocated node at the end of the list.
+    * @param nodeAddress the lru node to add
+    */
+   void addToEnd(long nodeAddress) {
+      // This means it is the first entry
+      if (lastAddress == 0) {
+         firstAddress = nodeAddress;
+         lastAddress = nodeAddress;
+         // Have to make sure the memory is cleared so we don't use unitialized values
+         OffHeapLruNode.setPrevious(nodeAddress, 0);
+      } else {
+         // Writes back pointer to the old lastAddress
+         OffHeapLruNode.setPrevious(nodeAddress, lastAddress);
+         // Write the forward pointer in old lastAddress to point to us
+         OffHeapLruNode.setNext(lastAddress, nodeAddress);
+         // Finally make us the last address
+         lastAddress = nodeAddress;
+      }
+      // Since we are last there is no pointer after us
+      OffHeapLruNode.setNext(nodeAddress, 0);
+   }
+
+   /**
+    * Moves an existing node to the end of the list.  This occurs when the entry is accessed for this node.
+    * @param lruNode the node to move to the end
+    */
+   void moveToEnd(long lruNode) {
+      if (lruNode != lastAddress) {
+         long nextLruNode = OffHeapLruNode.getNext(lruNode);
+         if (lruNode == firstAddress) {
+            OffHeapLruNode.setPrevious(nextLruNode, 0);
+            firstAddress = nextLruNode;
+         } else {
+            long prevLruNode = OffHeapLruNode.getPrevious(lruNode);
+            OffHeapLruNode.setNext(prevLruNode, nextLruNode);
+            OffHeapLruNode.setPrevious(nextLruNode, prevLruNode);
+         }
+         // Link the previous last node to our new last node
+         OffHeapLruNode.setNext(lastAddress, lruNode);
+         // Sets the previous node of our new tail node to the previous tail node
+         OffHeapLruNode.setPrevious(lruNode, lastAddress);
+         OffHeapLruNode.setNext(lruNode, 0);
+         lastAddress = lruNode;
+      }
+   }
+
+   /**
+    * Unlinks the node from the list.  The node memory is not released.
+    * @param lruNode the node to unlink
+    */
+   void remove(long lruNode) {
+      boolean middleNode = true;
+      if (lruNode == lastAddress) {
+         long previousLRUNode = OffHeapLruNode.getPrevious(lruNode);
+         if (previousLRUNode != 0) {
+            OffHeapLruNode.setNext(previousLRUNode, 0);
+         }
+         lastAddress = previousLRUNode;
+         middleNode = false;
+      }
+      if (lruNode == firstAddress) {
+         long nextLRUNode = OffHeapLruNode.getNext(lruNode);
+         if (nextLRUNode != 0) {
+            OffHeapLruNode.setPrevious(nextLRUNode, 0);
+         }
+         firstAddress = nextLRUNode;
+         middleNode = false;
+      }
+      if (middleNode) {
+         // We are a middle pointer so both of these have to be non zero
+         long previousLRUNode = OffHeapLruNode.getPrevious(lruNode);
+         long nextLRUNode = OffHeapLruNode.getNext(lruNode);
+         assert previousLRUNode != 0;
+         assert nextLRUNode != 0;
+         OffHeapLruNode.setNext(previousLRUNode, nextLRUNode);
+         OffHeapLruNode.setPrevious(nextLRUNode, previousLRUNode);
+      }
+   }
+
+   /**
+    * Releases the memory of all the nodes and empties the list.
+    * @param allocator the allocator the nodes were allocated with
+    * @param nodeSize how many bytes each node was allocated with
+    */
+   void clear(OffHeapMemoryAllocator allocator, long nodeSize) {
+      long address = firstAddress;
+      while (address != 0) {
+         long nextAddress = OffHeapLruNode.getNext(address);
+         allocator.deallocate(address, nodeSize);
+         address = nextAddress;
+      }
+      firstAddress = 0;
+      lastAddress = 0;
+   }
+
+   List<String> debugList() {
+      if (firstAddress == 0)
+         return Collections.emptyList();
+
+      List<String> list = new ArrayList<>();
+      for (long a = firstAddress; a != 0; a = OffHeapLruNode.getNext(a)) {
+         long n = OffHeapLruNode.getNext(a);
+         list.add(OffHeapLruNode.debugString(a));
+         assert n == 0 || OffHeapLruNode.getPrevious(n) == a;
+      }
+      return list;
+   }
+}
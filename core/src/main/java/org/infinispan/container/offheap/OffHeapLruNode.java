@@ -16,6 +16,9 @@ class OffHeapLruNode {
    private static final int NEXT_NODE_OFFSET = PREVIOUS_NODE_OFFSET + ADDRESS_SIZE;
    private static final int HASHCODE_OFFSET = NEXT_NODE_OFFSET + ADDRESS_SIZE;
    private static final int SIZE = HASHCODE_OFFSET + HASHCODE_SIZE;
+   // Optional trailing int for lists that partition their nodes into regions
+   private static final int REGION_OFFSET = SIZE;
+   private static final int SIZE_WITH_REGION = REGION_OFFSET + 4;
 
    private OffHeapLruNode() {
    }
@@ -24,6 +27,21 @@ static int getSize() {
       return SIZE;
    }
 
+   /**
+    * @return the size of a node that was allocated with room for the region
+    */
+   static int getSizeWithRegion() {
+      return SIZE_WITH_REGION;
+   }
+
+   static int getRegion(long lruNodeAddress) {
+      return MEMORY.getInt(lruNodeAddress, REGION_OFFSET);
+   }
+
+   static void setRegion(long lruNodeAddress, int region) {
+      MEMORY.putInt(lruNodeAddress, REGION_OFFSET, region);
+   }
+
    static long getEntry(long lruNodeAddress) {
       return MEMORY.getLong(lruNodeAddress, HASH_ENTRY_OFFSET);
    }
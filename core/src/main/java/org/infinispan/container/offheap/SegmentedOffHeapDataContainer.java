@@ -0,0 +1,345 @@
+package org.infinispan.container.offheap;
+
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.infinispan.commons.marshall.WrappedBytes;
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.container.InternalEntryFactory;
+import org.infinispan.container.SegmentedDataContainer;
+import org.infinispan.container.SegmentedIterator;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.eviction.EvictionManager;
+import org.infinispan.eviction.PassivationManager;
+import org.infinispan.expiration.ExpirationManager;
+import org.infinispan.factories.annotations.Inject;
+import org.infinispan.factories.annotations.Stop;
+import org.infinispan.filter.KeyFilter;
+import org.infinispan.filter.KeyValueFilter;
+import org.infinispan.metadata.Metadata;
+import org.infinispan.util.TimeService;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * Unbounded off-heap data container that keeps a separate {@link OffHeapDataContainer} for every segment. The
+ * configured address count is spread evenly over the segments.
+ * <p>
+ * Removing a segment releases the native memory of all of its entries, but keeps the (small) address table of the
+ * segment allocated until the container is stopped, so that a late write to the segment cannot touch freed memory.
+ *
+ * @since 9.2
+ */
+public class SegmentedOffHeapDataContainer implements SegmentedDataContainer<WrappedBytes, WrappedBytes> {
+   private static final Log log = LogFactory.getLog(SegmentedOffHeapDataContainer.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   private final AtomicReferenceArray<OffHeapDataContainer> containers;
+   private final int addressesPerSegment;
+   private KeyPartitioner keyPartitioner;
+   private OffHeapMemoryAllocator allocator;
+   private OffHeapEntryFactory offHeapEntryFactory;
+   private InternalEntryFactory internalEntryFactory;
+   private TimeService timeService;
+   private EvictionManager evictionManager;
+   private PassivationManager passivator;
+   private ExpirationManager<WrappedBytes, WrappedBytes> expirationManager;
+
+   public SegmentedOffHeapDataContainer(int desiredSize, int numSegments) {
+      this.containers = new AtomicReferenceArray<>(numSegments);
+      this.addressesPerSegment = Math.max(1, desiredSize / numSegments);
+   }
+
+   @Inject
+   public void inject(EvictionManager evictionManager, PassivationManager passivator, OffHeapEntryFactory offHeapEntryFactory,
+                      OffHeapMemoryAllocator allocator, TimeService timeService, InternalEntryFactory internalEntryFactory,
+                      KeyPartitioner keyPartitioner, ExpirationManager<WrappedBytes, WrappedBytes> expirationManager) {
+      this.evictionManager = evictionManager;
+      this.passivator = passivator;
+      this.internalEntryFactory = internalEntryFactory;
+      this.allocator = allocator;
+      this.offHeapEntryFactory = offHeapEntryFactory;
+      this.timeService = timeService;
+      this.keyPartitioner = keyPartitioner;
+      this.expirationManager = expirationManager;
+   }
+
+   /**
+    * Clears the data and releases the memory lookups of every segment.
+    */
+   @Stop(priority = Integer.MAX_VALUE)
+   public void deallocate() {
+      for (int i = 0; i < containers.length(); ++i) {
+         OffHeapDataContainer container = containers.getAndSet(i, null);
+         if (container != null) {
+            container.deallocate();
+         }
+      }
+   }
+
+   private OffHeapDataContainer getContainerForRead(Object key) {
+      return containers.get(keyPartitioner.getSegment(key));
+   }
+
+   private OffHeapDataContainer getContainerForWrite(Object key) {
+      return getOrCreateContainer(keyPartitioner.getSegment(key));
+   }
+
+   private OffHeapDataContainer getOrCreateContainer(int segment) {
+      OffHeapDataContainer container = containers.get(segment);
+      if (container == null) {
+         OffHeapDataContainer newContainer = new OffHeapDataContainer(addressesPerSegment);
+         newContainer.inject(evictionManager, passivator, offHeapEntryFactory, allocator, timeService,
+               internalEntryFactory, expirationManager);
+         if (containers.compareAndSet(segment, null, newContainer)) {
+            container = newContainer;
+         } else {
+            // Somebody else installed one concurrently, ours was never used
+            newContainer.memoryLookup.deallocate();
+            container = containers.get(segment);
+         }
+      }
+      return container;
+   }
+
+   @Override
+   public InternalCacheEntry<WrappedBytes, WrappedBytes> get(Object k) {
+      OffHeapDataContainer container = getContainerForRead(k);
+      return container == null ? null : container.get(k);
+   }
+
+   @Override
+   public InternalCacheEntry<WrappedBytes, WrappedBytes> peek(Object k) {
+      return get(k);
+   }
+
+   @Override
+   public void put(WrappedBytes key, WrappedBytes value, Metadata metadata) {
+      getContainerForWrite(key).put(key, value, metadata);
+   }
+
+   @Override
+   public boolean containsKey(Object k) {
+      OffHeapDataContainer container = getContainerForRead(k);
+      return container != null && container.containsKey(k);
+   }
+
+   @Override
+   public InternalCacheEntry<WrappedBytes, WrappedBytes> remove(Object k) {
+      OffHeapDataContainer container = getContainerForRead(k);
+      return container == null ? null : container.remove(k);
+   }
+
+   @Override
+   public void evict(WrappedBytes key) {
+      OffHeapDataContainer container = getContainerForRead(key);
+      if (container != null) {
+         container.evict(key);
+      }
+   }
+
+   @Override
+   public InternalCacheEntry<WrappedBytes, WrappedBytes> compute(WrappedBytes key,
+         ComputeAction<WrappedBytes, WrappedBytes> action) {
+      return getContainerForWrite(key).compute(key, action);
+   }
+
+   @Override
+   public int size() {
+      long time = timeService.wallClockTime();
+      long count = 0;
+      for (int i = 0; i < containers.length(); ++i) {
+         OffHeapDataContainer container = containers.get(i);
+         if (container != null) {
+            count += container.sizeNotExpired(time);
+         }
+      }
+      return (int) Math.min(count, Integer.MAX_VALUE);
+   }
+
+   @Override
+   public int sizeIncludingExpired() {
+      long size = 0;
+      for (int i = 0; i < containers.length(); ++i) {
+         OffHeapDataContainer container = containers.get(i);
+         if (container != null) {
+            size += container.size.get();
+         }
+      }
+      return (int) Math.min(size, Integer.MAX_VALUE);
+   }
+
+   @Override
+   public int sizeIncludingExpired(int segment) {
+      OffHeapDataContainer container = containers.get(segment);
+      return container == null ? 0 : container.sizeIncludingExpired();
+   }
+
+   @Override
+   public void clear() {
+      for (int i = 0; i < containers.length(); ++i) {
+         OffHeapDataContainer container = containers.get(i);
+         if (container != null) {
+            container.clearEntries();
+         }
+      }
+      expirationManager.unscheduleAllExpirations();
+   }
+
+   @Override
+   public void addSegments(IntSet segments) {
+      segments.intStream().forEach(this::getOrCreateContainer);
+   }
+
+   @Override
+   public void removeSegments(IntSet segments) {
+      if (trace) {
+         log.tracef("Removing segments %s from data container", segments);
+      }
+      for (PrimitiveIterator.OfInt iter = segments.iterator(); iter.hasNext(); ) {
+         OffHeapDataContainer container = containers.get(iter.nextInt());
+         if (container != null) {
+            // Keys of the removed entries stay scheduled until they are due, as there is no cheap way to list them
+            container.clearEntries();
+         }
+      }
+   }
+
+   @Override
+   public Set<WrappedBytes> keySet() {
+      return new AbstractSet<WrappedBytes>() {
+         @Override
+         public Iterator<WrappedBytes> iterator() {
+            return entryStream(allSegments()).map(Map.Entry::getKey).iterator();
+         }
+
+         @Override
+         public boolean contains(Object o) {
+            return containsKey(o);
+         }
+
+         @Override
+         public int size() {
+            return SegmentedOffHeapDataContainer.this.size();
+         }
+
+         @Override
+         public Spliterator<WrappedBytes> spliterator() {
+            return Spliterators.spliterator(this, Spliterator.CONCURRENT);
+         }
+      };
+   }
+
+   @Override
+   public Collection<WrappedBytes> values() {
+      return new AbstractCollection<WrappedBytes>() {
+         @Override
+         public Iterator<WrappedBytes> iterator() {
+            return entryStream(allSegments()).map(Map.Entry::getValue).iterator();
+         }
+
+         @Override
+         public int size() {
+            return SegmentedOffHeapDataContainer.this.size();
+         }
+
+         @Override
+         public Spliterator<WrappedBytes> spliterator() {
+            return Spliterators.spliterator(this, Spliterator.CONCURRENT);
+         }
+      };
+   }
+
+   @Override
+   public Set<InternalCacheEntry<WrappedBytes, WrappedBytes>> entrySet() {
+      return new AbstractSet<InternalCacheEntry<WrappedBytes, WrappedBytes>>() {
+         @Override
+         public Iterator<InternalCacheEntry<WrappedBytes, WrappedBytes>> iterator() {
+            return entryStream(allSegments()).iterator();
+         }
+
+         @Override
+         public int size() {
+            return SegmentedOffHeapDataContainer.this.size();
+         }
+
+         @Override
+         public Spliterator<InternalCacheEntry<WrappedBytes, WrappedBytes>> spliterator() {
+            return Spliterators.spliterator(this, Spliterator.CONCURRENT);
+         }
+      };
+   }
+
+   @Override
+   public void executeTask(KeyFilter<? super WrappedBytes> filter,
+         BiConsumer<? super WrappedBytes, InternalCacheEntry<WrappedBytes, WrappedBytes>> action)
+         throws InterruptedException {
+      for (int i = 0; i < containers.length(); ++i) {
+         OffHeapDataContainer container = containers.get(i);
+         if (container != null) {
+            container.executeTask(filter, action);
+         }
+      }
+   }
+
+   @Override
+   public void executeTask(KeyValueFilter<? super WrappedBytes, ? super WrappedBytes> filter,
+         BiConsumer<? super WrappedBytes, InternalCacheEntry<WrappedBytes, WrappedBytes>> action)
+         throws InterruptedException {
+      for (int i = 0; i < containers.length(); ++i) {
+         OffHeapDataContainer container = containers.get(i);
+         if (container != null) {
+            container.executeTask(filter, action);
+         }
+      }
+   }
+
+   private IntStream allSegments() {
+      return IntStream.range(0, containers.length());
+   }
+
+   private Stream<InternalCacheEntry<WrappedBytes, WrappedBytes>> entryStream(IntStream segments) {
+      // Not flatMap, its iterator reads a whole segment at once on JDK 8 (JDK-8075939), copying every entry on heap
+      Iterator<InternalCacheEntry<WrappedBytes, WrappedBytes>> iterator = new SegmentedIterator<>(segments.iterator(),
+            segment -> {
+               OffHeapDataContainer container = containers.get(segment);
+               return container == null ? null : container.iteratorIncludingExpired();
+            });
+      return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.CONCURRENT), false);
+   }
+
+   @Override
+   public Iterator<InternalCacheEntry<WrappedBytes, WrappedBytes>> iterator() {
+      long time = timeService.wallClockTime();
+      return entryStream(allSegments()).filter(e -> !e.isExpired(time)).iterator();
+   }
+
+   @Override
+   public Iterator<InternalCacheEntry<WrappedBytes, WrappedBytes>> iteratorIncludingExpired() {
+      return entryStream(allSegments()).iterator();
+   }
+
+   @Override
+   public Iterator<InternalCacheEntry<WrappedBytes, WrappedBytes>> iterator(IntSet segments) {
+      long time = timeService.wallClockTime();
+      return entryStream(segments.intStream()).filter(e -> !e.isExpired(time)).iterator();
+   }
+
+   @Override
+   public Iterator<InternalCacheEntry<WrappedBytes, WrappedBytes>> iteratorIncludingExpired(IntSet segments) {
+      return entryStream(segments.intStream()).iterator();
+   }
+}
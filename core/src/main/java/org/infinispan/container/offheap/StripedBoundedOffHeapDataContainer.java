@@ -0,0 +1,222 @@
+package org.infinispan.container.offheap;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongUnaryOperator;
+
+import org.infinispan.commons.marshall.WrappedBytes;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.eviction.EvictionType;
+import org.infinispan.metadata.Metadata;
+
+/**
+ * Bounded off-heap data container that keeps a separate LRU list for every stripe of the entry locks, instead of a
+ * single list guarded by a global lock like {@link BoundedOffHeapDataContainer}.
+ * <p>
+ * Writers already hold the stripe write lock when they update the list of that stripe. Readers only hold the stripe
+ * read lock, so they additionally acquire a small per stripe lock to reorder the list. If that lock is contended the
+ * access is not recorded at all: the ordering is best effort under heavy reads, which is an acceptable trade for not
+ * serializing every hit.
+ * <p>
+ * When the container is over its maximum size the eviction visits the stripes in round robin order and removes the
+ * least recently used entry of each visited stripe. The evicted entries are therefore only approximately the least
+ * recently used ones of the whole container.
+ *
+ * @since 9.2
+ */
+public class StripedBoundedOffHeapDataContainer extends OffHeapDataContainer {
+   private final long maxSize;
+   private final LongUnaryOperator sizeCalculator;
+   private final AtomicLong currentSize = new AtomicLong();
+   private final AtomicInteger nextEvictionStripe = new AtomicInteger();
+   private final Lock[] lruLocks;
+   private final OffHeapLruList[] lruLists;
+
+   public StripedBoundedOffHeapDataContainer(int desiredSize, long maxSize, EvictionType type) {
+      super(desiredSize);
+      this.maxSize = maxSize;
+      if (type == EvictionType.COUNT) {
+         sizeCalculator = i -> 1;
+      } else {
+         // Use size of entry plus 28 for our LRU pointer node
+         sizeCalculator = i -> offHeapEntryFactory.getSize(i) + OffHeapLruNode.getSize();
+      }
+      lruLocks = new Lock[lockCount];
+      lruLists = new OffHeapLruList[lockCount];
+      for (int i = 0; i < lockCount; ++i) {
+         lruLocks[i] = new ReentrantLock();
+         lruLists[i] = new OffHeapLruList();
+      }
+   }
+
+   @Override
+   public void put(WrappedBytes key, WrappedBytes value, Metadata metadata) {
+      super.put(key, value, metadata);
+      // The following is called outside of the write lock specifically - since we may not have to evict and even
+      // if we did it would quite possibly need a different lock
+      ensureSize();
+   }
+
+   @Override
+   public InternalCacheEntry<WrappedBytes, WrappedBytes> compute(WrappedBytes key,
+                                                                 ComputeAction<WrappedBytes, WrappedBytes> action) {
+      InternalCacheEntry<WrappedBytes, WrappedBytes> result = super.compute(key, action);
+      if (result != null) {
+         // Means we had a put or replace called so we have to confirm sizes
+         ensureSize();
+      }
+      return result;
+   }
+
+   private int stripeFor(long entryAddress) {
+      return locks.getOffsetFromHashCode(offHeapEntryFactory.getHashCode(entryAddress));
+   }
+
+   @Override
+   protected void entryReplaced(long newAddress, long oldAddress) {
+      long oldSize = sizeCalculator.applyAsLong(oldAddress);
+      long newSize = sizeCalculator.applyAsLong(newAddress);
+      int stripe = stripeFor(oldAddress);
+      Lock lruLock = lruLocks[stripe];
+      lruLock.lock();
+      try {
+         long lruNode = offHeapEntryFactory.getLruNode(oldAddress);
+         if (trace) {
+            log.tracef("Replacing LRU node: 0x%016x. OldValue: 0x%016x NewValue: 0x%016x", lruNode, oldAddress,
+                       newAddress);
+         }
+         // We have to update the lru node to point to the new address and vice versa
+         offHeapEntryFactory.setLruNode(newAddress, lruNode);
+         OffHeapLruNode.setEntry(lruNode, newAddress);
+
+         lruLists[stripe].moveToEnd(lruNode);
+      } finally {
+         lruLock.unlock();
+      }
+      currentSize.addAndGet(newSize - oldSize);
+      super.entryReplaced(newAddress, oldAddress);
+   }
+
+   @Override
+   protected void entryCreated(long newAddress) {
+      int hashCode = offHeapEntryFactory.getHashCode(newAddress);
+      int stripe = locks.getOffsetFromHashCode(hashCode);
+      long newSize = sizeCalculator.applyAsLong(newAddress);
+      long nodeAddress = allocator.allocate(OffHeapLruNode.getSize());
+      if (trace) {
+         log.tracef("Creating LRU node 0x%016x for new entry 0x%016x", nodeAddress, newAddress);
+      }
+      OffHeapLruNode.setEntry(nodeAddress, newAddress);
+      OffHeapLruNode.setHashCode(nodeAddress, hashCode);
+      offHeapEntryFactory.setLruNode(newAddress, nodeAddress);
+      Lock lruLock = lruLocks[stripe];
+      lruLock.lock();
+      try {
+         lruLists[stripe].addToEnd(nodeAddress);
+      } finally {
+         lruLock.unlock();
+      }
+      currentSize.addAndGet(newSize);
+      super.entryCreated(newAddress);
+   }
+
+   @Override
+   protected void entryRemoved(long removedAddress) {
+      long removedSize = sizeCalculator.applyAsLong(removedAddress);
+      long lruNode = offHeapEntryFactory.getLruNode(removedAddress);
+      assert lruNode != 0;
+      int stripe = stripeFor(removedAddress);
+      Lock lruLock = lruLocks[stripe];
+      lruLock.lock();
+      try {
+         if (trace) {
+            log.tracef("Removing LRU node at 0x%016x", lruNode);
+         }
+         lruLists[stripe].remove(lruNode);
+      } finally {
+         lruLock.unlock();
+      }
+      allocator.deallocate(lruNode, OffHeapLruNode.getSize());
+      currentSize.addAndGet(-removedSize);
+      super.entryRemoved(removedAddress);
+   }
+
+   @Override
+   protected void entryRetrieved(long entryAddress) {
+      int stripe = stripeFor(entryAddress);
+      Lock lruLock = lruLocks[stripe];
+      // Another reader of the same stripe is reordering, skip recording this access
+      if (lruLock.tryLock()) {
+         try {
+            long lruNode = offHeapEntryFactory.getLruNode(entryAddress);
+            if (trace) {
+               log.tracef("Moving lruNode 0x%016x to the end which points at address 0x%016x", lruNode, entryAddress);
+            }
+            lruLists[stripe].moveToEnd(lruNode);
+         } finally {
+            lruLock.unlock();
+         }
+      }
+      super.entryRetrieved(entryAddress);
+   }
+
+   @Override
+   protected void performClear() {
+      if (trace) {
+         log.trace("Clearing striped LRU entries");
+      }
+      // All the write locks are held, so no other thread can touch the lists
+      for (OffHeapLruList lruList : lruLists) {
+         lruList.clear(allocator, OffHeapLruNode.getSize());
+      }
+      currentSize.set(0);
+      super.performClear();
+   }
+
+   /**
+    * Removes the head of the LRU list of the stripes in turn until the current size is less than or equal to
+    * `maxSize`. Unlike {@link BoundedOffHeapDataContainer} there is no need to juggle the lock order, as the stripe
+    * write lock is acquired first and it already determines the LRU list to evict from.
+    */
+   private void ensureSize() {
+      int emptyStripes = 0;
+      while (currentSize.get() > maxSize && emptyStripes < lockCount) {
+         int stripe = nextEvictionStripe.getAndIncrement() & (lockCount - 1);
+         Lock entryWriteLock = locks.getLockWithOffset(stripe).writeLock();
+         entryWriteLock.lock();
+         try {
+            checkDeallocation();
+            if (currentSize.get() <= maxSize) {
+               break;
+            }
+            long addressToRemove;
+            Lock lruLock = lruLocks[stripe];
+            lruLock.lock();
+            try {
+               OffHeapLruList lruList = lruLists[stripe];
+               addressToRemove = lruList.isEmpty() ? 0 : OffHeapLruNode.getEntry(lruList.getFirst());
+            } finally {
+               lruLock.unlock();
+            }
+            if (addressToRemove == 0) {
+               emptyStripes++;
+               continue;
+            }
+            emptyStripes = 0;
+            if (trace) {
+               log.tracef("Removing entry: 0x%016x due to eviction due to size %d being larger than maximum of %d",
+                          addressToRemove, currentSize.get(), maxSize);
+            }
+            InternalCacheEntry<WrappedBytes, WrappedBytes> ice = offHeapEntryFactory.fromMemory(addressToRemove);
+            passivator.passivate(ice);
+            performRemove(memoryLookup.getMemoryAddress(ice.getKey()), ice.getKey());
+            evictionManager.onEntryEviction(Collections.singletonMap(ice.getKey(), ice));
+         } finally {
+            entryWriteLock.unlock();
+         }
+      }
+   }
+}
@@ -0,0 +1,152 @@
+package org.infinispan.container.offheap;
+
+import org.infinispan.eviction.EvictionType;
+
+/**
+ * Bounded off-heap data container that admits entries into the bulk of the container based on their estimated
+ * access frequency (W-TinyLFU), instead of evicting the least recently used entry like
+ * {@link BoundedOffHeapDataContainer}.
+ * <p>
+ * New entries are added to a small window LRU list, sized to 1% of the maximum size. The least recently used entries
+ * of the window overflow into the main LRU list as long as the latter has room. Once the container is over its
+ * maximum size and the window is over its own share, the least recently used entry of the window is a candidate for
+ * the main LRU list. The candidate is only admitted if its key was seen more often than the key of the least
+ * recently used entry of the main list, in which case the latter is evicted. Otherwise the candidate itself is
+ * evicted. A one-off scan therefore can not flush the frequently used entries out of the container.
+ * <p>
+ * The access frequencies are kept in a {@link OffHeapFrequencySketch} in native memory. The sketch, both lists and
+ * the region of each node are all guarded by the LRU lock of the parent class. Every LRU node has an additional int
+ * recording the list it belongs to.
+ *
+ * @since 9.2
+ */
+public class TinyLfuBoundedOffHeapDataContainer extends BoundedOffHeapDataContainer {
+   private static final int WINDOW = 0;
+   private static final int MAIN = 1;
+
+   private final OffHeapLruList windowList = new OffHeapLruList();
+   private final OffHeapLruList mainList = new OffHeapLruList();
+   private final OffHeapFrequencySketch sketch;
+   private final long maxWindowSize;
+   private final long maxMainSize;
+
+   private long windowSize;
+   private long mainSize;
+
+   public TinyLfuBoundedOffHeapDataContainer(int desiredSize, long maxSize, EvictionType type) {
+      super(desiredSize, maxSize, type);
+      this.maxWindowSize = Math.max(1, maxSize / 100);
+      this.maxMainSize = maxSize - maxWindowSize;
+      // With memory based eviction we don't know how many entries there will be, so use the address count instead
+      this.sketch = new OffHeapFrequencySketch(type == EvictionType.COUNT ? maxSize : memoryAddressCount);
+   }
+
+   @Override
+   public void deallocate() {
+      super.deallocate();
+      lruLock.lock();
+      try {
+         sketch.deallocate();
+      } finally {
+         lruLock.unlock();
+      }
+   }
+
+   @Override
+   protected void nodeCreated(long lruNode, long size) {
+      sketch.increment(OffHeapLruNode.getHashCode(lruNode));
+      OffHeapLruNode.setRegion(lruNode, WINDOW);
+      windowList.addToEnd(lruNode);
+      windowSize += size;
+      // Fill the main list without any admission check until it is full
+      while (windowSize > maxWindowSize) {
+         long candidate = windowList.getFirst();
+         if (mainSize + sizeOf(candidate) > maxMainSize) {
+            break;
+         }
+         promote(candidate);
+      }
+   }
+
+   @Override
+   protected void nodeAccessed(long lruNode) {
+      sketch.increment(OffHeapLruNode.getHashCode(lruNode));
+      listOf(lruNode).moveToEnd(lruNode);
+   }
+
+   @Override
+   protected void nodeReplaced(long lruNode, long oldSize, long newSize) {
+      sketch.increment(OffHeapLruNode.getHashCode(lruNode));
+      if (OffHeapLruNode.getRegion(lruNode) == WINDOW) {
+         windowSize += newSize - oldSize;
+      } else {
+         mainSize += newSize - oldSize;
+      }
+      listOf(lruNode).moveToEnd(lruNode);
+   }
+
+   @Override
+   protected void nodeRemoved(long lruNode, long size) {
+      if (OffHeapLruNode.getRegion(lruNode) == WINDOW) {
+         windowSize -= size;
+      } else {
+         mainSize -= size;
+      }
+      listOf(lruNode).remove(lruNode);
+   }
+
+   @Override
+   protected long evictionNode() {
+      long victim = mainList.getFirst();
+      if (victim == 0) {
+         return windowList.getFirst();
+      }
+      if (windowSize <= maxWindowSize || windowList.isEmpty()) {
+         return victim;
+      }
+      long candidate = windowList.getFirst();
+      int candidateFrequency = sketch.frequency(OffHeapLruNode.getHashCode(candidate));
+      int victimFrequency = sketch.frequency(OffHeapLruNode.getHashCode(victim));
+      if (trace) {
+         log.tracef("Window candidate 0x%016x has frequency %d and main victim 0x%016x has frequency %d", candidate,
+               candidateFrequency, victim, victimFrequency);
+      }
+      if (candidateFrequency > victimFrequency) {
+         // The candidate is admitted and moves to the main list, so the main victim gets evicted instead
+         promote(candidate);
+         return victim;
+      }
+      return candidate;
+   }
+
+   @Override
+   protected void clearNodes() {
+      windowList.clear(allocator, lruNodeSize());
+      mainList.clear(allocator, lruNodeSize());
+      windowSize = 0;
+      mainSize = 0;
+      sketch.clear();
+   }
+
+   @Override
+   protected long lruNodeSize() {
+      return OffHeapLruNode.getSizeWithRegion();
+   }
+
+   private void promote(long windowNode) {
+      long size = sizeOf(windowNode);
+      windowList.remove(windowNode);
+      windowSize -= size;
+      OffHeapLruNode.setRegion(windowNode, MAIN);
+      mainList.addToEnd(windowNode);
+      mainSize += size;
+   }
+
+   private long sizeOf(long lruNode) {
+      return sizeCalculator.applyAsLong(OffHeapLruNode.getEntry(lruNode));
+   }
+
+   private OffHeapLruList listOf(long lruNode) {
+      return OffHeapLruNode.getRegion(lruNode) == WINDOW ? windowList : mainList;
+   }
+}
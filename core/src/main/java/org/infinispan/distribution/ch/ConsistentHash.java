@@ -8,7 +8,8 @@
 import java.util.function.UnaryOperator;
 
 import org.infinispan.commons.hash.Hash;
-import org.infinispan.commons.util.SmallIntSet;
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.IntSets;
 import org.infinispan.distribution.LocalizedCacheTopology;
 import org.infinispan.globalstate.ScopedPersistentState;
 import org.infinispan.remoting.transport.Address;
@@ -105,7 +106,7 @@ default List<Address> locateOwners(Object key) {
    default Set<Address> locateAllOwners(Collection<Object> keys) {
       // Use a HashSet assuming most of the time the number of keys is small.
       HashSet<Address> owners = new HashSet<>();
-      SmallIntSet segments = new SmallIntSet(getNumSegments());
+      IntSet segments = IntSets.mutableEmptySet(getNumSegments());
       for (Object key : keys) {
          int segment = getSegment(key);
          if (segments.add(segment)) {
@@ -178,14 +179,14 @@ default boolean isReplicated() {
     * @param owner the address of the member
     * @return a non-null set of segment IDs, may or may not be unmodifiable, which shouldn't be modified by caller
     */
-   Set<Integer> getSegmentsForOwner(Address owner);
+   IntSet getSegmentsForOwner(Address owner);
 
    /**
     * Returns the segments that this cache member is the primary owner for.
     * @param owner the address of the member
     * @return a non-null set of segment IDs, may or may not be unmodifiable, which shouldn't be modified by caller
     */
-   Set<Integer> getPrimarySegmentsForOwner(Address owner);
+   IntSet getPrimarySegmentsForOwner(Address owner);
 
    /**
     * Returns a string containing all the segments and their associated addresses.
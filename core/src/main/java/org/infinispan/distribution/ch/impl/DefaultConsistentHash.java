@@ -15,12 +15,13 @@
 import org.infinispan.commons.hash.Hash;
 import org.infinispan.commons.marshall.InstanceReusingAdvancedExternalizer;
 import org.infinispan.commons.util.Immutables;
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.IntSets;
 import org.infinispan.distribution.ch.ConsistentHash;
 import org.infinispan.globalstate.ScopedPersistentState;
 import org.infinispan.marshall.core.Ids;
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.topology.PersistentUUID;
-import org.infinispan.commons.util.SmallIntSet;
 
 import net.jcip.annotations.Immutable;
 
@@ -101,7 +102,7 @@ public int getNumSegments() {
    }
 
    @Override
-   public Set<Integer> getSegmentsForOwner(Address owner) {
+   public IntSet getSegmentsForOwner(Address owner) {
       if (owner == null) {
          throw new IllegalArgumentException("owner cannot be null");
       }
@@ -109,7 +110,7 @@ public Set<Integer> getSegmentsForOwner(Address owner) {
          throw new IllegalArgumentException("Node " + owner + " is not a member");
       }
 
-      Set<Integer> segments = new SmallIntSet(segmentOwners.length);
+      IntSet segments = IntSets.mutableEmptySet(segmentOwners.length);
       for (int segment = 0; segment < segmentOwners.length; segment++) {
          if (segmentOwners[segment].contains(owner)) {
             segments.add(segment);
@@ -119,7 +120,7 @@ public Set<Integer> getSegmentsForOwner(Address owner) {
    }
 
    @Override
-   public Set<Integer> getPrimarySegmentsForOwner(Address owner) {
+   public IntSet getPrimarySegmentsForOwner(Address owner) {
       if (owner == null) {
          throw new IllegalArgumentException("owner cannot be null");
       }
@@ -127,7 +128,7 @@ public Set<Integer> getPrimarySegmentsForOwner(Address owner) {
          throw new IllegalArgumentException("Node " + owner + " is not a member");
       }
 
-      SmallIntSet segments = new SmallIntSet(segmentOwners.length);
+      IntSet segments = IntSets.mutableEmptySet(segmentOwners.length);
       for (int segment = 0; segment < segmentOwners.length; segment++) {
          if (owner.equals(segmentOwners[segment].get(0))) {
             segments.add(segment);
@@ -224,9 +225,9 @@ public String getRoutingTableAsString() {
          if (sb.length() > 0) {
             sb.append("\n  ");
          }
-         Set<Integer> primarySegments = getPrimarySegmentsForOwner(a);
+         IntSet primarySegments = getPrimarySegmentsForOwner(a);
          sb.append(a).append(" primary: ").append(primarySegments);
-         Set<Integer> backupSegments = getSegmentsForOwner(a);
+         IntSet backupSegments = getSegmentsForOwner(a);
          backupSegments.removeAll(primarySegments);
          sb.append(", backup: ").append(backupSegments);
       }
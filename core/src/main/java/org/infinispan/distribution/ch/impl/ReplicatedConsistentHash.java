@@ -15,14 +15,14 @@
 
 import org.infinispan.commons.hash.Hash;
 import org.infinispan.commons.marshall.InstanceReusingAdvancedExternalizer;
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.IntSets;
 import org.infinispan.commons.util.Util;
 import org.infinispan.distribution.ch.ConsistentHash;
 import org.infinispan.globalstate.ScopedPersistentState;
 import org.infinispan.marshall.core.Ids;
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.topology.PersistentUUID;
-import org.infinispan.commons.util.SmallIntSet;
-import org.infinispan.util.RangeSet;
 
 /**
  * Special implementation of {@link org.infinispan.distribution.ch.ConsistentHash} for replicated caches.
@@ -41,7 +41,7 @@ public class ReplicatedConsistentHash implements ConsistentHash {
    private final int[] primaryOwners;
    private final List<Address> members;
    private final Set<Address> membersSet;
-   private final Set<Integer> segments;
+   private final IntSet segments;
    private final int segmentSize;
 
    public ReplicatedConsistentHash(Hash hashFunction, List<Address> members, int[] primaryOwners) {
@@ -49,7 +49,7 @@ public ReplicatedConsistentHash(Hash hashFunction, List<Address> members, int[]
       this.members = Collections.unmodifiableList(new ArrayList<>(members));
       this.membersSet = Collections.unmodifiableSet(new HashSet<>(members));
       this.primaryOwners = primaryOwners;
-      segments = new RangeSet(primaryOwners.length);
+      segments = IntSets.immutableRangeSet(primaryOwners.length);
       segmentSize = Util.getSegmentSize(primaryOwners.length);
    }
 
@@ -93,7 +93,7 @@ public ReplicatedConsistentHash union(ReplicatedConsistentHash ch2) {
       for (int i = 0; i < numPrimaryOwners; i++) {
          this.primaryOwners[i] = state.getIntProperty(String.format(STATE_PRIMARY_OWNERS, i));
       }
-      segments = new RangeSet(primaryOwners.length);
+      segments = IntSets.immutableRangeSet(primaryOwners.length);
       segmentSize = Util.getSegmentSize(primaryOwners.length);
    }
 
@@ -142,7 +142,7 @@ public Address locatePrimaryOwnerForSegment(int segmentId) {
    }
 
    @Override
-   public Set<Integer> getSegmentsForOwner(Address owner) {
+   public IntSet getSegmentsForOwner(Address owner) {
       if (owner == null) {
          throw new IllegalArgumentException("owner cannot be null");
       }
@@ -153,12 +153,12 @@ public Set<Integer> getSegmentsForOwner(Address owner) {
    }
 
    @Override
-   public Set<Integer> getPrimarySegmentsForOwner(Address owner) {
+   public IntSet getPrimarySegmentsForOwner(Address owner) {
       int index = members.indexOf(owner);
       if (index == -1) {
          throw new IllegalArgumentException("The node is not a member : " + owner);
       }
-      Set<Integer> primarySegments = new SmallIntSet(primaryOwners.length);
+      IntSet primarySegments = IntSets.mutableEmptySet(primaryOwners.length);
       for (int i = 0; i < primaryOwners.length; ++i) {
          if (primaryOwners[i] == index) {
             primarySegments.add(i);
@@ -174,7 +174,7 @@ public String getRoutingTableAsString() {
          if (sb.length() > 0) {
             sb.append("\n  ");
          }
-         Set<Integer> primarySegments = getPrimarySegmentsForOwner(a);
+         IntSet primarySegments = getPrimarySegmentsForOwner(a);
          sb.append(a).append(" primary: ").append(primarySegments);
       }
       return sb.toString();
@@ -4,6 +4,8 @@
 import org.infinispan.commons.hash.Hash;
 import org.infinispan.commons.marshall.Ids;
 import org.infinispan.commons.marshall.InstanceReusingAdvancedExternalizer;
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.IntSets;
 import org.infinispan.distribution.ch.ConsistentHash;
 import org.infinispan.globalstate.ScopedPersistentState;
 import org.infinispan.remoting.transport.Address;
@@ -104,7 +106,7 @@ public int getNumSegments() {
    }
 
    @Override
-   public Set<Integer> getSegmentsForOwner(Address owner) {
+   public IntSet getSegmentsForOwner(Address owner) {
       if (owner == null) {
          throw new IllegalArgumentException("owner cannot be null");
       }
@@ -112,7 +114,7 @@ public Set<Integer> getSegmentsForOwner(Address owner) {
          throw new IllegalArgumentException("Node " + owner + " is not a member");
       }
 
-      Set<Integer> segments = new HashSet<>();
+      IntSet segments = IntSets.mutableEmptySet(segmentOwners.length);
       for (int segment = 0; segment < segmentOwners.length; segment++) {
          if (Objects.equals(segmentOwners[segment], owner)) {
             segments.add(segment);
@@ -122,7 +124,7 @@ public Set<Integer> getSegmentsForOwner(Address owner) {
    }
 
    @Override
-   public Set<Integer> getPrimarySegmentsForOwner(Address owner) {
+   public IntSet getPrimarySegmentsForOwner(Address owner) {
       return getSegmentsForOwner(owner);
    }
 
@@ -2,10 +2,10 @@
 
 import java.util.List;
 import java.util.Objects;
-import java.util.Set;
 import java.util.function.UnaryOperator;
 
 import org.infinispan.commons.hash.Hash;
+import org.infinispan.commons.util.IntSet;
 import org.infinispan.distribution.ch.ConsistentHash;
 import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.globalstate.ScopedPersistentState;
@@ -67,12 +67,12 @@ public boolean isReplicated() {
    }
 
    @Override
-   public Set<Integer> getSegmentsForOwner(Address owner) {
+   public IntSet getSegmentsForOwner(Address owner) {
       return ch.getSegmentsForOwner(owner);
    }
 
    @Override
-   public Set<Integer> getPrimarySegmentsForOwner(Address owner) {
+   public IntSet getPrimarySegmentsForOwner(Address owner) {
       return ch.getPrimarySegmentsForOwner(owner);
    }
 
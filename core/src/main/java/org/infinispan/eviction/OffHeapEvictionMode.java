@@ -0,0 +1,25 @@
+package org.infinispan.eviction;
+
+/**
+ * How a bounded off-heap data container maintains the access order used to pick the entries to evict.
+ *
+ * @since 9.2
+ */
+public enum OffHeapEvictionMode {
+   /**
+    * A single LRU list guarded by a single lock. Eviction order is exact, but every read and write of the container
+    * contends on the same lock.
+    */
+   LRU,
+   /**
+    * One LRU list per lock stripe. Reads of different stripes never contend and reads of the same stripe skip the
+    * reordering instead of blocking, so the eviction order is only approximately LRU.
+    */
+   STRIPED_LRU,
+   /**
+    * A small LRU window for new entries in front of a main LRU list, with the entries moving from the window to the
+    * main list only if their keys are accessed more frequently than the entry they would displace. Keeps frequently
+    * used entries in the container when it is scanned, at the cost of a frequency sketch in native memory.
+    */
+   TINY_LFU,
+}
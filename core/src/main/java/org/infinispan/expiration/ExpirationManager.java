@@ -60,6 +60,28 @@
     */
    void handleInStoreExpiration(MarshalledEntry<K, V> marshalledEntry);
 
+   /**
+    * This should be invoked by the data container whenever it stores an entry that can expire, so that
+    * {@link #processExpiration()} only has to visit the entries that are due instead of the whole container. The
+    * expiry time may be earlier than the actual one, the entry is then checked again later.
+    * @param key the key of the entry
+    * @param expiryTime the wall clock time in milliseconds the entry is expected to expire at
+    */
+   void scheduleExpiration(K key, long expiryTime);
+
+   /**
+    * This should be invoked by the data container whenever it removes an entry, or replaces it with one that cannot
+    * expire, so that the key is no longer visited by {@link #processExpiration()}.
+    * @param key the key of the entry
+    */
+   void unscheduleExpiration(K key);
+
+   /**
+    * This should be invoked by the data container when it is cleared, so that no key is visited by
+    * {@link #processExpiration()} until entries that can expire are stored again.
+    */
+   void unscheduleAllExpirations();
+
    /**
     * This is to be invoked with a when a write is known to occur to prevent expiration from happening.  This way we
     * won't have a swarm of remote calls required.
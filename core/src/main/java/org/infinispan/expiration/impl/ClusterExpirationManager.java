@@ -2,9 +2,7 @@
 
 import static org.infinispan.commons.util.Util.toStr;
 
-import java.util.Iterator;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.TimeUnit;
 
 import javax.transaction.HeuristicMixedException;
 import javax.transaction.HeuristicRollbackException;
@@ -17,7 +15,6 @@
 
 import org.infinispan.AdvancedCache;
 import org.infinispan.commons.CacheException;
-import org.infinispan.commons.util.Util;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.container.entries.ExpiryHelper;
 import org.infinispan.container.entries.InternalCacheEntry;
@@ -67,48 +64,22 @@ public void inject(AdvancedCache<K, V> cache, Configuration configuration,
    }
 
    @Override
-   public void processExpiration() {
-      long start = 0;
-      if (!Thread.currentThread().isInterrupted()) {
-         try {
-            if (trace) {
-               log.trace("Purging data container of expired entries");
-               start = timeService.time();
-            }
-            long currentTimeMillis = timeService.wallClockTime();
-            for (Iterator<InternalCacheEntry<K, V>> purgeCandidates = dataContainer.iteratorIncludingExpired();
-                 purgeCandidates.hasNext();) {
-               InternalCacheEntry<K, V> e = purgeCandidates.next();
-               if (e.canExpire()) {
-                  // Have to synchronize on the entry to make sure we see the value and metadata at the same time
-                  boolean expiredMortal;
-                  boolean expiredTransient;
-                  V value;
-                  long lifespan;
-                  synchronized (e) {
-                     value = e.getValue();
-                     lifespan = e.getLifespan();
-                     expiredMortal = ExpiryHelper.isExpiredMortal(lifespan, e.getCreated(), currentTimeMillis);
-                     expiredTransient = ExpiryHelper.isExpiredTransient(e.getMaxIdle(), e.getLastUsed(), currentTimeMillis);
-                  }
-                  if (expiredMortal) {
-                     handleLifespanExpireEntry(e.getKey(), value, lifespan, true);
-                  } else if (expiredTransient) {
-                     super.handleInMemoryExpiration(e, currentTimeMillis);
-                  }
-               }
-            }
-            if (trace) {
-               log.tracef("Purging data container completed in %s",
-                       Util.prettyPrintTime(timeService.timeDuration(start, TimeUnit.MILLISECONDS)));
-            }
-         } catch (Exception e) {
-            log.exceptionPurgingDataContainer(e);
-         }
+   protected void purgeExpired(InternalCacheEntry<K, V> e, long currentTimeMillis) {
+      // Have to synchronize on the entry to make sure we see the value and metadata at the same time
+      boolean expiredMortal;
+      boolean expiredTransient;
+      V value;
+      long lifespan;
+      synchronized (e) {
+         value = e.getValue();
+         lifespan = e.getLifespan();
+         expiredMortal = ExpiryHelper.isExpiredMortal(lifespan, e.getCreated(), currentTimeMillis);
+         expiredTransient = ExpiryHelper.isExpiredTransient(e.getMaxIdle(), e.getLastUsed(), currentTimeMillis);
       }
-
-      if (!Thread.currentThread().isInterrupted()) {
-         persistenceManager.purgeExpired();
+      if (expiredMortal) {
+         handleLifespanExpireEntry(e.getKey(), value, lifespan, true);
+      } else if (expiredTransient) {
+         super.handleInMemoryExpiration(e, currentTimeMillis);
       }
    }
 
@@ -0,0 +1,149 @@
+package org.infinispan.expiration.impl;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Index of the keys of the entries that can expire, ordered by the time they are expected to expire, so that the
+ * expiration reaper only has to visit the entries that are due instead of every entry of the data container.
+ * <p>
+ * Keys are put in buckets that each cover {@code resolution} milliseconds. Each key is only kept in the bucket of the
+ * time it was last scheduled for, so overwriting an entry moves its key, and removing it drops the key right away.
+ * The expiry time of a transient entry still moves forwards when it is read, without the index being told, so the
+ * reaper has to check the entry itself when its key is due and schedule it again if it did not expire yet.
+ *
+ * @since 9.2
+ */
+@ThreadSafe
+class ExpirationIndex<K> {
+   private final long resolution;
+   private final ConcurrentSkipListMap<Long, Bucket<K>> buckets = new ConcurrentSkipListMap<>();
+   // The bucket each key currently belongs to, any other bucket holding the key is stale
+   private final ConcurrentMap<K, Long> scheduled = new ConcurrentHashMap<>();
+
+   ExpirationIndex(long resolution) {
+      this.resolution = resolution;
+   }
+
+   /**
+    * Schedules the key to be visited once the given time has passed, replacing any previous schedule of the key.
+    * @param key the key of the entry
+    * @param expiryTime the wall clock time in milliseconds the entry is expected to expire at
+    */
+   void schedule(K key, long expiryTime) {
+      long tick = expiryTime / resolution;
+      scheduled.compute(key, (k, previousTick) -> {
+         if (previousTick != null) {
+            if (previousTick == tick) {
+               return previousTick;
+            }
+            removeFromBucket(k, previousTick);
+         }
+         while (true) {
+            Bucket<K> bucket = buckets.computeIfAbsent(tick, t -> new Bucket<>());
+            if (bucket.add(k)) {
+               return tick;
+            }
+            // The bucket was just detached by the reaper, which is done with it
+            buckets.remove(tick, bucket);
+         }
+      });
+   }
+
+   /**
+    * Stops visiting the key, if it was scheduled.
+    * @param key the key of the entry
+    */
+   void unschedule(K key) {
+      scheduled.computeIfPresent(key, (k, tick) -> {
+         removeFromBucket(k, tick);
+         return null;
+      });
+   }
+
+   private void removeFromBucket(K key, long tick) {
+      Bucket<K> bucket = buckets.get(tick);
+      if (bucket != null && bucket.remove(key)) {
+         buckets.remove(tick, bucket);
+      }
+   }
+
+   /**
+    * Removes all the keys whose bucket is due at the given time and passes them to the consumer. Keys scheduled again
+    * by the consumer are never passed to it during the same invocation.
+    * @param currentTime the wall clock time in milliseconds
+    * @param consumer the consumer of the due keys
+    */
+   void pollDue(long currentTime, Consumer<? super K> consumer) {
+      long dueTick = currentTime / resolution;
+      List<Map.Entry<Long, Set<K>>> due = new ArrayList<>();
+      for (Map.Entry<Long, Bucket<K>> entry : buckets.headMap(dueTick, true).entrySet()) {
+         due.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue().detach()));
+         buckets.remove(entry.getKey(), entry.getValue());
+      }
+      for (Map.Entry<Long, Set<K>> entry : due) {
+         Long tick = entry.getKey();
+         for (K key : entry.getValue()) {
+            if (scheduled.remove(key, tick)) {
+               consumer.accept(key);
+            }
+         }
+      }
+   }
+
+   /**
+    * @return how many keys are scheduled
+    */
+   int size() {
+      return scheduled.size();
+   }
+
+   void clear() {
+      // Key by key, so that keys scheduled concurrently are either kept in both maps or dropped from both
+      scheduled.keySet().forEach(this::unschedule);
+   }
+
+   private static class Bucket<K> {
+      private final Set<K> keys = new HashSet<>();
+      private boolean detached;
+
+      synchronized boolean add(K key) {
+         if (detached) {
+            return false;
+         }
+         keys.add(key);
+         return true;
+      }
+
+      /**
+       * @return {@code true} if the bucket became empty, it is then detached as well
+       */
+      synchronized boolean remove(K key) {
+         if (detached) {
+            // The reaper owns the keys now, and skips the ones that are no longer scheduled
+            return false;
+         }
+         keys.remove(key);
+         if (keys.isEmpty()) {
+            detached = true;
+            return true;
+         }
+         return false;
+      }
+
+      synchronized Set<K> detach() {
+         detached = true;
+         return keys;
+      }
+   }
+}
@@ -52,6 +52,13 @@
     */
    protected ConcurrentMap<K, Object> expiring;
 
+   /**
+    * Keys of the entries that can expire ordered by their expiry time, populated by the data container. It is only
+    * used when the data container is one of ours, as a custom data container would never schedule its entries, and
+    * when the reaper runs, as nothing else drains it.
+    */
+   protected ExpirationIndex<K> expirationIndex;
+
    @Inject
    public void initialize(@ComponentName(KnownComponentNames.EXPIRATION_SCHEDULED_EXECUTOR)
          ScheduledExecutorService executor, Cache<K, V> cache, Configuration cfg, DataContainer<K, V> dataContainer,
@@ -72,6 +79,10 @@ void initialize(ScheduledExecutorService executor, String cacheName, Configurati
       this.timeService = timeService;
 
       this.expiring = new ConcurrentHashMap<>();
+      long wakeUpInterval = cfg.expiration().wakeUpInterval();
+      if (cfg.dataContainer().dataContainer() == null && cfg.expiration().reaperEnabled() && wakeUpInterval > 0) {
+         this.expirationIndex = new ExpirationIndex<>(wakeUpInterval);
+      }
    }
 
 
@@ -103,11 +114,25 @@ public void processExpiration() {
                start = timeService.time();
             }
             long currentTimeMillis = timeService.wallClockTime();
-            for (Iterator<InternalCacheEntry<K, V>> purgeCandidates = dataContainer.iteratorIncludingExpired();
-                 purgeCandidates.hasNext();) {
-               InternalCacheEntry<K, V> e = purgeCandidates.next();
-               if (e.isExpired(currentTimeMillis)) {
-                  handleInMemoryExpiration(e, currentTimeMillis);
+            if (expirationIndex != null) {
+               expirationIndex.pollDue(currentTimeMillis, key -> {
+                  InternalCacheEntry<K, V> e = dataContainer.peek(key);
+                  if (e != null && e.canExpire()) {
+                     if (e.isExpired(currentTimeMillis)) {
+                        purgeExpired(e, currentTimeMillis);
+                     } else {
+                        // Was read or written since it was scheduled
+                        expirationIndex.schedule(key, e.getExpiryTime());
+                     }
+                  }
+               });
+            } else {
+               for (Iterator<InternalCacheEntry<K, V>> purgeCandidates = dataContainer.iteratorIncludingExpired();
+                    purgeCandidates.hasNext();) {
+                  InternalCacheEntry<K, V> e = purgeCandidates.next();
+                  if (e.canExpire() && e.isExpired(currentTimeMillis)) {
+                     purgeExpired(e, currentTimeMillis);
+                  }
                }
             }
             if (trace) {
@@ -124,6 +149,15 @@ public void processExpiration() {
       }
    }
 
+   /**
+    * Invoked by {@link #processExpiration()} for every in memory entry that it found to be expired.
+    * @param entry the expired entry
+    * @param currentTime the current time in milliseconds
+    */
+   protected void purgeExpired(InternalCacheEntry<K, V> entry, long currentTime) {
+      handleInMemoryExpiration(entry, currentTime);
+   }
+
    @Override
    public boolean isEnabled() {
       return enabled;
@@ -207,6 +241,27 @@ private void deleteFromStores(K key) {
       persistenceManager.deleteFromAllStores(key, PersistenceManager.AccessMode.BOTH);
    }
 
+   @Override
+   public void scheduleExpiration(K key, long expiryTime) {
+      if (expirationIndex != null) {
+         expirationIndex.schedule(key, expiryTime);
+      }
+   }
+
+   @Override
+   public void unscheduleExpiration(K key) {
+      if (expirationIndex != null) {
+         expirationIndex.unschedule(key);
+      }
+   }
+
+   @Override
+   public void unscheduleAllExpirations() {
+      if (expirationIndex != null) {
+         expirationIndex.clear();
+      }
+   }
+
    @Override
    public void registerWriteIncoming(K key) {
       expiring.put(key, key);
@@ -222,6 +277,9 @@ public void stop() {
       if (expirationTask != null) {
          expirationTask.cancel(true);
       }
+      if (expirationIndex != null) {
+         expirationIndex.clear();
+      }
    }
 
    class ScheduledTask implements Runnable {
@@ -5,8 +5,13 @@
 import org.infinispan.container.DataContainer;
 import org.infinispan.container.DefaultDataContainer;
 import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.container.DefaultSegmentedDataContainer;
 import org.infinispan.container.offheap.BoundedOffHeapDataContainer;
 import org.infinispan.container.offheap.OffHeapDataContainer;
+import org.infinispan.container.offheap.SegmentedOffHeapDataContainer;
+import org.infinispan.container.offheap.StripedBoundedOffHeapDataContainer;
+import org.infinispan.container.offheap.TinyLfuBoundedOffHeapDataContainer;
+import org.infinispan.eviction.OffHeapEvictionMode;
 import org.infinispan.factories.annotations.DefaultFactoryFor;
 
 /**
@@ -33,17 +38,35 @@ public <T> T construct(Class<T> componentType) {
 
          //handle case when < 0 value signifies unbounded container
          if(thresholdSize < 0) {
+            // Caches that transfer state are partitioned by segment, so that per segment operations don't
+            // have to visit every entry
+            boolean segmented = configuration.clustering().cacheMode().needsStateTransfer();
+            int numSegments = configuration.clustering().hash().numSegments();
             if (configuration.memory().storageType() == StorageType.OFF_HEAP) {
+               if (segmented) {
+                  return (T) new SegmentedOffHeapDataContainer(configuration.memory().addressCount(), numSegments);
+               }
                return (T) new OffHeapDataContainer(configuration.memory().addressCount());
             } else {
+               if (segmented) {
+                  return (T) new DefaultSegmentedDataContainer<>(level, numSegments);
+               }
                return (T) DefaultDataContainer.unBoundedDataContainer(level);
             }
          }
 
          DataContainer dataContainer;
          if (configuration.memory().storageType() == StorageType.OFF_HEAP) {
-            dataContainer = new BoundedOffHeapDataContainer(configuration.memory().addressCount(), thresholdSize,
-                  configuration.memory().evictionType());
+            if (configuration.memory().offHeapEvictionMode() == OffHeapEvictionMode.STRIPED_LRU) {
+               dataContainer = new StripedBoundedOffHeapDataContainer(configuration.memory().addressCount(),
+                     thresholdSize, configuration.memory().evictionType());
+            } else if (configuration.memory().offHeapEvictionMode() == OffHeapEvictionMode.TINY_LFU) {
+               dataContainer = new TinyLfuBoundedOffHeapDataContainer(configuration.memory().addressCount(),
+                     thresholdSize, configuration.memory().evictionType());
+            } else {
+               dataContainer = new BoundedOffHeapDataContainer(configuration.memory().addressCount(), thresholdSize,
+                     configuration.memory().evictionType());
+            }
          } else {
             dataContainer = DefaultDataContainer.boundedDataContainer(level, thresholdSize,
                   configuration.memory().evictionType());
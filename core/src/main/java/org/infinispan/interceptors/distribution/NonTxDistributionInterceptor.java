@@ -3,7 +3,6 @@
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -69,29 +68,39 @@ public class NonTxDistributionInterceptor extends BaseDistributionInterceptor {
    private final WriteOnlyManyEntriesHelper writeOnlyManyEntriesHelper = new WriteOnlyManyEntriesHelper(this::createRemoteCallback);
    private final WriteOnlyManyHelper writeOnlyManyHelper = new WriteOnlyManyHelper(this::createRemoteCallback);
 
-   private Map<Address, Set<Integer>> primaryOwnersOfSegments(ConsistentHash ch) {
-      Map<Address, Set<Integer>> map = new HashMap<>(ch.getMembers().size());
-      for (int segment = 0; segment < ch.getNumSegments(); ++segment) {
+   /**
+    * Splits the items of the command by the primary owner of their keys. Every key is hashed only once, and the
+    * containers are then used as they are by the commands sent to each owner.
+    */
+   private <C extends WriteCommand, Container, Item> Map<Address, Container> primaryOwnersOfItems(
+         C command, WriteManyCommandHelper<C, Container, Item> helper, ConsistentHash ch) {
+      Map<Address, Container> map = new HashMap<>(ch.getMembers().size());
+      for (Item item : helper.getItems(command)) {
+         int segment = keyPartitioner.getSegment(helper.item2key(item));
          Address owner = ch.locatePrimaryOwnerForSegment(segment);
-         map.computeIfAbsent(owner, o -> new HashSet<>()).add(segment);
+         helper.accumulate(map.computeIfAbsent(owner, o -> helper.newContainer()), item);
       }
       return map;
    }
 
-   // we're assuming that this function is ran on primary owner of given segments
-   private Map<Address, Set<Integer>> backupOwnersOfSegments(ConsistentHash ch, Set<Integer> segments) {
-      Map<Address, Set<Integer>> map = new HashMap<>(ch.getMembers().size());
-      if (ch.isReplicated()) {
-         for (Address member : ch.getMembers()) {
-            map.put(member, segments);
+   // we're assuming that this function is ran on primary owner of given items
+   private <C extends WriteCommand, Container, Item> Map<Address, Container> backupOwnersOfItems(
+         C command, WriteManyCommandHelper<C, Container, Item> helper, ConsistentHash ch) {
+      Map<Address, Container> map = new HashMap<>(ch.getMembers().size());
+      Address localAddress = rpcManager.getAddress();
+      // The owners of each segment, looked up once per segment instead of once per key
+      List<Address>[] ownersBySegment = new List[ch.getNumSegments()];
+      for (Item item : helper.getItems(command)) {
+         int segment = keyPartitioner.getSegment(helper.item2key(item));
+         List<Address> owners = ownersBySegment[segment];
+         if (owners == null) {
+            owners = ch.locateOwnersForSegment(segment);
+            ownersBySegment[segment] = owners;
          }
-         map.remove(rpcManager.getAddress());
-      } else {
-         for (Integer segment : segments) {
-            List<Address> owners = ch.locateOwnersForSegment(segment);
-            for (int i = 1; i < owners.size(); ++i) {
-               map.computeIfAbsent(owners.get(i), o -> new HashSet<>()).add(segment);
-            }
+         if (!localAddress.equals(owners.get(0)))
+            continue;
+         for (int i = 1; i < owners.size(); ++i) {
+            helper.accumulate(map.computeIfAbsent(owners.get(i), o -> helper.newContainer()), item);
          }
       }
       return map;
@@ -174,16 +183,17 @@ private <C extends WriteCommand, Container, Item> Object handleWriteOnlyManyComm
       LocalizedCacheTopology cacheTopology = checkTopologyId(command);
       ConsistentHash ch = cacheTopology.getWriteConsistentHash();
       if (ctx.isOriginLocal()) {
-         Map<Address, Set<Integer>> segmentMap = primaryOwnersOfSegments(ch);
-         CountDownCompletableFuture allFuture = new CountDownCompletableFuture(segmentMap.size());
+         Map<Address, Container> itemsByOwner = primaryOwnersOfItems(command, helper, ch);
+         if (itemsByOwner.isEmpty()) {
+            return null;
+         }
+         CountDownCompletableFuture allFuture = new CountDownCompletableFuture(itemsByOwner.size());
 
-         // Go through all members, for this node invokeNext (if this node is an owner of some keys),
-         // for the others (that own some keys) issue a remote call.
+         // Go through the owners of the keys, for this node invokeNext (if this node is an owner of some keys),
+         // for the others issue a remote call.
          // Everything is finished when allFuture is completed
-         for (Entry<Address, Set<Integer>> pair : segmentMap.entrySet()) {
-            Address member = pair.getKey();
-            Set<Integer> segments = pair.getValue();
-            handleSegmentsForWriteOnlyManyCommand(ctx, command, helper, ch, allFuture, member, segments);
+         for (Entry<Address, Container> pair : itemsByOwner.entrySet()) {
+            handleItemsForWriteOnlyManyCommand(ctx, command, helper, ch, allFuture, pair.getKey(), pair.getValue());
          }
          return asyncValue(allFuture);
       } else { // origin is not local
@@ -192,28 +202,22 @@ private <C extends WriteCommand, Container, Item> Object handleWriteOnlyManyComm
       }
    }
 
-   private <C extends WriteCommand, Container, Item> void handleSegmentsForWriteOnlyManyCommand(
+   private <C extends WriteCommand, Container, Item> void handleItemsForWriteOnlyManyCommand(
          InvocationContext ctx, C command, WriteManyCommandHelper<C, Container, Item> helper, ConsistentHash ch,
-         CountDownCompletableFuture allFuture, Address member, Set<Integer> segments) {
+         CountDownCompletableFuture allFuture, Address member, Container items) {
       if (member.equals(rpcManager.getAddress())) {
-         Container myItems = filterAndWrap(ctx, command, segments, helper);
+         wrapMissingEntries(ctx, items, helper);
 
-         C localCommand = helper.copyForLocal(command, myItems);
+         C localCommand = helper.copyForLocal(command, items);
          // Local keys are backed up in the handler, and counters on allFuture are decremented when the backup
          // calls complete.
          invokeNextAndFinally(ctx, localCommand,
-                              createLocalInvocationHandler(ch, allFuture, segments, helper, (f, rv) -> {
+                              createLocalInvocationHandler(ch, allFuture, helper, (f, rv) -> {
                           }));
          return;
       }
 
-      C copy = helper.copyForPrimary(command, ch, segments);
-      int size = helper.getItems(copy).size();
-      if (size <= 0) {
-         allFuture.countDown();
-         return;
-      }
-
+      C copy = helper.copyForPrimary(command, items);
       rpcManager.invokeRemotelyAsync(Collections.singletonList(member), copy, defaultSyncOptions)
             .whenComplete((responseMap, throwable) -> {
                if (throwable != null) {
@@ -244,52 +248,48 @@ private <C extends WriteCommand, Item> Object handleRemoteWriteOnlyManyCommand(
       }
    }
 
-   private <C extends WriteCommand, Container, Item> Container filterAndWrap(
-         InvocationContext ctx, C command, Set<Integer> segments,
-         WriteManyCommandHelper<C, Container, Item> helper) {
-      // Filter command keys/entries into the collection, and wrap null for those that are not in context yet
-      Container myItems = helper.newContainer();
-      for (Item item : helper.getItems(command)) {
-         Object key = helper.item2key(item);
-         if (segments.contains(keyPartitioner.getSegment(key))) {
-            helper.accumulate(myItems, item);
-            CacheEntry entry = ctx.lookupEntry(key);
-            if (entry == null) {
-               // executed only be write-only commands
-               entryFactory.wrapExternalEntry(ctx, key, null, false, true);
-            }
+   private <C extends WriteCommand, Container, Item> void wrapMissingEntries(
+         InvocationContext ctx, Container items, WriteManyCommandHelper<C, Container, Item> helper) {
+      // Wrap null for the keys that are not in context yet
+      for (Object key : helper.toKeys(items)) {
+         CacheEntry entry = ctx.lookupEntry(key);
+         if (entry == null) {
+            // executed only be write-only commands
+            entryFactory.wrapExternalEntry(ctx, key, null, false, true);
          }
       }
-      return myItems;
    }
 
    private <C extends WriteCommand, Container, Item> Object handleReadWriteManyCommand(
-         InvocationContext ctx, C command, WriteManyCommandHelper<C, Item, Container> helper) throws Exception {
+         InvocationContext ctx, C command, WriteManyCommandHelper<C, Container, Item> helper) throws Exception {
       // TODO: due to possible repeating of the operation (after OutdatedTopologyException is thrown)
       // it is possible that the function will be applied multiple times on some of the nodes.
       // There is no general solution for this ATM; proper solution will probably record CommandInvocationId
       // in the entry, and implement some housekeeping
       ConsistentHash ch = checkTopologyId(command).getWriteConsistentHash();
       if (ctx.isOriginLocal()) {
-         Map<Address, Set<Integer>> segmentMap = primaryOwnersOfSegments(ch);
+         Map<Address, Container> itemsByOwner = primaryOwnersOfItems(command, helper, ch);
          Object[] results = null;
          if (!command.hasAnyFlag(FlagBitSets.IGNORE_RETURN_VALUES)) {
             results = new Object[helper.getItems(command).size()];
          }
+         if (itemsByOwner.isEmpty()) {
+            return helper.transformResult(results);
+         }
          MergingCompletableFuture<Object> allFuture
-               = new MergingCompletableFuture<>(segmentMap.size(), results, helper::transformResult);
+               = new MergingCompletableFuture<>(itemsByOwner.size(), results, helper::transformResult);
          MutableInt offset = new MutableInt();
 
-         // Go through all members, for this node invokeNext (if this node is an owner of some keys),
-         // for the others (that own some keys) issue a remote call.
+         // Go through the owners of the keys, for this node invokeNext (if this node is an owner of some keys),
+         // for the others issue a remote call.
          // Everything is finished when allFuture is completed
-         for (Entry<Address, Set<Integer>> pair : segmentMap.entrySet()) {
+         for (Entry<Address, Container> pair : itemsByOwner.entrySet()) {
             Address member = pair.getKey();
-            Set<Integer> segments = pair.getValue();
+            Container items = pair.getValue();
             if (member.equals(rpcManager.getAddress())) {
-               handleLocalSegmentsForReadWriteManyCommand(ctx, command, helper, ch, allFuture, offset, segments);
+               handleLocalItemsForReadWriteManyCommand(ctx, command, helper, ch, allFuture, offset, items);
             } else {
-               handleRemoteSegmentsForReadWriteManyCommand(command, helper, ch, allFuture, offset, member, segments);
+               handleRemoteItemsForReadWriteManyCommand(command, helper, allFuture, offset, member, items);
             }
          }
          return asyncValue(allFuture);
@@ -298,56 +298,38 @@ private <C extends WriteCommand, Container, Item> Object handleReadWriteManyComm
       }
    }
 
-   private <C extends WriteCommand, Container, Item> void handleLocalSegmentsForReadWriteManyCommand(
+   private <C extends WriteCommand, Container, Item> void handleLocalItemsForReadWriteManyCommand(
          InvocationContext ctx, C command, WriteManyCommandHelper<C, Container, Item> helper, ConsistentHash ch,
-         MergingCompletableFuture<Object> allFuture, MutableInt offset, Set<Integer> segments) throws Exception {
-      Container myItems = helper.newContainer();
+         MergingCompletableFuture<Object> allFuture, MutableInt offset, Container myItems) throws Exception {
       List<CompletableFuture<?>> retrievals = null;
-      // Filter command keys/entries into the collection, and record remote retrieval for those that are not
-      // in the context yet
-      for (Item item : helper.getItems(command)) {
-         Object key = helper.item2key(item);
-         if (segments.contains(keyPartitioner.getSegment(key))) {
-            helper.accumulate(myItems, item);
-            retrievals = addRemoteGet(ctx, command, retrievals, key);
-         }
-      }
-      int size = helper.containerSize(myItems);
-      if (size == 0) {
-         allFuture.countDown();
-         return;
+      // Record remote retrieval for the keys that are not in the context yet
+      for (Object key : helper.toKeys(myItems)) {
+         retrievals = addRemoteGet(ctx, command, retrievals, key);
       }
       final int myOffset = offset.value;
-      offset.value += size;
+      offset.value += helper.containerSize(myItems);
 
       C localCommand = helper.copyForLocal(command, myItems);
       InvocationFinallyAction handler =
-            createLocalInvocationHandler(ch, allFuture, segments, helper, MergingCompletableFuture.moveListItemsToFuture(myOffset));
+            createLocalInvocationHandler(ch, allFuture, helper, MergingCompletableFuture.moveListItemsToFuture(myOffset));
       if (retrievals == null) {
          invokeNextAndFinally(ctx, localCommand, handler);
       } else {
          // We must wait until all retrievals finish before proceeding with the local command
          CompletableFuture[] ra = retrievals.toArray(new CompletableFuture[retrievals.size()]);
-         Object result = asyncInvokeNext(ctx, command, CompletableFuture.allOf(ra));
-         makeStage(result).andFinally(ctx, command, handler);
+         Object result = asyncInvokeNext(ctx, localCommand, CompletableFuture.allOf(ra));
+         makeStage(result).andFinally(ctx, localCommand, handler);
       }
       // Local keys are backed up in the handler, and counters on allFuture are decremented when the backup
       // calls complete.
    }
 
-   private <C extends WriteCommand, Item> void handleRemoteSegmentsForReadWriteManyCommand(
-         C command, WriteManyCommandHelper<C, ?, Item> helper,
-         ConsistentHash ch, MergingCompletableFuture<Object> allFuture,
-         MutableInt offset, Address member, Set<Integer> segments) {
+   private <C extends WriteCommand, Container> void handleRemoteItemsForReadWriteManyCommand(
+         C command, WriteManyCommandHelper<C, Container, ?> helper, MergingCompletableFuture<Object> allFuture,
+         MutableInt offset, Address member, Container items) {
       final int myOffset = offset.value;
-      // TODO: here we iterate through all entries - is the ReadOnlySegmentAwareMap really worth it?
-      C copy = helper.copyForPrimary(command, ch, segments);
-      int size = helper.getItems(copy).size();
-      offset.value += size;
-      if (size <= 0) {
-         allFuture.countDown();
-         return;
-      }
+      offset.value += helper.containerSize(items);
+      C copy = helper.copyForPrimary(command, items);
 
       // Send the command to primary owner
       rpcManager.invokeRemotelyAsync(Collections.singletonList(member), copy, defaultSyncOptions)
@@ -409,9 +391,9 @@ private List<CompletableFuture<?>> addRemoteGet(InvocationContext ctx, WriteComm
       return retrievals;
    }
 
-   private <C extends WriteCommand, F extends CountDownCompletableFuture, Item>
+   private <C extends WriteCommand, F extends CountDownCompletableFuture, Container, Item>
    InvocationFinallyAction createLocalInvocationHandler(
-         ConsistentHash ch, F allFuture, Set<Integer> segments, WriteManyCommandHelper<C, ?, Item> helper,
+         ConsistentHash ch, F allFuture, WriteManyCommandHelper<C, Container, Item> helper,
          BiConsumer<F, Object> returnValueConsumer) {
       return (rCtx, rCommand, rv, throwable) -> {
          if (throwable != null) {
@@ -419,11 +401,10 @@ InvocationFinallyAction createLocalInvocationHandler(
          } else try {
             returnValueConsumer.accept(allFuture, rv);
 
-            Map<Address, Set<Integer>> backupOwners = backupOwnersOfSegments(ch, segments);
-            for (Entry<Address, Set<Integer>> backup : backupOwners.entrySet()) {
-               // rCommand is the original command
-               C backupCopy = helper.copyForBackup((C) rCommand, ch, backup.getValue());
-               if (helper.getItems(backupCopy).isEmpty()) continue;
+            // rCommand is the local command, with the items owned by this node
+            Map<Address, Container> backupOwners = backupOwnersOfItems((C) rCommand, helper, ch);
+            for (Entry<Address, Container> backup : backupOwners.entrySet()) {
+               C backupCopy = helper.copyForBackup((C) rCommand, backup.getValue());
                Set<Address> backupOwner = Collections.singleton(backup.getKey());
                if (isSynchronous(backupCopy)) {
                   allFuture.increment();
@@ -462,18 +443,18 @@ private final static class MutableInt {
       public int value;
    }
 
-   private <C extends WriteCommand> Object writeManyRemoteCallback(WriteManyCommandHelper<C, ?, ?> helper, InvocationContext ctx, C command, Object rv) {
+   private <C extends WriteCommand, Container> Object writeManyRemoteCallback(WriteManyCommandHelper<C, Container, ?> helper, InvocationContext ctx, C command, Object rv) {
       ConsistentHash ch = checkTopologyId(command).getWriteConsistentHash();
       // We have already checked that the command topology is actual, so we can assume that we really are primary owner
-      Map<Address, Set<Integer>> backups = backupOwnersOfSegments(ch, ch.getPrimarySegmentsForOwner(rpcManager.getAddress()));
+      Map<Address, Container> backups = backupOwnersOfItems(command, helper, ch);
       if (backups.isEmpty()) {
          return rv;
       }
       boolean isSync = isSynchronous(command);
       CompletableFuture[] futures = isSync ? new CompletableFuture[backups.size()] : null;
       int future = 0;
-      for (Entry<Address, Set<Integer>> backup : backups.entrySet()) {
-         C copy = helper.copyForBackup(command, ch, backup.getValue());
+      for (Entry<Address, Container> backup : backups.entrySet()) {
+         C copy = helper.copyForBackup(command, backup.getValue());
          if (isSync) {
             futures[future++] = rpcManager.invokeRemotelyAsync(Collections.singleton(backup.getKey()), copy, defaultSyncOptions);
          } else {
@@ -4,12 +4,9 @@
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Set;
 import java.util.function.Function;
 
 import org.infinispan.commands.write.PutMapCommand;
-import org.infinispan.distribution.ch.ConsistentHash;
-import org.infinispan.distribution.util.ReadOnlySegmentAwareMap;
 import org.infinispan.interceptors.InvocationSuccessFunction;
 
 class PutMapHelper extends WriteManyCommandHelper<PutMapCommand, Map<Object, Object>, Map.Entry<Object, Object>> {
@@ -23,13 +20,13 @@ public PutMapCommand copyForLocal(PutMapCommand cmd, Map<Object, Object> contain
    }
 
    @Override
-   public PutMapCommand copyForPrimary(PutMapCommand cmd, ConsistentHash ch, Set<Integer> segments) {
-      return new PutMapCommand(cmd).withMap(new ReadOnlySegmentAwareMap<>(cmd.getMap(), ch, segments));
+   public PutMapCommand copyForPrimary(PutMapCommand cmd, Map<Object, Object> map) {
+      return new PutMapCommand(cmd).withMap(map);
    }
 
    @Override
-   public PutMapCommand copyForBackup(PutMapCommand cmd, ConsistentHash ch, Set<Integer> segments) {
-      PutMapCommand copy = new PutMapCommand(cmd).withMap(new ReadOnlySegmentAwareMap(cmd.getMap(), ch, segments));
+   public PutMapCommand copyForBackup(PutMapCommand cmd, Map<Object, Object> map) {
+      PutMapCommand copy = new PutMapCommand(cmd).withMap(map);
       copy.setForwarded(true);
       return copy;
    }
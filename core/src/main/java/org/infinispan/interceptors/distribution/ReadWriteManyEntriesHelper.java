@@ -4,12 +4,9 @@
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Set;
 import java.util.function.Function;
 
 import org.infinispan.commands.functional.ReadWriteManyEntriesCommand;
-import org.infinispan.distribution.ch.ConsistentHash;
-import org.infinispan.distribution.util.ReadOnlySegmentAwareMap;
 import org.infinispan.interceptors.InvocationSuccessFunction;
 
 class ReadWriteManyEntriesHelper extends WriteManyCommandHelper<ReadWriteManyEntriesCommand, Map<Object, Object>, Map.Entry<Object, Object>> {
@@ -23,15 +20,13 @@ public ReadWriteManyEntriesCommand copyForLocal(ReadWriteManyEntriesCommand cmd,
    }
 
    @Override
-   public ReadWriteManyEntriesCommand copyForPrimary(ReadWriteManyEntriesCommand cmd, ConsistentHash ch, Set<Integer> segments) {
-      return new ReadWriteManyEntriesCommand(cmd)
-            .withEntries(new ReadOnlySegmentAwareMap<>(cmd.getEntries(), ch, segments));
+   public ReadWriteManyEntriesCommand copyForPrimary(ReadWriteManyEntriesCommand cmd, Map<Object, Object> entries) {
+      return new ReadWriteManyEntriesCommand(cmd).withEntries(entries);
    }
 
    @Override
-   public ReadWriteManyEntriesCommand copyForBackup(ReadWriteManyEntriesCommand cmd, ConsistentHash ch, Set<Integer> segments) {
-      ReadWriteManyEntriesCommand copy = new ReadWriteManyEntriesCommand(cmd)
-            .withEntries(new ReadOnlySegmentAwareMap(cmd.getEntries(), ch, segments));
+   public ReadWriteManyEntriesCommand copyForBackup(ReadWriteManyEntriesCommand cmd, Map<Object, Object> entries) {
+      ReadWriteManyEntriesCommand copy = new ReadWriteManyEntriesCommand(cmd).withEntries(entries);
       copy.setForwarded(true);
       return copy;
    }
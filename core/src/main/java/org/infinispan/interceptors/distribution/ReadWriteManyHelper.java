@@ -3,12 +3,9 @@
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Set;
 import java.util.function.Function;
 
 import org.infinispan.commands.functional.ReadWriteManyCommand;
-import org.infinispan.distribution.ch.ConsistentHash;
-import org.infinispan.distribution.util.ReadOnlySegmentAwareCollection;
 import org.infinispan.interceptors.InvocationSuccessFunction;
 
 class ReadWriteManyHelper extends WriteManyCommandHelper<ReadWriteManyCommand, Collection<Object>, Object> {
@@ -22,14 +19,13 @@ public ReadWriteManyCommand copyForLocal(ReadWriteManyCommand cmd, Collection<Ob
    }
 
    @Override
-   public ReadWriteManyCommand copyForPrimary(ReadWriteManyCommand cmd, ConsistentHash ch, Set<Integer> segments) {
-      return new ReadWriteManyCommand(cmd).withKeys(new ReadOnlySegmentAwareCollection(cmd.getAffectedKeys(), ch, segments));
+   public ReadWriteManyCommand copyForPrimary(ReadWriteManyCommand cmd, Collection<Object> keys) {
+      return new ReadWriteManyCommand(cmd).withKeys(keys);
    }
 
    @Override
-   public ReadWriteManyCommand copyForBackup(ReadWriteManyCommand cmd, ConsistentHash ch, Set<Integer> segments) {
-      ReadWriteManyCommand copy = new ReadWriteManyCommand(cmd).withKeys(
-            new ReadOnlySegmentAwareCollection(cmd.getAffectedKeys(), ch, segments));
+   public ReadWriteManyCommand copyForBackup(ReadWriteManyCommand cmd, Collection<Object> keys) {
+      ReadWriteManyCommand copy = new ReadWriteManyCommand(cmd).withKeys(keys);
       copy.setForwarded(true);
       return copy;
    }
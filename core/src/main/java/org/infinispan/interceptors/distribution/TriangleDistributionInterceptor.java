@@ -7,7 +7,6 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -33,6 +32,8 @@
 import org.infinispan.commands.write.RemoveCommand;
 import org.infinispan.commands.write.ReplaceCommand;
 import org.infinispan.commons.util.InfinispanCollections;
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.IntSets;
 import org.infinispan.container.entries.CacheEntry;
 import org.infinispan.context.InvocationContext;
 import org.infinispan.context.impl.FlagBitSets;
@@ -163,14 +164,17 @@ private void sendToBackups(PutMapCommand command, Map<Object, Object> entries, L
       BackupOwnerClassifier filter = new BackupOwnerClassifier(cacheTopology, entries.size());
       entries.entrySet().forEach(filter::add);
       int topologyId = command.getTopologyId();
-      for (Map.Entry<Integer, Map<Object, Object>> entry : filter.perSegmentKeyValue.entrySet()) {
-         int segmentId = entry.getKey();
+      Map<Object, Object>[] perSegmentKeyValue = filter.perSegmentKeyValue;
+      for (int segmentId = 0; segmentId < perSegmentKeyValue.length; segmentId++) {
+         Map<Object, Object> map = perSegmentKeyValue[segmentId];
+         if (map == null) {
+            continue;
+         }
          Collection<Address> backups = cacheTopology.getDistributionForSegment(segmentId).writeBackups();
          if (backups.isEmpty()) {
             // Only the primary owner. Other segments may have more than one owner, e.g. during rebalance.
             continue;
          }
-         Map<Object, Object> map = entry.getValue();
          long sequence = triangleOrderManager.next(segmentId, topologyId);
          BackupPutMapRpcCommand backupPutMapRpcCommand = commandsFactory.buildBackupPutMapRpcCommand(command);
          backupPutMapRpcCommand.setMap(map);
@@ -464,13 +468,16 @@ private static class PrimaryOwnerClassifier {
       private final Map<Address, Map<Object, Object>> primaries;
       private final LocalizedCacheTopology cacheTopology;
       private final int entryCount;
+      private final int numSegments;
 
       private PrimaryOwnerClassifier(LocalizedCacheTopology cacheTopology, int entryCount) {
          this.cacheTopology = cacheTopology;
          int memberSize = cacheTopology.getMembers().size();
          this.backups = new HashMap<>(memberSize);
          this.primaries = new HashMap<>(memberSize);
-         this.entryCount = entryCount;
+         // The entries are spread over the members, sizing every map for all of them only wastes memory
+         this.entryCount = entryCount / memberSize + 1;
+         this.numSegments = cacheTopology.getReadConsistentHash().getNumSegments();
       }
 
       public void add(Map.Entry<Object, Object> entry) {
@@ -480,7 +487,7 @@ public void add(Map.Entry<Object, Object> entry) {
          primaries.computeIfAbsent(primaryOwner, address -> new HashMap<>(entryCount))
                .put(entry.getKey(), entry.getValue());
          for (Address backup : distributionInfo.writeBackups()) {
-            backups.computeIfAbsent(backup, address -> new HashSet<>(entryCount)).add(segment);
+            ((IntSet) backups.computeIfAbsent(backup, address -> IntSets.mutableEmptySet(numSegments))).set(segment);
          }
       }
 
@@ -492,20 +499,27 @@ public void add(Map.Entry<Object, Object> entry) {
     * It maps the backup owner address to the subset of keys.
     */
    private static class BackupOwnerClassifier {
-      private final Map<Integer, Map<Object, Object>> perSegmentKeyValue;
+      private final Map<Object, Object>[] perSegmentKeyValue;
       private final LocalizedCacheTopology cacheTopology;
       private final int entryCount;
 
+      @SuppressWarnings("unchecked")
       private BackupOwnerClassifier(LocalizedCacheTopology cacheTopology, int entryCount) {
          this.cacheTopology = cacheTopology;
-         this.perSegmentKeyValue = new HashMap<>(cacheTopology.getReadConsistentHash().getNumSegments());
-         this.entryCount = entryCount;
+         int numSegments = cacheTopology.getReadConsistentHash().getNumSegments();
+         this.perSegmentKeyValue = new Map[numSegments];
+         // The entries are spread over the segments, sizing every map for all of them only wastes memory
+         this.entryCount = entryCount / numSegments + 1;
       }
 
       public void add(Map.Entry<Object, Object> entry) {
-         perSegmentKeyValue
-               .computeIfAbsent(cacheTopology.getSegment(entry.getKey()), address -> new HashMap<>(entryCount))
-               .put(entry.getKey(), entry.getValue());
+         int segment = cacheTopology.getSegment(entry.getKey());
+         Map<Object, Object> map = perSegmentKeyValue[segment];
+         if (map == null) {
+            map = new HashMap<>(entryCount);
+            perSegmentKeyValue[segment] = map;
+         }
+         map.put(entry.getKey(), entry.getValue());
       }
    }
 
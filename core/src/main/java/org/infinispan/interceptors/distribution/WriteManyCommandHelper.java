@@ -1,11 +1,9 @@
 package org.infinispan.interceptors.distribution;
 
 import java.util.Collection;
-import java.util.Set;
 import java.util.function.Function;
 
 import org.infinispan.commands.write.WriteCommand;
-import org.infinispan.distribution.ch.ConsistentHash;
 import org.infinispan.interceptors.InvocationSuccessFunction;
 
 abstract class WriteManyCommandHelper<C extends WriteCommand, Container, Item> {
@@ -17,9 +15,9 @@ protected WriteManyCommandHelper(Function<WriteManyCommandHelper<C, ?, ?>, Invoc
 
    public abstract C copyForLocal(C cmd, Container container);
 
-   public abstract C copyForPrimary(C cmd, ConsistentHash ch, Set<Integer> segments);
+   public abstract C copyForPrimary(C cmd, Container container);
 
-   public abstract C copyForBackup(C cmd, ConsistentHash ch, Set<Integer> segments);
+   public abstract C copyForBackup(C cmd, Container container);
 
    public abstract Collection<Item> getItems(C cmd);
 
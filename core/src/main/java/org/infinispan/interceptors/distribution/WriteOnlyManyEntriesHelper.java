@@ -4,12 +4,9 @@
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Set;
 import java.util.function.Function;
 
 import org.infinispan.commands.functional.WriteOnlyManyEntriesCommand;
-import org.infinispan.distribution.ch.ConsistentHash;
-import org.infinispan.distribution.util.ReadOnlySegmentAwareMap;
 import org.infinispan.interceptors.InvocationSuccessFunction;
 
 class WriteOnlyManyEntriesHelper extends WriteManyCommandHelper<WriteOnlyManyEntriesCommand, Map<Object, Object>, Map.Entry<Object, Object>> {
@@ -23,15 +20,13 @@ public WriteOnlyManyEntriesCommand copyForLocal(WriteOnlyManyEntriesCommand cmd,
    }
 
    @Override
-   public WriteOnlyManyEntriesCommand copyForPrimary(WriteOnlyManyEntriesCommand cmd, ConsistentHash ch, Set<Integer> segments) {
-      return new WriteOnlyManyEntriesCommand(cmd)
-            .withEntries(new ReadOnlySegmentAwareMap<>(cmd.getEntries(), ch, segments));
+   public WriteOnlyManyEntriesCommand copyForPrimary(WriteOnlyManyEntriesCommand cmd, Map<Object, Object> entries) {
+      return new WriteOnlyManyEntriesCommand(cmd).withEntries(entries);
    }
 
    @Override
-   public WriteOnlyManyEntriesCommand copyForBackup(WriteOnlyManyEntriesCommand cmd, ConsistentHash ch, Set<Integer> segments) {
-      WriteOnlyManyEntriesCommand copy = new WriteOnlyManyEntriesCommand(cmd)
-            .withEntries(new ReadOnlySegmentAwareMap(cmd.getEntries(), ch, segments));
+   public WriteOnlyManyEntriesCommand copyForBackup(WriteOnlyManyEntriesCommand cmd, Map<Object, Object> entries) {
+      WriteOnlyManyEntriesCommand copy = new WriteOnlyManyEntriesCommand(cmd).withEntries(entries);
       copy.setForwarded(true);
       return copy;
    }
@@ -3,12 +3,9 @@
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Set;
 import java.util.function.Function;
 
 import org.infinispan.commands.functional.WriteOnlyManyCommand;
-import org.infinispan.distribution.ch.ConsistentHash;
-import org.infinispan.distribution.util.ReadOnlySegmentAwareCollection;
 import org.infinispan.interceptors.InvocationSuccessFunction;
 
 class WriteOnlyManyHelper extends WriteManyCommandHelper<WriteOnlyManyCommand, Collection<Object>, Object> {
@@ -22,15 +19,13 @@ public WriteOnlyManyCommand copyForLocal(WriteOnlyManyCommand cmd, Collection<Ob
    }
 
    @Override
-   public WriteOnlyManyCommand copyForPrimary(WriteOnlyManyCommand cmd, ConsistentHash ch, Set<Integer> segments) {
-      return new WriteOnlyManyCommand(cmd)
-            .withKeys(new ReadOnlySegmentAwareCollection(cmd.getAffectedKeys(), ch, segments));
+   public WriteOnlyManyCommand copyForPrimary(WriteOnlyManyCommand cmd, Collection<Object> keys) {
+      return new WriteOnlyManyCommand(cmd).withKeys(keys);
    }
 
    @Override
-   public WriteOnlyManyCommand copyForBackup(WriteOnlyManyCommand cmd, ConsistentHash ch, Set<Integer> segments) {
-      WriteOnlyManyCommand copy = new WriteOnlyManyCommand(cmd)
-            .withKeys(new ReadOnlySegmentAwareCollection(cmd.getAffectedKeys(), ch, segments));
+   public WriteOnlyManyCommand copyForBackup(WriteOnlyManyCommand cmd, Collection<Object> keys) {
+      WriteOnlyManyCommand copy = new WriteOnlyManyCommand(cmd).withKeys(keys);
       copy.setForwarded(true);
       return copy;
    }
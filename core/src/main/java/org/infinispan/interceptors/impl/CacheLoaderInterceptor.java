@@ -2,6 +2,7 @@
 
 import static org.infinispan.factories.KnownComponentNames.PERSISTENCE_EXECUTOR;
 import static org.infinispan.persistence.PersistenceUtil.convert;
+import static org.infinispan.persistence.manager.PersistenceManager.AccessMode.BOTH;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -40,6 +41,7 @@
 import org.infinispan.commands.write.ReplaceCommand;
 import org.infinispan.commands.write.WriteCommand;
 import org.infinispan.commons.util.CloseableIterator;
+import org.infinispan.commons.util.CloseableIteratorMapper;
 import org.infinispan.commons.util.CloseableSpliterator;
 import org.infinispan.commons.util.Closeables;
 import org.infinispan.container.DataContainer;
@@ -68,14 +70,11 @@
 import org.infinispan.persistence.PersistenceUtil;
 import org.infinispan.persistence.manager.PersistenceManager;
 import org.infinispan.persistence.spi.AdvancedCacheLoader;
-import org.infinispan.persistence.util.PersistenceManagerCloseableSupplier;
 import org.infinispan.stream.impl.interceptor.AbstractDelegatingEntryCacheSet;
 import org.infinispan.stream.impl.interceptor.AbstractDelegatingKeyCacheSet;
 import org.infinispan.stream.impl.spliterators.IteratorAsSpliterator;
-import org.infinispan.util.CloseableSuppliedIterator;
 import org.infinispan.util.DistinctKeyDoubleEntryCloseableIterator;
 import org.infinispan.util.TimeService;
-import org.infinispan.util.function.CloseableSupplier;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
@@ -235,28 +234,6 @@ public Object visitEntrySetCommand(InvocationContext ctx, EntrySetCommand comman
       });
    }
 
-   class SupplierFunction<K, V> implements CloseableSupplier<K> {
-      private final CloseableSupplier<CacheEntry<K, V>> supplier;
-
-      SupplierFunction(CloseableSupplier<CacheEntry<K, V>> supplier) {
-         this.supplier = supplier;
-      }
-
-      @Override
-      public K get() {
-         CacheEntry<K, V> entry = supplier.get();
-         if (entry != null) {
-            return entry.getKey();
-         }
-         return null;
-      }
-
-      @Override
-      public void close() {
-         supplier.close();
-      }
-   }
-
    @Override
    public Object visitKeySetCommand(InvocationContext ctx, KeySetCommand command)
          throws Throwable {
@@ -512,11 +489,11 @@ public CloseableIterator<CacheEntry<K, V>> iterator() {
          CloseableIterator<CacheEntry<K, V>> iterator = Closeables.iterator(entrySet.stream());
          Set<K> seenKeys = new HashSet<>(cache.getAdvancedCache().getDataContainer().sizeIncludingExpired());
          // TODO: how to handle concurrent activation....
-         return new DistinctKeyDoubleEntryCloseableIterator<>(iterator, new CloseableSuppliedIterator<>(
-               // TODO: how to pass in key filter...
-               new PersistenceManagerCloseableSupplier<>(executorService, persistenceManager, iceFactory,
-                     new CollectionKeyFilter<>(seenKeys), calculateTimeoutSeconds(), TimeUnit.SECONDS, 2048)),
-                     CacheEntry::getKey, seenKeys);
+         // The store entries are only read once the data container entries were consumed and all their keys are known
+         CloseableIterator<MarshalledEntry<K, V>> storeIterator = persistenceManager.entryIterator(executorService,
+               new CollectionKeyFilter<>(seenKeys), true, true, BOTH, calculateTimeoutSeconds(), TimeUnit.SECONDS);
+         return new DistinctKeyDoubleEntryCloseableIterator<>(iterator, new CloseableIteratorMapper<>(storeIterator,
+               me -> convert(me, iceFactory)), CacheEntry::getKey, seenKeys);
       }
 
       @Override
@@ -553,11 +530,11 @@ public CloseableIterator<K> iterator() {
          CloseableIterator<K> iterator = Closeables.iterator(keySet.stream());
          Set<K> seenKeys = new HashSet<>(cache.getAdvancedCache().getDataContainer().sizeIncludingExpired());
          // TODO: how to handle concurrent activation....
-         return new DistinctKeyDoubleEntryCloseableIterator<>(iterator, new CloseableSuppliedIterator<>(new SupplierFunction<>(
-               new PersistenceManagerCloseableSupplier<>(executorService, persistenceManager,
-                     // TODO: how to pass in key filter...
-                     iceFactory, new CollectionKeyFilter<>(seenKeys), 10, TimeUnit.SECONDS, 2048))),
-               Function.identity(), seenKeys);
+         // Only the keys are needed, but some stores need the metadata to skip the expired entries
+         CloseableIterator<MarshalledEntry<K, V>> storeIterator = persistenceManager.entryIterator(executorService,
+               new CollectionKeyFilter<>(seenKeys), false, true, BOTH, 10, TimeUnit.SECONDS);
+         return new DistinctKeyDoubleEntryCloseableIterator<>(iterator, new CloseableIteratorMapper<>(storeIterator,
+               MarshalledEntry::getKey), Function.identity(), seenKeys);
       }
 
       @Override
@@ -48,12 +48,15 @@
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
 import org.infinispan.interceptors.InvocationSuccessAction;
+import org.infinispan.jmx.annotations.DisplayType;
 import org.infinispan.jmx.annotations.MBean;
 import org.infinispan.jmx.annotations.ManagedAttribute;
 import org.infinispan.jmx.annotations.ManagedOperation;
 import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.jmx.annotations.Units;
 import org.infinispan.marshall.core.MarshalledEntry;
 import org.infinispan.marshall.core.MarshalledEntryImpl;
+import org.infinispan.persistence.async.AsyncCacheWriter;
 import org.infinispan.persistence.manager.PersistenceManager;
 import org.infinispan.persistence.support.BatchModification;
 import org.infinispan.transaction.xa.GlobalTransaction;
@@ -447,6 +450,36 @@ public long getWritesToTheStores() {
       return cacheStores.get();
    }
 
+   @ManagedAttribute(
+         description = "Number of modifications waiting to be written to the write-behind stores",
+         displayName = "Write-behind queue size",
+         measurementType = MeasurementType.DYNAMIC
+   )
+   public int getWriteBehindQueueSize() {
+      int size = 0;
+      for (AsyncCacheWriter writer : persistenceManager.getAsyncWriters()) {
+         size += writer.getQueueSize();
+      }
+      return size;
+   }
+
+   @ManagedAttribute(
+         description = "Average number of nanoseconds to write a batch of modifications to a write-behind store",
+         displayName = "Average write-behind flush time",
+         units = Units.NANOSECONDS,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getAverageWriteBehindFlushTime() {
+      long time = 0;
+      long count = 0;
+      for (AsyncCacheWriter writer : persistenceManager.getAsyncWriters()) {
+         long flushCount = writer.getFlushCount();
+         time += writer.getAverageFlushTime() * flushCount;
+         count += flushCount;
+      }
+      return count == 0 ? 0 : time / count;
+   }
+
    void storeEntry(InvocationContext ctx, Object key, FlagAffectedCommand command) {
       MarshalledEntry entry = createMarshalledEntry(ctx, key);
       persistenceManager.writeToAllNonTxStores(entry, skipSharedStores(ctx, key, command) ? PRIVATE : BOTH, command.getFlagsBitSet());
@@ -12,6 +12,7 @@
 import org.infinispan.commands.RemoteCommandsFactory;
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.io.ByteBuffer;
+import org.infinispan.commons.io.ByteBufferImpl;
 import org.infinispan.commons.io.ExposedByteArrayOutputStream;
 import org.infinispan.commons.marshall.AdvancedExternalizer;
 import org.infinispan.commons.marshall.BufferSizePredictor;
@@ -93,8 +94,15 @@ public class GlobalMarshaller implements StreamingMarshaller {
    static final int FLAG_ARRAY_LARGE               = 0xC0;
 
 
+   // Larger outputs are not kept for reuse, so that a thread does not retain a large buffer after a big object
+   static final int MAX_POOLED_OUTPUT_SIZE = 64 * 1024;
+
    private final MarshallableTypeHints marshallableTypeHints = new MarshallableTypeHints();
 
+   // The buffer reused by each thread, removed while in use so that reentrant calls allocate their own. Only the plain
+   // array is kept, as an output referencing this marshaller would keep it reachable from every thread after stop()
+   private final ThreadLocal<byte[]> pooledBuffer = new ThreadLocal<>();
+
    private GlobalComponentRegistry gcr;
    private RemoteCommandsFactory cmdFactory;
 
@@ -157,6 +165,7 @@ public void stop() {
       externalExts.clear();
       reverseExternalExts.clear();
       classIdentifiers = null;
+      pooledBuffer.remove();
       stopDefaultExternalMarshaller();
    }
 
@@ -168,19 +177,38 @@ public void stopDefaultExternalMarshaller() {
    @Override
    public byte[] objectToByteBuffer(Object obj) throws IOException, InterruptedException {
       try {
-         BytesObjectOutput out = writeObjectOutput(obj);
-         return out.toBytes(); // trim out unused bytes
+         return writePooledObjectOutput(obj);
       } catch (java.io.NotSerializableException nse) {
          if (log.isDebugEnabled()) log.debug("Object is not serializable", nse);
          throw new NotSerializableException(nse.getMessage(), nse.getCause());
       }
    }
 
-   private BytesObjectOutput writeObjectOutput(Object obj) throws IOException {
+   /**
+    * Marshalls the object into the pooled buffer of the thread and returns a copy of exactly the marshalled bytes, so
+    * that the only allocation is the returned array, instead of the predicted-size buffer, its expansions and the
+    * trimmed copy.
+    */
+   private byte[] writePooledObjectOutput(Object obj) throws IOException {
+      byte[] buffer = pooledBuffer.get();
       BufferSizePredictor sizePredictor = marshallableTypeHints.getBufferSizePredictor(obj);
-      BytesObjectOutput out = writeObjectOutput(obj, sizePredictor.nextSize(obj));
-      sizePredictor.recordSize(out.pos);
-      return out;
+      BytesObjectOutput out;
+      if (buffer == null) {
+         out = new BytesObjectOutput(sizePredictor.nextSize(obj), this);
+      } else {
+         pooledBuffer.remove();
+         out = new BytesObjectOutput(buffer, this);
+      }
+      try {
+         writeNullableObject(obj, out);
+         sizePredictor.recordSize(out.pos);
+         return out.toBytes();
+      } finally {
+         // The output may have replaced the buffer with a larger one
+         if (out.bytes.length <= MAX_POOLED_OUTPUT_SIZE) {
+            pooledBuffer.set(out.bytes);
+         }
+      }
    }
 
    private BytesObjectOutput writeObjectOutput(Object obj, int estimatedSize) throws IOException {
@@ -302,8 +330,8 @@ public BufferSizePredictor getBufferSizePredictor(Object o) {
    @Override
    public ByteBuffer objectToBuffer(Object o) throws IOException, InterruptedException {
       try {
-         BytesObjectOutput out = writeObjectOutput(o);
-         return out.toByteBuffer();
+         byte[] bytes = writePooledObjectOutput(o);
+         return new ByteBufferImpl(bytes, 0, bytes.length);
       } catch (java.io.NotSerializableException nse) {
          if (log.isDebugEnabled()) log.debug("Object is not serializable", nse);
          throw new NotSerializableException(nse.getMessage(), nse.getCause());
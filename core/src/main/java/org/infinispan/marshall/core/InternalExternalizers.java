@@ -18,6 +18,7 @@
 import org.infinispan.commons.marshall.exts.EquivalenceExternalizer;
 import org.infinispan.commons.tx.XidImpl;
 import org.infinispan.commons.util.Immutables;
+import org.infinispan.commons.util.IntSetExternalizer;
 import org.infinispan.compat.BiFunctionMapper;
 import org.infinispan.compat.FunctionMapper;
 import org.infinispan.container.entries.ImmortalCacheEntry;
@@ -182,6 +183,7 @@ static ClassToExternalizerMap load(
       addInternalExternalizer(new InDoubtTxInfoImpl.Externalizer(), exts);
       addInternalExternalizer(new IntermediateOperationExternalizer(), exts);
       addInternalExternalizer(new InternalMetadataImpl.Externalizer(), exts);
+      addInternalExternalizer(new IntSetExternalizer(), exts);
       addInternalExternalizer(new IntSummaryStatisticsExternalizer(), exts);
       addInternalExternalizer(new JGroupsAddress.Externalizer(), exts);
       addInternalExternalizer(new JGroupsTopologyAwareAddress.Externalizer(), exts);
@@ -1,5 +1,6 @@
 package org.infinispan.notifications.cachelistener;
 
+import java.lang.annotation.Annotation;
 import java.util.Collection;
 
 import org.infinispan.commands.FlagAffectedCommand;
@@ -51,6 +52,12 @@ void notifyCacheEntryRemoved(K key, V previousValue, Metadata previousMetadata,
    void notifyCacheEntryVisited(K key, V value, boolean pre,
                                 InvocationContext ctx, FlagAffectedCommand command);
 
+   /**
+    * @return {@code true} if a listener is registered for the events of the given annotation, e.g. {@link
+    * org.infinispan.notifications.cachelistener.annotation.CacheEntryVisited}
+    */
+   boolean hasListener(Class<? extends Annotation> annotation);
+
    /**
     * Notifies all registered listeners of a {@link org.infinispan.notifications.cachelistener.event.CacheEntriesEvictedEvent}
     * event.
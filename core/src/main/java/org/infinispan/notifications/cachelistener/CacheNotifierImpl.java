@@ -484,6 +484,12 @@ private void configureEvent(DataConversion keyDataConversion, DataConversion val
       e.setPre(false);
    }
 
+   @Override
+   public boolean hasListener(Class<? extends Annotation> annotation) {
+      List<?> listeners = listenersMap.get(annotation);
+      return listeners != null && !listeners.isEmpty();
+   }
+
    @Override
    public void notifyCacheEntryVisited(K key, V value, boolean pre, InvocationContext ctx, FlagAffectedCommand command) {
       if (isNotificationAllowed(command, cacheEntryVisitedListeners)) {
@@ -3,6 +3,7 @@
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.SortedMap;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.concurrent.ConcurrentMap;
@@ -10,7 +11,9 @@
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.TreeMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -20,6 +23,7 @@
 import org.infinispan.commons.util.CollectionFactory;
 import org.infinispan.configuration.cache.AsyncStoreConfiguration;
 import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.factories.threads.DefaultThreadFactory;
 import org.infinispan.marshall.core.MarshalledEntry;
 import org.infinispan.persistence.modifications.Modification;
@@ -30,6 +34,7 @@
 import org.infinispan.persistence.spi.InitializationContext;
 import org.infinispan.persistence.spi.PersistenceException;
 import org.infinispan.persistence.support.DelegatingCacheWriter;
+import org.infinispan.util.TimeService;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
@@ -51,7 +56,12 @@
  * to define whether cache loader operations are to be asynchronous. If not specified, a cache loader operation is
  * assumed synchronous and this decorator is not applied.
  * <p/>
- * Write operations affecting same key are now coalesced so that only the final state is actually stored.
+ * Write operations affecting same key are now coalesced so that only the final state is actually stored. Only
+ * modifications of keys that are not buffered yet take space in the modification queue, so repeated updates of a few
+ * hot keys never block the writers.
+ * <p/>
+ * The buffered modifications are grouped by segment, and each segment is written by a single processor thread in
+ * batches of at most {@link org.infinispan.configuration.cache.StoreConfiguration#maxBatchSize()} modifications.
  * <p/>
  *
  * @author Manik Surtani
@@ -70,6 +80,12 @@ public class AsyncCacheWriter extends DelegatingCacheWriter {
    private int concurrencyLevel;
    private String cacheName;
    private String nodeName;
+   private KeyPartitioner keyPartitioner;
+   private int numSegments;
+   private int maxBatchSize;
+   private TimeService timeService;
+   private final AtomicLong flushCount = new AtomicLong();
+   private final AtomicLong flushTime = new AtomicLong();
 
    protected BufferLock stateLock;
    @GuardedBy("stateLock")
@@ -93,6 +109,11 @@ public void init(InitializationContext ctx) {
       concurrencyLevel = cacheCfg != null ? cacheCfg.locking().concurrencyLevel() : 16;
       cacheName = cache != null ? cache.getName() : null;
       nodeName = cache != null ? cache.getCacheManager().getCacheManagerConfiguration().transport().nodeName() : null;
+      // The partitioner is only registered if some other component needs it, otherwise fall back to the key hash
+      keyPartitioner = cache != null ? cache.getAdvancedCache().getComponentRegistry().getComponent(KeyPartitioner.class) : null;
+      numSegments = cacheCfg != null ? cacheCfg.clustering().hash().numSegments() : 1;
+      maxBatchSize = Math.max(1, ctx.getConfiguration().maxBatchSize());
+      timeService = ctx.getTimeService();
    }
 
    @Override
@@ -146,7 +167,7 @@ public void stop() {
 
    @Override
    public void write(MarshalledEntry entry) {
-      put(new Store(entry.getKey(), entry), 1);
+      put(new Store(entry.getKey(), entry));
    }
 
    @Override
@@ -169,10 +190,35 @@ public void deleteBatch(Iterable keys) {
 
    @Override
    public boolean delete(Object key) {
-      put(new Remove(key), 1);
+      put(new Remove(key));
       return true;
    }
 
+   /**
+    * @return the number of modifications that are either waiting in the queue or being written to the store
+    */
+   public int getQueueSize() {
+      int size = 0;
+      for (State s = state.get(); s != null; s = s.next)
+         size += s.modifications.size();
+      return size;
+   }
+
+   /**
+    * @return the number of batches written to the store
+    */
+   public long getFlushCount() {
+      return flushCount.get();
+   }
+
+   /**
+    * @return the average time it took to write a batch to the store, in nanoseconds
+    */
+   public long getAverageFlushTime() {
+      long count = flushCount.get();
+      return count == 0 ? 0 : flushTime.get() / count;
+   }
+
    protected void applyModificationsSync(List<Modification> mods) throws PersistenceException {
       actual.writeBatch(
             () -> StreamSupport.stream(Spliterators.spliterator(mods, Spliterator.NONNULL), false)
@@ -201,8 +247,8 @@ void assertNotStopped() throws CacheException {
          throw new CacheException("AsyncCacheWriter stopped; no longer accepting more entries.");
    }
 
-   private void put(Modification mod, int count) {
-      stateLock.writeLock(count);
+   private void put(Modification mod) {
+      stateLock.writeLock(countNewKeys(mod));
       try {
          if (trace)
             log.tracef("Queue modification: %s", mod);
@@ -215,7 +261,10 @@ private void put(Modification mod, int count) {
    }
 
    private void putAll(List<Modification> mods) {
-      stateLock.writeLock(mods.size());
+      int count = 0;
+      for (Modification mod : mods)
+         count += countNewKeys(mod);
+      stateLock.writeLock(count);
       try {
          state.get().put(new ModificationsList(mods));
       } finally {
@@ -223,6 +272,30 @@ private void putAll(List<Modification> mods) {
       }
    }
 
+   /**
+    * A modification replacing one that is still buffered does not need any more space in the queue. The check is done
+    * before acquiring the lock, so the queue can exceed its size by at most one modification per writer thread if the
+    * coordinator hands the state off in between.
+    */
+   private int countNewKeys(Modification mod) {
+      ConcurrentMap<Object, Modification> buffered = state.get().modifications;
+      switch (mod.getType()) {
+         case STORE:
+            return buffered.containsKey(((Store) mod).getKey()) ? 0 : 1;
+         case REMOVE:
+            return buffered.containsKey(((Remove) mod).getKey()) ? 0 : 1;
+         default:
+            return 1;
+      }
+   }
+
+   private int segmentOf(Modification mod) {
+      Object key = mod.getType() == Modification.Type.STORE ? ((Store) mod).getKey() : ((Remove) mod).getKey();
+      if (keyPartitioner != null)
+         return keyPartitioner.getSegment(key);
+      return (key.hashCode() & Integer.MAX_VALUE) % numSegments;
+   }
+
    public AtomicReference<State> getState() {
       return state;
    }
@@ -311,39 +384,47 @@ public void run() {
 
       private List<AsyncStoreProcessor> createProcessors(State state, List<Modification> mods) {
          List<AsyncStoreProcessor> result = new ArrayList<>();
-         // distribute modifications evenly across worker threads
-         int threads = Math.min(mods.size(), asyncConfiguration.threadPoolSize());
-         if (threads > 0) {
-            // create background threads
-            int start = 0;
-            int quotient = mods.size() / threads;
-            int remainder = mods.size() % threads;
-            for (int i = 0; i < threads; i++) {
-               int end = start + quotient + (i < remainder ? 1 : 0);
-               result.add(new AsyncStoreProcessor(mods.subList(start, end), state));
-               start = end;
-            }
-            assert start == mods.size() : "Thread distribution is broken!";
+         if (mods.isEmpty())
+            return result;
+
+         // queue the modifications of each segment separately
+         SortedMap<Integer, List<Modification>> segments = new TreeMap<>();
+         for (Modification mod : mods)
+            segments.computeIfAbsent(segmentOf(mod), s -> new ArrayList<>()).add(mod);
+
+         // distribute whole segments evenly across worker threads, so that a segment is written by a single thread
+         int threads = Math.min(segments.size(), asyncConfiguration.threadPoolSize());
+         List<List<List<Modification>>> batchesPerThread = new ArrayList<>(threads);
+         for (int i = 0; i < threads; i++)
+            batchesPerThread.add(new ArrayList<>());
+         int i = 0;
+         for (List<Modification> segmentMods : segments.values()) {
+            List<List<Modification>> batches = batchesPerThread.get(i++ % threads);
+            for (int start = 0; start < segmentMods.size(); start += maxBatchSize)
+               batches.add(segmentMods.subList(start, Math.min(start + maxBatchSize, segmentMods.size())));
          }
+         for (List<List<Modification>> batches : batchesPerThread)
+            result.add(new AsyncStoreProcessor(batches, state));
          return result;
       }
    }
 
    private class AsyncStoreProcessor implements Runnable {
-      private final List<Modification> modifications;
+      private final List<List<Modification>> batches;
       private final State myState;
 
-      AsyncStoreProcessor(List<Modification> modifications, State myState) {
-         this.modifications = modifications;
+      AsyncStoreProcessor(List<List<Modification>> batches, State myState) {
+         this.batches = batches;
          this.myState = myState;
       }
 
       @Override
       public void run() {
          try {
-            // try 3 times to store the modifications
-            retryWork(3);
-
+            for (List<Modification> batch : batches) {
+               // try 3 times to store the modifications
+               retryWork(batch, 3);
+            }
          } finally {
             // decrement active worker threads and disconnect myState if this was the last one
             myState.workerThreads.countDown();
@@ -354,13 +435,16 @@ public void run() {
          }
       }
 
-      private void retryWork(int maxRetries) {
+      private void retryWork(List<Modification> modifications, int maxRetries) {
          for (int attempt = 0; attempt < maxRetries; attempt++) {
             if (attempt > 0 && log.isDebugEnabled())
                log.debugf("Retrying due to previous failure. %s attempts left.", maxRetries - attempt);
 
             try {
+               long start = timeService.time();
                AsyncCacheWriter.this.applyModificationsSync(modifications);
+               flushTime.addAndGet(timeService.timeDuration(start, TimeUnit.NANOSECONDS));
+               flushCount.incrementAndGet();
                return;
             } catch (Exception e) {
                if (log.isDebugEnabled())
@@ -0,0 +1,928 @@
+package org.infinispan.persistence.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongPredicate;
+
+import org.infinispan.commons.configuration.ConfiguredBy;
+import org.infinispan.commons.hash.MurmurHash3;
+import org.infinispan.commons.io.ByteBufferFactory;
+import org.infinispan.commons.persistence.Store;
+import org.infinispan.commons.util.CloseableIterator;
+import org.infinispan.configuration.cache.CompactingFileStoreConfiguration;
+import org.infinispan.executors.ExecutorAllCompletionService;
+import org.infinispan.filter.KeyFilter;
+import org.infinispan.marshall.core.MarshalledEntry;
+import org.infinispan.persistence.PersistenceUtil;
+import org.infinispan.persistence.TaskContextImpl;
+import org.infinispan.persistence.spi.AdvancedLoadWriteStore;
+import org.infinispan.persistence.spi.InitializationContext;
+import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.persistence.spi.StreamingCacheLoader;
+import org.infinispan.util.TimeService;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * A filesystem-based implementation of a {@link org.infinispan.persistence.spi.AdvancedLoadWriteStore} that, unlike
+ * {@link SingleFileStore}, keeps nothing on the Java heap for the stored entries.
+ * <p/>
+ * The entries are stored in a single file <tt>&lt;location&gt;/&lt;cache name&gt;.dat</tt>, in the same format as the
+ * {@link SingleFileStore}, so that both stores can open the files written by the other one. The keys are indexed by an
+ * {@link OffHeapKeyIndex}, which needs between 27 and 54 bytes of direct memory per entry and no memory for the key
+ * objects, and the entries are read through memory mapped regions of the file.
+ * <p/>
+ * New and updated entries are always appended to the file. The removed and overwritten entries are only marked as
+ * free, and once the live entries take less than {@link CompactingFileStoreConfiguration#fragmentationFactor()} of
+ * the file, a background thread copies them to <tt>&lt;cache name&gt;.dat.compacting</tt>, which then replaces the
+ * data file. The store keeps working while the file is compacted, writes go to the new file and reads to whichever
+ * file holds the entry. Iterating over the store waits for a running compaction to finish.
+ * <p/>
+ * When the store is stopped, the index is saved to <tt>&lt;cache name&gt;.idx</tt>, so that the next start does not
+ * have to read the data file. The index file is deleted when it is loaded, and the index is rebuilt from the data file
+ * if the index file is missing or does not match the data file, e.g. after a crash.
+ * <p/>
+ * This class is fully thread safe, yet allows for concurrent load / store of individual cache entries.
+ *
+ * @since 9.2
+ */
+@Store
+@ConfiguredBy(CompactingFileStoreConfiguration.class)
+public class CompactingFileStore<K, V> implements AdvancedLoadWriteStore<K, V>, StreamingCacheLoader<K, V> {
+   private static final Log log = LogFactory.getLog(CompactingFileStore.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   // The data file format is the one of SingleFileStore
+   private static final byte[] MAGIC = new byte[]{'F', 'C', 'S', '1'};
+   private static final byte[] INDEX_MAGIC = new byte[]{'F', 'C', 'I', '1'};
+   private static final byte[] ZERO_INT = {0, 0, 0, 0};
+   private static final int KEYLEN_POS = 4;
+   private static final int KEY_POS = 4 + 4 + 4 + 4 + 8;
+   private static final int INDEX_HEADER_SIZE = 4 + 4 + 8 + 8 + 8;
+   private static final int INDEX_STRIPES = 256;
+   // Positions in the index carry the generation of their data file in this bit
+   private static final long GENERATION_BIT = 1L << 62;
+   // Compacting smaller files is not worth it
+   private static final long MIN_COMPACTION_FREE_BYTES = 1 << 20;
+   private static final int PROCESS_BATCH_SIZE = 128;
+   // An iterator that was not advanced for this long is considered abandoned, and is closed if it blocks a compaction
+   static final long ITERATOR_IDLE_TIMEOUT = TimeUnit.MINUTES.toMillis(5);
+
+   private CompactingFileStoreConfiguration configuration;
+
+   protected InitializationContext ctx;
+
+   private File dataFile;
+   private File compactionFile;
+   private File indexFile;
+   // The data file and, while compacting, the file the entries are moved to, indexed by generation
+   private final DataFile[] files = new DataFile[2];
+   // Generation of the file new entries are appended to
+   private volatile int writeGeneration;
+   private volatile int clearCount;
+   private OffHeapKeyIndex index;
+   private float fragmentationFactor;
+   // Prevents clear() and the compaction from truncating or closing a file while it is read or written
+   private final ReadWriteLock fileLock = new ReentrantReadWriteLock();
+   // Held in read mode by the iterators, so that the compaction does not move entries they have already returned
+   private final StampedLock iterationLock = new StampedLock();
+   private final Set<EntryIterator> openIterators = ConcurrentHashMap.newKeySet();
+   private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+   private volatile boolean stopping;
+   private ExecutorService compactor;
+   private TimeService timeService;
+
+   @Override
+   public void init(InitializationContext ctx) {
+      this.ctx = ctx;
+      this.configuration = ctx.getConfiguration();
+      this.timeService = ctx.getTimeService();
+   }
+
+   @Override
+   public void start() {
+      try {
+         String location = configuration.location();
+         if (location == null || location.trim().length() == 0)
+            location = "Infinispan-SingleFileStore";
+
+         String cacheName = ctx.getCache().getName();
+         dataFile = new File(location, cacheName + ".dat");
+         compactionFile = new File(location, cacheName + ".dat.compacting");
+         indexFile = new File(location, cacheName + ".idx");
+         File dir = dataFile.getParentFile();
+         if (!dir.mkdirs() && !dir.exists()) {
+            throw log.directoryCannotBeCreated(dir.getAbsolutePath());
+         }
+         fragmentationFactor = configuration.fragmentationFactor();
+         stopping = false;
+
+         // A compaction was interrupted after removing the old file
+         if (!dataFile.exists() && compactionFile.exists() && !compactionFile.renameTo(dataFile))
+            throw new PersistenceException("Cannot rename " + compactionFile + " to " + dataFile);
+
+         if (compactionFile.exists()) {
+            // A compaction was interrupted, rebuild the index from both files and finish it
+            indexFile.delete();
+            index = new OffHeapKeyIndex(INDEX_STRIPES);
+            openAndRebuild(0, dataFile);
+            openAndRebuild(1, compactionFile);
+            writeGeneration = 1;
+            moveEntries(0, 1);
+            finishCompaction(0, 1);
+         } else if (!loadIndex()) {
+            index = new OffHeapKeyIndex(INDEX_STRIPES);
+            openAndRebuild(0, dataFile);
+            writeGeneration = 0;
+         }
+
+         compactor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "CompactingFileStore-" + cacheName);
+            thread.setDaemon(true);
+            return thread;
+         });
+      } catch (PersistenceException e) {
+         throw e;
+      } catch (Exception e) {
+         throw new PersistenceException(e);
+      }
+   }
+
+   @Override
+   public void stop() {
+      try {
+         if (compactor != null) {
+            stopping = true;
+            compactor.shutdown();
+            if (!compactor.awaitTermination(1, TimeUnit.MINUTES))
+               log.debugf("The compaction of %s did not stop", dataFile);
+            compactor = null;
+         }
+         fileLock.writeLock().lock();
+         try {
+            DataFile file = files[writeGeneration];
+            if (file != null) {
+               if (trace) log.tracef("Stopping store %s, size = %d, file size = %d", ctx.getCache().getName(), index.size(), file.getEnd());
+               boolean compacting = files[1 - writeGeneration] != null;
+               for (int i = 0; i < files.length; i++) {
+                  if (files[i] != null) {
+                     files[i].close();
+                     files[i] = null;
+                  }
+               }
+               // An interrupted compaction is finished on the next start, which needs to rebuild the index anyway
+               if (!compacting)
+                  saveIndex(file);
+               index = null;
+            }
+         } finally {
+            fileLock.writeLock().unlock();
+         }
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new PersistenceException(e);
+      } catch (Exception e) {
+         throw new PersistenceException(e);
+      }
+   }
+
+   /**
+    * Loads the index saved by the last {@link #stop()}, if it matches the data file.
+    */
+   private boolean loadIndex() {
+      if (!indexFile.exists() || !dataFile.exists())
+         return false;
+      try (FileChannel channel = new RandomAccessFile(indexFile, "r").getChannel()) {
+         ByteBuffer header = ByteBuffer.allocate(INDEX_HEADER_SIZE);
+         while (header.hasRemaining()) {
+            if (channel.read(header) < 0)
+               return false;
+         }
+         header.flip();
+         byte[] magic = new byte[INDEX_MAGIC.length];
+         header.get(magic);
+         int generation = header.getInt();
+         long length = header.getLong();
+         long lastModified = header.getLong();
+         long freeBytes = header.getLong();
+         if (!Arrays.equals(INDEX_MAGIC, magic) || (generation & ~1) != 0 || length != dataFile.length() ||
+               lastModified != dataFile.lastModified()) {
+            log.debugf("Ignoring index file %s, it does not match the data file", indexFile);
+            return false;
+         }
+         index = OffHeapKeyIndex.readFrom(channel);
+         DataFile file = new DataFile(dataFile);
+         file.setEnd(length);
+         file.free(freeBytes);
+         files[generation] = file;
+         writeGeneration = generation;
+         if (trace) log.tracef("Loaded index of %d entries from %s", index.size(), indexFile);
+         return true;
+      } catch (IOException e) {
+         log.debugf(e, "Ignoring index file %s", indexFile);
+         index = null;
+         return false;
+      } finally {
+         // The index becomes stale as soon as the data file is modified
+         if (!indexFile.delete())
+            log.debugf("Cannot delete index file %s", indexFile);
+      }
+   }
+
+   private void saveIndex(DataFile file) throws IOException {
+      try (FileChannel channel = new RandomAccessFile(indexFile, "rw").getChannel()) {
+         channel.truncate(0);
+         ByteBuffer header = ByteBuffer.allocate(INDEX_HEADER_SIZE);
+         header.put(INDEX_MAGIC);
+         header.putInt(writeGeneration);
+         header.putLong(dataFile.length());
+         header.putLong(dataFile.lastModified());
+         header.putLong(file.getFreeBytes());
+         header.flip();
+         while (header.hasRemaining()) {
+            channel.write(header);
+         }
+         index.writeTo(channel);
+      }
+   }
+
+   private void openAndRebuild(int generation, File file) throws IOException {
+      DataFile data = new DataFile(file);
+      files[generation] = data;
+      // check file format and read persistent state
+      byte[] header = new byte[MAGIC.length];
+      data.setEnd(data.size());
+      if (data.read(header, 0, MAGIC.length, 0) == MAGIC.length && Arrays.equals(MAGIC, header)) {
+         rebuildIndex(generation);
+      } else {
+         // otherwise (unknown file format or new file) just reset the file
+         data.truncate(MAGIC);
+      }
+   }
+
+   /**
+    * Rebuilds the index from a data file, reading only the headers and the keys of the entries. If a key has
+    * several entries, e.g. when a compaction was interrupted, the last one read wins.
+    */
+   private void rebuildIndex(int generation) throws IOException {
+      DataFile file = files[generation];
+      long length = file.getEnd();
+      byte[] header = new byte[KEY_POS];
+      long offset = MAGIC.length;
+      while (offset + KEY_POS <= length) {
+         file.read(header, 0, KEY_POS, offset);
+         ByteBuffer buf = ByteBuffer.wrap(header);
+         int entrySize = buf.getInt();
+         int keyLen = buf.getInt();
+         int dataLen = buf.getInt();
+         int metadataLen = buf.getInt();
+         long expiryTime = buf.getLong();
+
+         // sanity check
+         if (keyLen < 0 || dataLen < 0 || metadataLen < 0 || entrySize < KEY_POS + keyLen + dataLen + metadataLen) {
+            throw log.errorReadingFileStore(dataFile.getPath(), offset);
+         }
+
+         if (keyLen > 0) {
+            byte[] key = new byte[keyLen];
+            file.read(key, 0, keyLen, offset + KEY_POS);
+            long previous = index.put(hash(key), sameKey(key), position(generation, offset), expiryTime);
+            if (previous != OffHeapKeyIndex.NONE)
+               free(previous);
+         } else {
+            file.free(entrySize);
+         }
+         offset += entrySize;
+      }
+      // Anything after the last complete entry is overwritten by the next write
+      file.setEnd(offset);
+      if (trace) log.tracef("Rebuilt index from %s, %d entries", dataFile, index.size());
+   }
+
+   private static long position(int generation, long offset) {
+      return generation == 0 ? offset : offset | GENERATION_BIT;
+   }
+
+   private static long offset(long position) {
+      return position & ~GENERATION_BIT;
+   }
+
+   private DataFile file(long position) {
+      return files[(position & GENERATION_BIT) == 0 ? 0 : 1];
+   }
+
+   private static int hash(byte[] key) {
+      return MurmurHash3.getInstance().hash(key);
+   }
+
+   private byte[] marshall(Object key) {
+      try {
+         return ctx.getMarshaller().objectToByteBuffer(key);
+      } catch (IOException e) {
+         throw new PersistenceException(e);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new PersistenceException(e);
+      }
+   }
+
+   private static byte[] toArray(org.infinispan.commons.io.ByteBuffer buffer) {
+      byte[] bytes = buffer.getBuf();
+      if (buffer.getOffset() == 0 && buffer.getLength() == bytes.length)
+         return bytes;
+      return Arrays.copyOfRange(bytes, buffer.getOffset(), buffer.getOffset() + buffer.getLength());
+   }
+
+   /**
+    * @return a predicate telling whether the entry at a position holds the given serialized key
+    */
+   private LongPredicate sameKey(byte[] key) {
+      return position -> {
+         byte[] bytes = new byte[KEY_POS + key.length];
+         try {
+            if (file(position).read(bytes, 0, bytes.length, offset(position)) < bytes.length)
+               return false;
+         } catch (IOException e) {
+            throw new PersistenceException(e);
+         }
+         ByteBuffer buf = ByteBuffer.wrap(bytes);
+         if (buf.getInt(KEYLEN_POS) != key.length)
+            return false;
+         for (int i = 0; i < key.length; i++) {
+            if (bytes[KEY_POS + i] != key[i])
+               return false;
+         }
+         return true;
+      };
+   }
+
+   /**
+    * Marks the entry at the given position as free, after it was removed from the index.
+    * <p/>
+    * Note: Caller must hold the {@code fileLock} in shared mode.
+    */
+   private void free(long position) throws IOException {
+      DataFile file = file(position);
+      long offset = offset(position);
+      byte[] size = new byte[4];
+      file.read(size, 0, size.length, offset);
+      // Invalidate entry on disk (by setting keyLen field to 0)
+      file.write(ByteBuffer.wrap(ZERO_INT), offset + KEYLEN_POS);
+      file.free(ByteBuffer.wrap(size).getInt());
+      if (trace) log.tracef("Deleted entry at %d, %d bytes are now free", offset, file.getFreeBytes());
+   }
+
+   /**
+    * Schedules a compaction if the live entries take less than {@code fragmentationFactor} of the data file.
+    * <p/>
+    * Note: Caller must hold the {@code fileLock} in shared mode.
+    */
+   private void scheduleCompactionIfNeeded() {
+      DataFile file = files[writeGeneration];
+      // There is no other file while compacting
+      if (file == null || files[1 - writeGeneration] != null)
+         return;
+      long freeBytes = file.getFreeBytes();
+      long size = file.getEnd() - MAGIC.length;
+      if (freeBytes < MIN_COMPACTION_FREE_BYTES || size - freeBytes >= size * fragmentationFactor)
+         return;
+      if (compactionScheduled.compareAndSet(false, true)) {
+         try {
+            compactor.execute(() -> {
+               try {
+                  compact();
+               } catch (Throwable t) {
+                  log.debugf(t, "Compaction of %s failed", dataFile);
+               } finally {
+                  compactionScheduled.set(false);
+               }
+            });
+         } catch (RejectedExecutionException e) {
+            // The store is stopping
+            compactionScheduled.set(false);
+         }
+      }
+   }
+
+   /**
+    * Copies the live entries to a new file, which then replaces the data file. Does nothing if an iteration is in
+    * progress, the compaction is then scheduled again by the next removal. The iterators that were not advanced for
+    * {@link #ITERATOR_IDLE_TIMEOUT} are closed first, so that an iterator that was never closed does not prevent the
+    * compaction forever.
+    */
+   private void compact() throws IOException {
+      long stamp = iterationLock.tryWriteLock();
+      if (stamp == 0) {
+         long now = timeService.wallClockTime();
+         openIterators.forEach(iterator -> iterator.expireIfIdle(now));
+         stamp = iterationLock.tryWriteLock();
+         if (stamp == 0)
+            return;
+      }
+      try {
+         int from;
+         int to;
+         fileLock.writeLock().lock();
+         try {
+            from = writeGeneration;
+            to = 1 - from;
+            if (files[from] == null)
+               return;
+            DataFile file = new DataFile(compactionFile);
+            file.truncate(MAGIC);
+            files[to] = file;
+            writeGeneration = to;
+         } finally {
+            fileLock.writeLock().unlock();
+         }
+         if (moveEntries(from, to)) {
+            finishCompaction(from, to);
+         }
+      } finally {
+         iterationLock.unlockWrite(stamp);
+      }
+   }
+
+   /**
+    * Copies the entries still referenced by the index from the file of one generation to the other.
+    *
+    * @return false if the store was stopped before all the entries were copied
+    */
+   private boolean moveEntries(int from, int to) throws IOException {
+      long startTime = 0;
+      if (trace) startTime = timeService.wallClockTime();
+
+      int moved = 0;
+      byte[] header = new byte[KEY_POS];
+      long offset = MAGIC.length;
+      for (; ; ) {
+         if (stopping)
+            return false;
+         fileLock.readLock().lock();
+         try {
+            DataFile source = files[from];
+            DataFile target = files[to];
+            // clear() truncates the source too
+            if (offset + KEY_POS > source.getEnd())
+               break;
+            source.read(header, 0, KEY_POS, offset);
+            ByteBuffer buf = ByteBuffer.wrap(header);
+            int entrySize = buf.getInt();
+            int keyLen = buf.getInt();
+            int dataLen = buf.getInt();
+            int metadataLen = buf.getInt();
+            if (entrySize < KEY_POS + keyLen + dataLen + metadataLen)
+               throw log.errorReadingFileStore(dataFile.getPath(), offset);
+
+            if (keyLen > 0) {
+               byte[] key = new byte[keyLen];
+               source.read(key, 0, keyLen, offset + KEY_POS);
+               int hash = hash(key);
+               long oldPosition = position(from, offset);
+               if (index.contains(hash, oldPosition)) {
+                  // Drop the unused space at the end of the entries written by SingleFileStore
+                  int actualSize = KEY_POS + keyLen + dataLen + metadataLen;
+                  byte[] entry = new byte[actualSize];
+                  source.read(entry, 0, actualSize, offset);
+                  ByteBuffer.wrap(entry).putInt(0, actualSize);
+                  long newOffset = target.allocate(actualSize);
+                  try {
+                     target.write(ByteBuffer.wrap(entry), newOffset);
+                  } finally {
+                     target.commit(newOffset, actualSize);
+                  }
+                  if (index.replace(hash, oldPosition, position(to, newOffset))) {
+                     // Only one file may hold the entry if the compaction is interrupted
+                     source.write(ByteBuffer.wrap(ZERO_INT), offset + KEYLEN_POS);
+                     moved++;
+                  } else {
+                     // Removed or overwritten in the meantime
+                     free(position(to, newOffset));
+                  }
+               }
+            }
+            offset += entrySize;
+         } finally {
+            fileLock.readLock().unlock();
+         }
+      }
+
+      if (trace) {
+         log.tracef("Moved %d entries to %s in %d (ms)", (Object) moved, compactionFile,
+               timeService.wallClockTime() - startTime);
+      }
+      return true;
+   }
+
+   private void finishCompaction(int from, int to) throws IOException {
+      fileLock.writeLock().lock();
+      try {
+         files[from].close();
+         files[from] = null;
+         if (!dataFile.delete() || !compactionFile.renameTo(dataFile))
+            throw new PersistenceException("Cannot replace " + dataFile + " with " + compactionFile);
+         if (trace) log.tracef("Compacted %s, file size is now %d", dataFile, files[to].getEnd());
+      } finally {
+         fileLock.writeLock().unlock();
+      }
+   }
+
+   @Override
+   public void write(MarshalledEntry<? extends K, ? extends V> marshalledEntry) {
+      try {
+         // serialize cache value
+         byte[] key = toArray(marshalledEntry.getKeyBytes());
+         org.infinispan.commons.io.ByteBuffer data = marshalledEntry.getValueBytes();
+         org.infinispan.commons.io.ByteBuffer metadata = marshalledEntry.getMetadataBytes();
+
+         int metadataLength = metadata == null ? 0 : metadata.getLength();
+         int len = KEY_POS + key.length + data.getLength() + metadataLength;
+         long expiryTime = metadata != null ? marshalledEntry.getMetadata().expiryTime() : -1;
+         ByteBuffer buf = ByteBuffer.allocate(len);
+         buf.putInt(len);
+         buf.putInt(key.length);
+         buf.putInt(data.getLength());
+         buf.putInt(metadataLength);
+         buf.putLong(expiryTime);
+         buf.put(key);
+         buf.put(data.getBuf(), data.getOffset(), data.getLength());
+         if (metadata != null)
+            buf.put(metadata.getBuf(), metadata.getOffset(), metadata.getLength());
+         buf.flip();
+
+         fileLock.readLock().lock();
+         try {
+            int generation = writeGeneration;
+            DataFile file = files[generation];
+            long offset = file.allocate(len);
+            try {
+               file.write(buf, offset);
+            } finally {
+               file.commit(offset, len);
+            }
+            if (trace) log.tracef("Wrote entry %s:%d at %d", marshalledEntry.getKey(), len, offset);
+
+            long previous = index.put(hash(key), sameKey(key), position(generation, offset), expiryTime);
+            if (previous != OffHeapKeyIndex.NONE) {
+               free(previous);
+               scheduleCompactionIfNeeded();
+            }
+         } finally {
+            fileLock.readLock().unlock();
+         }
+      } catch (PersistenceException e) {
+         throw e;
+      } catch (Exception e) {
+         throw new PersistenceException(e);
+      }
+   }
+
+   @Override
+   public void clear() {
+      fileLock.writeLock().lock();
+      try {
+         index.clear();
+         clearCount++;
+         for (DataFile file : files) {
+            if (file != null)
+               file.truncate(MAGIC);
+         }
+      } catch (Exception e) {
+         throw new PersistenceException(e);
+      } finally {
+         fileLock.writeLock().unlock();
+      }
+   }
+
+   @Override
+   public boolean delete(Object key) {
+      byte[] keyBytes = marshall(key);
+      fileLock.readLock().lock();
+      try {
+         long position = index.remove(hash(keyBytes), sameKey(keyBytes));
+         if (position == OffHeapKeyIndex.NONE)
+            return false;
+         free(position);
+         scheduleCompactionIfNeeded();
+         return true;
+      } catch (PersistenceException e) {
+         throw e;
+      } catch (Exception e) {
+         throw new PersistenceException(e);
+      } finally {
+         fileLock.readLock().unlock();
+      }
+   }
+
+   /**
+    * Only looks up the index, the data file is read to compare the keys.
+    */
+   @Override
+   public boolean contains(Object key) {
+      byte[] keyBytes = marshall(key);
+      fileLock.readLock().lock();
+      try {
+         return index.get(hash(keyBytes), sameKey(keyBytes), timeService.wallClockTime()) != OffHeapKeyIndex.NONE;
+      } finally {
+         fileLock.readLock().unlock();
+      }
+   }
+
+   @Override
+   public MarshalledEntry<K, V> load(Object key) {
+      byte[] keyBytes = marshall(key);
+      byte[] data;
+      int dataLen;
+      fileLock.readLock().lock();
+      try {
+         long position = index.get(hash(keyBytes), sameKey(keyBytes), timeService.wallClockTime());
+         if (position == OffHeapKeyIndex.NONE)
+            return null;
+
+         DataFile file = file(position);
+         long offset = offset(position);
+         byte[] header = new byte[KEY_POS];
+         file.read(header, 0, KEY_POS, offset);
+         ByteBuffer buf = ByteBuffer.wrap(header);
+         // The key length may have been reset by a concurrent removal
+         dataLen = buf.getInt(8);
+         int metadataLen = buf.getInt(12);
+         data = new byte[dataLen + metadataLen];
+         file.read(data, 0, data.length, offset + KEY_POS + keyBytes.length);
+      } catch (IOException e) {
+         throw new PersistenceException(e);
+      } finally {
+         fileLock.readLock().unlock();
+      }
+
+      ByteBufferFactory factory = ctx.getByteBufferFactory();
+      org.infinispan.commons.io.ByteBuffer keyBb = factory.newByteBuffer(keyBytes, 0, keyBytes.length);
+      org.infinispan.commons.io.ByteBuffer valueBb = factory.newByteBuffer(data, 0, dataLen);
+      org.infinispan.commons.io.ByteBuffer metadataBb = null;
+      if (data.length > dataLen) {
+         metadataBb = factory.newByteBuffer(data, dataLen, data.length - dataLen);
+      }
+      return ctx.getMarshalledEntryFactory().newMarshalledEntry(keyBb, valueBb, metadataBb);
+   }
+
+   @Override
+   public void process(KeyFilter<? super K> filter, final CacheLoaderTask<K, V> task, Executor executor, final boolean fetchValue, final boolean fetchMetadata) {
+      ExecutorAllCompletionService eacs = new ExecutorAllCompletionService(executor);
+      final TaskContextImpl taskContext = new TaskContextImpl();
+      // The file is read sequentially by this thread, the task is invoked in parallel for batches of entries
+      try (CloseableIterator<MarshalledEntry<K, V>> iterator = entryIterator(filter, fetchValue, fetchMetadata)) {
+         List<MarshalledEntry<K, V>> batch = new ArrayList<>(PROCESS_BATCH_SIZE);
+         while (!taskContext.isStopped() && iterator.hasNext()) {
+            batch.add(iterator.next());
+            if (batch.size() == PROCESS_BATCH_SIZE || !iterator.hasNext()) {
+               List<MarshalledEntry<K, V>> entries = batch;
+               batch = new ArrayList<>(PROCESS_BATCH_SIZE);
+               eacs.submit(() -> {
+                  try {
+                     for (MarshalledEntry<K, V> entry : entries) {
+                        if (taskContext.isStopped())
+                           break;
+                        task.processEntry(entry, taskContext);
+                     }
+                     return null;
+                  } catch (Exception e) {
+                     log.errorExecutingParallelStoreTask(e);
+                     throw e;
+                  }
+               });
+            }
+         }
+      }
+      eacs.waitUntilAllCompleted();
+      if (eacs.isExceptionThrown()) {
+         throw new PersistenceException("Execution exception!", eacs.getFirstException());
+      }
+   }
+
+   /**
+    * The entries are read sequentially from the data file as the iterator is consumed. The compaction does not run
+    * until the iterator is closed, or until it was not advanced for {@link #ITERATOR_IDLE_TIMEOUT}, after which it
+    * fails with a {@link PersistenceException}.
+    */
+   @Override
+   public CloseableIterator<MarshalledEntry<K, V>> entryIterator(KeyFilter<? super K> filter, boolean fetchValue,
+                                                                 boolean fetchMetadata) {
+      return new EntryIterator(PersistenceUtil.notNull(filter), fetchValue, fetchMetadata);
+   }
+
+   @Override
+   public void purge(Executor threadPool, final PurgeListener task) {
+      long now = timeService.wallClockTime();
+      List<Long> purged = new ArrayList<>();
+      fileLock.readLock().lock();
+      try {
+         // Collect the positions first, the listener must not run with the index locked
+         index.removeExpired(now, purged::add);
+         for (long position : purged) {
+            Object key = task != null ? readKey(position) : null;
+            free(position);
+            if (task != null) task.entryPurged(key);
+         }
+         if (!purged.isEmpty())
+            scheduleCompactionIfNeeded();
+      } catch (PersistenceException e) {
+         throw e;
+      } catch (Exception e) {
+         throw new PersistenceException(e);
+      } finally {
+         fileLock.readLock().unlock();
+      }
+   }
+
+   private Object readKey(long position) throws IOException, ClassNotFoundException {
+      DataFile file = file(position);
+      long offset = offset(position);
+      byte[] keyLen = new byte[4];
+      file.read(keyLen, 0, keyLen.length, offset + KEYLEN_POS);
+      byte[] key = new byte[ByteBuffer.wrap(keyLen).getInt()];
+      file.read(key, 0, key.length, offset + KEY_POS);
+      return ctx.getMarshaller().objectFromByteBuffer(key);
+   }
+
+   @Override
+   public int size() {
+      return index.size();
+   }
+
+   long getFileSize() {
+      fileLock.readLock().lock();
+      try {
+         return files[writeGeneration].getEnd();
+      } finally {
+         fileLock.readLock().unlock();
+      }
+   }
+
+   public CompactingFileStoreConfiguration getConfiguration() {
+      return configuration;
+   }
+
+   private class EntryIterator implements CloseableIterator<MarshalledEntry<K, V>> {
+      private final KeyFilter<? super K> filter;
+      private final boolean fetchValue;
+      private final boolean fetchMetadata;
+      private final long now;
+      private final long stamp;
+      private final int generation;
+      private final int clears;
+      // Set once the read stamp is released, by close() or because the iterator was idle for too long
+      private final AtomicBoolean released = new AtomicBoolean();
+      private long offset = MAGIC.length;
+      private MarshalledEntry<K, V> next;
+      private boolean closed;
+      private volatile long lastAccess;
+      private volatile boolean expired;
+
+      EntryIterator(KeyFilter<? super K> filter, boolean fetchValue, boolean fetchMetadata) {
+         this.filter = filter;
+         this.fetchValue = fetchValue;
+         this.fetchMetadata = fetchMetadata;
+         this.now = timeService.wallClockTime();
+         // Waits for a running compaction, there is a single data file until the iterator is closed
+         this.stamp = iterationLock.readLock();
+         this.generation = writeGeneration;
+         this.clears = clearCount;
+         this.lastAccess = now;
+         openIterators.add(this);
+      }
+
+      /**
+       * Releases the read stamp if the iterator was not advanced since {@link #ITERATOR_IDLE_TIMEOUT}, the iterator
+       * then fails on its next read.
+       */
+      void expireIfIdle(long now) {
+         if (now - lastAccess >= ITERATOR_IDLE_TIMEOUT) {
+            // Set before releasing the stamp, so the iterator does not read a file the compaction has started with
+            expired = true;
+            if (release())
+               log.debugf("Closed an iterator over %s that was idle for %d ms", dataFile, now - lastAccess);
+         }
+      }
+
+      private boolean release() {
+         if (released.compareAndSet(false, true)) {
+            openIterators.remove(this);
+            iterationLock.unlockRead(stamp);
+            return true;
+         }
+         return false;
+      }
+
+      @Override
+      public boolean hasNext() {
+         try {
+            while (next == null && !closed && readNext()) {
+               // Skip the free, expired and rejected entries
+            }
+         } catch (PersistenceException e) {
+            throw e;
+         } catch (Exception e) {
+            throw new PersistenceException(e);
+         }
+         return next != null;
+      }
+
+      /**
+       * @return false if the end of the file was reached
+       */
+      @SuppressWarnings("unchecked")
+      private boolean readNext() throws IOException, ClassNotFoundException {
+         byte[] header = new byte[KEY_POS];
+         byte[] key;
+         byte[] data = null;
+         int dataLen;
+         fileLock.readLock().lock();
+         try {
+            if (expired)
+               throw new PersistenceException("Iteration over " + dataFile + " was idle for more than " +
+                     ITERATOR_IDLE_TIMEOUT + " ms and was closed to let the compaction run");
+            lastAccess = timeService.wallClockTime();
+            DataFile file = files[generation];
+            // Entries after the committed end may not be completely written yet
+            if (clears != clearCount || file == null || offset + KEY_POS > file.getCommittedEnd())
+               return false;
+            long entryOffset = offset;
+            file.read(header, 0, KEY_POS, entryOffset);
+            ByteBuffer buf = ByteBuffer.wrap(header);
+            int entrySize = buf.getInt();
+            int keyLen = buf.getInt();
+            dataLen = buf.getInt();
+            int metadataLen = buf.getInt();
+            long expiryTime = buf.getLong();
+            if (entrySize < KEY_POS + keyLen + dataLen + metadataLen)
+               throw log.errorReadingFileStore(dataFile.getPath(), entryOffset);
+            offset += entrySize;
+            if (keyLen == 0 || (expiryTime > 0 && expiryTime < now))
+               return true;
+
+            key = new byte[keyLen];
+            file.read(key, 0, keyLen, entryOffset + KEY_POS);
+            // The entry may have been overwritten after its header was read
+            if (!index.contains(hash(key), position(generation, entryOffset)))
+               return true;
+            if (fetchValue || fetchMetadata) {
+               data = new byte[dataLen + (fetchMetadata ? metadataLen : 0)];
+               file.read(data, 0, data.length, entryOffset + KEY_POS + keyLen);
+            }
+         } finally {
+            fileLock.readLock().unlock();
+         }
+
+         if (!filter.accept((K) ctx.getMarshaller().objectFromByteBuffer(key)))
+            return true;
+         ByteBufferFactory factory = ctx.getByteBufferFactory();
+         org.infinispan.commons.io.ByteBuffer keyBb = factory.newByteBuffer(key, 0, key.length);
+         org.infinispan.commons.io.ByteBuffer valueBb = null;
+         org.infinispan.commons.io.ByteBuffer metadataBb = null;
+         if (fetchValue) {
+            valueBb = factory.newByteBuffer(data, 0, dataLen);
+         }
+         if (fetchMetadata && data.length > dataLen) {
+            metadataBb = factory.newByteBuffer(data, dataLen, data.length - dataLen);
+         }
+         next = ctx.getMarshalledEntryFactory().newMarshalledEntry(keyBb, valueBb, metadataBb);
+         return true;
+      }
+
+      @Override
+      public MarshalledEntry<K, V> next() {
+         if (!hasNext())
+            throw new NoSuchElementException();
+         MarshalledEntry<K, V> entry = next;
+         next = null;
+         return entry;
+      }
+
+      @Override
+      public void close() {
+         if (!closed) {
+            closed = true;
+            next = null;
+            release();
+         }
+      }
+   }
+}
@@ -0,0 +1,171 @@
+package org.infinispan.persistence.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A data file of the {@link CompactingFileStore}. Entries are only appended to the file, the space of the removed
+ * entries is tracked so that the store knows when to compact it.
+ * <p/>
+ * Reads go through read-only memory mappings of {@link #REGION_SIZE} bytes, which are created once a region of the
+ * file is completely written. Reads from the tail of the file, or crossing two regions, go through the channel.
+ * <p/>
+ * Concurrent writers may complete their entries out of order, so readers scanning the file must stop at
+ * {@link #getCommittedEnd()}, before which every entry is completely written, and not at {@link #getEnd()}.
+ *
+ * @since 9.2
+ */
+class DataFile {
+   static final int REGION_SIZE = 1 << 26;
+
+   private final FileChannel channel;
+   // Position of the next appended entry
+   private final AtomicLong end = new AtomicLong();
+   // Position before which all the allocated entries are written
+   private volatile long committedEnd;
+   // Entries written while an entry before them is still being written, end position by start position
+   private final HashMap<Long, Long> committedAhead = new HashMap<>();
+   // Bytes used by removed or overwritten entries
+   private final AtomicLong freeBytes = new AtomicLong();
+   private volatile MappedByteBuffer[] regions = new MappedByteBuffer[0];
+
+   DataFile(File file) throws IOException {
+      this.channel = new RandomAccessFile(file, "rw").getChannel();
+   }
+
+   /**
+    * Reserves space for an entry at the end of the file.
+    *
+    * @return the position of the entry
+    */
+   long allocate(int size) {
+      return end.getAndAdd(size);
+   }
+
+   /**
+    * Marks an entry allocated with {@link #allocate(int)} as written. Must be called even if writing the entry failed,
+    * otherwise the entries after it would never be visible to the readers bounded by {@link #getCommittedEnd()}.
+    */
+   synchronized void commit(long position, int size) {
+      long next = position + size;
+      if (position != committedEnd) {
+         committedAhead.put(position, next);
+         return;
+      }
+      Long following;
+      while ((following = committedAhead.remove(next)) != null) {
+         next = following;
+      }
+      committedEnd = next;
+   }
+
+   void write(ByteBuffer buffer, long position) throws IOException {
+      while (buffer.hasRemaining()) {
+         position += channel.write(buffer, position);
+      }
+   }
+
+   /**
+    * Reads {@code length} bytes at the given position, or less if the end of the file is reached.
+    *
+    * @return the number of bytes read
+    */
+   int read(byte[] bytes, int offset, int length, long position) throws IOException {
+      int region = (int) (position / REGION_SIZE);
+      if ((position + length - 1) / REGION_SIZE == region) {
+         MappedByteBuffer mapped = region(region);
+         if (mapped != null) {
+            ByteBuffer buffer = mapped.duplicate();
+            buffer.position((int) (position - (long) region * REGION_SIZE));
+            buffer.get(bytes, offset, length);
+            return length;
+         }
+      }
+      ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, length);
+      while (buffer.hasRemaining()) {
+         if (channel.read(buffer, position + buffer.position() - offset) < 0)
+            break;
+      }
+      return buffer.position() - offset;
+   }
+
+   private MappedByteBuffer region(int region) throws IOException {
+      MappedByteBuffer[] regions = this.regions;
+      if (region < regions.length && regions[region] != null)
+         return regions[region];
+      long regionEnd = (long) (region + 1) * REGION_SIZE;
+      // Mapping past the end of a writable channel would grow the file
+      if (regionEnd > end.get() || regionEnd > channel.size())
+         return null;
+      synchronized (this) {
+         regions = this.regions;
+         if (region >= regions.length) {
+            regions = Arrays.copyOf(regions, region + 1);
+         } else if (regions[region] != null) {
+            return regions[region];
+         } else {
+            regions = regions.clone();
+         }
+         MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, (long) region * REGION_SIZE, REGION_SIZE);
+         regions[region] = mapped;
+         this.regions = regions;
+         return mapped;
+      }
+   }
+
+   /**
+    * Accounts for the space of a removed entry.
+    */
+   void free(long size) {
+      freeBytes.addAndGet(size);
+   }
+
+   long size() throws IOException {
+      return channel.size();
+   }
+
+   long getEnd() {
+      return end.get();
+   }
+
+   long getCommittedEnd() {
+      return committedEnd;
+   }
+
+   /**
+    * Sets the end of the file, which must not be written concurrently.
+    */
+   synchronized void setEnd(long end) {
+      this.end.set(end);
+      committedAhead.clear();
+      committedEnd = end;
+   }
+
+   long getFreeBytes() {
+      return freeBytes.get();
+   }
+
+   /**
+    * Drops all the content of the file, then writes the given header. The caller must make sure there are no concurrent
+    * reads or writes, the regions mapped before are no longer valid.
+    */
+   void truncate(byte[] header) throws IOException {
+      regions = new MappedByteBuffer[0];
+      channel.truncate(0);
+      write(ByteBuffer.wrap(header), 0);
+      setEnd(header.length);
+      freeBytes.set(0);
+   }
+
+   void close() throws IOException {
+      regions = new MappedByteBuffer[0];
+      channel.close();
+   }
+}
@@ -0,0 +1,345 @@
+package org.infinispan.persistence.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.function.LongPredicate;
+
+import org.infinispan.persistence.spi.PersistenceException;
+
+/**
+ * Hash index from the serialized keys of a {@link CompactingFileStore} to the positions of their entries, kept in
+ * direct buffers outside of the Java heap.
+ * <p/>
+ * The index does not hold the keys: a slot only holds the position of the entry, its expiration time and the hash of
+ * the serialized key, {@link #SLOT_SIZE} bytes in total. Lookups compare the hashes first and then ask the caller
+ * whether the entry at a position holds the requested key, which costs one read of the data file for a hit and
+ * usually none for a miss.
+ * <p/>
+ * The slots are split in stripes, each one an open addressing table with its own lock, so that updates of different
+ * stripes do not contend and a stripe grows without rehashing the others.
+ *
+ * @since 9.2
+ */
+class OffHeapKeyIndex {
+   /**
+    * Returned when there is no entry for a key. Positions are never 0, the data file starts with a header.
+    */
+   static final long NONE = 0;
+
+   private static final long REMOVED = -1;
+   private static final int POSITION_POS = 0;
+   private static final int EXPIRY_POS = 8;
+   private static final int HASH_POS = 16;
+   static final int SLOT_SIZE = 8 + 8 + 4;
+   private static final int MAX_CAPACITY = Integer.highestOneBit(Integer.MAX_VALUE / SLOT_SIZE);
+   private static final int INITIAL_CAPACITY = 64;
+
+   private final Stripe[] stripes;
+   private final int stripeShift;
+
+   OffHeapKeyIndex(int stripeCount) {
+      if (Integer.bitCount(stripeCount) != 1)
+         throw new IllegalArgumentException("The number of stripes must be a power of two: " + stripeCount);
+      stripes = new Stripe[stripeCount];
+      for (int i = 0; i < stripeCount; i++) {
+         stripes[i] = new Stripe(INITIAL_CAPACITY);
+      }
+      stripeShift = 32 - Integer.numberOfTrailingZeros(stripeCount);
+   }
+
+   private OffHeapKeyIndex(Stripe[] stripes) {
+      this.stripes = stripes;
+      this.stripeShift = 32 - Integer.numberOfTrailingZeros(stripes.length);
+   }
+
+   private Stripe stripe(int hash) {
+      // The low bits pick the slot within the stripe
+      return stripeShift == 32 ? stripes[0] : stripes[hash >>> stripeShift];
+   }
+
+   /**
+    * @param hash    hash of the serialized key
+    * @param sameKey tells whether the entry at a position holds the key, invoked with the stripe locked
+    * @param now     the current wall clock time, or -1 to return expired entries as well
+    * @return the position of the entry, or {@link #NONE} if the key is missing or has expired
+    */
+   long get(int hash, LongPredicate sameKey, long now) {
+      Stripe stripe = stripe(hash);
+      synchronized (stripe) {
+         int slot = stripe.find(hash, sameKey);
+         if (slot < 0 || isExpired(stripe.expiry(slot), now))
+            return NONE;
+         return stripe.position(slot);
+      }
+   }
+
+   /**
+    * Maps the key to a new position, replacing the previous one.
+    *
+    * @return the previous position of the key, or {@link #NONE}
+    */
+   long put(int hash, LongPredicate sameKey, long position, long expiryTime) {
+      Stripe stripe = stripe(hash);
+      synchronized (stripe) {
+         return stripe.put(hash, sameKey, position, expiryTime);
+      }
+   }
+
+   /**
+    * @return the position of the removed entry, or {@link #NONE}
+    */
+   long remove(int hash, LongPredicate sameKey) {
+      Stripe stripe = stripe(hash);
+      synchronized (stripe) {
+         int slot = stripe.find(hash, sameKey);
+         if (slot < 0)
+            return NONE;
+         long position = stripe.position(slot);
+         stripe.remove(slot);
+         return position;
+      }
+   }
+
+   /**
+    * @return whether the key with the given hash currently has its entry at the given position
+    */
+   boolean contains(int hash, long position) {
+      Stripe stripe = stripe(hash);
+      synchronized (stripe) {
+         return stripe.find(hash, p -> p == position) >= 0;
+      }
+   }
+
+   /**
+    * Moves an entry to a new position, unless it was modified since it was read at the expected position.
+    *
+    * @return true if the entry was moved
+    */
+   boolean replace(int hash, long expected, long position) {
+      Stripe stripe = stripe(hash);
+      synchronized (stripe) {
+         int slot = stripe.find(hash, p -> p == expected);
+         if (slot < 0)
+            return false;
+         stripe.slots.putLong(slot * SLOT_SIZE + POSITION_POS, position);
+         return true;
+      }
+   }
+
+   /**
+    * Removes the entries that have expired, one stripe at a time.
+    *
+    * @param removed invoked with the position of each removed entry, with its stripe locked
+    */
+   void removeExpired(long now, PositionConsumer removed) {
+      for (Stripe stripe : stripes) {
+         synchronized (stripe) {
+            for (int slot = 0; slot < stripe.capacity; slot++) {
+               long position = stripe.position(slot);
+               if (position != NONE && position != REMOVED && isExpired(stripe.expiry(slot), now)) {
+                  stripe.remove(slot);
+                  removed.accept(position);
+               }
+            }
+         }
+      }
+   }
+
+   int size() {
+      int size = 0;
+      for (Stripe stripe : stripes) {
+         synchronized (stripe) {
+            size += stripe.size;
+         }
+      }
+      return size;
+   }
+
+   void clear() {
+      for (Stripe stripe : stripes) {
+         synchronized (stripe) {
+            stripe.reset(INITIAL_CAPACITY);
+         }
+      }
+   }
+
+   /**
+    * Writes the slots to the channel. The caller must make sure the index is not modified concurrently.
+    */
+   void writeTo(FileChannel channel) throws IOException {
+      ByteBuffer header = ByteBuffer.allocate(4);
+      header.putInt(stripes.length).flip();
+      writeFully(channel, header);
+      for (Stripe stripe : stripes) {
+         header = ByteBuffer.allocate(12);
+         header.putInt(stripe.capacity).putInt(stripe.size).putInt(stripe.used).flip();
+         writeFully(channel, header);
+         ByteBuffer slots = stripe.slots.duplicate();
+         slots.clear();
+         writeFully(channel, slots);
+      }
+   }
+
+   /**
+    * Reads an index written by {@link #writeTo(FileChannel)}.
+    */
+   static OffHeapKeyIndex readFrom(FileChannel channel) throws IOException {
+      ByteBuffer header = ByteBuffer.allocate(12);
+      header.limit(4);
+      readFully(channel, header);
+      int stripeCount = header.getInt(0);
+      if (stripeCount <= 0 || Integer.bitCount(stripeCount) != 1)
+         throw new IOException("Invalid number of stripes " + stripeCount);
+      Stripe[] stripes = new Stripe[stripeCount];
+      for (int i = 0; i < stripeCount; i++) {
+         header.clear();
+         readFully(channel, header);
+         int capacity = header.getInt(0);
+         if (capacity <= 0 || capacity > MAX_CAPACITY || Integer.bitCount(capacity) != 1)
+            throw new IOException("Invalid stripe capacity " + capacity);
+         Stripe stripe = new Stripe(capacity);
+         readFully(channel, stripe.slots);
+         stripe.slots.clear();
+         stripe.size = header.getInt(4);
+         stripe.used = header.getInt(8);
+         stripes[i] = stripe;
+      }
+      return new OffHeapKeyIndex(stripes);
+   }
+
+   private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+      while (buffer.hasRemaining()) {
+         channel.write(buffer);
+      }
+   }
+
+   private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+      while (buffer.hasRemaining()) {
+         if (channel.read(buffer) < 0)
+            throw new IOException("Unexpected end of the index file");
+      }
+   }
+
+   private static boolean isExpired(long expiryTime, long now) {
+      return now >= 0 && expiryTime > 0 && expiryTime < now;
+   }
+
+   @FunctionalInterface
+   interface PositionConsumer {
+      void accept(long position);
+   }
+
+   /**
+    * Open addressing table with linear probing. Removed slots are marked and reused by later insertions, the table is
+    * rehashed when the used slots, removed ones included, exceed 3/4 of its capacity.
+    */
+   private static final class Stripe {
+      ByteBuffer slots;
+      int capacity;
+      // Slots holding an entry
+      int size;
+      // Slots holding an entry or marked as removed
+      int used;
+
+      Stripe(int capacity) {
+         reset(capacity);
+      }
+
+      void reset(int capacity) {
+         // Fresh direct buffers are zeroed, i.e. all the slots are empty
+         this.slots = ByteBuffer.allocateDirect(capacity * SLOT_SIZE);
+         this.capacity = capacity;
+         this.size = 0;
+         this.used = 0;
+      }
+
+      long position(int slot) {
+         return slots.getLong(slot * SLOT_SIZE + POSITION_POS);
+      }
+
+      long expiry(int slot) {
+         return slots.getLong(slot * SLOT_SIZE + EXPIRY_POS);
+      }
+
+      int hash(int slot) {
+         return slots.getInt(slot * SLOT_SIZE + HASH_POS);
+      }
+
+      int find(int hash, LongPredicate sameKey) {
+         int mask = capacity - 1;
+         for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            long position = position(slot);
+            if (position == NONE)
+               return -1;
+            if (position != REMOVED && hash(slot) == hash && sameKey.test(position))
+               return slot;
+         }
+      }
+
+      long put(int hash, LongPredicate sameKey, long position, long expiryTime) {
+         int mask = capacity - 1;
+         int free = -1;
+         int slot = hash & mask;
+         for (; ; slot = (slot + 1) & mask) {
+            long current = position(slot);
+            if (current == NONE)
+               break;
+            if (current == REMOVED) {
+               if (free < 0)
+                  free = slot;
+            } else if (hash(slot) == hash && sameKey.test(current)) {
+               write(slot, position, expiryTime, hash);
+               return current;
+            }
+         }
+         if (free >= 0) {
+            write(free, position, expiryTime, hash);
+         } else {
+            write(slot, position, expiryTime, hash);
+            used++;
+         }
+         size++;
+         if (used > capacity - (capacity >>> 2))
+            rehash();
+         return NONE;
+      }
+
+      void remove(int slot) {
+         slots.putLong(slot * SLOT_SIZE + POSITION_POS, REMOVED);
+         size--;
+      }
+
+      private void write(int slot, long position, long expiryTime, int hash) {
+         int offset = slot * SLOT_SIZE;
+         slots.putLong(offset + POSITION_POS, position);
+         slots.putLong(offset + EXPIRY_POS, expiryTime);
+         slots.putInt(offset + HASH_POS, hash);
+      }
+
+      private void rehash() {
+         // Only grow if the table is mostly full of entries, otherwise just drop the removed slots
+         int newCapacity = size > capacity >>> 1 ? capacity << 1 : capacity;
+         if (newCapacity > MAX_CAPACITY)
+            throw new PersistenceException("The file store index cannot hold more than " + size + " entries per stripe");
+         ByteBuffer oldSlots = slots;
+         int oldCapacity = capacity;
+         reset(newCapacity);
+         int mask = newCapacity - 1;
+         for (int oldSlot = 0; oldSlot < oldCapacity; oldSlot++) {
+            int offset = oldSlot * SLOT_SIZE;
+            long position = oldSlots.getLong(offset + POSITION_POS);
+            if (position == NONE || position == REMOVED)
+               continue;
+            int hash = oldSlots.getInt(offset + HASH_POS);
+            int slot = hash & mask;
+            while (position(slot) != NONE) {
+               slot = (slot + 1) & mask;
+            }
+            write(slot, position, oldSlots.getLong(offset + EXPIRY_POS), hash);
+            size++;
+            used++;
+         }
+      }
+   }
+}
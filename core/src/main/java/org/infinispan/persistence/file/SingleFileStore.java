@@ -13,6 +13,7 @@
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.concurrent.Executor;
@@ -22,6 +23,7 @@
 import org.infinispan.commons.configuration.ConfiguredBy;
 import org.infinispan.commons.io.ByteBufferFactory;
 import org.infinispan.commons.persistence.Store;
+import org.infinispan.commons.util.CloseableIterator;
 import org.infinispan.configuration.cache.SingleFileStoreConfiguration;
 import org.infinispan.executors.ExecutorAllCompletionService;
 import org.infinispan.filter.KeyFilter;
@@ -31,6 +33,7 @@
 import org.infinispan.persistence.spi.AdvancedLoadWriteStore;
 import org.infinispan.persistence.spi.InitializationContext;
 import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.persistence.spi.StreamingCacheLoader;
 import org.infinispan.util.KeyValuePair;
 import org.infinispan.util.TimeService;
 import org.infinispan.util.logging.Log;
@@ -66,7 +69,7 @@
  */
 @Store
 @ConfiguredBy(SingleFileStoreConfiguration.class)
-public class SingleFileStore<K, V> implements AdvancedLoadWriteStore<K, V> {
+public class SingleFileStore<K, V> implements AdvancedLoadWriteStore<K, V>, StreamingCacheLoader<K, V> {
    private static final Log log = LogFactory.getLog(SingleFileStore.class);
    private static final boolean trace = log.isTraceEnabled();
 
@@ -487,8 +490,10 @@ private MarshalledEntry<K, V> _load(Object key, boolean loadValue, boolean loadM
       return ctx.getMarshalledEntryFactory().newMarshalledEntry(keyBb, valueBb, metadataBb);
    }
 
-   @Override
-   public void process(KeyFilter<? super K> filter, final CacheLoaderTask<K, V> task, Executor executor, final boolean fetchValue, final boolean fetchMetadata) {
+   /**
+    * @return the keys accepted by the filter, in the order of their entries in the file
+    */
+   private List<K> keysToLoad(KeyFilter<? super K> filter) {
       filter = PersistenceUtil.notNull(filter);
       ArrayList<KeyValuePair<K, FileEntry>> keysToLoad = new ArrayList<>(entries.size());
       synchronized (entries) {
@@ -504,15 +509,23 @@ public void process(KeyFilter<? super K> filter, final CacheLoaderTask<K, V> tas
          return offset1 < offset2 ? -1 : offset1 == offset2 ? 0 : 1;
       });
       // keysToLoad values (i.e. FileEntries) must not be used past this point
+      List<K> keys = new ArrayList<>(keysToLoad.size());
+      for (KeyValuePair<K, FileEntry> entry : keysToLoad) {
+         keys.add(entry.getKey());
+      }
+      return keys;
+   }
 
+   @Override
+   public void process(KeyFilter<? super K> filter, final CacheLoaderTask<K, V> task, Executor executor, final boolean fetchValue, final boolean fetchMetadata) {
+      List<K> keysToLoad = keysToLoad(filter);
 
       ExecutorAllCompletionService eacs = new ExecutorAllCompletionService(executor);
       final TaskContextImpl taskContext = new TaskContextImpl();
-      for (KeyValuePair<K, FileEntry> entry : keysToLoad) {
+      for (K key : keysToLoad) {
          if (taskContext.isStopped())
             break;
 
-         final K key = entry.getKey();
          eacs.submit(() -> {
             try {
                final MarshalledEntry marshalledEntry = _load(key, fetchValue, fetchMetadata);
@@ -532,6 +545,41 @@ public void process(KeyFilter<? super K> filter, final CacheLoaderTask<K, V> tas
       }
    }
 
+   /**
+    * The keys are collected when the iterator is created, the entries are only read from the file as the iterator is
+    * consumed. The entries removed in the meantime are skipped.
+    */
+   @Override
+   public CloseableIterator<MarshalledEntry<K, V>> entryIterator(KeyFilter<? super K> filter, boolean fetchValue,
+                                                                 boolean fetchMetadata) {
+      Iterator<K> keys = keysToLoad(filter).iterator();
+      return new CloseableIterator<MarshalledEntry<K, V>>() {
+         private MarshalledEntry<K, V> next;
+
+         @Override
+         public boolean hasNext() {
+            while (next == null && keys.hasNext()) {
+               next = _load(keys.next(), fetchValue, fetchMetadata);
+            }
+            return next != null;
+         }
+
+         @Override
+         public MarshalledEntry<K, V> next() {
+            if (!hasNext())
+               throw new NoSuchElementException();
+            MarshalledEntry<K, V> entry = next;
+            next = null;
+            return entry;
+         }
+
+         @Override
+         public void close() {
+            // Nothing to release, the entries are read one at a time
+         }
+      };
+   }
+
    /**
     * Manipulates the free entries for optimizing disk space.
     */
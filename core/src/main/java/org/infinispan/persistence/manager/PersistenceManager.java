@@ -3,14 +3,18 @@
 import java.util.Collection;
 import java.util.Set;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import javax.transaction.Transaction;
 
 import org.infinispan.commons.api.Lifecycle;
+import org.infinispan.commons.util.CloseableIterator;
+import org.infinispan.commons.util.IntSet;
 import org.infinispan.configuration.cache.StoreConfiguration;
 import org.infinispan.context.InvocationContext;
 import org.infinispan.filter.KeyFilter;
 import org.infinispan.marshall.core.MarshalledEntry;
+import org.infinispan.persistence.async.AsyncCacheWriter;
 import org.infinispan.persistence.spi.AdvancedCacheLoader;
 import org.infinispan.persistence.spi.PersistenceException;
 import org.infinispan.persistence.support.BatchModification;
@@ -44,6 +48,11 @@ public interface PersistenceManager extends Lifecycle {
 
    Collection<String> getStoresAsString();
 
+   /**
+    * @return the writers of the stores that apply the modifications asynchronously (write-behind)
+    */
+   Collection<AsyncCacheWriter> getAsyncWriters();
+
    /**
     * Removes the expired entries from all the existing storage.
     */
@@ -64,6 +73,28 @@ public interface PersistenceManager extends Lifecycle {
 
    void processOnAllStores(Executor executor, KeyFilter keyFilter, AdvancedCacheLoader.CacheLoaderTask task, boolean fetchValue, boolean fetchMetadata, AccessMode mode);
 
+   /**
+    * Same as {@link #processOnAllStores(Executor, KeyFilter, AdvancedCacheLoader.CacheLoaderTask, boolean, boolean, AccessMode)},
+    * except that only the keys mapping to one of the given <b>segments</b> are processed. The segments are pushed down
+    * to the stores implementing {@link org.infinispan.persistence.spi.SegmentedAdvancedCacheLoader}, the other stores
+    * are iterated in full.
+    */
+   void processOnAllStores(Executor executor, IntSet segments, KeyFilter keyFilter, AdvancedCacheLoader.CacheLoaderTask task, boolean fetchValue, boolean fetchMetadata, AccessMode mode);
+
+   void processOnAllStores(IntSet segments, KeyFilter keyFilter, AdvancedCacheLoader.CacheLoaderTask task, boolean fetchValue, boolean fetchMetadata, AccessMode mode);
+
+   /**
+    * Returns an iterator over the entries of all the stores allowed by the access mode, one store after the other.
+    * The stores implementing {@link org.infinispan.persistence.spi.StreamingCacheLoader} are read as the iterator is
+    * consumed. The other stores are processed by a task submitted to the <b>executor</b>, which blocks while the
+    * entries it read are not consumed. Waiting longer than <b>timeout</b> for such a task to read the next entry fails
+    * the iteration with a {@link org.infinispan.util.concurrent.TimeoutException}. The iterator must be closed when no
+    * longer used.
+    */
+   <K, V> CloseableIterator<MarshalledEntry<K, V>> entryIterator(Executor executor, KeyFilter<? super K> keyFilter,
+                                                                 boolean fetchValue, boolean fetchMetadata, AccessMode mode,
+                                                                 long timeout, TimeUnit unit);
+
    MarshalledEntry loadFromAllStores(Object key, InvocationContext context);
 
    /**
@@ -19,6 +19,7 @@
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Executor;
@@ -39,12 +40,15 @@
 import org.infinispan.commons.io.ByteBufferFactory;
 import org.infinispan.commons.marshall.StreamingMarshaller;
 import org.infinispan.commons.util.ByRef;
+import org.infinispan.commons.util.CloseableIterator;
+import org.infinispan.commons.util.IntSet;
 import org.infinispan.commons.util.Util;
 import org.infinispan.configuration.cache.CacheMode;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.configuration.cache.StoreConfiguration;
 import org.infinispan.context.Flag;
 import org.infinispan.context.InvocationContext;
+import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.eviction.EvictionType;
 import org.infinispan.expiration.ExpirationManager;
 import org.infinispan.factories.annotations.ComponentName;
@@ -76,12 +80,15 @@
 import org.infinispan.persistence.spi.FlagAffectedStore;
 import org.infinispan.persistence.spi.LocalOnlyCacheLoader;
 import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.persistence.spi.SegmentedAdvancedCacheLoader;
+import org.infinispan.persistence.spi.StreamingCacheLoader;
 import org.infinispan.persistence.spi.TransactionalCacheWriter;
 import org.infinispan.persistence.support.AdvancedSingletonCacheWriter;
 import org.infinispan.persistence.support.BatchModification;
 import org.infinispan.persistence.support.DelegatingCacheLoader;
 import org.infinispan.persistence.support.DelegatingCacheWriter;
 import org.infinispan.persistence.support.SingletonCacheWriter;
+import org.infinispan.persistence.util.ProcessEntryIterator;
 import org.infinispan.util.TimeService;
 import org.infinispan.util.concurrent.WithinThreadExecutor;
 import org.infinispan.util.logging.Log;
@@ -91,6 +98,8 @@ public class PersistenceManagerImpl implements PersistenceManager {
 
    private static final Log log = LogFactory.getLog(PersistenceManagerImpl.class);
    private static final boolean trace = log.isTraceEnabled();
+   // Maximum number of entries read ahead from a store that does not implement StreamingCacheLoader
+   private static final int PROCESS_BUFFER_SIZE = 2048;
 
    Configuration configuration;
    AdvancedCache<Object, Object> cache;
@@ -107,6 +116,7 @@ public class PersistenceManagerImpl implements PersistenceManager {
 
    private CacheStoreFactoryRegistry cacheStoreFactoryRegistry;
    private ExpirationManager expirationManager;
+   private KeyPartitioner keyPartitioner;
 
    private AdvancedPurgeListener advancedListener;
 
@@ -126,7 +136,8 @@ public void inject(AdvancedCache<Object, Object> cache, StreamingMarshaller mars
                       Configuration configuration, TransactionManager transactionManager,
                       TimeService timeService, @ComponentName(PERSISTENCE_EXECUTOR) ExecutorService persistenceExecutor,
                       ByteBufferFactory byteBufferFactory, MarshalledEntryFactory marshalledEntryFactory,
-                      CacheStoreFactoryRegistry cacheStoreFactoryRegistry, ExpirationManager expirationManager) {
+                      CacheStoreFactoryRegistry cacheStoreFactoryRegistry, ExpirationManager expirationManager,
+                      KeyPartitioner keyPartitioner) {
       this.cache = cache;
       this.m = marshaller;
       this.configuration = configuration;
@@ -137,6 +148,7 @@ public void inject(AdvancedCache<Object, Object> cache, StreamingMarshaller mars
       this.marshalledEntryFactory = marshalledEntryFactory;
       this.cacheStoreFactoryRegistry = cacheStoreFactoryRegistry;
       this.expirationManager = expirationManager;
+      this.keyPartitioner = keyPartitioner;
 
       this.advancedListener = new AdvancedPurgeListener(expirationManager);
    }
@@ -346,6 +358,23 @@ public <T> Set<T> getStores(Class<T> storeClass) {
       }
    }
 
+   @Override
+   public Collection<AsyncCacheWriter> getAsyncWriters() {
+      storesMutex.readLock().lock();
+      try {
+         List<AsyncCacheWriter> result = new ArrayList<>();
+         Consumer<CacheWriter> getAsyncWriters = writer -> {
+            if (writer instanceof AsyncCacheWriter)
+               result.add((AsyncCacheWriter) writer);
+         };
+         nonTxWriters.forEach(getAsyncWriters);
+         txWriters.forEach(getAsyncWriters);
+         return result;
+      } finally {
+         storesMutex.readLock().unlock();
+      }
+   }
+
    @Override
    public Collection<String> getStoresAsString() {
       storesMutex.readLock().lock();
@@ -381,6 +410,68 @@ public void entryPurged(K key) {
       }
    }
 
+   /**
+    * Iterates over the stores one after the other, only opening the iterator of a store once the previous one was
+    * consumed.
+    */
+   private static class AllStoresEntryIterator<K, V> implements CloseableIterator<MarshalledEntry<K, V>> {
+      private final Iterator<AdvancedCacheLoader<K, V>> loaders;
+      private final Executor executor;
+      private final KeyFilter<? super K> keyFilter;
+      private final boolean fetchValue;
+      private final boolean fetchMetadata;
+      private final long timeout;
+      private final TimeUnit unit;
+      private CloseableIterator<MarshalledEntry<K, V>> current;
+
+      private AllStoresEntryIterator(List<AdvancedCacheLoader<K, V>> loaders, Executor executor,
+                                     KeyFilter<? super K> keyFilter, boolean fetchValue, boolean fetchMetadata,
+                                     long timeout, TimeUnit unit) {
+         this.loaders = loaders.iterator();
+         this.executor = executor;
+         this.keyFilter = keyFilter;
+         this.fetchValue = fetchValue;
+         this.fetchMetadata = fetchMetadata;
+         this.timeout = timeout;
+         this.unit = unit;
+      }
+
+      @Override
+      public boolean hasNext() {
+         while (current == null || !current.hasNext()) {
+            if (current != null) {
+               current.close();
+               current = null;
+            }
+            if (!loaders.hasNext())
+               return false;
+            AdvancedCacheLoader<K, V> loader = loaders.next();
+            if (loader instanceof StreamingCacheLoader) {
+               current = ((StreamingCacheLoader<K, V>) loader).entryIterator(keyFilter, fetchValue, fetchMetadata);
+            } else {
+               current = new ProcessEntryIterator<>(loader, executor, keyFilter, fetchValue, fetchMetadata,
+                                                    PROCESS_BUFFER_SIZE, timeout, unit);
+            }
+         }
+         return true;
+      }
+
+      @Override
+      public MarshalledEntry<K, V> next() {
+         if (!hasNext())
+            throw new NoSuchElementException();
+         return current.next();
+      }
+
+      @Override
+      public void close() {
+         if (current != null) {
+            current.close();
+            current = null;
+         }
+      }
+   }
+
    @Override
    public void purgeExpired() {
       if (!enabled)
@@ -488,6 +579,53 @@ public void processOnAllStores(Executor executor, KeyFilter keyFilter, AdvancedC
       }
    }
 
+   @Override
+   public void processOnAllStores(IntSet segments, KeyFilter keyFilter, AdvancedCacheLoader.CacheLoaderTask task,
+                                  boolean fetchValue, boolean fetchMetadata, AccessMode mode) {
+      processOnAllStores(persistenceExecutor, segments, keyFilter, task, fetchValue, fetchMetadata, mode);
+   }
+
+   @Override
+   public void processOnAllStores(Executor executor, IntSet segments, KeyFilter keyFilter, AdvancedCacheLoader.CacheLoaderTask task,
+                                  boolean fetchValue, boolean fetchMetadata, AccessMode mode) {
+      if (segments.isEmpty())
+         return;
+      KeyFilter segmentFilter = key -> segments.contains(keyPartitioner.getSegment(key)) &&
+            (keyFilter == null || keyFilter.accept(key));
+      storesMutex.readLock().lock();
+      try {
+         for (CacheLoader loader : loaders) {
+            if (!mode.canPerform(configMap.get(loader)))
+               continue;
+            if (loader instanceof SegmentedAdvancedCacheLoader) {
+               ((SegmentedAdvancedCacheLoader) loader).process(segments, keyFilter, task, executor, fetchValue, fetchMetadata);
+            } else if (loader instanceof AdvancedCacheLoader) {
+               ((AdvancedCacheLoader) loader).process(segmentFilter, task, executor, fetchValue, fetchMetadata);
+            }
+         }
+      } finally {
+         storesMutex.readLock().unlock();
+      }
+   }
+
+   @Override
+   public <K, V> CloseableIterator<MarshalledEntry<K, V>> entryIterator(Executor executor, KeyFilter<? super K> keyFilter,
+                                                                        boolean fetchValue, boolean fetchMetadata,
+                                                                        AccessMode mode, long timeout, TimeUnit unit) {
+      List<AdvancedCacheLoader<K, V>> advancedLoaders = new ArrayList<>(loaders.size());
+      storesMutex.readLock().lock();
+      try {
+         for (CacheLoader loader : loaders) {
+            if (mode.canPerform(configMap.get(loader)) && loader instanceof AdvancedCacheLoader) {
+               advancedLoaders.add((AdvancedCacheLoader<K, V>) loader);
+            }
+         }
+      } finally {
+         storesMutex.readLock().unlock();
+      }
+      return new AllStoresEntryIterator<>(advancedLoaders, executor, keyFilter, fetchValue, fetchMetadata, timeout, unit);
+   }
+
    @Override
    public MarshalledEntry loadFromAllStores(Object key, InvocationContext context) {
       storesMutex.readLock().lock();
@@ -644,7 +782,7 @@ private void createLoadersAndWriters() {
          loader = postProcessReader(processedConfiguration, writer, loader);
 
          InitializationContextImpl ctx = new InitializationContextImpl(processedConfiguration, cache, m, timeService, byteBufferFactory,
-                                                                       marshalledEntryFactory);
+                                                                       marshalledEntryFactory, keyPartitioner);
          initializeLoader(processedConfiguration, loader, ctx);
          initializeWriter(processedConfiguration, writer, ctx);
          initializeBareInstance(bareInstance, ctx);
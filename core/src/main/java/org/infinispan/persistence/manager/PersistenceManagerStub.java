@@ -4,13 +4,18 @@
 import java.util.Collections;
 import java.util.Set;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import javax.transaction.Transaction;
 
+import org.infinispan.commons.util.CloseableIterator;
+import org.infinispan.commons.util.Closeables;
+import org.infinispan.commons.util.IntSet;
 import org.infinispan.context.InvocationContext;
 import org.infinispan.factories.annotations.SurvivesRestarts;
 import org.infinispan.filter.KeyFilter;
 import org.infinispan.marshall.core.MarshalledEntry;
+import org.infinispan.persistence.async.AsyncCacheWriter;
 import org.infinispan.persistence.spi.AdvancedCacheLoader;
 import org.infinispan.persistence.spi.PersistenceException;
 import org.infinispan.persistence.support.BatchModification;
@@ -51,6 +56,11 @@ public Collection<String> getStoresAsString() {
       return Collections.EMPTY_SET;
    }
 
+   @Override
+   public Collection<AsyncCacheWriter> getAsyncWriters() {
+      return Collections.emptyList();
+   }
+
    @Override
    public void purgeExpired() {
    }
@@ -80,6 +90,19 @@ public void processOnAllStores(KeyFilter keyFilter, AdvancedCacheLoader.CacheLoa
    public void processOnAllStores(Executor executor, KeyFilter keyFilter, AdvancedCacheLoader.CacheLoaderTask task, boolean fetchValue, boolean fetchMetadata, AccessMode mode) {
    }
 
+   @Override
+   public void processOnAllStores(Executor executor, IntSet segments, KeyFilter keyFilter, AdvancedCacheLoader.CacheLoaderTask task, boolean fetchValue, boolean fetchMetadata, AccessMode mode) {
+   }
+
+   @Override
+   public void processOnAllStores(IntSet segments, KeyFilter keyFilter, AdvancedCacheLoader.CacheLoaderTask task, boolean fetchValue, boolean fetchMetadata, AccessMode mode) {
+   }
+
+   @Override
+   public <K, V> CloseableIterator<MarshalledEntry<K, V>> entryIterator(Executor executor, KeyFilter<? super K> keyFilter, boolean fetchValue, boolean fetchMetadata, AccessMode mode, long timeout, TimeUnit unit) {
+      return Closeables.iterator(Collections.emptyIterator());
+   }
+
    @Override
    public MarshalledEntry loadFromAllStores(Object key, InvocationContext context) {
       return null;
@@ -4,6 +4,7 @@
 import org.infinispan.commons.io.ByteBufferFactory;
 import org.infinispan.commons.marshall.StreamingMarshaller;
 import org.infinispan.configuration.cache.StoreConfiguration;
+import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.marshall.core.MarshalledEntryFactory;
 import org.infinispan.util.TimeService;
 
@@ -35,4 +36,13 @@ public interface InitializationContext {
     * To be used for building {@link org.infinispan.marshall.core.MarshalledEntry} objects.
     */
    MarshalledEntryFactory getMarshalledEntryFactory();
+
+   /**
+    * To be used for mapping the keys to segments, e.g. by a {@link SegmentedAdvancedCacheLoader}.
+    *
+    * @return the key partitioner of the cache, or null if not available
+    */
+   default KeyPartitioner getKeyPartitioner() {
+      return null;
+   }
 }
@@ -0,0 +1,38 @@
+package org.infinispan.persistence.spi;
+
+import java.util.concurrent.Executor;
+
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.filter.KeyFilter;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * An {@link AdvancedCacheLoader} that can iterate over the entries of some segments only, without reading the entries
+ * of the other segments. This is meant for stores whose storage layout is keyed by segment, e.g. a table or a file per
+ * segment, so that state transfer or a stream over a few segments does not scan the whole store.
+ * <p>
+ * The segment of a key is the one returned by the {@link InitializationContext#getKeyPartitioner() key partitioner}
+ * of the cache. Stores that do not implement this interface are still iterated in full, with the segment check applied
+ * to every key.
+ *
+ * @since 9.2
+ */
+@ThreadSafe
+public interface SegmentedAdvancedCacheLoader<K, V> extends AdvancedCacheLoader<K, V> {
+
+   /**
+    * Same as {@link #process(KeyFilter, CacheLoaderTask, Executor, boolean, boolean)}, except that only the entries
+    * whose keys map to one of the given <b>segments</b> are passed to the task.
+    *
+    * @param segments      the segments to iterate over
+    * @param filter        to validate which entries should be feed into the task. Might be null.
+    * @param task          callback to be invoked in parallel for each stored entry that passes the filter check
+    * @param executor      an external thread pool to be used for parallel iteration
+    * @param fetchValue    whether or not to fetch the value from the persistent store
+    * @param fetchMetadata whether or not to fetch the metadata from the persistent store
+    * @throws PersistenceException in case of an error, e.g. communicating with the external storage
+    */
+   void process(IntSet segments, KeyFilter<? super K> filter, CacheLoaderTask<K, V> task, Executor executor,
+                boolean fetchValue, boolean fetchMetadata);
+}
@@ -0,0 +1,35 @@
+package org.infinispan.persistence.spi;
+
+import org.infinispan.commons.util.CloseableIterator;
+import org.infinispan.filter.KeyFilter;
+import org.infinispan.marshall.core.MarshalledEntry;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * An {@link AdvancedCacheLoader} that can also hand out its entries one at a time, as the caller asks for them.
+ * <p>
+ * Unlike {@link #process(KeyFilter, CacheLoaderTask, java.util.concurrent.Executor, boolean, boolean)}, which pushes
+ * all the entries to a task as fast as the store can read them, the entries are only read from the storage when the
+ * caller consumes the iterator, from the caller's thread. Iterating over a store larger than the memory then does not
+ * need any buffering between the store and the caller.
+ *
+ * @since 9.2
+ */
+@ThreadSafe
+public interface StreamingCacheLoader<K, V> extends AdvancedCacheLoader<K, V> {
+
+   /**
+    * Returns an iterator over the entries in the storage. Expired entries are skipped, like with {@link
+    * #process(KeyFilter, CacheLoaderTask, java.util.concurrent.Executor, boolean, boolean)}. The iterator must be
+    * closed once it is no longer used, even if it was not consumed entirely. It does not have to reflect the
+    * modifications done while it is open.
+    *
+    * @param filter        to validate which entries should be returned. Might be null.
+    * @param fetchValue    whether or not to fetch the value from the persistent store
+    * @param fetchMetadata whether or not to fetch the metadata from the persistent store
+    * @throws PersistenceException in case of an error, e.g. communicating with the external storage
+    */
+   CloseableIterator<MarshalledEntry<K, V>> entryIterator(KeyFilter<? super K> filter, boolean fetchValue,
+                                                          boolean fetchMetadata);
+}
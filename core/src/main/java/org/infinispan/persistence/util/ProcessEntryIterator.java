@@ -0,0 +1,127 @@
+package org.infinispan.persistence.util;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.CacheException;
+import org.infinispan.commons.util.CloseableIterator;
+import org.infinispan.filter.KeyFilter;
+import org.infinispan.marshall.core.MarshalledEntry;
+import org.infinispan.persistence.spi.AdvancedCacheLoader;
+import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.util.concurrent.TimeoutException;
+import org.infinispan.util.concurrent.WithinThreadExecutor;
+
+/**
+ * Iterator over the entries of an {@link AdvancedCacheLoader} that can only push its entries through {@link
+ * AdvancedCacheLoader#process(KeyFilter, AdvancedCacheLoader.CacheLoaderTask, Executor, boolean, boolean)}.
+ * <p>
+ * The store is processed by a single task submitted to the given executor on the first use of the iterator. The task
+ * blocks whenever the buffer holds <b>bufferSize</b> entries that were not consumed yet, and is stopped when the
+ * iterator is closed. Waiting longer than <b>timeout</b> for the task to read the next entry fails the iteration with a
+ * {@link TimeoutException}.
+ *
+ * @since 9.2
+ */
+public class ProcessEntryIterator<K, V> implements CloseableIterator<MarshalledEntry<K, V>> {
+   private static final Object END = new Object();
+
+   private final AdvancedCacheLoader<K, V> loader;
+   private final Executor executor;
+   private final KeyFilter<? super K> filter;
+   private final boolean fetchValue;
+   private final boolean fetchMetadata;
+   private final BlockingQueue<Object> queue;
+   private final long timeout;
+   private final TimeUnit unit;
+
+   private volatile boolean closed;
+   private volatile Throwable error;
+   private boolean started;
+   private Object next;
+
+   public ProcessEntryIterator(AdvancedCacheLoader<K, V> loader, Executor executor, KeyFilter<? super K> filter,
+                               boolean fetchValue, boolean fetchMetadata, int bufferSize, long timeout,
+                               TimeUnit unit) {
+      this.loader = loader;
+      this.executor = executor;
+      this.filter = filter;
+      this.fetchValue = fetchValue;
+      this.fetchMetadata = fetchMetadata;
+      this.queue = new ArrayBlockingQueue<>(bufferSize);
+      this.timeout = timeout;
+      this.unit = unit;
+   }
+
+   @Override
+   public boolean hasNext() {
+      if (next == null) {
+         if (!started) {
+            started = true;
+            executor.execute(this::processLoader);
+         }
+         try {
+            next = queue.poll(timeout, unit);
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CacheException(e);
+         }
+         if (next == null) {
+            close();
+            throw new TimeoutException("Couldn't retrieve an entry from store in allotted timeout: " + timeout +
+                  " unit: " + unit);
+         }
+      }
+      if (next == END) {
+         if (error != null)
+            throw new PersistenceException(error);
+         return false;
+      }
+      return true;
+   }
+
+   @SuppressWarnings("unchecked")
+   @Override
+   public MarshalledEntry<K, V> next() {
+      if (!hasNext())
+         throw new NoSuchElementException();
+      Object entry = next;
+      next = null;
+      return (MarshalledEntry<K, V>) entry;
+   }
+
+   @Override
+   public void close() {
+      closed = true;
+      // Unblock the task if it is waiting for space in the buffer
+      queue.clear();
+   }
+
+   private void processLoader() {
+      try {
+         loader.process(filter, (marshalledEntry, taskContext) -> {
+            if (!offer(marshalledEntry))
+               taskContext.stop();
+         }, new WithinThreadExecutor(), fetchValue, fetchMetadata);
+      } catch (Throwable t) {
+         error = t;
+      } finally {
+         try {
+            offer(END);
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+         }
+      }
+   }
+
+   private boolean offer(Object element) throws InterruptedException {
+      while (!closed) {
+         if (queue.offer(element, 100, TimeUnit.MILLISECONDS))
+            return true;
+      }
+      return false;
+   }
+}
@@ -0,0 +1,220 @@
+package org.infinispan.remoting.transport.jgroups;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.io.ByteBuffer;
+import org.infinispan.remoting.inboundhandler.DeliverOrder;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+import org.jgroups.Address;
+
+/**
+ * Coalesces the marshalled commands sent to the same node without expecting a response into a single message.
+ * <p>
+ * A batch is sent when it reaches {@code maxBytes}, or {@code windowNanos} after its first command was added. The
+ * commands keep their order, and {@link #flush(Address)} must be invoked before sending any other message to the same
+ * node, so that a command sent later by the same thread never overtakes a batched one.
+ * <p>
+ * The batch is encoded as a sequence of {@code [deliver order][length][marshalled command]} entries, decoded by {@link
+ * #forEachCommand(byte[], int, int, CommandConsumer)}.
+ *
+ * @since 9.2
+ */
+final class CommandBatcher {
+   private static final Log log = LogFactory.getLog(CommandBatcher.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   // The deliver order and the length of the command
+   private static final int ENTRY_HEADER_SIZE = 5;
+   private static final int INITIAL_BATCH_SIZE = 1024;
+   private static final DeliverOrder[] DELIVER_ORDERS = DeliverOrder.values();
+
+   interface BatchSender {
+      /**
+       * Sends the batch, which is never modified afterwards.
+       *
+       * @param ordered whether a command of the batch was sent with {@link DeliverOrder#PER_SENDER}
+       */
+      void send(Address target, byte[] buffer, int length, boolean ordered);
+   }
+
+   interface CommandConsumer {
+      void accept(DeliverOrder deliverOrder, byte[] buffer, int offset, int length);
+   }
+
+   private final ConcurrentMap<Address, Batch> batches = new ConcurrentHashMap<>();
+   private final long windowNanos;
+   private final int maxBytes;
+   private final BatchSender sender;
+   private final ScheduledExecutorService flushExecutor;
+
+   CommandBatcher(long windowNanos, int maxBytes, BatchSender sender) {
+      this.windowNanos = windowNanos;
+      this.maxBytes = maxBytes;
+      this.sender = sender;
+      ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+         Thread thread = new Thread(r, "rpc-batch-flush");
+         thread.setDaemon(true);
+         return thread;
+      });
+      executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+      this.flushExecutor = executor;
+   }
+
+   /**
+    * Adds a marshalled command to the batch of the target.
+    *
+    * @return {@code false} if the command is too large to be batched, after sending the current batch of the target
+    */
+   boolean add(Address target, DeliverOrder deliverOrder, ByteBuffer command) {
+      int entrySize = ENTRY_HEADER_SIZE + command.getLength();
+      Batch batch = batches.computeIfAbsent(target, Batch::new);
+      synchronized (batch) {
+         if (entrySize > maxBytes) {
+            batch.send();
+            return false;
+         }
+         if (batch.size + entrySize > maxBytes) {
+            batch.send();
+         }
+         batch.append(deliverOrder, command);
+         if (batch.size >= maxBytes) {
+            batch.send();
+         } else if (!batch.flushScheduled) {
+            batch.flushScheduled = true;
+            flushExecutor.schedule(() -> flushScheduled(batch), windowNanos, TimeUnit.NANOSECONDS);
+         }
+      }
+      return true;
+   }
+
+   /**
+    * Sends the pending commands of the target, if any.
+    */
+   void flush(Address target) {
+      Batch batch = batches.get(target);
+      if (batch != null) {
+         synchronized (batch) {
+            batch.send();
+         }
+      }
+   }
+
+   void flushAll() {
+      batches.keySet().forEach(this::flush);
+   }
+
+   /**
+    * Discards the pending commands of the nodes that are no longer members, as they could never be delivered.
+    */
+   void retainTargets(Collection<Address> members) {
+      for (Iterator<Batch> it = batches.values().iterator(); it.hasNext(); ) {
+         Batch batch = it.next();
+         if (!members.contains(batch.target)) {
+            it.remove();
+            synchronized (batch) {
+               if (trace && batch.size > 0)
+                  log.tracef("Discarding the batch of %d bytes to %s, which left the cluster", batch.size, batch.target);
+               batch.discard();
+            }
+         }
+      }
+   }
+
+   void stop() {
+      try {
+         batches.values().forEach(this::flushQuietly);
+      } finally {
+         flushExecutor.shutdownNow();
+         batches.clear();
+      }
+   }
+
+   private void flushScheduled(Batch batch) {
+      synchronized (batch) {
+         batch.flushScheduled = false;
+      }
+      flushQuietly(batch);
+   }
+
+   private void flushQuietly(Batch batch) {
+      try {
+         synchronized (batch) {
+            batch.send();
+         }
+      } catch (Throwable t) {
+         // Nothing waits for these commands, so the failure can only be logged
+         log.failedToSendBatch(batch.target, t);
+      }
+   }
+
+   static void forEachCommand(byte[] buffer, int offset, int length, CommandConsumer consumer) {
+      int pos = offset;
+      int end = offset + length;
+      while (pos < end) {
+         DeliverOrder deliverOrder = DELIVER_ORDERS[buffer[pos]];
+         int commandLength = (buffer[pos + 1] & 0xFF) << 24 | (buffer[pos + 2] & 0xFF) << 16 |
+               (buffer[pos + 3] & 0xFF) << 8 | (buffer[pos + 4] & 0xFF);
+         pos += ENTRY_HEADER_SIZE;
+         consumer.accept(deliverOrder, buffer, pos, commandLength);
+         pos += commandLength;
+      }
+   }
+
+   private final class Batch {
+      final Address target;
+      byte[] buffer;
+      int size;
+      boolean ordered;
+      boolean flushScheduled;
+
+      Batch(Address target) {
+         this.target = target;
+      }
+
+      void append(DeliverOrder deliverOrder, ByteBuffer command) {
+         int length = command.getLength();
+         int newSize = size + ENTRY_HEADER_SIZE + length;
+         if (buffer == null) {
+            buffer = new byte[Math.min(maxBytes, Math.max(INITIAL_BATCH_SIZE, newSize))];
+         } else if (newSize > buffer.length) {
+            byte[] newBuffer = new byte[Math.min(maxBytes, Math.max(buffer.length * 2, newSize))];
+            System.arraycopy(buffer, 0, newBuffer, 0, size);
+            buffer = newBuffer;
+         }
+         buffer[size] = (byte) deliverOrder.ordinal();
+         buffer[size + 1] = (byte) (length >>> 24);
+         buffer[size + 2] = (byte) (length >>> 16);
+         buffer[size + 3] = (byte) (length >>> 8);
+         buffer[size + 4] = (byte) length;
+         System.arraycopy(command.getBuf(), command.getOffset(), buffer, size + ENTRY_HEADER_SIZE, length);
+         size = newSize;
+         ordered |= deliverOrder == DeliverOrder.PER_SENDER;
+      }
+
+      void discard() {
+         buffer = null;
+         size = 0;
+         ordered = false;
+      }
+
+      void send() {
+         if (size == 0)
+            return;
+         byte[] sentBuffer = buffer;
+         int sentSize = size;
+         boolean sentOrdered = ordered;
+         // JGroups keeps the buffer until the message is no longer needed for retransmission
+         buffer = null;
+         size = 0;
+         ordered = false;
+         sender.send(target, sentBuffer, sentSize, sentOrdered);
+      }
+   }
+}
@@ -25,6 +25,7 @@
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -54,6 +55,11 @@
 import org.infinispan.factories.annotations.ComponentName;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.jmx.JmxUtil;
+import org.infinispan.jmx.annotations.DisplayType;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.ManagedOperation;
+import org.infinispan.jmx.annotations.MeasurementType;
 import org.infinispan.notifications.cachemanagerlistener.CacheManagerNotifier;
 import org.infinispan.remoting.inboundhandler.DeliverOrder;
 import org.infinispan.remoting.inboundhandler.InboundInvocationHandler;
@@ -110,6 +116,16 @@
  * <li><tt>channelLookup</tt> - Fully qualified class name of a
  * {@link JGroupsChannelLookup} instance</li>
  * </ul>
+ * The commands sent to explicit targets without waiting for a response, like the asynchronous writes of distributed
+ * caches and the backup writes, can be coalesced in a single message per target node. Broadcasts, including the
+ * asynchronous replication of replicated caches, are never batched. Batching is configured with the following
+ * properties:
+ * <ul>
+ * <li><tt>rpcBatchWindow</tt> - Maximum time, in microseconds, a command waits for other commands to the same node.
+ * Batching is disabled when not set or 0.</li>
+ * <li><tt>rpcBatchMaxBytes</tt> - Size of the marshalled commands after which a batch is sent immediately,
+ * 60000 by default.</li>
+ * </ul>
  * These are normally passed in as Properties in
  * {@link TransportConfigurationBuilder#withProperties(Properties)} or
  * in the Infinispan XML configuration file.
@@ -118,14 +134,19 @@
  * @author Galder Zamarreño
  * @since 4.0
  */
+@MBean(objectName = "Transport", description = "Sends the commands and responses to the other nodes of the cluster")
 public class JGroupsTransport implements Transport {
    public static final String CONFIGURATION_STRING = "configurationString";
    public static final String CONFIGURATION_XML = "configurationXml";
    public static final String CONFIGURATION_FILE = "configurationFile";
    public static final String CHANNEL_LOOKUP = "channelLookup";
+   public static final String RPC_BATCH_WINDOW = "rpcBatchWindow";
+   public static final String RPC_BATCH_MAX_BYTES = "rpcBatchMaxBytes";
    public static final short REPLY_FLAGS =
          (short) (Message.Flag.NO_FC.value() | Message.Flag.OOB.value() | Message.Flag.NO_TOTAL_ORDER.value());
    protected static final String DEFAULT_JGROUPS_CONFIGURATION_FILE = "default-configs/default-jgroups-udp.xml";
+   // Fits in a single fragment with the default FRAG2 configuration
+   private static final int DEFAULT_RPC_BATCH_MAX_BYTES = 60000;
    private static final Log log = LogFactory.getLog(JGroupsTransport.class);
    private static final boolean trace = log.isTraceEnabled();
    private static final CompletableFuture<Map<Address, Response>> EMPTY_RESPONSES_FUTURE =
@@ -139,6 +160,7 @@ public class JGroupsTransport implements Transport {
    private static final byte REQUEST = 0;
    private static final byte RESPONSE = 1;
    private static final byte SINGLE_MESSAGE = 2;
+   static final byte BATCH = 3;
 
    private final Lock viewUpdateLock = new ReentrantLock();
    private final Condition viewUpdateCondition = viewUpdateLock.newCondition();
@@ -163,6 +185,9 @@ public class JGroupsTransport implements Transport {
    private volatile Set<String>  sitesView = Collections.emptySet();
    private CompletableFuture<Void> nextViewFuture = new CompletableFuture<>();
    private RequestRepository requests;
+   private CommandBatcher batcher;
+   private final LongAdder marshalledMessages = new LongAdder();
+   private final LongAdder marshalledBytes = new LongAdder();
 
    // ------------------------------------------------------------------------------------------------------------------
    // Lifecycle and setup stuff
@@ -424,6 +449,12 @@ public boolean isMulticastCapable() {
    public void start() {
       props = TypedProperties.toTypedProperties(configuration.transport().properties());
       requests = new RequestRepository();
+      long batchWindow = props.getLongProperty(RPC_BATCH_WINDOW, 0);
+      if (batchWindow > 0) {
+         batcher = new CommandBatcher(TimeUnit.MICROSECONDS.toNanos(batchWindow),
+                                      props.getIntProperty(RPC_BATCH_MAX_BYTES, DEFAULT_RPC_BATCH_MAX_BYTES),
+                                      this::sendBatch);
+      }
 
       if (log.isInfoEnabled())
          log.startingJGroupsChannel(configuration.transport().clusterName());
@@ -710,6 +741,11 @@ protected void receiveClusterView(View newView) {
       // We don't want to block view handling, so we unblock the commands on a separate thread.
       remoteExecutor.execute(() -> requests.forEach(request -> request.onNewView(clusterView.getMembersSet())));
 
+      CommandBatcher batcher = this.batcher;
+      if (batcher != null) {
+         batcher.retainTargets(newView.getMembers());
+      }
+
       JGroupsAddressCache.pruneAddressCache();
    }
 
@@ -721,6 +757,10 @@ private static List<Address> fromJGroupsAddressList(List<org.jgroups.Address> li
 
    @Override
    public void stop() {
+      if (batcher != null) {
+         batcher.stop();
+         batcher = null;
+      }
       if (channel != null) {
          channel.getProtocolStack().getTransport().unregisterProbeHandler(probeHandler);
       }
@@ -956,6 +996,17 @@ private void addRequest(AbstractRequest<?> request) {
 
    void sendCommand(Address target, ReplicableCommand command, long requestId, DeliverOrder deliverOrder,
                     boolean rsvp, boolean noRelay) {
+      CommandBatcher batcher = this.batcher;
+      if (batcher != null) {
+         if (isBatchable(requestId, deliverOrder, rsvp, noRelay)) {
+            if (trace)
+               logCommand(command, requestId, target.toString());
+            if (batcher.add(toJGroupsAddress(target), deliverOrder, marshallBatchedCommand(command)))
+               return;
+         } else {
+            batcher.flush(toJGroupsAddress(target));
+         }
+      }
       Message message = new Message(toJGroupsAddress(target));
       marshallRequest(message, command, requestId);
       setMessageFlags(message, deliverOrder, rsvp, noRelay);
@@ -965,6 +1016,32 @@ void sendCommand(Address target, ReplicableCommand command, long requestId, Deli
       send(message);
    }
 
+   private static boolean isBatchable(long requestId, DeliverOrder deliverOrder, boolean rsvp, boolean noRelay) {
+      return requestId == Request.NO_REQUEST_ID && deliverOrder != DeliverOrder.TOTAL && !rsvp && noRelay;
+   }
+
+   private ByteBuffer marshallBatchedCommand(ReplicableCommand command) {
+      try {
+         ByteBuffer bytes = marshaller.objectToBuffer(command);
+         recordMarshalling(bytes);
+         return bytes;
+      } catch (RuntimeException e) {
+         throw e;
+      } catch (Exception e) {
+         throw new RuntimeException("Failure to marshal argument(s)", e);
+      }
+   }
+
+   private void sendBatch(org.jgroups.Address target, byte[] buffer, int length, boolean ordered) {
+      Message message = new Message(target);
+      message.setBuffer(buffer, 0, length);
+      message.putHeader(HEADER_ID, new RequestCorrelator.Header(BATCH, Request.NO_REQUEST_ID, CORRELATOR_ID));
+      setMessageFlags(message, ordered ? DeliverOrder.PER_SENDER : DeliverOrder.NONE, false, true);
+      if (trace)
+         log.tracef("%s sending batch of %d bytes to %s", address, length, target);
+      send(message);
+   }
+
    private static boolean isRsvpCommand(ReplicableCommand command) {
       return command instanceof FlagAffectedCommand &&
             ((FlagAffectedCommand) command).hasAnyFlag(FlagBitSets.GUARANTEED_DELIVERY);
@@ -977,6 +1054,7 @@ private static org.jgroups.Address toJGroupsAddress(Address address) {
    private void marshallRequest(Message message, ReplicableCommand command, long requestId) {
       try {
          ByteBuffer bytes = marshaller.objectToBuffer(command);
+         recordMarshalling(bytes);
          message.setBuffer(bytes.getBuf(), bytes.getOffset(), bytes.getLength());
          addRequestHeader(message, requestId);
       } catch (RuntimeException e) {
@@ -986,6 +1064,28 @@ private void marshallRequest(Message message, ReplicableCommand command, long re
       }
    }
 
+   private void recordMarshalling(ByteBuffer bytes) {
+      marshalledMessages.increment();
+      marshalledBytes.add(bytes.getLength());
+   }
+
+   @ManagedAttribute(description = "Number of commands and responses marshalled by this node", displayName = "Number of marshalled messages", measurementType = MeasurementType.TRENDSUP, displayType = DisplayType.SUMMARY)
+   public long getMarshalledMessages() {
+      return marshalledMessages.sum();
+   }
+
+   @ManagedAttribute(description = "Average size in bytes of a marshalled command or response", displayName = "Average marshalled message size", displayType = DisplayType.SUMMARY)
+   public long getAverageMarshalledSize() {
+      long messages = marshalledMessages.sum();
+      return messages == 0 ? 0 : marshalledBytes.sum() / messages;
+   }
+
+   @ManagedOperation(description = "Resets statistics gathered by this component", displayName = "Reset statistics")
+   public void resetStatistics() {
+      marshalledMessages.reset();
+      marshalledBytes.reset();
+   }
+
    private static void setMessageFlags(Message message, DeliverOrder deliverOrder, boolean rsvp, boolean noRelay) {
       if (noRelay) {
          message.setFlag(Message.Flag.NO_RELAY.value());
@@ -1122,6 +1222,10 @@ public void sendToAll(ReplicableCommand command, DeliverOrder deliverOrder)
     * Doesn't send the command to itself unless {@code deliverOrder == TOTAL}.
     */
    private void sendCommandToAll(ReplicableCommand command, long requestId, DeliverOrder deliverOrder, boolean rsvp) {
+      CommandBatcher batcher = this.batcher;
+      if (batcher != null) {
+         batcher.flushAll();
+      }
       Message message = new Message();
       marshallRequest(message, command, requestId);
       setMessageFlags(message, deliverOrder, rsvp, true);
@@ -1169,6 +1273,27 @@ private void siteUnreachable(String site) {
    private void sendCommand(Collection<Address> targets, ReplicableCommand command, long requestId,
                             DeliverOrder deliverOrder, boolean rsvp) {
       Objects.requireNonNull(targets);
+      CommandBatcher batcher = this.batcher;
+      if (batcher != null && deliverOrder != DeliverOrder.TOTAL) {
+         if (isBatchable(requestId, deliverOrder, rsvp, true)) {
+            if (trace)
+               logCommand(command, requestId, targets.toString());
+            ByteBuffer bytes = marshallBatchedCommand(command);
+            boolean batched = true;
+            for (Address target : targets) {
+               if (!target.equals(getAddress())) {
+                  batched &= batcher.add(toJGroupsAddress(target), deliverOrder, bytes);
+               }
+            }
+            if (batched)
+               return;
+            // Too large to be batched, but the batches of the targets have been sent already
+         } else {
+            targets.forEach(target -> batcher.flush(toJGroupsAddress(target)));
+         }
+      } else if (batcher != null) {
+         batcher.flushAll();
+      }
       Message message = new Message();
       marshallRequest(message, command, requestId);
       setMessageFlags(message, deliverOrder, rsvp, true);
@@ -1237,6 +1362,10 @@ private void processMessage(Message message) {
          case RESPONSE:
             processResponse(src, buffer, offset, length, requestId);
             break;
+         case BATCH:
+            CommandBatcher.forEachCommand(buffer, offset, length, (deliverOrder, b, o, l) ->
+                  processRequest(src, encodeDeliverMode(deliverOrder), b, o, l, Request.NO_REQUEST_ID));
+            break;
          default:
             log.invalidMessageType(type, src);
       }
@@ -1267,6 +1396,7 @@ private void sendResponse(org.jgroups.Address target, Response response, long re
       }
 
       try {
+         recordMarshalling(bytes);
          Message message = new Message(target).setFlag(REPLY_FLAGS);
          message.setBuffer(bytes.getBuf(), bytes.getOffset(), bytes.getLength());
          RequestCorrelator.Header header = new RequestCorrelator.Header(RESPONSE, requestId,
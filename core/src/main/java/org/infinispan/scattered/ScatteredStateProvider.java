@@ -1,9 +1,9 @@
 package org.infinispan.scattered;
 
+import org.infinispan.commons.util.IntSet;
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.statetransfer.StateProvider;
 
-import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -11,7 +11,7 @@
  */
 public interface ScatteredStateProvider extends StateProvider {
 
-   void startKeysTransfer(Set<Integer> segments, Address origin);
+   void startKeysTransfer(IntSet segments, Address origin);
 
    /**
     * Confirm that this node has received cache topology with given topologyId and that it has
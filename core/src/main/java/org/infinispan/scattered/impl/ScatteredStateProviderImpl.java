@@ -1,8 +1,11 @@
 package org.infinispan.scattered.impl;
 
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.IntSets;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.container.entries.RemoteMetadata;
 import org.infinispan.container.versioning.SimpleClusteredVersion;
+import org.infinispan.distribution.ch.ConsistentHash;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.metadata.InternalMetadata;
 import org.infinispan.metadata.Metadata;
@@ -17,7 +20,6 @@
 import org.infinispan.topology.CacheTopology;
 import org.infinispan.util.concurrent.CompletableFutures;
 
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -64,8 +66,10 @@ private CompletableFuture<Void> replicateAndInvalidate(CacheTopology cacheTopolo
          otherMembers.remove(localAddress);
          otherMembers.remove(nextMember);
 
-         Set<Integer> oldSegments = cacheTopology.getCurrentCH().getMembers().contains(localAddress) ?
-               new HashSet<>(cacheTopology.getCurrentCH().getSegmentsForOwner(localAddress)) : Collections.emptySet();
+         ConsistentHash currentCH = cacheTopology.getCurrentCH();
+         IntSet oldSegments = currentCH.getMembers().contains(localAddress) ?
+               IntSets.mutableCopyFrom(currentCH.getSegmentsForOwner(localAddress)) :
+               IntSets.mutableEmptySet(currentCH.getNumSegments());
          oldSegments.retainAll(cacheTopology.getPendingCH().getSegmentsForOwner(localAddress));
          log.trace("Segments to replicate and invalidate: " + oldSegments);
          if (oldSegments.isEmpty()) {
@@ -153,7 +157,7 @@ private Address getNextMember(CacheTopology cacheTopology) {
    }
 
    @Override
-   public void startKeysTransfer(Set<Integer> segments, Address origin) {
+   public void startKeysTransfer(IntSet segments, Address origin) {
       CacheTopology cacheTopology = stateConsumer.getCacheTopology();
       Address localAddress = rpcManager.getAddress();
       OutboundTransferTask outboundTransferTask = new OutboundTransferTask(origin, segments, chunkSize,
@@ -835,18 +835,54 @@ public CompletableFuture<V> putAsync(K key, V value, Metadata metadata) {
       return delegate.putAsync(key, value, metadata);
    }
 
+   @Override
+   public CompletableFuture<V> putIfAbsentAsync(K key, V value, Metadata metadata) {
+      authzManager.checkPermission(subject, AuthorizationPermission.WRITE);
+      return delegate.putIfAbsentAsync(key, value, metadata);
+   }
+
+   @Override
+   public CompletableFuture<V> replaceAsync(K key, V value, Metadata metadata) {
+      authzManager.checkPermission(subject, AuthorizationPermission.WRITE);
+      return delegate.replaceAsync(key, value, metadata);
+   }
+
+   @Override
+   public CompletableFuture<Boolean> replaceAsync(K key, V oldValue, V newValue, Metadata metadata) {
+      authzManager.checkPermission(subject, AuthorizationPermission.WRITE);
+      return delegate.replaceAsync(key, oldValue, newValue, metadata);
+   }
+
+   @Override
+   public CompletableFuture<Void> putAllAsync(Map<? extends K, ? extends V> map, Metadata metadata) {
+      authzManager.checkPermission(subject, AuthorizationPermission.WRITE);
+      return delegate.putAllAsync(map, metadata);
+   }
+
    @Override
    public CacheEntry getCacheEntry(Object key) {
       authzManager.checkPermission(subject, AuthorizationPermission.READ);
       return delegate.getCacheEntry(key);
    }
 
+   @Override
+   public CompletableFuture<CacheEntry<K, V>> getCacheEntryAsync(Object key) {
+      authzManager.checkPermission(subject, AuthorizationPermission.READ);
+      return delegate.getCacheEntryAsync(key);
+   }
+
    @Override
    public Map<K, CacheEntry<K, V>> getAllCacheEntries(Set<?> keys) {
       authzManager.checkPermission(subject, AuthorizationPermission.BULK_READ);
       return delegate.getAllCacheEntries(keys);
    }
 
+   @Override
+   public CompletableFuture<Map<K, CacheEntry<K, V>>> getAllCacheEntriesAsync(Set<?> keys) {
+      authzManager.checkPermission(subject, AuthorizationPermission.BULK_READ);
+      return delegate.getAllCacheEntriesAsync(keys);
+   }
+
    @Override
    public Map<K, V> getAndPutAll(Map<? extends K, ? extends V> map) {
       authzManager.checkPermission(subject, AuthorizationPermission.BULK_WRITE);
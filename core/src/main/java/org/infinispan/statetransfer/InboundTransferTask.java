@@ -9,6 +9,7 @@
 
 import org.infinispan.commands.CommandsFactory;
 import org.infinispan.commons.CacheException;
+import org.infinispan.commons.util.IntSet;
 import org.infinispan.remoting.responses.ExceptionResponse;
 import org.infinispan.remoting.responses.Response;
 import org.infinispan.remoting.responses.SuccessfulResponse;
@@ -123,7 +124,7 @@ public CompletableFuture<Void> requestKeys() {
 
    private CompletableFuture<Void> startTransfer(StateRequestCommand.Type type) {
       if (!isCancelled) {
-         Set<Integer> segmentsCopy = getSegments();
+         IntSet segmentsCopy = getSegments();
          if (segmentsCopy.isEmpty()) {
             log.tracef("Segments list is empty, skipping source %s", source);
             completionFuture.complete(null);
@@ -161,7 +162,7 @@ private CompletableFuture<Void> startTransfer(StateRequestCommand.Type type) {
     *
     * @param cancelledSegments the segments to be cancelled
     */
-   public void cancelSegments(Set<Integer> cancelledSegments) {
+   public void cancelSegments(IntSet cancelledSegments) {
       if (isCancelled) {
          throw new IllegalArgumentException("The task is already cancelled.");
       }
@@ -194,7 +195,7 @@ public void cancel() {
       if (!isCancelled) {
          isCancelled = true;
 
-         Set<Integer> segmentsCopy = getSegments();
+         IntSet segmentsCopy = getSegments();
          if (trace) {
             log.tracef("Cancelling inbound state transfer from %s with segments %s", source, segmentsCopy);
          }
@@ -209,7 +210,7 @@ public boolean isCancelled() {
       return isCancelled;
    }
 
-   private void sendCancelCommand(Set<Integer> cancelledSegments) {
+   private void sendCancelCommand(IntSet cancelledSegments) {
       StateRequestCommand.Type requestType = applyState ? StateRequestCommand.Type.CANCEL_STATE_TRANSFER : StateRequestCommand.Type.CANCEL_CONSISTENCY_CHECK;
       StateRequestCommand cmd = commandsFactory.buildStateRequestCommand(requestType, rpcManager.getAddress(),
             topologyId, cancelledSegments);
@@ -2,32 +2,39 @@
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 
 import org.infinispan.commands.CommandsFactory;
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.util.CollectionFactory;
-import org.infinispan.commons.util.SmallIntSet;
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.IntSets;
 import org.infinispan.container.DataContainer;
 import org.infinispan.container.InternalEntryFactory;
+import org.infinispan.container.SegmentedDataContainer;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.filter.KeyFilter;
 import org.infinispan.marshall.core.MarshalledEntry;
 import org.infinispan.persistence.manager.PersistenceManager;
 import org.infinispan.persistence.spi.AdvancedCacheLoader;
+import org.infinispan.persistence.spi.SegmentedAdvancedCacheLoader;
 import org.infinispan.remoting.rpc.ResponseMode;
 import org.infinispan.remoting.rpc.RpcManager;
 import org.infinispan.remoting.rpc.RpcOptions;
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.remoting.transport.jgroups.SuspectException;
+import org.infinispan.util.concurrent.CompletableFutures;
 import org.infinispan.util.concurrent.WithinThreadExecutor;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
@@ -36,6 +43,13 @@
  * Outbound state transfer task. Pushes data segments to another cluster member on request. Instances of
  * OutboundTransferTask are created and managed by StateTransferManagerImpl. There should be at most
  * one such task per destination at any time.
+ * <p>
+ * With {@code maxInFlightChunks > 1}, a chunk is sent without waiting for the previous ones to be applied, as long as
+ * the destination has fewer than {@code maxInFlightChunks} chunks to apply. The last chunk is still sent only after all
+ * the other chunks were applied, so that the destination detects the completion of the segments correctly.
+ * <p>
+ * With {@code parallelSegments > 1} and a {@link SegmentedDataContainer}, the in-memory segments are read by up to
+ * {@code parallelSegments} threads, each one sending its own chunks.
  *
  * @author anistor@redhat.com
  * @since 5.2
@@ -58,7 +72,11 @@ public class OutboundTransferTask implements Runnable {
 
    private final Address destination;
 
-   private final Set<Integer> segments = new CopyOnWriteArraySet<>();
+   /**
+    * The segments still to be sent. The set is never modified once published, cancelling segments replaces it with a
+    * new copy, so readers can iterate it without locking.
+    */
+   private volatile IntSet segments;
 
    private final int chunkSize;
 
@@ -80,12 +98,21 @@ public class OutboundTransferTask implements Runnable {
 
    private final boolean pushTransfer;
 
-   private final Map<Integer, List<InternalCacheEntry>> entriesBySegment = CollectionFactory.makeConcurrentMap();
+   private final int maxInFlightChunks;
 
    /**
-    * The total number of entries from all segments accumulated in entriesBySegment.
+    * Limits the number of chunks sent and not applied yet, {@code null} if the chunks are sent synchronously.
     */
-   private int accumulatedEntries;
+   private final Semaphore inFlightChunks;
+
+   private final int parallelSegments;
+
+   /**
+    * The entries accumulated by the thread running the task, sent with the last chunk.
+    */
+   private final EntryBuffer entryBuffer = new EntryBuffer();
+
+   private ExecutorService executorService;
 
    /**
     * The Future obtained from submitting this task to an executor service. This is used for cancellation.
@@ -96,7 +123,7 @@ public class OutboundTransferTask implements Runnable {
 
    private InternalEntryFactory entryFactory;
 
-   public OutboundTransferTask(Address destination, Set<Integer> segments, int chunkSize,
+   public OutboundTransferTask(Address destination, IntSet segments, int chunkSize,
                                int topologyId, KeyPartitioner keyPartitioner,
                                Consumer<OutboundTransferTask> onCompletion, Consumer<List<StateChunk>> onChunkReplicated,
                                BiFunction<InternalCacheEntry, InternalEntryFactory, InternalCacheEntry> mapEntryFromDataContainer,
@@ -104,6 +131,19 @@ public OutboundTransferTask(Address destination, Set<Integer> segments, int chun
                                PersistenceManager persistenceManager, RpcManager rpcManager,
                                CommandsFactory commandsFactory, InternalEntryFactory ef, long timeout, String cacheName,
                                boolean applyState, boolean pushTransfer) {
+      this(destination, segments, chunkSize, 1, 1, topologyId, keyPartitioner, onCompletion, onChunkReplicated,
+           mapEntryFromDataContainer, mapEntryFromStore, dataContainer, persistenceManager, rpcManager, commandsFactory,
+           ef, timeout, cacheName, applyState, pushTransfer);
+   }
+
+   public OutboundTransferTask(Address destination, IntSet segments, int chunkSize, int maxInFlightChunks,
+                               int parallelSegments, int topologyId, KeyPartitioner keyPartitioner,
+                               Consumer<OutboundTransferTask> onCompletion, Consumer<List<StateChunk>> onChunkReplicated,
+                               BiFunction<InternalCacheEntry, InternalEntryFactory, InternalCacheEntry> mapEntryFromDataContainer,
+                               BiFunction<MarshalledEntry, InternalEntryFactory, InternalCacheEntry> mapEntryFromStore, DataContainer dataContainer,
+                               PersistenceManager persistenceManager, RpcManager rpcManager,
+                               CommandsFactory commandsFactory, InternalEntryFactory ef, long timeout, String cacheName,
+                               boolean applyState, boolean pushTransfer) {
       if (segments == null || segments.isEmpty()) {
          throw new IllegalArgumentException("Segments must not be null or empty");
       }
@@ -113,13 +153,22 @@ public OutboundTransferTask(Address destination, Set<Integer> segments, int chun
       if (chunkSize <= 0) {
          throw new IllegalArgumentException("chunkSize must be greater than 0");
       }
+      if (maxInFlightChunks <= 0) {
+         throw new IllegalArgumentException("maxInFlightChunks must be greater than 0");
+      }
+      if (parallelSegments <= 0) {
+         throw new IllegalArgumentException("parallelSegments must be greater than 0");
+      }
       this.onCompletion = onCompletion;
       this.onChunkReplicated = onChunkReplicated;
       this.mapEntryFromDataContainer = mapEntryFromDataContainer;
       this.mapEntryFromStore = mapEntryFromStore;
       this.destination = destination;
-      this.segments.addAll(segments);
+      this.segments = IntSets.mutableCopyFrom(segments);
       this.chunkSize = chunkSize;
+      this.maxInFlightChunks = maxInFlightChunks;
+      this.inFlightChunks = maxInFlightChunks > 1 ? new Semaphore(maxInFlightChunks) : null;
+      this.parallelSegments = parallelSegments;
       this.topologyId = topologyId;
       this.keyPartitioner = keyPartitioner;
       this.dataContainer = dataContainer;
@@ -140,6 +189,7 @@ public void execute(ExecutorService executorService) {
       if (runnableFuture != null) {
          throw new IllegalStateException("This task was already submitted");
       }
+      this.executorService = executorService;
       runnableFuture = new FutureTask<Void>(this, null) {
          @Override
          protected void done() {
@@ -153,7 +203,7 @@ public Address getDestination() {
       return destination;
    }
 
-   public Set<Integer> getSegments() {
+   public IntSet getSegments() {
       return segments;
    }
 
@@ -165,15 +215,13 @@ public int getTopologyId() {
    public void run() {
       try {
          // send data container entries
-         for (InternalCacheEntry ice : dataContainer) {
-            Object key = ice.getKey();  //todo [anistor] should we check for expired entries?
-            int segmentId = keyPartitioner.getSegment(key);
-            if (segments.contains(segmentId) && !ice.isL1Entry()) {
-               InternalCacheEntry entry = mapEntryFromDataContainer.apply(ice, entryFactory);
-               if (entry != null) {
-                  sendEntry(entry, segmentId);
-               }
-            }
+         if (parallelSegments > 1 && executorService != null && segments.size() > 1 &&
+               dataContainer instanceof SegmentedDataContainer) {
+            sendDataContainerSegmentsInParallel((SegmentedDataContainer<Object, Object>) dataContainer);
+         } else {
+            Iterator<InternalCacheEntry<Object, Object>> iterator = dataContainer instanceof SegmentedDataContainer ?
+                  ((SegmentedDataContainer<Object, Object>) dataContainer).iterator(segments) : dataContainer.iterator();
+            sendDataContainerEntries(iterator, entryBuffer);
          }
 
          AdvancedCacheLoader stProvider = persistenceManager.getStateTransferProvider();
@@ -185,21 +233,27 @@ public void run() {
                      try {
                         InternalCacheEntry entry = mapEntryFromStore.apply(me, entryFactory);
                         if (entry != null) {
-                           sendEntry(entry, segmentId);
+                           sendEntry(entryBuffer, entry, segmentId);
                         }
                      } catch (CacheException e) {
                         log.failedLoadingValueFromCacheStore(me.getKey(), e);
                      }
                   }
                };
-               stProvider.process(k -> !dataContainer.containsKey(k), task, new WithinThreadExecutor(), true, true);
+               KeyFilter<Object> filter = k -> !dataContainer.containsKey(k);
+               if (stProvider instanceof SegmentedAdvancedCacheLoader) {
+                  // Only read the requested segments from the store
+                  ((SegmentedAdvancedCacheLoader) stProvider).process(segments, filter, task, new WithinThreadExecutor(), true, true);
+               } else {
+                  stProvider.process(filter, task, new WithinThreadExecutor(), true, true);
+               }
             } catch (CacheException e) {
                log.failedLoadingKeysFromCacheStore(e);
             }
          }
 
          // send the last chunk of all segments
-         sendEntries(true);
+         sendEntries(entryBuffer, true);
       } catch (Throwable t) {
          // ignore eventual exceptions caused by cancellation (have InterruptedException as the root cause)
          if (isCancelled()) {
@@ -216,21 +270,80 @@ public void run() {
       }
    }
 
-   private void sendEntry(InternalCacheEntry ice, int segmentId) {
+   private void sendDataContainerEntries(Iterator<InternalCacheEntry<Object, Object>> iterator, EntryBuffer buffer) {
+      while (iterator.hasNext() && !isCancelled()) {
+         InternalCacheEntry ice = iterator.next();
+         Object key = ice.getKey();  //todo [anistor] should we check for expired entries?
+         int segmentId = keyPartitioner.getSegment(key);
+         if (segments.contains(segmentId) && !ice.isL1Entry()) {
+            InternalCacheEntry entry = mapEntryFromDataContainer.apply(ice, entryFactory);
+            if (entry != null) {
+               sendEntry(buffer, entry, segmentId);
+            }
+         }
+      }
+   }
+
+   /**
+    * Reads the data container segments with up to {@code parallelSegments} threads, the current one included. Returns
+    * once the other threads have sent all their entries, the entries read by the current thread are left in {@link
+    * #entryBuffer}.
+    */
+   private void sendDataContainerSegmentsInParallel(SegmentedDataContainer<Object, Object> container) throws Throwable {
+      PendingSegments pendingSegments = new PendingSegments(segments.intStream().toArray());
+      SegmentReaders readers = new SegmentReaders();
+      int otherReaders = Math.min(parallelSegments, pendingSegments.segments.length) - 1;
+      try {
+         for (int i = 0; i < otherReaders; i++) {
+            executorService.execute(() -> {
+               // Nothing to do if the current thread already read all the segments
+               if (!readers.start())
+                  return;
+               try {
+                  EntryBuffer buffer = new EntryBuffer();
+                  sendDataContainerSegments(container, pendingSegments, buffer);
+                  sendEntries(buffer, false);
+               } catch (Throwable t) {
+                  readers.failed(t);
+               } finally {
+                  readers.stop();
+               }
+            });
+         }
+      } catch (RejectedExecutionException e) {
+         if (trace) {
+            log.tracef("Could not start all the segment readers for node %s, reading them in the current thread", destination);
+         }
+      }
+      sendDataContainerSegments(container, pendingSegments, entryBuffer);
+      readers.awaitStopped();
+   }
+
+   private void sendDataContainerSegments(SegmentedDataContainer<Object, Object> container,
+                                          PendingSegments pendingSegments, EntryBuffer buffer) {
+      int segmentId;
+      while (!isCancelled() && (segmentId = pendingSegments.next()) >= 0) {
+         if (segments.contains(segmentId)) {
+            sendDataContainerEntries(container.iterator(IntSets.immutableSet(segmentId)), buffer);
+         }
+      }
+   }
+
+   private void sendEntry(EntryBuffer buffer, InternalCacheEntry ice, int segmentId) {
       // send if we have a full chunk
-      if (accumulatedEntries >= chunkSize) {
-         sendEntries(false);
-         accumulatedEntries = 0;
+      if (buffer.accumulatedEntries >= chunkSize) {
+         sendEntries(buffer, false);
+         buffer.accumulatedEntries = 0;
       }
 
-      List<InternalCacheEntry> entries = entriesBySegment.computeIfAbsent(segmentId, k -> new ArrayList<>());
+      List<InternalCacheEntry> entries = buffer.entriesBySegment.computeIfAbsent(segmentId, k -> new ArrayList<>());
       entries.add(ice);
-      accumulatedEntries++;
+      buffer.accumulatedEntries++;
    }
 
-   private void sendEntries(boolean isLast) {
+   private void sendEntries(EntryBuffer buffer, boolean isLast) {
       List<StateChunk> chunks = new ArrayList<>();
-      for (Map.Entry<Integer, List<InternalCacheEntry>> e : entriesBySegment.entrySet()) {
+      for (Map.Entry<Integer, List<InternalCacheEntry>> e : buffer.entriesBySegment.entrySet()) {
          List<InternalCacheEntry> entries = e.getValue();
          if (!entries.isEmpty() || isLast) {
             chunks.add(new StateChunk(e.getKey(), new ArrayList<>(entries), isLast));
@@ -240,7 +353,7 @@ private void sendEntries(boolean isLast) {
 
       if (isLast) {
          for (int segmentId : segments) {
-            List<InternalCacheEntry> entries = entriesBySegment.get(segmentId);
+            List<InternalCacheEntry> entries = buffer.entriesBySegment.get(segmentId);
             if (entries == null) {
                chunks.add(new StateChunk(segmentId, Collections.emptyList(), true));
             }
@@ -250,48 +363,113 @@ private void sendEntries(boolean isLast) {
       if (!chunks.isEmpty()) {
          if (trace) {
             if (isLast) {
-               log.tracef("Sending last chunk to node %s containing %d cache entries from segments %s", destination, accumulatedEntries, segments);
+               log.tracef("Sending last chunk to node %s containing %d cache entries from segments %s", destination, buffer.accumulatedEntries, segments);
             } else {
-               log.tracef("Sending to node %s %d cache entries from segments %s", destination, accumulatedEntries, entriesBySegment.keySet());
+               log.tracef("Sending to node %s %d cache entries from segments %s", destination, buffer.accumulatedEntries, buffer.entriesBySegment.keySet());
             }
          }
 
          StateResponseCommand cmd = commandsFactory.buildStateResponseCommand(rpcManager.getAddress(), topologyId, chunks, applyState, pushTransfer);
+         if (inFlightChunks != null) {
+            if (!isLast) {
+               sendEntriesAsync(cmd, chunks);
+               return;
+            }
+            if (!awaitInFlightChunks()) {
+               return;
+            }
+         }
          // send synchronously, in order. it is important that the last chunk is received last in order to correctly detect completion of the stream of chunks
          try {
             rpcManager.invokeRemotely(Collections.singleton(destination), cmd, rpcOptions);
             onChunkReplicated.accept(chunks);
-         } catch (SuspectException e) {
-            log.debugf("Node %s left cache %s while we were sending state to it, cancelling transfer.", destination, cacheName);
-            cancel();
          } catch (Exception e) {
-            if (isCancelled()) {
-               log.debugf("Stopping cancelled transfer to node %s, segments %s", destination, segments);
-            } else {
-               log.errorf(e, "Failed to send entries to node %s: %s", destination, e.getMessage());
-            }
+            handleSendFailure(e);
          }
       }
    }
 
+   /**
+    * Sends a chunk without waiting for the destination to apply it, once fewer than {@code maxInFlightChunks} chunks
+    * are waiting to be applied.
+    */
+   private void sendEntriesAsync(StateResponseCommand cmd, List<StateChunk> chunks) {
+      try {
+         inFlightChunks.acquire();
+      } catch (InterruptedException e) {
+         // The task was cancelled
+         Thread.currentThread().interrupt();
+         return;
+      }
+      try {
+         rpcManager.invokeRemotelyAsync(Collections.singleton(destination), cmd, rpcOptions)
+               .whenComplete((responses, t) -> {
+                  inFlightChunks.release();
+                  if (t == null) {
+                     onChunkReplicated.accept(chunks);
+                  } else {
+                     handleSendFailure(CompletableFutures.extractException(t));
+                  }
+               });
+      } catch (Throwable t) {
+         inFlightChunks.release();
+         handleSendFailure(t);
+      }
+   }
+
+   /**
+    * Waits until the destination applied all the chunks sent asynchronously.
+    *
+    * @return {@code false} if the task was cancelled while waiting
+    */
+   private boolean awaitInFlightChunks() {
+      try {
+         inFlightChunks.acquire(maxInFlightChunks);
+         inFlightChunks.release(maxInFlightChunks);
+         return true;
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         return false;
+      }
+   }
+
+   private void handleSendFailure(Throwable t) {
+      if (t instanceof SuspectException) {
+         log.debugf("Node %s left cache %s while we were sending state to it, cancelling transfer.", destination, cacheName);
+         cancel();
+      } else if (isCancelled()) {
+         log.debugf("Stopping cancelled transfer to node %s, segments %s", destination, segments);
+      } else {
+         log.errorf(t, "Failed to send entries to node %s: %s", destination, t.getMessage());
+      }
+   }
+
    /**
     * Cancel some of the segments. If all segments get cancelled then the whole task will be cancelled.
     *
     * @param cancelledSegments segments to cancel.
     */
-   public void cancelSegments(Set<Integer> cancelledSegments) {
-      if (segments.removeAll(cancelledSegments)) {
+   public void cancelSegments(IntSet cancelledSegments) {
+      if (removeSegments(cancelledSegments)) {
          if (trace) {
             log.tracef("Cancelling outbound transfer to node %s, segments %s (remaining segments %s)",
                        destination, cancelledSegments, segments);
          }
-         entriesBySegment.keySet().removeAll(cancelledSegments);  // here we do not update accumulatedEntries but this inaccuracy does not cause any harm
+         entryBuffer.entriesBySegment.keySet().removeAll(cancelledSegments);  // here we do not update accumulatedEntries but this inaccuracy does not cause any harm
          if (segments.isEmpty()) {
             cancel();
          }
       }
    }
 
+   private synchronized boolean removeSegments(IntSet cancelledSegments) {
+      IntSet remainingSegments = IntSets.mutableCopyFrom(segments);
+      if (!remainingSegments.removeAll(cancelledSegments))
+         return false;
+      segments = remainingSegments;
+      return true;
+   }
+
    /**
     * Cancel the whole task.
     */
@@ -311,8 +489,10 @@ public String toString() {
       return "OutboundTransferTask{" +
             "topologyId=" + topologyId +
             ", destination=" + destination +
-            ", segments=" + new SmallIntSet(segments) +
+            ", segments=" + segments +
             ", chunkSize=" + chunkSize +
+            ", maxInFlightChunks=" + maxInFlightChunks +
+            ", parallelSegments=" + parallelSegments +
             ", timeout=" + timeout +
             ", cacheName='" + cacheName + '\'' +
             '}';
@@ -325,4 +505,77 @@ public static InternalCacheEntry defaultMapEntryFromDataContainer(InternalCacheE
    public static InternalCacheEntry defaultMapEntryFromStore(MarshalledEntry me, InternalEntryFactory entryFactory) {
       return entryFactory.create(me.getKey(), me.getValue(), me.getMetadata());
    }
+
+   /**
+    * The entries read by a thread and not sent yet.
+    */
+   private static final class EntryBuffer {
+      final Map<Integer, List<InternalCacheEntry>> entriesBySegment = CollectionFactory.makeConcurrentMap();
+
+      /**
+       * The total number of entries from all segments accumulated in entriesBySegment.
+       */
+      int accumulatedEntries;
+   }
+
+   /**
+    * The segments left to read, shared by the threads reading segments in parallel.
+    */
+   private static final class PendingSegments {
+      final int[] segments;
+      private final AtomicInteger nextIndex = new AtomicInteger();
+
+      PendingSegments(int[] segments) {
+         this.segments = segments;
+      }
+
+      /**
+       * @return the next segment to read, or {@code -1} if all the segments were claimed already
+       */
+      int next() {
+         int index = nextIndex.getAndIncrement();
+         return index < segments.length ? segments[index] : -1;
+      }
+   }
+
+   /**
+    * Tracks the threads reading segments in parallel with the thread running the task. A thread that starts after the
+    * task thread finished reading has nothing left to read, so the task thread only waits for the ones already started.
+    */
+   private static final class SegmentReaders {
+      private boolean closed;
+      private int running;
+      private Throwable failure;
+
+      synchronized boolean start() {
+         if (closed)
+            return false;
+         running++;
+         return true;
+      }
+
+      synchronized void stop() {
+         if (--running == 0) {
+            notifyAll();
+         }
+      }
+
+      synchronized void failed(Throwable t) {
+         if (failure == null) {
+            failure = t;
+         } else {
+            failure.addSuppressed(t);
+         }
+      }
+
+      synchronized void awaitStopped() throws Throwable {
+         closed = true;
+         while (running > 0) {
+            wait();
+         }
+         if (failure != null) {
+            throw failure;
+         }
+      }
+   }
 }
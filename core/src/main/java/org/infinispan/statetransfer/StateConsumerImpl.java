@@ -38,6 +38,8 @@
 import org.infinispan.commands.write.PutKeyValueCommand;
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.util.EnumUtil;
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.IntSets;
 import org.infinispan.commons.util.SmallIntSet;
 import org.infinispan.commons.util.concurrent.ConcurrentHashSet;
 import org.infinispan.configuration.cache.CacheMode;
@@ -45,7 +47,9 @@
 import org.infinispan.configuration.cache.PartitionHandlingConfiguration;
 import org.infinispan.conflict.impl.InternalConflictManager;
 import org.infinispan.container.DataContainer;
+import org.infinispan.container.SegmentedDataContainer;
 import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.container.entries.ReadCommittedEntry;
 import org.infinispan.context.InvocationContext;
 import org.infinispan.context.InvocationContextFactory;
 import org.infinispan.context.impl.TxInvocationContext;
@@ -129,6 +133,7 @@ public class StateConsumerImpl implements StateConsumer {
    protected boolean isTransactional;
    protected boolean isInvalidationMode;
    protected boolean isTotalOrder;
+   private boolean bulkApply;
    protected volatile KeyInvalidationListener keyInvalidationListener; //for test purpose only!
    protected CommitManager commitManager;
    protected ExecutorService stateTransferExecutor;
@@ -252,6 +257,10 @@ public void init(Cache cache,
       isTotalOrder = configuration.transaction().transactionProtocol().isTotalOrder();
 
       timeout = configuration.clustering().stateTransfer().timeout();
+      // The interceptors do nothing but commit the entry, except for the listeners, checked for each chunk
+      bulkApply = configuration.clustering().stateTransfer().bulkApply() && !isTransactional &&
+            !configuration.clustering().cacheMode().isScattered() && !configuration.persistence().usingStores() &&
+            !configuration.indexing().index().isEnabled() && configuration.customInterceptors().interceptors().isEmpty();
    }
 
    public boolean hasActiveTransfers() {
@@ -667,6 +676,12 @@ private void doApplyState(Address sender, int segmentId, Collection<InternalCach
       if (trace) log.tracef("Applying new state chunk for segment %d of cache %s from node %s: received %d cache entries",
             segmentId, cacheName, sender, cacheEntries.size());
 
+      if (bulkApply && cacheNotifier.getListeners().isEmpty()) {
+         bulkApplyState(cacheEntries);
+         if (trace) log.tracef("Finished applying chunk of segment %d of cache %s", segmentId, cacheName);
+         return;
+      }
+
       // CACHE_MODE_LOCAL avoids handling by StateTransferInterceptor and any potential locks in StateTransferLock
       boolean transactional = transactionManager != null;
       for (InternalCacheEntry e : cacheEntries) {
@@ -709,6 +724,28 @@ private void doApplyState(Address sender, int segmentId, Collection<InternalCach
       if (trace) log.tracef("Finished applying chunk of segment %d of cache %s", segmentId, cacheName);
    }
 
+   /**
+    * Commits the entries in the data container without invoking the interceptors. The {@link CommitManager} still
+    * discards the entries written by other commands since the state transfer started.
+    */
+   private void bulkApplyState(Collection<InternalCacheEntry> cacheEntries) {
+      InvocationContext ctx = icf.createNonTxInvocationContext();
+      for (InternalCacheEntry e : cacheEntries) {
+         try {
+            ReadCommittedEntry entry = new ReadCommittedEntry(e.getKey(), e.getValue(), e.getMetadata());
+            entry.setChanged(true);
+            commitManager.commit(entry, PUT_FOR_STATE_TRANSFER, false, ctx);
+         } catch (Exception ex) {
+            if (!cache.getStatus().allowInvocations()) {
+               log.debugf("Cache %s is shutting down, stopping state transfer", cacheName);
+               break;
+            } else {
+               log.problemApplyingStateForKey(ex.getMessage(), e.getKey(), ex);
+            }
+         }
+      }
+   }
+
    private void applyTransactions(Address sender, Collection<TransactionInfo> transactions, int topologyId) {
       log.debugf("Applying %d transactions for cache %s transferred from node %s", transactions.size(), cacheName, sender);
       if (isTransactional) {
@@ -947,7 +984,7 @@ private Response getTransactions(Address source, Set<Integer> segments, int topo
          log.tracef("Requesting transactions from node %s for segments %s", source, segments);
       }
       // get transactions and locks
-      StateRequestCommand cmd = commandsFactory.buildStateRequestCommand(StateRequestCommand.Type.GET_TRANSACTIONS, rpcManager.getAddress(), topologyId, segments);
+      StateRequestCommand cmd = commandsFactory.buildStateRequestCommand(StateRequestCommand.Type.GET_TRANSACTIONS, rpcManager.getAddress(), topologyId, IntSets.from(segments));
       Map<Address, Response> responses = rpcManager.invokeRemotely(Collections.singleton(source), cmd, synchronousRpcOptions);
       return responses.get(source);
    }
@@ -976,7 +1013,7 @@ protected void cancelTransfers(Set<Integer> removedSegments) {
             List<InboundTransferTask> inboundTransfers = transfersBySegment.get(segmentId);
             if (inboundTransfers != null) { // we need to check the transfer was not already completed
                for (InboundTransferTask inboundTransfer : inboundTransfers) {
-                  Set<Integer> cancelledSegments = new SmallIntSet(removedSegments);
+                  IntSet cancelledSegments = IntSets.mutableCopyFrom(removedSegments);
                   cancelledSegments.retainAll(inboundTransfer.getSegments());
                   segmentsToCancel.removeAll(cancelledSegments);
                   transfersBySegment.keySet().removeAll(cancelledSegments);
@@ -1003,24 +1040,24 @@ protected void removeStaleData(final Set<Integer> removedSegments) throws Interr
       // Keys that we used to own, and need to be removed from the data container AND the cache stores
       final ConcurrentHashSet<Object> keysToRemove = new ConcurrentHashSet<>();
 
-      dataContainer.executeTask(KeyFilter.ACCEPT_ALL_FILTER, (o, ice) -> {
-         Object key = ice.getKey();
-         int keySegment = getSegment(key);
-         if (removedSegments.contains(keySegment)) {
-            keysToRemove.add(key);
-         }
-      });
+      if (dataContainer instanceof SegmentedDataContainer) {
+         ((SegmentedDataContainer<Object, Object>) dataContainer).iteratorIncludingExpired(IntSets.from(removedSegments))
+               .forEachRemaining(ice -> keysToRemove.add(ice.getKey()));
+      } else {
+         dataContainer.executeTask(KeyFilter.ACCEPT_ALL_FILTER, (o, ice) -> {
+            Object key = ice.getKey();
+            int keySegment = getSegment(key);
+            if (removedSegments.contains(keySegment)) {
+               keysToRemove.add(key);
+            }
+         });
+      }
 
       // gather all keys from cache store that belong to the segments that are being removed/moved to L1
       if (!removedSegments.isEmpty()) {
          try {
-            KeyFilter filter = key -> {
-               if (dataContainer.containsKey(key))
-                  return false;
-               int keySegment = getSegment(key);
-               return (removedSegments.contains(keySegment));
-            };
-            persistenceManager.processOnAllStores(filter,
+            KeyFilter filter = key -> !dataContainer.containsKey(key);
+            persistenceManager.processOnAllStores(IntSets.from(removedSegments), filter,
                   (marshalledEntry, taskContext) -> keysToRemove.add(marshalledEntry.getKey()), false, false, PRIVATE);
          } catch (CacheException e) {
             log.failedLoadingKeysFromCacheStore(e);
@@ -1039,6 +1076,11 @@ protected void removeStaleData(final Set<Integer> removedSegments) throws Interr
             log.failedToInvalidateKeys(e);
          }
       }
+
+      // L1 entries may still be written to segments we no longer own, so only drop the segments without L1
+      if (dataContainer instanceof SegmentedDataContainer && !configuration.clustering().l1().enabled()) {
+         ((SegmentedDataContainer<Object, Object>) dataContainer).removeSegments(IntSets.from(removedSegments));
+      }
    }
 
    /**
@@ -19,6 +19,8 @@
 import org.infinispan.Cache;
 import org.infinispan.commands.CommandsFactory;
 import org.infinispan.commands.write.WriteCommand;
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.IntSets;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.container.DataContainer;
 import org.infinispan.container.InternalEntryFactory;
@@ -69,6 +71,8 @@ public class StateProviderImpl implements StateProvider {
    protected InternalEntryFactory entryFactory;
    protected long timeout;
    protected int chunkSize;
+   private int maxInFlightChunks;
+   private int parallelSegments;
    protected KeyPartitioner keyPartitioner;
    protected StateConsumer stateConsumer;
    private TransactionOriginatorChecker transactionOriginatorChecker;
@@ -113,6 +117,8 @@ public void init(Cache cache,
       timeout = configuration.clustering().stateTransfer().timeout();
 
       this.chunkSize = configuration.clustering().stateTransfer().chunkSize();
+      this.maxInFlightChunks = configuration.clustering().stateTransfer().maxInFlightChunks();
+      this.parallelSegments = configuration.clustering().stateTransfer().parallelSegments();
       this.keyPartitioner = keyPartitioner;
    }
 
@@ -170,7 +176,7 @@ public void stop() {
       }
    }
 
-   public List<TransactionInfo> getTransactionsForSegments(Address destination, int requestTopologyId, Set<Integer> segments) throws InterruptedException {
+   public List<TransactionInfo> getTransactionsForSegments(Address destination, int requestTopologyId, IntSet segments) throws InterruptedException {
       if (trace) {
          log.tracef("Received request for transactions from node %s for cache %s, topology id %d, segments %s",
                     destination, cacheName, requestTopologyId, segments);
@@ -179,10 +185,11 @@ public List<TransactionInfo> getTransactionsForSegments(Address destination, int
       final CacheTopology cacheTopology = getCacheTopology(requestTopologyId, destination, true);
       final ConsistentHash readCh = cacheTopology.getReadConsistentHash();
 
-      Set<Integer> ownedSegments = readCh.getSegmentsForOwner(rpcManager.getAddress());
+      IntSet ownedSegments = readCh.getSegmentsForOwner(rpcManager.getAddress());
       if (!ownedSegments.containsAll(segments)) {
-         segments.removeAll(ownedSegments);
-         throw new IllegalArgumentException("Segments " + segments + " are not owned by " + rpcManager.getAddress());
+         IntSet notOwnedSegments = IntSets.mutableCopyFrom(segments);
+         notOwnedSegments.removeAll(ownedSegments);
+         throw new IllegalArgumentException("Segments " + notOwnedSegments + " are not owned by " + rpcManager.getAddress());
       }
 
       List<TransactionInfo> transactions = new ArrayList<>();
@@ -231,7 +238,7 @@ private CacheTopology getCacheTopology(int requestTopologyId, Address destinatio
    private void collectTransactionsToTransfer(Address destination,
                                               List<TransactionInfo> transactionsToTransfer,
                                               Collection<? extends CacheTransaction> transactions,
-                                              Set<Integer> segments, CacheTopology cacheTopology) {
+                                              IntSet segments, CacheTopology cacheTopology) {
       int topologyId = cacheTopology.getTopologyId();
       Set<Address> members = new HashSet<>(cacheTopology.getMembers());
 
@@ -290,7 +297,7 @@ private void collectTransactionsToTransfer(Address destination,
    }
 
    @Override
-   public void startOutboundTransfer(Address destination, int requestTopologyId, Set<Integer> segments, boolean applyState)
+   public void startOutboundTransfer(Address destination, int requestTopologyId, IntSet segments, boolean applyState)
          throws InterruptedException {
       if (trace) {
          log.tracef("Starting outbound transfer to node %s for cache %s, topology id %d, segments %s", destination,
@@ -298,7 +305,8 @@ public void startOutboundTransfer(Address destination, int requestTopologyId, Se
       }
 
       // the destination node must already have an InboundTransferTask waiting for these segments
-      OutboundTransferTask outboundTransfer = new OutboundTransferTask(destination, segments, chunkSize, requestTopologyId,
+      OutboundTransferTask outboundTransfer = new OutboundTransferTask(destination, segments, chunkSize, maxInFlightChunks,
+            parallelSegments, requestTopologyId,
             keyPartitioner, this::onTaskCompletion, chunks -> {},
             OutboundTransferTask::defaultMapEntryFromDataContainer, OutboundTransferTask::defaultMapEntryFromStore,
             dataContainer, persistenceManager, rpcManager, commandsFactory, entryFactory, timeout, cacheName, applyState, false);
@@ -319,7 +327,7 @@ protected void addTransfer(OutboundTransferTask transferTask) {
    }
 
    @Override
-   public void cancelOutboundTransfer(Address destination, int topologyId, Set<Integer> segments) {
+   public void cancelOutboundTransfer(Address destination, int topologyId, IntSet segments) {
       if (trace) {
          log.tracef("Cancelling outbound transfer to node %s for cache %s, topology id %d, segments %s", destination,
                     cacheName, topologyId, segments);
@@ -5,18 +5,17 @@
 import java.io.ObjectOutput;
 import java.util.Collection;
 import java.util.List;
-import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 import org.infinispan.commands.TopologyAffectedCommand;
 import org.infinispan.commands.remote.BaseRpcCommand;
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.marshall.MarshallUtil;
+import org.infinispan.commons.util.IntSet;
 import org.infinispan.distexec.DistributedCallable;
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.scattered.ScatteredStateProvider;
 import org.infinispan.util.ByteString;
-import org.infinispan.commons.util.SmallIntSet;
 import org.infinispan.util.concurrent.CompletableFutures;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
@@ -51,7 +50,7 @@ public enum Type {
 
    private int topologyId;
 
-   private Set<Integer> segments;
+   private IntSet segments;
 
    private StateProvider stateProvider;
 
@@ -63,7 +62,7 @@ public StateRequestCommand(ByteString cacheName) {
       super(cacheName);
    }
 
-   public StateRequestCommand(ByteString cacheName, Type type, Address origin, int topologyId, Set<Integer> segments) {
+   public StateRequestCommand(ByteString cacheName, Type type, Address origin, int topologyId, IntSet segments) {
       super(cacheName);
       this.type = type;
       setOrigin(origin);
@@ -143,7 +142,7 @@ public void setTopologyId(int topologyId) {
       this.topologyId = topologyId;
    }
 
-   public Set<Integer> getSegments() {
+   public IntSet getSegments() {
       return segments;
    }
 
@@ -164,7 +163,7 @@ public void writeTo(ObjectOutput output) throws IOException {
          case GET_TRANSACTIONS:
          case CANCEL_STATE_TRANSFER:
             output.writeObject(getOrigin());
-            MarshallUtil.marshallCollection(segments, output);
+            output.writeObject(segments);
             return;
          case GET_CACHE_LISTENERS:
          case CONFIRM_REVOKED_SEGMENTS:
@@ -185,7 +184,7 @@ public void readFrom(ObjectInput input) throws IOException, ClassNotFoundExcepti
          case GET_TRANSACTIONS:
          case CANCEL_STATE_TRANSFER:
             setOrigin((Address) input.readObject());
-            segments = MarshallUtil.unmarshallCollectionUnbounded(input, SmallIntSet::new);
+            segments = (IntSet) input.readObject();
             return;
          case GET_CACHE_LISTENERS:
          case CONFIRM_REVOKED_SEGMENTS:
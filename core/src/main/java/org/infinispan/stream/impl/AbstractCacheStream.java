@@ -22,6 +22,7 @@
 
 import org.infinispan.CacheStream;
 import org.infinispan.commons.CacheException;
+import org.infinispan.commons.util.IntSets;
 import org.infinispan.commons.util.concurrent.ConcurrentHashSet;
 import org.infinispan.container.entries.CacheEntry;
 import org.infinispan.distribution.DistributionManager;
@@ -38,7 +39,6 @@
 import org.infinispan.stream.impl.termop.object.FlatMapIteratorOperation;
 import org.infinispan.stream.impl.termop.object.MapIteratorOperation;
 import org.infinispan.stream.impl.termop.object.NoMapIteratorOperation;
-import org.infinispan.util.RangeSet;
 import org.infinispan.util.concurrent.TimeoutException;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
@@ -321,7 +321,7 @@ void performRehashKeyTrackingOperation(
       KeyTrackingConsumer<Object, Object> results = new KeyTrackingConsumer<>(keyPartitioner, segmentInfoCH.getNumSegments(), c -> {},
             c -> c, null);
       Set<Integer> segmentsToProcess = segmentsToFilter == null ?
-              new RangeSet(segmentInfoCH.getNumSegments()) : segmentsToFilter;
+              IntSets.immutableRangeSet(segmentInfoCH.getNumSegments()) : segmentsToFilter;
       do {
          LocalizedCacheTopology cacheTopology = dm.getCacheTopology();
          ConsistentHash ch = cacheTopology.getReadConsistentHash();
@@ -17,7 +17,7 @@
 
 import org.infinispan.commands.CommandsFactory;
 import org.infinispan.commons.CacheException;
-import org.infinispan.commons.util.SmallIntSet;
+import org.infinispan.commons.util.IntSets;
 import org.infinispan.distribution.ch.ConsistentHash;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
@@ -25,7 +25,6 @@
 import org.infinispan.remoting.rpc.RpcManager;
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.remoting.transport.jgroups.SuspectException;
-import org.infinispan.util.RangeSet;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
@@ -254,7 +253,7 @@ private Set<K> determineExcludedKeys(Map<Integer, Set<K>> keysToExclude, Set<Int
 
    private Map<Address, Set<Integer>> determineTargets(ConsistentHash ch, Set<Integer> segments, ResultsCallback<?> callback) {
       if (segments == null) {
-         segments = new RangeSet(ch.getNumSegments());
+         segments = IntSets.immutableRangeSet(ch.getNumSegments());
       }
       // This has to be a concurrent hash map in case if a node completes operation while we are still iterating
       // over the map and submitting to others
@@ -265,7 +264,7 @@ private Map<Address, Set<Integer>> determineTargets(ConsistentHash ch, Set<Integ
             callback.onSegmentsLost(Collections.singleton(segment));
             callback.requestFutureTopology();
          } else if (!owner.equals(localAddress)) {
-            targets.computeIfAbsent(owner, t -> new SmallIntSet()).add(segment);
+            targets.computeIfAbsent(owner, t -> IntSets.mutableEmptySet(ch.getNumSegments())).add(segment);
          }
       }
       return targets;
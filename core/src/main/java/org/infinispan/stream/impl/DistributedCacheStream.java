@@ -52,6 +52,7 @@
 import org.infinispan.commons.marshall.Externalizer;
 import org.infinispan.commons.marshall.SerializeWith;
 import org.infinispan.commons.util.CloseableIterator;
+import org.infinispan.commons.util.IntSets;
 import org.infinispan.container.entries.CacheEntry;
 import org.infinispan.distribution.DistributionManager;
 import org.infinispan.distribution.LocalizedCacheTopology;
@@ -74,7 +75,6 @@
 import org.infinispan.stream.impl.termop.object.ForEachOperation;
 import org.infinispan.stream.impl.termop.object.NoMapIteratorOperation;
 import org.infinispan.util.CloseableSuppliedIterator;
-import org.infinispan.util.RangeSet;
 import org.infinispan.util.concurrent.TimeoutException;
 import org.infinispan.util.function.CloseableSupplier;
 
@@ -537,7 +537,7 @@ private void rehashAwareIteration(AtomicBoolean complete, Consumer<R> consumer,
          try {
             log.tracef("Thread %s submitted iterator request for stream", thread);
             Set<Integer> segmentsToProcess = segmentsToFilter == null ?
-                                             new RangeSet(segmentInfoCH.getNumSegments()) : segmentsToFilter;
+                                             IntSets.immutableRangeSet(segmentInfoCH.getNumSegments()) : segmentsToFilter;
             do {
                LocalizedCacheTopology cacheTopology = dm.getCacheTopology();
                ConsistentHash ch = cacheTopology.getReadConsistentHash();
@@ -1653,4 +1653,11 @@ TimeoutException coordinatorTimeoutWaitingForView(int expectedViewId, int curren
 
    @Message(value = "Class %s not found", id = 483)
    CacheConfigurationException classNotFound(String name);
+
+   @Message(value = "The fragmentation factor must be greater than 0 and at most 1, but was %f", id = 484)
+   CacheConfigurationException invalidFragmentationFactor(float fragmentationFactor);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Failed to send the batched commands to %s", id = 485)
+   void failedToSendBatch(Object target, @Cause Throwable t);
 }
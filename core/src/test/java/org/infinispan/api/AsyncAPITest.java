@@ -5,13 +5,20 @@
 import static org.testng.AssertJUnit.assertNull;
 import static org.testng.AssertJUnit.assertTrue;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
+import org.infinispan.AdvancedCache;
 import org.infinispan.Cache;
+import org.infinispan.container.entries.CacheEntry;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.metadata.EmbeddedMetadata;
+import org.infinispan.metadata.Metadata;
 import org.infinispan.test.SingleCacheManagerTest;
 import org.infinispan.test.TestingUtil;
 import org.infinispan.test.fwk.TestCacheManagerFactory;
@@ -145,6 +152,33 @@ public void testAsyncMethods() throws Exception {
       assert c.get("k").equals("v6");
    }
 
+   public void testAsyncMethodsWithMetadata() throws Exception {
+      AdvancedCache<String, String> ac = c.getAdvancedCache();
+      Metadata metadata = new EmbeddedMetadata.Builder().lifespan(10, TimeUnit.SECONDS).build();
+
+      assertNull(ac.getCacheEntryAsync("mk").get());
+      assertNull(ac.putIfAbsentAsync("mk", "v1", metadata).get());
+      assertEquals("v1", ac.putIfAbsentAsync("mk", "v2", metadata).get());
+
+      CacheEntry<String, String> entry = ac.getCacheEntryAsync("mk").get();
+      assertEquals("v1", entry.getValue());
+      assertEquals(10000, entry.getLifespan());
+
+      assertEquals("v1", ac.replaceAsync("mk", "v2", metadata).get());
+      assertFalse(ac.replaceAsync("mk", "v1", "v3", metadata).get());
+      assertTrue(ac.replaceAsync("mk", "v2", "v3", metadata).get());
+      assertEquals("v3", c.get("mk"));
+
+      assertNull(ac.putAllAsync(Collections.singletonMap("mk2", "v4"), metadata).get());
+      assertEquals(10000, ac.getCacheEntry("mk2").getLifespan());
+
+      Map<String, CacheEntry<String, String>> entries =
+            ac.getAllCacheEntriesAsync(new HashSet<>(Arrays.asList("mk", "mk2", "missing"))).get();
+      assertEquals(2, entries.size());
+      assertEquals("v3", entries.get("mk").getValue());
+      assertEquals(10000, entries.get("mk2").getLifespan());
+   }
+
    public void testAsyncMethodWithLifespanAndMaxIdle() throws Exception {
 
       // lifespan only
@@ -0,0 +1,100 @@
+package org.infinispan.api;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.Cache;
+import org.infinispan.IllegalLifecycleStateException;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.interceptors.impl.CacheMgmtInterceptor;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryVisited;
+import org.infinispan.notifications.cachelistener.event.CacheEntryVisitedEvent;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the reads that skip the interceptor chain return the same results, and that the reads still go through
+ * the chain when statistics or listeners are enabled.
+ *
+ * @since 9.2
+ */
+@Test(groups = "functional", testName = "api.FastReadTest")
+public class FastReadTest extends MultipleCacheManagersTest {
+   private static final int KEY_COUNT = 50;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC);
+      builder.clustering().hash().numOwners(1);
+      builder.jmxStatistics().disable();
+      createCluster(builder, 3);
+      waitForClusterToForm();
+   }
+
+   public void testReadFromOwnersAndNonOwners() {
+      for (int i = 0; i < KEY_COUNT; i++) {
+         cache(0).put("key" + i, "value" + i);
+      }
+      for (Cache<Object, Object> cache : caches()) {
+         for (int i = 0; i < KEY_COUNT; i++) {
+            assertEquals("value" + i, cache.get("key" + i));
+         }
+         assertNull(cache.get("missing"));
+      }
+   }
+
+   public void testStatisticsEnabledAtRuntime() {
+      Object key = getKeyForCache(0);
+      cache(0).put(key, "value");
+      CacheMgmtInterceptor interceptor = cache(0).getAdvancedCache().getAsyncInterceptorChain()
+            .findInterceptorWithClass(CacheMgmtInterceptor.class);
+      interceptor.setStatisticsEnabled(true);
+      try {
+         interceptor.resetStatistics();
+         assertEquals("value", cache(0).get(key));
+         assertNull(cache(0).get("missing"));
+         assertEquals(1, interceptor.getHits());
+         assertEquals(1, interceptor.getMisses());
+      } finally {
+         interceptor.setStatisticsEnabled(false);
+      }
+   }
+
+   public void testVisitedListener() {
+      Object key = getKeyForCache(1);
+      cache(1).put(key, "value");
+      VisitedListener listener = new VisitedListener();
+      cache(1).addListener(listener);
+      try {
+         assertEquals("value", cache(1).get(key));
+         assertEquals(1, listener.visited.get());
+      } finally {
+         cache(1).removeListener(listener);
+      }
+   }
+
+   @Test(expectedExceptions = IllegalLifecycleStateException.class)
+   public void testStoppedCache() {
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(CacheMode.REPL_SYNC);
+      manager(2).defineConfiguration("stopped", builder.build());
+      Cache<Object, Object> cache = manager(2).getCache("stopped");
+      cache.put("k", "v");
+      cache.stop();
+      cache.get("k");
+   }
+
+   @Listener
+   public static class VisitedListener {
+      final AtomicInteger visited = new AtomicInteger();
+
+      @CacheEntryVisited
+      public void entryVisited(CacheEntryVisitedEvent<Object, Object> event) {
+         if (!event.isPre())
+            visited.incrementAndGet();
+      }
+   }
+}
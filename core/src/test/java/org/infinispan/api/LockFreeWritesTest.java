@@ -0,0 +1,155 @@
+package org.infinispan.api;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
+import org.infinispan.notifications.cachelistener.event.CacheEntryModifiedEvent;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.CleanupAfterMethod;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.util.ControlledTimeService;
+import org.infinispan.util.TimeService;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the writes applied in the data container without acquiring the key lock.
+ *
+ * @since 9.2
+ */
+@Test(groups = "functional", testName = "api.LockFreeWritesTest")
+@CleanupAfterMethod
+public class LockFreeWritesTest extends SingleCacheManagerTest {
+   private static final int THREADS = 4;
+   private static final int INCREMENTS = 500;
+
+   private final ControlledTimeService timeService = new ControlledTimeService();
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.locking().lockFreeWrites(true).jmxStatistics().disable();
+      EmbeddedCacheManager cm = TestCacheManagerFactory.createCacheManager(builder);
+      TestingUtil.replaceComponent(cm, TimeService.class, timeService, true);
+      return cm;
+   }
+
+   public void testWrites() {
+      assertNull(cache.put("k", "v1"));
+      assertEquals("v1", cache.putIfAbsent("k", "v2"));
+      assertEquals("v1", cache.replace("k", "v2"));
+      assertFalse(cache.replace("k", "v1", "v3"));
+      assertTrue(cache.replace("k", "v2", "v3"));
+      assertFalse(cache.remove("k", "v2"));
+      assertTrue(cache.remove("k", "v3"));
+      assertNull(cache.replace("k", "v4"));
+      assertNull(cache.putIfAbsent("k", "v4"));
+      assertEquals("v4", cache.remove("k"));
+      assertNull(cache.get("k"));
+      assertTrue(cache.isEmpty());
+   }
+
+   public void testConcurrentConditionalWrites() throws Exception {
+      cache.put("counter", 0);
+      Cache<String, Integer> counterCache = cache();
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < THREADS; i++) {
+         futures.add(fork(() -> {
+            for (int j = 0; j < INCREMENTS; j++) {
+               Integer value;
+               do {
+                  value = counterCache.get("counter");
+               } while (!counterCache.replace("counter", value, value + 1));
+            }
+         }));
+      }
+      for (Future<?> future : futures) {
+         future.get(30, TimeUnit.SECONDS);
+      }
+      assertEquals(THREADS * INCREMENTS, (int) counterCache.get("counter"));
+   }
+
+   public void testConcurrentWritesWithInterceptorChain() throws Exception {
+      cache.put("counter", 0);
+      Cache<String, Integer> counterCache = cache();
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < THREADS; i++) {
+         int thread = i;
+         futures.add(fork(() -> {
+            for (int j = 0; j < INCREMENTS; j++) {
+               switch ((thread + j) % 3) {
+                  case 0:
+                     // Goes through the interceptor chain and holds the key lock
+                     counterCache.compute("counter", (k, v) -> v + 1);
+                     break;
+                  case 1:
+                     counterCache.merge("counter", 1, Integer::sum);
+                     break;
+                  default:
+                     Integer value;
+                     do {
+                        value = counterCache.get("counter");
+                     } while (!counterCache.replace("counter", value, value + 1));
+               }
+            }
+         }));
+      }
+      for (Future<?> future : futures) {
+         future.get(30, TimeUnit.SECONDS);
+      }
+      // A write through the chain must never overwrite a concurrent lock-free write, or increments would be lost
+      assertEquals(THREADS * INCREMENTS, (int) counterCache.get("counter"));
+      assertFalse(TestingUtil.extractLockManager(cache).isLocked("counter"));
+   }
+
+   public void testExpiredEntry() {
+      cache.put("k", "v1", 1, TimeUnit.SECONDS);
+      timeService.advance(2000);
+      assertNull(cache.putIfAbsent("k", "v2"));
+      assertEquals("v2", cache.get("k"));
+      cache.put("k2", "v1", 1, TimeUnit.SECONDS);
+      timeService.advance(2000);
+      assertNull(cache.replace("k2", "v2"));
+      assertNull(cache.get("k2"));
+   }
+
+   public void testListenerUsesInterceptors() {
+      ModifiedListener listener = new ModifiedListener();
+      cache.addListener(listener);
+      try {
+         cache.put("k", "v1");
+         cache.put("k", "v2");
+         assertTrue(cache.replace("k", "v2", "v3"));
+         assertEquals(2, listener.modified.get());
+      } finally {
+         cache.removeListener(listener);
+      }
+      cache.put("k", "v4");
+      assertEquals(2, listener.modified.get());
+      assertEquals("v4", cache.get("k"));
+   }
+
+   @Listener
+   public static class ModifiedListener {
+      final AtomicInteger modified = new AtomicInteger();
+
+      @CacheEntryModified
+      public void entryModified(CacheEntryModifiedEvent<Object, Object> event) {
+         if (!event.isPre() && !event.isCreated())
+            modified.incrementAndGet();
+      }
+   }
+}
@@ -0,0 +1,117 @@
+package org.infinispan.container;
+
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.infinispan.commons.util.IntSets;
+import org.infinispan.commons.util.IteratorMapper;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.eviction.ActivationManager;
+import org.infinispan.expiration.ExpirationManager;
+import org.infinispan.metadata.EmbeddedMetadata;
+import org.infinispan.util.ControlledTimeService;
+import org.mockito.Mockito;
+import org.testng.annotations.Test;
+
+@Test(groups = "unit", testName = "container.SegmentedDataContainerTest")
+public class SegmentedDataContainerTest extends SimpleDataContainerTest {
+   private static final int NUM_SEGMENTS = 4;
+
+   private static final KeyPartitioner PARTITIONER = key -> Math.abs(key.hashCode()) % NUM_SEGMENTS;
+
+   @Override
+   protected DataContainer<String, String> createContainer() {
+      DefaultSegmentedDataContainer<String, String> dc = new DefaultSegmentedDataContainer<>(16, NUM_SEGMENTS);
+      InternalEntryFactoryImpl internalEntryFactory = new InternalEntryFactoryImpl();
+      timeService = new ControlledTimeService();
+      internalEntryFactory.injectTimeService(timeService);
+      ActivationManager activationManager = mock(ActivationManager.class);
+      doNothing().when(activationManager).onUpdate(Mockito.any(), Mockito.anyBoolean());
+      dc.initialize(null, internalEntryFactory, activationManager, timeService, mock(ExpirationManager.class),
+            PARTITIONER);
+      return dc;
+   }
+
+   public void testSegmentOperations() {
+      SegmentedDataContainer<String, String> dc = (SegmentedDataContainer<String, String>) createContainer();
+      Set<String> keysInSegment = new HashSet<>();
+      for (int i = 0; i < 100; ++i) {
+         String key = "k" + i;
+         dc.put(key, "v" + i, new EmbeddedMetadata.Builder().build());
+         if (PARTITIONER.getSegment(key) == 1) {
+            keysInSegment.add(key);
+         }
+      }
+
+      assertEquals(keysInSegment.size(), dc.sizeIncludingExpired(1));
+
+      Set<String> iterated = new HashSet<>();
+      for (Iterator<InternalCacheEntry<String, String>> iter = dc.iterator(IntSets.immutableSet(1)); iter.hasNext(); ) {
+         iterated.add(iter.next().getKey());
+      }
+      assertEquals(keysInSegment, iterated);
+
+      dc.removeSegments(IntSets.immutableSet(1));
+      assertEquals(0, dc.sizeIncludingExpired(1));
+      assertEquals(100 - keysInSegment.size(), dc.sizeIncludingExpired());
+      assertFalse(dc.iterator(IntSets.immutableSet(1)).hasNext());
+      for (String key : keysInSegment) {
+         assertNull(dc.get(key));
+      }
+
+      // Writes to a removed segment allocate it again
+      String key = keysInSegment.iterator().next();
+      dc.put(key, "v", new EmbeddedMetadata.Builder().build());
+      assertNotNull(dc.get(key));
+      assertEquals(1, dc.sizeIncludingExpired(1));
+   }
+
+   public void testSegmentedIteratorPullsOneEntryAtATime() {
+      List<Integer> segments = new ArrayList<>();
+      AtomicInteger pulled = new AtomicInteger();
+      List<Integer> values = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+      Iterator<Integer> iter = new SegmentedIterator<>(IntStream.range(0, 3).iterator(), segment -> {
+         segments.add(segment);
+         // Segment 1 is not allocated
+         return segment == 1 ? null : new IteratorMapper<>(values.iterator(), v -> {
+            pulled.incrementAndGet();
+            return v;
+         });
+      });
+
+      assertEquals(Integer.valueOf(0), iter.next());
+      assertEquals(1, pulled.get());
+      assertEquals(Collections.singletonList(0), segments);
+      for (int i = 1; i < values.size(); i++) {
+         iter.next();
+      }
+      assertEquals(values.size(), pulled.get());
+      assertEquals(Collections.singletonList(0), segments);
+
+      assertEquals(Integer.valueOf(0), iter.next());
+      assertEquals(values.size() + 1, pulled.get());
+      assertEquals(Arrays.asList(0, 1, 2), segments);
+      int remaining = 0;
+      while (iter.hasNext()) {
+         iter.next();
+         remaining++;
+      }
+      assertEquals(values.size() - 1, remaining);
+   }
+}
@@ -34,7 +34,7 @@
 public class SimpleDataContainerTest extends AbstractInfinispanTest {
    private DataContainer<String, String> dc;
 
-   private ControlledTimeService timeService;
+   protected ControlledTimeService timeService;
 
    @BeforeMethod
    public void setUp() {
@@ -26,7 +26,7 @@
 @Test(groups = "functional", testName = "container.offheap.OffHeapBoundedSingleNodeTest")
 public class OffHeapBoundedSingleNodeTest extends OffHeapSingleNodeTest {
 
-   private static final int COUNT = 51;
+   protected static final int COUNT = 51;
 
    @Override
    protected void createCacheManagers() throws Throwable {
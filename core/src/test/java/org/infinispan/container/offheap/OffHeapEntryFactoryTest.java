@@ -0,0 +1,154 @@
+package org.infinispan.container.offheap;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.infinispan.commons.marshall.Marshaller;
+import org.infinispan.commons.marshall.WrappedByteArray;
+import org.infinispan.commons.marshall.WrappedBytes;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.container.InternalEntryFactoryImpl;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.container.versioning.EntryVersion;
+import org.infinispan.container.versioning.NumericVersion;
+import org.infinispan.container.versioning.SimpleClusteredVersion;
+import org.infinispan.metadata.EmbeddedMetadata;
+import org.infinispan.metadata.Metadata;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.infinispan.util.ControlledTimeService;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the metadata written off-heap with the fixed layout is read back as it was written, and that the
+ * expiration is checked in place.
+ *
+ * @since 9.2
+ */
+@Test(groups = "unit", testName = "container.offheap.OffHeapEntryFactoryTest")
+public class OffHeapEntryFactoryTest extends AbstractInfinispanTest {
+   private static final WrappedBytes KEY = new WrappedByteArray(new byte[]{1, 2, 3});
+   private static final WrappedBytes VALUE = new WrappedByteArray(new byte[]{4, 5, 6, 7});
+   private static final long LIFESPAN = 10_000;
+   private static final long MAX_IDLE = 5_000;
+
+   private final List<Long> addresses = new ArrayList<>();
+   private ControlledTimeService timeService;
+   private Marshaller marshaller;
+   private UnpooledOffHeapMemoryAllocator allocator;
+   private OffHeapEntryFactoryImpl factory;
+
+   @BeforeMethod
+   public void createFactory() {
+      timeService = new ControlledTimeService();
+      InternalEntryFactoryImpl internalEntryFactory = new InternalEntryFactoryImpl();
+      internalEntryFactory.injectTimeService(timeService);
+      marshaller = mock(Marshaller.class);
+      allocator = new UnpooledOffHeapMemoryAllocator();
+      factory = new OffHeapEntryFactoryImpl();
+      factory.inject(marshaller, allocator, timeService, internalEntryFactory,
+            new ConfigurationBuilder().memory().storageType(StorageType.OFF_HEAP).build());
+      allocator.inject(factory);
+   }
+
+   @AfterMethod(alwaysRun = true)
+   public void freeEntries() {
+      addresses.forEach(allocator::deallocate);
+      addresses.clear();
+   }
+
+   public void testImmortalNumericVersion() {
+      assertRoundTrip(new NumericVersion(42), -1, -1);
+   }
+
+   public void testMortalNumericVersion() {
+      assertRoundTrip(new NumericVersion(Long.MAX_VALUE), LIFESPAN, -1);
+   }
+
+   public void testImmortalSimpleClusteredVersion() {
+      assertRoundTrip(new SimpleClusteredVersion(7, 42), -1, -1);
+   }
+
+   public void testMortalSimpleClusteredVersion() {
+      assertRoundTrip(new SimpleClusteredVersion(Integer.MAX_VALUE, Long.MAX_VALUE), LIFESPAN, -1);
+   }
+
+   public void testTransientMortalSimpleClusteredVersion() {
+      assertRoundTrip(new SimpleClusteredVersion(7, 42), LIFESPAN, MAX_IDLE);
+   }
+
+   public void testWithoutVersion() {
+      assertRoundTrip(null, LIFESPAN, MAX_IDLE);
+   }
+
+   public void testImmortalNeverExpires() {
+      long address = create(new NumericVersion(1), -1, -1);
+      assertFalse(factory.isExpired(address, Long.MAX_VALUE));
+   }
+
+   public void testMortalExpiration() {
+      long now = timeService.wallClockTime();
+      long address = create(new NumericVersion(1), LIFESPAN, -1);
+      assertFalse(factory.isExpired(address, now + LIFESPAN));
+      assertTrue(factory.isExpired(address, now + LIFESPAN + 1));
+   }
+
+   public void testTransientExpiration() {
+      long now = timeService.wallClockTime();
+      long address = create(new SimpleClusteredVersion(1, 1), -1, MAX_IDLE);
+      assertFalse(factory.isExpired(address, now + MAX_IDLE));
+      assertTrue(factory.isExpired(address, now + MAX_IDLE + 1));
+   }
+
+   public void testTransientMortalExpiration() {
+      long now = timeService.wallClockTime();
+      // The max idle is reached first
+      long address = create(new NumericVersion(1), LIFESPAN, MAX_IDLE);
+      assertFalse(factory.isExpired(address, now + MAX_IDLE));
+      assertTrue(factory.isExpired(address, now + MAX_IDLE + 1));
+
+      // The lifespan is reached first
+      address = create(null, MAX_IDLE, LIFESPAN);
+      assertFalse(factory.isExpired(address, now + MAX_IDLE));
+      assertTrue(factory.isExpired(address, now + MAX_IDLE + 1));
+   }
+
+   private void assertRoundTrip(EntryVersion version, long lifespan, long maxIdle) {
+      long now = timeService.wallClockTime();
+      long address = create(version, lifespan, maxIdle);
+      // Reading later must not change the times written on creation
+      timeService.advance(1);
+      InternalCacheEntry<WrappedBytes, WrappedBytes> entry = factory.fromMemory(address);
+
+      assertEquals(KEY, entry.getKey());
+      assertEquals(VALUE, entry.getValue());
+      assertEquals(lifespan, entry.getLifespan());
+      assertEquals(maxIdle, entry.getMaxIdle());
+      assertEquals(lifespan < 0 ? -1 : now, entry.getCreated());
+      assertEquals(maxIdle < 0 ? -1 : now, entry.getLastUsed());
+      if (version == null) {
+         assertNull(entry.getMetadata().version());
+      } else {
+         assertEquals(version, entry.getMetadata().version());
+      }
+      // The fixed layout is written and read without marshalling
+      verifyNoMoreInteractions(marshaller);
+   }
+
+   private long create(EntryVersion version, long lifespan, long maxIdle) {
+      Metadata metadata = new EmbeddedMetadata.Builder().version(version).lifespan(lifespan)
+            .maxIdle(maxIdle).build();
+      long address = factory.create(KEY, VALUE, metadata);
+      addresses.add(address);
+      return address;
+   }
+}
@@ -19,6 +19,7 @@
 import org.infinispan.configuration.cache.CacheMode;
 import org.infinispan.configuration.cache.ConfigurationBuilder;
 import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.container.entries.CacheEntry;
 import org.infinispan.filter.KeyFilter;
 import org.testng.annotations.Test;
 
@@ -89,4 +90,25 @@ public void testLotsOfWrites() {
       }
 
    }
+
+   public void testExpirationMetadata() {
+      Cache<String, String> cache = cache(0);
+      cache.put("mortal", "value", 10, TimeUnit.MINUTES);
+      cache.put("transient", "value", -1, TimeUnit.MINUTES, 5, TimeUnit.MINUTES);
+      cache.put("transientMortal", "value", 10, TimeUnit.MINUTES, 5, TimeUnit.MINUTES);
+
+      CacheEntry<String, String> entry = cache.getAdvancedCache().getCacheEntry("mortal");
+      assertEquals(TimeUnit.MINUTES.toMillis(10), entry.getLifespan());
+      assertEquals(-1, entry.getMaxIdle());
+
+      entry = cache.getAdvancedCache().getCacheEntry("transient");
+      assertEquals(-1, entry.getLifespan());
+      assertEquals(TimeUnit.MINUTES.toMillis(5), entry.getMaxIdle());
+
+      entry = cache.getAdvancedCache().getCacheEntry("transientMortal");
+      assertEquals(TimeUnit.MINUTES.toMillis(10), entry.getLifespan());
+      assertEquals(TimeUnit.MINUTES.toMillis(5), entry.getMaxIdle());
+
+      assertEquals(3, cache.size());
+   }
 }
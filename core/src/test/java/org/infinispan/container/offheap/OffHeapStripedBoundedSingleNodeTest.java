@@ -0,0 +1,26 @@
+package org.infinispan.container.offheap;
+
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.eviction.EvictionType;
+import org.infinispan.eviction.OffHeapEvictionMode;
+import org.infinispan.util.concurrent.IsolationLevel;
+import org.testng.annotations.Test;
+
+/**
+ * Same as {@link OffHeapBoundedSingleNodeTest} but using the striped LRU eviction mode.
+ */
+@Test(groups = "functional", testName = "container.offheap.OffHeapStripedBoundedSingleNodeTest")
+public class OffHeapStripedBoundedSingleNodeTest extends OffHeapBoundedSingleNodeTest {
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      ConfigurationBuilder dcc = getDefaultClusteredCacheConfig(CacheMode.LOCAL, false);
+      dcc.memory().storageType(StorageType.OFF_HEAP).size(COUNT).evictionType(EvictionType.COUNT)
+            .offHeapEvictionMode(OffHeapEvictionMode.STRIPED_LRU);
+      dcc.locking().isolationLevel(IsolationLevel.READ_COMMITTED);
+      // Only start up the 1 cache
+      addClusterEnabledCacheManager(dcc);
+   }
+}
@@ -0,0 +1,52 @@
+package org.infinispan.container.offheap;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.eviction.EvictionType;
+import org.infinispan.eviction.OffHeapEvictionMode;
+import org.infinispan.util.concurrent.IsolationLevel;
+import org.testng.annotations.Test;
+
+/**
+ * Same as {@link OffHeapBoundedSingleNodeTest} but using the TinyLFU eviction mode.
+ */
+@Test(groups = "functional", testName = "container.offheap.OffHeapTinyLfuBoundedSingleNodeTest")
+public class OffHeapTinyLfuBoundedSingleNodeTest extends OffHeapBoundedSingleNodeTest {
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      ConfigurationBuilder dcc = getDefaultClusteredCacheConfig(CacheMode.LOCAL, false);
+      dcc.memory().storageType(StorageType.OFF_HEAP).size(COUNT).evictionType(EvictionType.COUNT)
+            .offHeapEvictionMode(OffHeapEvictionMode.TINY_LFU);
+      dcc.locking().isolationLevel(IsolationLevel.READ_COMMITTED);
+      // Only start up the 1 cache
+      addClusterEnabledCacheManager(dcc);
+   }
+
+   public void testScanDoesNotEvictFrequentEntries() {
+      Cache<String, String> cache = cache(0);
+
+      for (int i = 0; i < COUNT; ++i) {
+         cache.put("key" + i, "value" + i);
+      }
+      // Make the first 10 keys frequently used
+      for (int j = 0; j < 5; ++j) {
+         for (int i = 0; i < 10; ++i) {
+            assertEquals("value" + i, cache.get("key" + i));
+         }
+      }
+      // Scan through twice as many keys as the cache can hold, each used only once
+      for (int i = 0; i < 2 * COUNT; ++i) {
+         cache.put("scan" + i, "value" + i);
+      }
+
+      assertEquals(COUNT, cache.size());
+      for (int i = 0; i < 10; ++i) {
+         assertEquals("value" + i, cache.get("key" + i));
+      }
+   }
+}
@@ -0,0 +1,94 @@
+package org.infinispan.expiration.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.Test;
+
+@Test(groups = "unit", testName = "expiration.impl.ExpirationIndexTest")
+public class ExpirationIndexTest extends AbstractInfinispanTest {
+
+   public void testOnlyDueKeysArePolled() {
+      ExpirationIndex<String> index = new ExpirationIndex<>(100);
+      index.schedule("k1", 1_050);
+      index.schedule("k2", 1_150);
+      index.schedule("k3", 5_000);
+
+      List<String> polled = new ArrayList<>();
+      index.pollDue(950, polled::add);
+      assertTrue(polled.isEmpty());
+
+      index.pollDue(1_100, polled::add);
+      assertEquals(Arrays.asList("k1", "k2"), polled);
+      assertEquals(1, index.size());
+   }
+
+   public void testLatestScheduleWins() {
+      ExpirationIndex<String> index = new ExpirationIndex<>(100);
+      index.schedule("k", 1_000);
+      // The entry was overwritten with a later expiry time, the key moves
+      index.schedule("k", 5_000);
+
+      List<String> polled = new ArrayList<>();
+      index.pollDue(1_000, polled::add);
+      assertTrue(polled.isEmpty());
+      assertEquals(1, index.size());
+
+      index.pollDue(5_000, polled::add);
+      assertEquals(Arrays.asList("k"), polled);
+      assertEquals(0, index.size());
+   }
+
+   public void testUnschedule() {
+      ExpirationIndex<String> index = new ExpirationIndex<>(100);
+      index.schedule("k1", 1_000);
+      index.schedule("k2", 1_000);
+      index.unschedule("k1");
+      index.unschedule("missing");
+      assertEquals(1, index.size());
+
+      List<String> polled = new ArrayList<>();
+      index.pollDue(1_000, polled::add);
+      assertEquals(Arrays.asList("k2"), polled);
+
+      // Unscheduling the last key of a bucket drops the bucket, scheduling into it again still works
+      index.schedule("k3", 2_000);
+      index.unschedule("k3");
+      index.schedule("k3", 2_000);
+      index.pollDue(2_000, polled::add);
+      assertEquals(Arrays.asList("k2", "k3"), polled);
+   }
+
+   public void testClear() {
+      ExpirationIndex<String> index = new ExpirationIndex<>(100);
+      index.schedule("k1", 1_000);
+      index.schedule("k2", 3_000);
+      index.clear();
+      assertEquals(0, index.size());
+
+      List<String> polled = new ArrayList<>();
+      index.pollDue(10_000, polled::add);
+      assertTrue(polled.isEmpty());
+   }
+
+   public void testRescheduleDuringPoll() {
+      ExpirationIndex<String> index = new ExpirationIndex<>(100);
+      index.schedule("k", 1_000);
+
+      List<String> polled = new ArrayList<>();
+      index.pollDue(1_000, key -> {
+         polled.add(key);
+         index.schedule(key, 1_000);
+      });
+      assertEquals(Arrays.asList("k"), polled);
+      assertEquals(1, index.size());
+
+      index.pollDue(1_000, polled::add);
+      assertEquals(Arrays.asList("k", "k"), polled);
+   }
+}
@@ -8,6 +8,7 @@
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotNull;
 import static org.testng.AssertJUnit.assertNull;
 
 import java.util.concurrent.ScheduledExecutorService;
@@ -36,6 +37,22 @@ public void testNoExpirationThread() {
       em.start();
 
       assertNull("Expiration task is not null!  Should not have scheduled anything!", em.expirationTask);
+      assertNull("Nothing would ever drain the expiration index", em.expirationIndex);
+   }
+
+   public void testNoExpirationIndexWithReaperDisabled() {
+      ExpirationManagerImpl em = new ExpirationManagerImpl();
+      Configuration cfg = getCfg().expiration().wakeUpInterval(789L).disableReaper().build();
+
+      ScheduledExecutorService mockService = mock(ScheduledExecutorService.class);
+      em.initialize(mockService, "", cfg, null, null, null, null);
+      em.start();
+
+      assertNull(em.expirationTask);
+      assertNull("Nothing would ever drain the expiration index", em.expirationIndex);
+      // Scheduling is ignored instead of piling up keys
+      em.scheduleExpiration("k", 1000);
+      em.unscheduleExpiration("k");
    }
 
    public void testWakeupInterval() {
@@ -52,6 +69,7 @@ public void testWakeupInterval() {
       em.start();
 
       assertEquals(mockFuture, em.expirationTask);
+      assertNotNull(em.expirationIndex);
       verify(mockService).scheduleWithFixedDelay(any(Runnable.class), anyLong(), anyLong(), any(TimeUnit.class)); // expect that the executor was never used!!
    }
 }
@@ -488,6 +488,36 @@ public CacheEntry<K, V> getCacheEntry(Object key) {
       return null;  // TODO: Customise this generated block
    }
 
+   @Override
+   public CompletableFuture<CacheEntry<K, V>> getCacheEntryAsync(Object key) {
+      return null;  // TODO: Customise this generated block
+   }
+
+   @Override
+   public CompletableFuture<Map<K, CacheEntry<K, V>>> getAllCacheEntriesAsync(Set<?> keys) {
+      return null;  // TODO: Customise this generated block
+   }
+
+   @Override
+   public CompletableFuture<V> putIfAbsentAsync(K key, V value, Metadata metadata) {
+      return null;  // TODO: Customise this generated block
+   }
+
+   @Override
+   public CompletableFuture<V> replaceAsync(K key, V value, Metadata metadata) {
+      return null;  // TODO: Customise this generated block
+   }
+
+   @Override
+   public CompletableFuture<Boolean> replaceAsync(K key, V oldValue, V newValue, Metadata metadata) {
+      return null;  // TODO: Customise this generated block
+   }
+
+   @Override
+   public CompletableFuture<Void> putAllAsync(Map<? extends K, ? extends V> map, Metadata metadata) {
+      return null;  // TODO: Customise this generated block
+   }
+
    @Override
    public Map<K, CacheEntry<K, V>> getAllCacheEntries(Set<?> keys) {
       return null;  // TODO: Customise this generated block
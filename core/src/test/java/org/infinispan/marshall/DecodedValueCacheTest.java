@@ -0,0 +1,72 @@
+package org.infinispan.marshall;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotSame;
+import static org.testng.AssertJUnit.assertSame;
+
+import java.util.Collections;
+
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.context.Flag;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that decoded values are reused for binary storage until the value changes.
+ *
+ * @since 9.2
+ */
+@Test(groups = "functional", testName = "marshall.DecodedValueCacheTest")
+public class DecodedValueCacheTest extends SingleCacheManagerTest {
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.memory().storageType(StorageType.BINARY).decodedValueCacheSize(16);
+      return TestCacheManagerFactory.createCacheManager(builder);
+   }
+
+   public void testDecodedValueReused() {
+      cache.put("k", new CustomClass("v1"));
+      Object first = cache.get("k");
+      assertEquals(new CustomClass("v1"), first);
+      assertSame(first, cache.get("k"));
+      assertSame(first, cache.getAdvancedCache().withFlags(Flag.SKIP_CACHE_LOAD).get("k"));
+      assertSame(first, cache.getAdvancedCache().getCacheEntry("k").getValue());
+      assertSame(first, cache.getAdvancedCache().getAll(Collections.singleton("k")).get("k"));
+   }
+
+   public void testDecodedValueNotSharedBetweenKeys() {
+      cache.put("k3", new CustomClass("same"));
+      cache.put("k4", new CustomClass("same"));
+      Object first = cache.get("k3");
+      Object second = cache.get("k4");
+      assertEquals(first, second);
+      assertNotSame(first, second);
+   }
+
+   public void testFunctionsDoNotShareDecodedValue() {
+      cache.put("k5", new CustomClass("v1"));
+      Object read = cache.get("k5");
+      Object computed = cache.computeIfPresent("k5", (k, v) -> {
+         assertNotSame(read, v);
+         return v;
+      });
+      assertEquals(read, computed);
+      assertNotSame(read, computed);
+      // The stored bytes are unchanged, so plain reads still share the decoded value
+      assertSame(read, cache.get("k5"));
+   }
+
+   public void testWriteReplacesDecodedValue() {
+      cache.put("k2", new CustomClass("v1"));
+      Object first = cache.get("k2");
+      cache.put("k2", new CustomClass("v2"));
+      Object second = cache.get("k2");
+      assertNotSame(first, second);
+      assertEquals(new CustomClass("v2"), second);
+   }
+}
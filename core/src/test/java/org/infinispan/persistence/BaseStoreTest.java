@@ -23,6 +23,7 @@
 import org.infinispan.commons.marshall.StreamingMarshaller;
 import org.infinispan.commons.marshall.WrappedByteArray;
 import org.infinispan.commons.marshall.WrappedBytes;
+import org.infinispan.commons.util.CloseableIterator;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.container.InternalEntryFactory;
 import org.infinispan.container.InternalEntryFactoryImpl;
@@ -38,6 +39,7 @@
 import org.infinispan.persistence.spi.AdvancedLoadWriteStore;
 import org.infinispan.persistence.spi.InitializationContext;
 import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.persistence.spi.StreamingCacheLoader;
 import org.infinispan.test.AbstractInfinispanTest;
 import org.infinispan.test.TestingUtil;
 import org.infinispan.test.fwk.TestInternalCacheEntryFactory;
@@ -479,6 +481,34 @@ public void testLoadAll() throws PersistenceException {
       }
    }
 
+   @SuppressWarnings("unchecked")
+   public void testEntryIterator() throws Exception {
+      if (!(cl instanceof StreamingCacheLoader))
+         return;
+      assertIsEmpty();
+
+      // More entries than a store would read at once
+      for (int i = 0; i < 250; i++) {
+         cl.write(marshalledEntry("k" + i, "v" + i, null));
+      }
+      InternalCacheEntry expired = internalCacheEntry("expired", "v", 1000);
+      cl.write(marshalledEntry(expired));
+      timeService.advance(1001);
+
+      Set<Object> keys = new HashSet<>();
+      try (CloseableIterator<MarshalledEntry<Object, Object>> it = ((StreamingCacheLoader<Object, Object>) cl)
+            .entryIterator(new CollectionKeyFilter<>(Collections.singleton("k3")), true, true)) {
+         while (it.hasNext()) {
+            MarshalledEntry<Object, Object> me = it.next();
+            assertEquals("v" + ((String) me.getKey()).substring(1), unwrap(me.getValue()));
+            assertTrue("Duplicate key " + me.getKey(), keys.add(me.getKey()));
+         }
+      }
+      assertEquals(249, keys.size());
+      assertFalse(keys.contains("k3"));
+      assertFalse(keys.contains("expired"));
+   }
+
    public void testReplaceExpiredEntry() throws Exception {
       assertIsEmpty();
       final long lifespan = 3000;
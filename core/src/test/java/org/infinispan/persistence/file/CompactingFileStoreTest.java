@@ -0,0 +1,215 @@
+package org.infinispan.persistence.file;
+
+import static org.infinispan.test.Exceptions.expectException;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.util.CloseableIterator;
+import org.infinispan.commons.util.Util;
+import org.infinispan.configuration.cache.CompactingFileStoreConfigurationBuilder;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.SingleFileStoreConfigurationBuilder;
+import org.infinispan.marshall.core.MarshalledEntry;
+import org.infinispan.persistence.BaseStoreTest;
+import org.infinispan.persistence.spi.AdvancedLoadWriteStore;
+import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the compacting file store, including its compaction and the index saved on stop.
+ *
+ * @since 9.2
+ */
+@Test(groups = "unit", testName = "persistence.file.CompactingFileStoreTest")
+public class CompactingFileStoreTest extends BaseStoreTest {
+
+   private String tmpDirectory;
+
+   @BeforeClass(alwaysRun = true)
+   protected void setUpTempDir() {
+      tmpDirectory = TestingUtil.tmpDirectory(this.getClass());
+   }
+
+   @AfterClass(alwaysRun = true)
+   protected void clearTempDir() {
+      Util.recursiveFileRemove(tmpDirectory);
+   }
+
+   @Override
+   protected AdvancedLoadWriteStore createStore() throws Exception {
+      clearTempDir();
+      CompactingFileStore store = new CompactingFileStore();
+      ConfigurationBuilder configurationBuilder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      configurationBuilder
+            .persistence()
+               .addStore(CompactingFileStoreConfigurationBuilder.class)
+                  .location(this.tmpDirectory);
+      store.init(createContext(configurationBuilder.build()));
+      return store;
+   }
+
+   private File file(String extension) {
+      // The files are named after the cache created by PersistenceMockUtil
+      return new File(tmpDirectory, "mock-cache-" + getClass().getSimpleName() + extension);
+   }
+
+   private static String value(int round, int i) {
+      char[] chars = new char[10000];
+      Arrays.fill(chars, (char) ('a' + round));
+      return i + new String(chars);
+   }
+
+   public void testCompaction() throws Exception {
+      CompactingFileStore<Object, Object> store = (CompactingFileStore<Object, Object>) cl;
+      for (int round = 0; round < 4; round++) {
+         for (int i = 0; i < 100; i++) {
+            store.write(marshalledEntry("k" + i, value(round, i), null));
+         }
+      }
+      long sizeWithOverwrites = 4 * 100 * 10000;
+      // Most of the file is free, which triggers the compaction
+      eventually(() -> store.getFileSize() < sizeWithOverwrites * 3 / 5 && !file(".dat.compacting").exists());
+
+      assertEquals(100, store.size());
+      for (int i = 0; i < 100; i++) {
+         assertEquals(value(3, i), store.load("k" + i).getValue());
+      }
+
+      store.stop();
+      store.start();
+      assertEquals(100, store.size());
+      for (int i = 0; i < 100; i++) {
+         assertEquals(value(3, i), store.load("k" + i).getValue());
+      }
+   }
+
+   public void testIterationDuringConcurrentWrites() throws Exception {
+      CompactingFileStore<Object, Object> store = (CompactingFileStore<Object, Object>) cl;
+      int writers = 4;
+      int entries = 200;
+      List<Future<?>> futures = new ArrayList<>();
+      for (int w = 0; w < writers; w++) {
+         int writer = w;
+         futures.add(fork(() -> {
+            for (int i = 0; i < entries; i++) {
+               store.write(marshalledEntry("k" + writer + "-" + i, value(writer, i), null));
+            }
+         }));
+      }
+      // Entries still being written by another thread must not be returned, even partially
+      while (!futures.stream().allMatch(Future::isDone)) {
+         try (CloseableIterator<MarshalledEntry<Object, Object>> iterator = store.entryIterator(null, true, true)) {
+            while (iterator.hasNext()) {
+               MarshalledEntry<Object, Object> entry = iterator.next();
+               String[] key = ((String) entry.getKey()).substring(1).split("-");
+               assertEquals(value(Integer.parseInt(key[0]), Integer.parseInt(key[1])), entry.getValue());
+            }
+         }
+      }
+      for (Future<?> future : futures) {
+         future.get(10, TimeUnit.SECONDS);
+      }
+      assertEquals(writers * entries, store.size());
+   }
+
+   public void testIdleIteratorDoesNotBlockCompaction() throws Exception {
+      CompactingFileStore<Object, Object> store = (CompactingFileStore<Object, Object>) cl;
+      store.write(marshalledEntry("k", "v", null));
+      CloseableIterator<MarshalledEntry<Object, Object>> iterator = store.entryIterator(null, true, true);
+      try {
+         assertTrue(iterator.hasNext());
+         assertEquals("k", iterator.next().getKey());
+         timeService.advance(CompactingFileStore.ITERATOR_IDLE_TIMEOUT);
+
+         for (int round = 0; round < 4; round++) {
+            for (int i = 0; i < 100; i++) {
+               store.write(marshalledEntry("k" + i, value(round, i), null));
+            }
+         }
+         long sizeWithOverwrites = 4 * 100 * 10000;
+         eventually(() -> store.getFileSize() < sizeWithOverwrites * 3 / 5 && !file(".dat.compacting").exists());
+         // The compaction has moved the entries the iterator was reading
+         expectException(PersistenceException.class, iterator::hasNext);
+      } finally {
+         iterator.close();
+      }
+   }
+
+   public void testIndexSavedOnStop() {
+      for (int i = 0; i < 10; i++) {
+         cl.write(marshalledEntry("k" + i, "v" + i, null));
+      }
+      cl.delete("k0");
+      cl.stop();
+      assertTrue(file(".idx").exists());
+
+      cl.start();
+      // The index is loaded from the index file, which is deleted so that it can't get stale
+      assertFalse(file(".idx").exists());
+      assertEquals(9, cl.size());
+      assertNull(cl.load("k0"));
+      for (int i = 1; i < 10; i++) {
+         assertEquals("v" + i, cl.load("k" + i).getValue());
+      }
+   }
+
+   public void testRebuildIndexWithoutIndexFile() {
+      for (int i = 0; i < 10; i++) {
+         cl.write(marshalledEntry("k" + i, "v" + i, null));
+      }
+      cl.write(marshalledEntry("k1", "v1-2", null));
+      cl.delete("k0");
+      cl.stop();
+      assertTrue(file(".idx").delete());
+
+      cl.start();
+      assertEquals(9, cl.size());
+      assertNull(cl.load("k0"));
+      assertEquals("v1-2", cl.load("k1").getValue());
+      for (int i = 2; i < 10; i++) {
+         assertEquals("v" + i, cl.load("k" + i).getValue());
+      }
+   }
+
+   public void testOpenSingleFileStoreFile() throws Exception {
+      cl.stop();
+      file(".idx").delete();
+
+      SingleFileStore<Object, Object> singleFileStore = new SingleFileStore<>();
+      ConfigurationBuilder configurationBuilder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      configurationBuilder
+            .persistence()
+               .addStore(SingleFileStoreConfigurationBuilder.class)
+                  .location(this.tmpDirectory);
+      singleFileStore.init(createContext(configurationBuilder.build()));
+      singleFileStore.start();
+      try {
+         for (int i = 0; i < 10; i++) {
+            singleFileStore.write(marshalledEntry("k" + i, "v" + i, null));
+         }
+         singleFileStore.delete("k0");
+      } finally {
+         singleFileStore.stop();
+      }
+
+      cl.start();
+      assertEquals(9, cl.size());
+      assertNull(cl.load("k0"));
+      for (int i = 1; i < 10; i++) {
+         assertEquals("v" + i, cl.load("k" + i).getValue());
+      }
+   }
+}
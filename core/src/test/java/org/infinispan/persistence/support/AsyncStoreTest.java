@@ -7,6 +7,7 @@
 import static org.testng.AssertJUnit.assertFalse;
 import static org.testng.AssertJUnit.assertNotNull;
 import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
 import static org.testng.AssertJUnit.fail;
 
 import java.lang.reflect.Method;
@@ -548,6 +549,58 @@ public void run() {
       assertEquals(3, underlying.threads.size());
    }
 
+   public void testUpdatesToBufferedKeysDoNotFillQueue(final Method m) throws Exception {
+      LockableStore underlying = new LockableStore();
+      ConfigurationBuilder builder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+
+      LockableStoreConfigurationBuilder lcscsBuilder = (LockableStoreConfigurationBuilder) builder
+            .persistence()
+            .addStore(new LockableStoreConfigurationBuilder(builder.persistence()));
+      lcscsBuilder.async()
+            .modificationQueueSize(10)
+            .threadPoolSize(3);
+      lcscsBuilder.async()
+            .shutdownTimeout(50);
+
+      writer = new AdvancedAsyncCacheWriter(underlying);
+      InitializationContext ctx =
+            PersistenceMockUtil.createContext(getClass().getSimpleName(), builder.build(), marshaller);
+      writer.init(ctx);
+      writer.start();
+      underlying.init(ctx);
+      underlying.start();
+      try {
+         final CountDownLatch done = new CountDownLatch(1);
+
+         underlying.lock.lock();
+         try {
+            Thread t = new Thread() {
+               @Override
+               public void run() {
+                  try {
+                     for (int i = 0; i < 100; i++)
+                        writer.write(new MarshalledEntryImpl(k(m, i % 3), v(m, i), null, marshaller()));
+                  } catch (Exception e) {
+                     log.error("Error storing entry", e);
+                  }
+                  done.countDown();
+               }
+            };
+            t.start();
+
+            assertTrue("Updates to buffered keys should not block", done.await(10, TimeUnit.SECONDS));
+         } finally {
+            underlying.lock.unlock();
+         }
+         eventually(() -> writer.getQueueSize() == 0);
+         for (int i = 97; i < 100; i++)
+            assertEquals(v(m, i), underlying.load(k(m, i % 3)).getValue());
+         assertTrue(writer.getFlushCount() > 0);
+      } finally {
+         writer.stop();
+      }
+   }
+
    private static abstract class OneEntryCacheManagerCallable extends CacheManagerCallable {
       protected final Cache<String, String> cache;
       protected final LockableStore store;
@@ -0,0 +1,154 @@
+package org.infinispan.remoting.transport.jgroups;
+
+import static org.infinispan.test.TestingUtil.extractComponent;
+import static org.infinispan.test.TestingUtil.extractGlobalComponent;
+import static org.infinispan.test.TestingUtil.wrapInboundInvocationHandler;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.Cache;
+import org.infinispan.commands.CommandsFactory;
+import org.infinispan.commands.ReplicableCommand;
+import org.infinispan.commands.remote.CacheRpcCommand;
+import org.infinispan.commands.remote.SingleRpcCommand;
+import org.infinispan.commands.write.PutKeyValueCommand;
+import org.infinispan.commons.util.EnumUtil;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.metadata.EmbeddedMetadata;
+import org.infinispan.remoting.inboundhandler.DeliverOrder;
+import org.infinispan.remoting.inboundhandler.PerCacheInboundInvocationHandler;
+import org.infinispan.remoting.inboundhandler.Reply;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.remoting.transport.Transport;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.jgroups.Message;
+import org.jgroups.blocks.RequestCorrelator;
+import org.jgroups.conf.ClassConfigurator;
+import org.jgroups.stack.Protocol;
+import org.jgroups.stack.ProtocolStack;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the replication with the commands sent without a response coalesced in batches.
+ *
+ * @since 9.2
+ */
+@Test(groups = "functional", testName = "remoting.transport.jgroups.CommandBatchingTest")
+public class CommandBatchingTest extends MultipleCacheManagersTest {
+   private static final String ASYNC_CACHE = "async";
+   private static final String BATCHED_KEY_PREFIX = "batched-";
+   private static final int KEY_COUNT = 100;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      GlobalConfigurationBuilder globalBuilder = GlobalConfigurationBuilder.defaultClusteredBuilder();
+      globalBuilder.transport().addProperty(JGroupsTransport.RPC_BATCH_WINDOW, "1000")
+            .addProperty(JGroupsTransport.RPC_BATCH_MAX_BYTES, "2000");
+      createCluster(globalBuilder, getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC), 3);
+      defineConfigurationOnAllManagers(ASYNC_CACHE, getDefaultClusteredCacheConfig(CacheMode.REPL_ASYNC));
+      waitForClusterToForm(ASYNC_CACHE);
+   }
+
+   public void testBackupWrites() {
+      for (int i = 0; i < KEY_COUNT; i++) {
+         cache(i % 3).put("key" + i, "value" + i);
+      }
+      for (Cache<Object, Object> cache : caches()) {
+         for (int i = 0; i < KEY_COUNT; i++) {
+            assertEquals(cache.get("key" + i), "value" + i);
+         }
+      }
+   }
+
+   public void testSendToManyOrder() throws Exception {
+      List<RecordingHandler> handlers = new ArrayList<>();
+      for (int i = 1; i < 3; i++) {
+         handlers.add(wrapInboundInvocationHandler(cache(i, ASYNC_CACHE), RecordingHandler::new));
+      }
+      JGroupsTransport transport = (JGroupsTransport) extractGlobalComponent(manager(0), Transport.class);
+      ProtocolStack stack = transport.getChannel().getProtocolStack();
+      BatchCountingProtocol counter = new BatchCountingProtocol();
+      stack.insertProtocol(counter, ProtocolStack.Position.ABOVE, stack.getTopProtocol().getClass());
+      try {
+         CommandsFactory commandsFactory = extractComponent(cache(0, ASYNC_CACHE), CommandsFactory.class);
+         List<Address> targets = Arrays.asList(address(1), address(2));
+         List<Object> expectedKeys = new ArrayList<>();
+         for (int i = 0; i < KEY_COUNT; i++) {
+            String key = BATCHED_KEY_PREFIX + i;
+            transport.sendToMany(targets, putCommand(commandsFactory, key, i), DeliverOrder.PER_SENDER);
+            expectedKeys.add(key);
+         }
+         // Too large to be batched, so the pending batches must be sent before it
+         String largeKey = BATCHED_KEY_PREFIX + "large";
+         transport.sendToMany(targets, putCommand(commandsFactory, largeKey, new byte[5000]), DeliverOrder.PER_SENDER);
+         expectedKeys.add(largeKey);
+
+         for (RecordingHandler handler : handlers) {
+            eventuallyEquals(expectedKeys.size(), handler.keys::size);
+            assertEquals(handler.keys, expectedKeys);
+         }
+         // Every batched command goes to 2 targets, so without batching there would be 2 messages per command
+         int batches = counter.batches.get();
+         assertTrue(batches > 0 && batches < 2 * KEY_COUNT, "Sent " + batches + " batches");
+      } finally {
+         stack.removeProtocol(counter);
+      }
+   }
+
+   private static SingleRpcCommand putCommand(CommandsFactory commandsFactory, String key, Object value) {
+      PutKeyValueCommand put = commandsFactory.buildPutKeyValueCommand(key, value, new EmbeddedMetadata.Builder().build(),
+                                                                       EnumUtil.EMPTY_BIT_SET);
+      return commandsFactory.buildSingleRpcCommand(put);
+   }
+
+   /**
+    * Counts the batch messages sent by the transport, before any retransmission.
+    */
+   static class BatchCountingProtocol extends Protocol {
+      private static final short HEADER_ID = ClassConfigurator.getProtocolId(RequestCorrelator.class);
+      final AtomicInteger batches = new AtomicInteger();
+
+      @Override
+      public Object down(Message msg) {
+         RequestCorrelator.Header header = msg.getHeader(HEADER_ID);
+         if (header != null && header.type == JGroupsTransport.BATCH) {
+            batches.incrementAndGet();
+         }
+         return down_prot.down(msg);
+      }
+   }
+
+   /**
+    * Records the keys of the test commands in the order they are received, without executing them.
+    */
+   static class RecordingHandler implements PerCacheInboundInvocationHandler {
+      final PerCacheInboundInvocationHandler delegate;
+      final List<Object> keys = Collections.synchronizedList(new ArrayList<>());
+
+      RecordingHandler(PerCacheInboundInvocationHandler delegate) {
+         this.delegate = delegate;
+      }
+
+      @Override
+      public void handle(CacheRpcCommand command, Reply reply, DeliverOrder order) {
+         if (command instanceof SingleRpcCommand) {
+            ReplicableCommand wrapped = ((SingleRpcCommand) command).getCommand();
+            if (wrapped instanceof PutKeyValueCommand) {
+               Object key = ((PutKeyValueCommand) wrapped).getKey();
+               if (key instanceof String && ((String) key).startsWith(BATCHED_KEY_PREFIX)) {
+                  keys.add(key);
+                  return;
+               }
+            }
+         }
+         delegate.handle(command, reply, order);
+      }
+   }
+}
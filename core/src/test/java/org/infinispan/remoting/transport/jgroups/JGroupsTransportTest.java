@@ -1,6 +1,7 @@
 package org.infinispan.remoting.transport.jgroups;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.util.Collections;
 import java.util.Map;
@@ -44,4 +45,17 @@ public void testSynchronousIgnoreLeaversInvocationToNonMembers() throws Exceptio
                                  ResponseMode.SYNCHRONOUS_IGNORE_LEAVERS, 1, null, DeliverOrder.NONE, true);
       assertEquals(CacheNotFoundResponse.INSTANCE, future.get().get(randomAddress));
    }
+
+   public void testMarshallingStatistics() {
+      JGroupsTransport transport = (JGroupsTransport) manager(0).getTransport();
+      transport.resetStatistics();
+      assertEquals(transport.getAverageMarshalledSize(), 0);
+
+      cache(0).put("key", "value");
+      assertTrue(transport.getMarshalledMessages() > 0);
+      assertTrue(transport.getAverageMarshalledSize() > 0);
+
+      transport.resetStatistics();
+      assertEquals(transport.getMarshalledMessages(), 0);
+   }
 }
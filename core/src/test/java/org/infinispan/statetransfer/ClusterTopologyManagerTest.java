@@ -2,7 +2,6 @@
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
-import static org.mockito.Matchers.anySet;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.spy;
@@ -17,6 +16,7 @@
 import java.util.concurrent.TimeoutException;
 
 import org.infinispan.Cache;
+import org.infinispan.commons.util.IntSet;
 import org.infinispan.commons.util.Util;
 import org.infinispan.configuration.cache.CacheMode;
 import org.infinispan.configuration.cache.ConfigurationBuilder;
@@ -441,7 +441,7 @@ public void testLeaveDuringGetTransactions() throws InterruptedException, Timeou
          log.debugf("Blocking the GET_TRANSACTIONS(%d) command on the %s", topologyId, c2);
          checkpoint.awaitStrict("LEAVE", 10, TimeUnit.SECONDS);
          return invocation.callRealMethod();
-      }).when(spyStateProvider).getTransactionsForSegments(any(Address.class), anyInt(), anySet());
+      }).when(spyStateProvider).getTransactionsForSegments(any(Address.class), anyInt(), any(IntSet.class));
       TestingUtil.replaceComponent(c2, StateProvider.class, spyStateProvider, true);
 
       long startTime = System.currentTimeMillis();
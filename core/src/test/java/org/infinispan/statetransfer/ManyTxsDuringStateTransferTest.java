@@ -1,7 +1,6 @@
 package org.infinispan.statetransfer;
 
 import static java.util.concurrent.TimeUnit.SECONDS;
-import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Mockito.doAnswer;
@@ -14,6 +13,7 @@
 
 import org.infinispan.AdvancedCache;
 import org.infinispan.commons.executors.BlockingThreadPoolExecutorFactory;
+import org.infinispan.commons.util.IntSet;
 import org.infinispan.configuration.cache.CacheMode;
 import org.infinispan.configuration.cache.ConfigurationBuilder;
 import org.infinispan.configuration.global.GlobalConfigurationBuilder;
@@ -72,7 +72,7 @@ public void testManyTxs() throws Throwable {
          checkpoint.trigger("post_get_transactions_" + topologyId + "_from_" + source);
          checkpoint.awaitStrict("resume_get_transactions_" + topologyId + "_from_" + source, 10, SECONDS);
          return result;
-      }).when(spyProvider).getTransactionsForSegments(any(Address.class), anyInt(), anySet());
+      }).when(spyProvider).getTransactionsForSegments(any(Address.class), anyInt(), any(IntSet.class));
       TestingUtil.replaceComponent(cache0, StateProvider.class, spyProvider, true);
 
       // Start cache 1, but the tx data request will be blocked on cache 0
@@ -0,0 +1,69 @@
+package org.infinispan.statetransfer;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotNull;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.container.DataContainer;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.distribution.DistributionManager;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the state transfer with several chunks in flight, the segments read in parallel and the state applied
+ * without the interceptors.
+ *
+ * @since 9.2
+ */
+@Test(groups = "functional", testName = "statetransfer.PipelinedStateTransferTest")
+public class PipelinedStateTransferTest extends MultipleCacheManagersTest {
+   private static final int KEY_COUNT = 1000;
+
+   private ConfigurationBuilder builder;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      builder = getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC);
+      builder.clustering().hash().numOwners(2).numSegments(40)
+            .stateTransfer().chunkSize(10).maxInFlightChunks(4).parallelSegments(4).bulkApply(true);
+      createCluster(builder, 2);
+      waitForClusterToForm();
+   }
+
+   public void testJoinAndLeave() {
+      for (int i = 0; i < KEY_COUNT; i++) {
+         cache(0).put("key" + i, "value" + i);
+      }
+
+      addClusterEnabledCacheManager(builder);
+      waitForClusterToForm();
+      assertOwnedEntries();
+
+      killMember(0);
+      assertOwnedEntries();
+      for (int i = 0; i < KEY_COUNT; i++) {
+         assertEquals("value" + i, cache(0).get("key" + i));
+      }
+   }
+
+   private void assertOwnedEntries() {
+      for (Cache<Object, Object> cache : caches()) {
+         DistributionManager dm = cache.getAdvancedCache().getDistributionManager();
+         DataContainer<Object, Object> dataContainer = cache.getAdvancedCache().getDataContainer();
+         int owned = 0;
+         for (int i = 0; i < KEY_COUNT; i++) {
+            String key = "key" + i;
+            if (dm.getCacheTopology().isReadOwner(key)) {
+               InternalCacheEntry<Object, Object> entry = dataContainer.get(key);
+               assertNotNull(entry);
+               assertEquals("value" + i, entry.getValue());
+               owned++;
+            }
+         }
+         assertEquals(owned, dataContainer.size());
+      }
+   }
+}
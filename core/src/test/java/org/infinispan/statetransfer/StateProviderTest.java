@@ -16,7 +16,6 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -24,6 +23,8 @@
 import org.infinispan.Cache;
 import org.infinispan.commands.CommandsFactory;
 import org.infinispan.commons.hash.MurmurHash3;
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.IntSets;
 import org.infinispan.commons.util.SmallIntSet;
 import org.infinispan.configuration.cache.CacheMode;
 import org.infinispan.configuration.cache.Configuration;
@@ -170,7 +171,7 @@ public void test1() throws InterruptedException {
       stateProvider.onTopologyUpdate(cacheTopology, false);
 
       log.debug("ch1: " + ch1);
-      Set<Integer> segmentsToRequest = ch1.getSegmentsForOwner(members1.get(0));
+      IntSet segmentsToRequest = ch1.getSegmentsForOwner(members1.get(0));
       List<TransactionInfo> transactions = stateProvider.getTransactionsForSegments(members1.get(0), 1, segmentsToRequest);
       assertEquals(0, transactions.size());
 
@@ -183,7 +184,7 @@ public void test1() throws InterruptedException {
 
       verifyNoMoreInteractions(stateTransferLock);
 
-      stateProvider.startOutboundTransfer(F, 1, Collections.singleton(0), true);
+      stateProvider.startOutboundTransfer(F, 1, IntSets.immutableSet(0), true);
 
       assertTrue(stateProvider.isStateTransferInProgress());
 
@@ -193,7 +194,7 @@ public void test1() throws InterruptedException {
 
       assertFalse(stateProvider.isStateTransferInProgress());
 
-      stateProvider.startOutboundTransfer(D, 1, Collections.singleton(0), true);
+      stateProvider.startOutboundTransfer(D, 1, IntSets.immutableSet(0), true);
 
       assertTrue(stateProvider.isStateTransferInProgress());
 
@@ -274,7 +275,7 @@ public void test2() throws InterruptedException {
       stateProvider.onTopologyUpdate(cacheTopology, false);
 
       log.debug("ch1: " + ch1);
-      Set<Integer> segmentsToRequest = ch1.getSegmentsForOwner(members1.get(0));
+      IntSet segmentsToRequest = ch1.getSegmentsForOwner(members1.get(0));
       List<TransactionInfo> transactions = stateProvider.getTransactionsForSegments(members1.get(0), 1, segmentsToRequest);
       assertEquals(0, transactions.size());
 
@@ -287,7 +288,7 @@ public void test2() throws InterruptedException {
 
       verifyNoMoreInteractions(stateTransferLock);
 
-      stateProvider.startOutboundTransfer(F, 1, Collections.singleton(0), true);
+      stateProvider.startOutboundTransfer(F, 1, IntSets.immutableSet(0), true);
 
       assertTrue(stateProvider.isStateTransferInProgress());
 
@@ -298,7 +299,7 @@ public void test2() throws InterruptedException {
 
       assertFalse(stateProvider.isStateTransferInProgress());
 
-      stateProvider.startOutboundTransfer(E, 1, Collections.singleton(0), true);
+      stateProvider.startOutboundTransfer(E, 1, IntSets.immutableSet(0), true);
 
       assertTrue(stateProvider.isStateTransferInProgress());
 
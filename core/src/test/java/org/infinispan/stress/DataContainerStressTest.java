@@ -160,6 +160,21 @@ public void handleInStoreExpiration(MarshalledEntry marshalledEntry) {
 
                  }
 
+                 @Override
+                 public void scheduleExpiration(Object key, long expiryTime) {
+
+                 }
+
+                 @Override
+                 public void unscheduleExpiration(Object key) {
+
+                 }
+
+                 @Override
+                 public void unscheduleAllExpirations() {
+
+                 }
+
                  @Override
                  public void registerWriteIncoming(Object key) {
 
@@ -0,0 +1,232 @@
+package org.infinispan.multimap.impl;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.infinispan.commons.marshall.AdvancedExternalizer;
+
+/**
+ * Immutable set of the values of a multimap key, as stored in the cache.
+ * <p>
+ * The values are split by hash in chunks of about {@link #CHUNK_SIZE} values. {@link #withValue(Object)} and {@link
+ * #withoutValue(Object)} copy only the chunk of the value and share the others with the previous bucket, so updating a
+ * key with a large number of values does not copy all of them. The previous bucket is never modified, which keeps it
+ * valid for the concurrent readers and for the listeners that receive it as the previous value.
+ *
+ * @since 9.2
+ */
+public final class Bucket<V> extends AbstractSet<V> {
+
+   public static final AdvancedExternalizer<Bucket> EXTERNALIZER = new Externalizer();
+
+   static final int CHUNK_SIZE = 1024;
+
+   private static final Bucket<?> EMPTY = new Bucket<>(new Set[1], 0);
+
+   // Never modified once the bucket is created, a null chunk is empty
+   private final Set<V>[] chunks;
+   private final int size;
+
+   private Bucket(Set<V>[] chunks, int size) {
+      this.chunks = chunks;
+      this.size = size;
+   }
+
+   @SuppressWarnings("unchecked")
+   public static <V> Bucket<V> empty() {
+      return (Bucket<V>) EMPTY;
+   }
+
+   /**
+    * @return the given values as a bucket, without a copy if they are a bucket already
+    */
+   @SuppressWarnings("unchecked")
+   public static <V> Bucket<V> of(Collection<? extends V> values) {
+      if (values instanceof Bucket)
+         return (Bucket<V>) values;
+      Set<V>[] chunks = new Set[chunkCount(values.size())];
+      int size = 0;
+      for (V value : values) {
+         if (addToChunk(chunks, value))
+            size++;
+      }
+      return new Bucket<>(chunks, size);
+   }
+
+   /**
+    * @return a bucket with the values of this bucket and the given value, or this bucket if it contains the value
+    */
+   public Bucket<V> withValue(V value) {
+      Set<V> chunk = chunks[index(value, chunks.length)];
+      if (chunk != null && chunk.contains(value))
+         return this;
+      if (size >= chunks.length * CHUNK_SIZE) {
+         // Split the chunks so that their size, and the cost of copying one, stays bounded
+         Set<V>[] newChunks = new Set[chunks.length * 2];
+         for (V v : this) {
+            addToChunk(newChunks, v);
+         }
+         addToChunk(newChunks, value);
+         return new Bucket<>(newChunks, size + 1);
+      }
+      Set<V>[] newChunks = chunks.clone();
+      int i = index(value, newChunks.length);
+      Set<V> newChunk = chunk == null ? new HashSet<>() : new HashSet<>(chunk);
+      newChunk.add(value);
+      newChunks[i] = newChunk;
+      return new Bucket<>(newChunks, size + 1);
+   }
+
+   /**
+    * @return a bucket with the values of this bucket except the given value, or this bucket if it does not contain the
+    * value
+    */
+   public Bucket<V> withoutValue(Object value) {
+      int i = index(value, chunks.length);
+      Set<V> chunk = chunks[i];
+      if (chunk == null || !chunk.contains(value))
+         return this;
+      if (size == 1)
+         return empty();
+      Set<V>[] newChunks = chunks.clone();
+      if (chunk.size() == 1) {
+         newChunks[i] = null;
+      } else {
+         Set<V> newChunk = new HashSet<>(chunk);
+         newChunk.remove(value);
+         newChunks[i] = newChunk;
+      }
+      return new Bucket<>(newChunks, size - 1);
+   }
+
+   /**
+    * @return a bucket with the values of this bucket that do not match the given predicate, or this bucket if none
+    * matches
+    */
+   public Bucket<V> withoutValues(Predicate<? super V> predicate) {
+      Set<V>[] newChunks = null;
+      int newSize = size;
+      for (int i = 0; i < chunks.length; i++) {
+         Set<V> chunk = chunks[i];
+         if (chunk == null)
+            continue;
+         Set<V> newChunk = null;
+         for (V value : chunk) {
+            if (predicate.test(value)) {
+               if (newChunk == null)
+                  newChunk = new HashSet<>(chunk);
+               newChunk.remove(value);
+               newSize--;
+            }
+         }
+         if (newChunk != null) {
+            if (newChunks == null)
+               newChunks = chunks.clone();
+            newChunks[i] = newChunk.isEmpty() ? null : newChunk;
+         }
+      }
+      if (newChunks == null)
+         return this;
+      return newSize == 0 ? empty() : new Bucket<>(newChunks, newSize);
+   }
+
+   @Override
+   public boolean contains(Object o) {
+      Set<V> chunk = chunks[index(o, chunks.length)];
+      return chunk != null && chunk.contains(o);
+   }
+
+   @Override
+   public int size() {
+      return size;
+   }
+
+   @Override
+   public Iterator<V> iterator() {
+      return new Iterator<V>() {
+         private int nextChunk;
+         private Iterator<V> current = Collections.emptyIterator();
+
+         @Override
+         public boolean hasNext() {
+            while (!current.hasNext()) {
+               if (nextChunk == chunks.length)
+                  return false;
+               Set<V> chunk = chunks[nextChunk++];
+               if (chunk != null)
+                  current = chunk.iterator();
+            }
+            return true;
+         }
+
+         @Override
+         public V next() {
+            if (!hasNext())
+               throw new NoSuchElementException();
+            return current.next();
+         }
+      };
+   }
+
+   private static int chunkCount(int size) {
+      int count = 1;
+      while (count * CHUNK_SIZE < size) {
+         count <<= 1;
+      }
+      return count;
+   }
+
+   private static <V> boolean addToChunk(Set<V>[] chunks, V value) {
+      int i = index(value, chunks.length);
+      if (chunks[i] == null)
+         chunks[i] = new HashSet<>();
+      return chunks[i].add(value);
+   }
+
+   private static int index(Object value, int chunkCount) {
+      int h = value.hashCode();
+      return (h ^ (h >>> 16)) & (chunkCount - 1);
+   }
+
+   private static class Externalizer implements AdvancedExternalizer<Bucket> {
+
+      @Override
+      public Set<Class<? extends Bucket>> getTypeClasses() {
+         return Collections.singleton(Bucket.class);
+      }
+
+      @Override
+      public Integer getId() {
+         return ExternalizerIds.BUCKET;
+      }
+
+      @Override
+      public void writeObject(ObjectOutput output, Bucket object) throws IOException {
+         output.writeInt(object.size);
+         for (Object value : object) {
+            output.writeObject(value);
+         }
+      }
+
+      @Override
+      public Bucket readObject(ObjectInput input) throws IOException, ClassNotFoundException {
+         int size = input.readInt();
+         if (size == 0)
+            return EMPTY;
+         Set<Object>[] chunks = new Set[chunkCount(size)];
+         for (int i = 0; i < size; i++) {
+            addToChunk(chunks, input.readObject());
+         }
+         return new Bucket<>(chunks, size);
+      }
+   }
+}
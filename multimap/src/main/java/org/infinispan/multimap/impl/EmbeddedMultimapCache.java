@@ -7,7 +7,6 @@
 import static org.infinispan.util.concurrent.CompletableFutures.rethrowException;
 
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
@@ -146,12 +145,7 @@ private boolean isExplicitTxContext() throws SystemException {
 
    private Void removeInternal(Predicate<? super V> p) {
       cache.keySet().stream().forEach((c, key) -> c.computeIfPresent(key, (o, o1) -> {
-         Collection<V> values = (Collection<V>) o1;
-         Collection<V> newValues = new HashSet<>();
-         for (V v : values) {
-            if (!p.test(v))
-               newValues.add(v);
-         }
+         Bucket<V> newValues = Bucket.of((Collection<V>) o1).withoutValues(p);
          return newValues.isEmpty() ? null : newValues;
       }));
       return null;
@@ -35,5 +35,6 @@ public void cacheManagerStarting(GlobalComponentRegistry gcr, GlobalConfiguratio
       addAdvancedExternalizer(externalizerMap, RemoveFunction.EXTERNALIZER);
       addAdvancedExternalizer(externalizerMap, ContainsFunction.EXTERNALIZER);
       addAdvancedExternalizer(externalizerMap, GetFunction.EXTERNALIZER);
+      addAdvancedExternalizer(externalizerMap, Bucket.EXTERNALIZER);
    }
 }
@@ -5,11 +5,11 @@
 import java.io.ObjectOutput;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Set;
 
 import org.infinispan.commons.marshall.AdvancedExternalizer;
 import org.infinispan.functional.EntryView;
+import org.infinispan.multimap.impl.Bucket;
 import org.infinispan.multimap.impl.ExternalizerIds;
 
 /**
@@ -58,20 +58,18 @@ public Boolean apply(EntryView.ReadWriteEntryView<K, Collection<V>> entryView) {
 
    private Boolean removeKeyValue(EntryView.ReadWriteEntryView<K, Collection<V>> entryView) {
       return entryView.find().map(values -> {
-               if (values.contains(value)) {
-                  Collection<V> newValues = new HashSet<>();
-                  newValues.addAll(values);
-                  newValues.remove(value);
-                  if (newValues.isEmpty()) {
-                     // If the collection is empty after remove, remove the key
-                     entryView.remove();
-                  } else {
-                     entryView.set(newValues);
-                  }
-                  return newValues.size() < values.size();
-               } else {
+               Bucket<V> bucket = Bucket.of(values);
+               Bucket<V> newValues = bucket.withoutValue(value);
+               if (newValues == bucket) {
                   return Boolean.FALSE;
                }
+               if (newValues.isEmpty()) {
+                  // If the collection is empty after remove, remove the key
+                  entryView.remove();
+               } else {
+                  entryView.set(newValues);
+               }
+               return Boolean.TRUE;
             }
       ).orElse(Boolean.FALSE);
    }
@@ -0,0 +1,91 @@
+package org.infinispan.multimap.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertSame;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.infinispan.commons.marshall.StreamingMarshaller;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.infinispan.test.CacheManagerCallable;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the copy on write of the {@link Bucket} chunks.
+ *
+ * @since 9.2
+ */
+@Test(groups = "unit", testName = "multimap.BucketTest")
+public class BucketTest extends AbstractInfinispanTest {
+
+   public void testWithValue() {
+      Bucket<Integer> empty = Bucket.empty();
+      Bucket<Integer> one = empty.withValue(1);
+      assertTrue(empty.isEmpty());
+      assertEquals(1, one.size());
+      assertTrue(one.contains(1));
+      assertSame(one, one.withValue(1));
+   }
+
+   public void testWithoutValue() {
+      Bucket<Integer> bucket = Bucket.<Integer>empty().withValue(1).withValue(2);
+      Bucket<Integer> removed = bucket.withoutValue(1);
+      assertEquals(2, bucket.size());
+      assertEquals(1, removed.size());
+      assertFalse(removed.contains(1));
+      assertSame(removed, removed.withoutValue(1));
+      assertTrue(removed.withoutValue(2).isEmpty());
+   }
+
+   public void testLargeBucket() {
+      int count = Bucket.CHUNK_SIZE * 5;
+      Set<Integer> expected = new HashSet<>();
+      Bucket<Integer> bucket = Bucket.empty();
+      for (int i = 0; i < count; i++) {
+         Bucket<Integer> previous = bucket;
+         bucket = bucket.withValue(i);
+         expected.add(i);
+         assertEquals(i, previous.size());
+         assertFalse(previous.contains(i));
+      }
+      assertEquals(expected, bucket);
+      assertEquals(expected, new HashSet<>(bucket));
+
+      Bucket<Integer> even = bucket.withoutValues(i -> i % 2 != 0);
+      expected.removeIf(i -> i % 2 != 0);
+      assertEquals(expected, even);
+      assertEquals(count, bucket.size());
+      assertSame(even, even.withoutValues(i -> i < 0));
+   }
+
+   public void testOf() {
+      Set<String> values = new HashSet<>();
+      values.add("a");
+      values.add("b");
+      Bucket<String> bucket = Bucket.of(values);
+      assertEquals(values, bucket);
+      assertSame(bucket, Bucket.of(bucket));
+   }
+
+   public void testMarshalling() {
+      TestingUtil.withCacheManager(new CacheManagerCallable(TestCacheManagerFactory.createCacheManager()) {
+         @Override
+         public void call() throws Exception {
+            StreamingMarshaller marshaller = cm.getGlobalComponentRegistry().getComponent(StreamingMarshaller.class);
+            Bucket<Integer> bucket = Bucket.empty();
+            for (int i = 0; i < Bucket.CHUNK_SIZE * 3; i++) {
+               bucket = bucket.withValue(i);
+            }
+            Object read = marshaller.objectFromByteBuffer(marshaller.objectToByteBuffer(bucket));
+            assertTrue(read instanceof Bucket);
+            assertEquals(bucket, read);
+            assertSame(Bucket.empty(), marshaller.objectFromByteBuffer(marshaller.objectToByteBuffer(Bucket.empty())));
+         }
+      });
+   }
+}
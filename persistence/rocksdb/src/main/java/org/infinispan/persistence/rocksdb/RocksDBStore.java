@@ -2,9 +2,15 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletionService;
 import java.util.concurrent.Executor;
@@ -14,7 +20,11 @@
 import org.infinispan.commons.CacheConfigurationException;
 import org.infinispan.commons.configuration.ConfiguredBy;
 import org.infinispan.commons.persistence.Store;
+import org.infinispan.commons.util.CloseableIterator;
+import org.infinispan.commons.util.IntSet;
 import org.infinispan.commons.util.Util;
+import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.executors.ExecutorAllCompletionService;
 import org.infinispan.filter.KeyFilter;
 import org.infinispan.marshall.core.MarshalledEntry;
@@ -26,8 +36,14 @@
 import org.infinispan.persistence.spi.AdvancedLoadWriteStore;
 import org.infinispan.persistence.spi.InitializationContext;
 import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.persistence.spi.SegmentedAdvancedCacheLoader;
+import org.infinispan.persistence.spi.StreamingCacheLoader;
 import org.infinispan.util.logging.LogFactory;
+import org.rocksdb.ColumnFamilyDescriptor;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ColumnFamilyOptions;
 import org.rocksdb.CompressionType;
+import org.rocksdb.DBOptions;
 import org.rocksdb.Options;
 import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
@@ -36,10 +52,19 @@
 import org.rocksdb.WriteBatch;
 import org.rocksdb.WriteOptions;
 
+/**
+ * A store backed by RocksDB.
+ * <p>
+ * In caches that transfer state by segment, every segment is stored in its own column family, so that iterating over
+ * a few segments only reads the entries of those segments. Databases created before without column families keep
+ * their layout until they are cleared.
+ */
 @Store
 @ConfiguredBy(RocksDBStoreConfiguration.class)
-public class RocksDBStore<K,V> implements AdvancedLoadWriteStore<K,V> {
+public class RocksDBStore<K,V> implements AdvancedLoadWriteStore<K,V>, SegmentedAdvancedCacheLoader<K,V>,
+        StreamingCacheLoader<K,V> {
     private static final Log log = LogFactory.getLog(RocksDBStore.class, Log.class);
+    private static final String SEGMENT_COLUMN_FAMILY_PREFIX = "segment-";
 
     private RocksDBStoreConfiguration configuration;
     private BlockingQueue<ExpiryEntry> expiryEntryQueue;
@@ -49,12 +74,23 @@
     private Semaphore semaphore;
     private WriteOptions dataWriteOptions;
     private volatile boolean stopped = true;
+    private KeyPartitioner keyPartitioner;
+    private int numSegments;
+    private boolean segmented;
+    // All the column families of the data database, the first one being the default column family
+    private List<ColumnFamilyHandle> handles;
+    // The column family of each segment, or null if the database does not store the segments separately
+    private List<ColumnFamilyHandle> segmentHandles;
 
     @Override
     public void init(InitializationContext ctx) {
         this.configuration = ctx.getConfiguration();
         this.ctx = ctx;
         this.semaphore = new Semaphore(Integer.MAX_VALUE, true);
+        this.keyPartitioner = ctx.getKeyPartitioner();
+        Configuration cacheConfiguration = ctx.getCache().getCacheConfiguration();
+        this.numSegments = cacheConfiguration.clustering().hash().numSegments();
+        this.segmented = keyPartitioner != null && cacheConfiguration.clustering().cacheMode().needsStateTransfer();
     }
 
     @Override
@@ -62,7 +98,7 @@ public void start() {
         expiryEntryQueue = new LinkedBlockingQueue<>(configuration.expiryQueueSize());
 
         try {
-            db = openDatabase(getQualifiedLocation(), dataDbOptions());
+            db = openDataDatabase(getQualifiedLocation());
             expiredDb = openDatabase(getQualifiedExpiredLocation(), expiredDbOptions());
             stopped = false;
         } catch (Exception e) {
@@ -88,11 +124,13 @@ private WriteOptions dataWriteOptions() {
         return dataWriteOptions;
     }
 
-    private Options dataDbOptions() {
-        Options options = new Options().setCreateIfMissing(true);
-        options.setCompressionType(CompressionType.getCompressionType(configuration.compressionType().toString()));
+    private DBOptions dataDbOptions() {
+        return new DBOptions().setCreateIfMissing(true).setCreateMissingColumnFamilies(true);
+    }
 
-        return options;
+    private ColumnFamilyOptions dataColumnFamilyOptions() {
+        return new ColumnFamilyOptions()
+              .setCompressionType(CompressionType.getCompressionType(configuration.compressionType().toString()));
     }
 
     private Options expiredDbOptions() {
@@ -108,6 +146,70 @@ protected RocksDB openDatabase(String location, Options options) throws IOExcept
         return RocksDB.open(options, location);
     }
 
+    /**
+     * Opens the data database, with one column family per segment if the cache is segmented and the database was not
+     * created before without them.
+     */
+    private RocksDB openDataDatabase(String location) throws IOException, RocksDBException {
+        File dir = new File(location);
+        dir.mkdirs();
+        List<byte[]> existing;
+        try {
+            existing = RocksDB.listColumnFamilies(new Options(), location);
+        } catch (RocksDBException e) {
+            // The database does not exist yet
+            existing = Collections.emptyList();
+        }
+        boolean useSegments;
+        if (existing.size() > 1) {
+            if (keyPartitioner == null || existing.size() != numSegments + 1)
+                throw log.segmentCountMismatch(location, existing.size() - 1, keyPartitioner == null ? 0 : numSegments);
+            useSegments = true;
+        } else {
+            useSegments = segmented && (existing.isEmpty() || isEmpty(location));
+            if (segmented && !useSegments)
+                log.unsegmentedDatabase(location);
+        }
+
+        ColumnFamilyOptions columnFamilyOptions = dataColumnFamilyOptions();
+        List<ColumnFamilyDescriptor> descriptors = new ArrayList<>(useSegments ? numSegments + 1 : 1);
+        descriptors.add(new ColumnFamilyDescriptor(RocksDB.DEFAULT_COLUMN_FAMILY, columnFamilyOptions));
+        if (useSegments) {
+            for (int i = 0; i < numSegments; i++) {
+                byte[] name = (SEGMENT_COLUMN_FAMILY_PREFIX + i).getBytes(StandardCharsets.UTF_8);
+                descriptors.add(new ColumnFamilyDescriptor(name, columnFamilyOptions));
+            }
+        }
+        List<ColumnFamilyHandle> newHandles = new ArrayList<>(descriptors.size());
+        RocksDB newDb = RocksDB.open(dataDbOptions(), location, descriptors, newHandles);
+        handles = newHandles;
+        segmentHandles = useSegments ? newHandles.subList(1, newHandles.size()) : null;
+        return newDb;
+    }
+
+    private static boolean isEmpty(String location) throws RocksDBException {
+        try (RocksDB existing = RocksDB.open(new Options(), location);
+             RocksIterator it = existing.newIterator()) {
+            it.seekToFirst();
+            return !it.isValid();
+        }
+    }
+
+    private void closeDataDatabase() {
+        for (ColumnFamilyHandle handle : handles) {
+            handle.close();
+        }
+        db.close();
+    }
+
+    private ColumnFamilyHandle handle(int segment) {
+        return segmentHandles == null ? handles.get(0) : segmentHandles.get(segment);
+    }
+
+    private int segment(Object key) {
+        return keyPartitioner == null ? 0 : keyPartitioner.getSegment(key);
+    }
+
     protected void destroyDatabase(String location) throws IOException {
         // Force a GC to ensure that open file handles are released in Windows
         System.gc();
@@ -129,9 +231,10 @@ protected void reinitAllDatabases() throws IOException, RocksDBException {
             if (stopped) {
                 throw new PersistenceException("RocksDB is stopped");
             }
-            db.close();
+            closeDataDatabase();
             expiredDb.close();
-            db = reinitDatabase(getQualifiedLocation(), dataDbOptions());
+            destroyDatabase(getQualifiedLocation());
+            db = openDataDatabase(getQualifiedLocation());
             expiredDb = reinitDatabase(getQualifiedExpiredLocation(), expiredDbOptions());
         } finally {
             semaphore.release(Integer.MAX_VALUE);
@@ -146,7 +249,7 @@ public void stop() {
             throw new PersistenceException("Cannot acquire semaphore", e);
         }
         try {
-            db.close();
+            closeDataDatabase();
             expiredDb.close();
         } finally {
             stopped = true;
@@ -167,20 +270,26 @@ public void clear() {
             if (stopped) {
                 throw new PersistenceException("RocksDB is stopped");
             }
-            Optional<RocksIterator> optionalIterator = wrapIterator(this.db);
-            if (optionalIterator.isPresent() && configuration.clearThreshold() <= 0) {
-                try (RocksIterator it = optionalIterator.get()) {
-                    for(it.seekToFirst(); it.isValid(); it.next()) {
-                        db.delete(it.key());
-                        count++;
+            if (configuration.clearThreshold() <= 0) {
+                clear:
+                for (ColumnFamilyHandle handle : handles) {
+                    Optional<RocksIterator> optionalIterator = wrapIterator(this.db, handle);
+                    if (!optionalIterator.isPresent())
+                        continue;
+                    try (RocksIterator it = optionalIterator.get()) {
+                        for (it.seekToFirst(); it.isValid(); it.next()) {
+                            db.delete(handle, it.key());
+                            count++;
 
-                        if (count > configuration.clearThreshold()) {
-                            destroyDatabase = true;
-                            break;
+                            if (count > configuration.clearThreshold()) {
+                                destroyDatabase = true;
+                                break clear;
+                            }
                         }
+                    } catch (RocksDBException e) {
+                        destroyDatabase = true;
+                        break;
                     }
-                } catch (RocksDBException e) {
-                    destroyDatabase = true;
                 }
             } else {
                 destroyDatabase = true;
@@ -205,6 +314,10 @@ private static Optional<RocksIterator> wrapIterator(RocksDB db) {
         return Optional.of(db.newIterator(new ReadOptions().setFillCache(false)));
     }
 
+    private static Optional<RocksIterator> wrapIterator(RocksDB db, ColumnFamilyHandle handle) {
+        return Optional.of(db.newIterator(handle, new ReadOptions().setFillCache(false)));
+    }
+
     @Override
     public int size() {
         return PersistenceUtil.count(this, null);
@@ -219,14 +332,14 @@ public boolean contains(Object key) {
         }
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public void process(KeyFilter keyFilter, CacheLoaderTask cacheLoaderTask, Executor executor, boolean loadValues, boolean loadMetadata) {
-        int batchSize = 100;
-        ExecutorAllCompletionService eacs = new ExecutorAllCompletionService(executor);
-        final TaskContext taskContext = new TaskContextImpl();
+        process(null, keyFilter, cacheLoaderTask, executor, loadValues, loadMetadata);
+    }
 
-        List<Entry> entries = new ArrayList<>(batchSize);
+    @Override
+    public void process(IntSet segments, KeyFilter keyFilter, CacheLoaderTask cacheLoaderTask, Executor executor,
+                        boolean loadValues, boolean loadMetadata) {
         try {
             semaphore.acquire();
         } catch (InterruptedException e) {
@@ -236,8 +349,42 @@ public void process(KeyFilter keyFilter, CacheLoaderTask cacheLoaderTask, Execut
             if (stopped) {
                 throw new PersistenceException("RocksDB is stopped");
             }
-            Optional<RocksIterator> optionalIterator = wrapIterator(this.db);
-            if (optionalIterator.isPresent()) {
+            List<ColumnFamilyHandle> toIterate;
+            KeyFilter filter = keyFilter;
+            if (segments == null) {
+                toIterate = segmentHandles == null ? handles : segmentHandles;
+            } else if (segmentHandles != null) {
+                toIterate = new ArrayList<>(segments.size());
+                for (int segment : segments) {
+                    toIterate.add(segmentHandles.get(segment));
+                }
+            } else {
+                // The segments are mixed together, read all the entries and check the segment of every key
+                if (keyPartitioner == null)
+                    throw new PersistenceException("Cannot iterate over segments without a key partitioner");
+                toIterate = handles;
+                filter = key -> segments.contains(keyPartitioner.getSegment(key)) && (keyFilter == null || keyFilter.accept(key));
+            }
+            process(toIterate, filter, cacheLoaderTask, executor, loadValues, loadMetadata);
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    private void process(List<ColumnFamilyHandle> toIterate, KeyFilter keyFilter, CacheLoaderTask cacheLoaderTask,
+                         Executor executor, boolean loadValues, boolean loadMetadata) {
+        int batchSize = 100;
+        ExecutorAllCompletionService eacs = new ExecutorAllCompletionService(executor);
+        final TaskContext taskContext = new TaskContextImpl();
+
+        List<Entry> entries = new ArrayList<>(batchSize);
+        try {
+            for (ColumnFamilyHandle handle : toIterate) {
+                if (taskContext.isStopped())
+                    break;
+                Optional<RocksIterator> optionalIterator = wrapIterator(this.db, handle);
+                if (!optionalIterator.isPresent())
+                    continue;
                 try (RocksIterator it = optionalIterator.get()) {
                     for (it.seekToFirst(); it.isValid(); it.next()) {
                         Entry entry = new Entry(it.key(), it.value());
@@ -248,20 +395,18 @@ public void process(KeyFilter keyFilter, CacheLoaderTask cacheLoaderTask, Execut
                             submitProcessTask(cacheLoaderTask, keyFilter, eacs, taskContext, batch, loadValues, loadMetadata);
                         }
                     }
-                    if (!entries.isEmpty()) {
-                        submitProcessTask(cacheLoaderTask, keyFilter, eacs, taskContext, entries, loadValues, loadMetadata);
-                    }
-
-                    eacs.waitUntilAllCompleted();
-                    if (eacs.isExceptionThrown()) {
-                        throw new PersistenceException("Execution exception!", eacs.getFirstException());
-                    }
-                } catch (Exception e) {
-                    throw new PersistenceException(e);
                 }
             }
-        } finally {
-            semaphore.release();
+            if (!entries.isEmpty()) {
+                submitProcessTask(cacheLoaderTask, keyFilter, eacs, taskContext, entries, loadValues, loadMetadata);
+            }
+
+            eacs.waitUntilAllCompleted();
+            if (eacs.isExceptionThrown()) {
+                throw new PersistenceException("Execution exception!", eacs.getFirstException());
+            }
+        } catch (Exception e) {
+            throw new PersistenceException(e);
         }
     }
 
@@ -276,17 +421,9 @@ private void submitProcessTask(final CacheLoaderTask cacheLoaderTask, final KeyF
                     if (taskContext.isStopped()) {
                         break;
                     }
-                    Object key = unmarshall(pair.key);
-                    if (filter == null || filter.accept(key)) {
-                        MarshalledEntry entry = loadValues || loadMetadata ? (MarshalledEntry) unmarshall(pair.value) : null;
-                        boolean isExpired = entry != null && entry.getMetadata() != null && entry.getMetadata().isExpired(now);
-                        if (!isExpired) {
-                            if (!loadValues || !loadMetadata) {
-                                entry = ctx.getMarshalledEntryFactory().newMarshalledEntry(
-                                      key, loadValues ? entry.getValue() : null, loadMetadata ? entry.getMetadata() : null);
-                            }
-                            cacheLoaderTask.processEntry(entry, taskContext);
-                        }
+                    MarshalledEntry entry = unmarshallEntry(pair.key, pair.value, filter, loadValues, loadMetadata, now);
+                    if (entry != null) {
+                        cacheLoaderTask.processEntry(entry, taskContext);
                     }
                 }
                 return null;
@@ -297,6 +434,31 @@ private void submitProcessTask(final CacheLoaderTask cacheLoaderTask, final KeyF
         });
     }
 
+    /**
+     * @return the entry, or null if its key is not accepted by the filter or if it is expired
+     */
+    private MarshalledEntry unmarshallEntry(byte[] keyBytes, byte[] valueBytes, KeyFilter filter, boolean loadValues,
+                                            boolean loadMetadata, long now) throws IOException, ClassNotFoundException {
+        Object key = unmarshall(keyBytes);
+        if (filter != null && !filter.accept(key))
+            return null;
+        MarshalledEntry entry = loadValues || loadMetadata ? (MarshalledEntry) unmarshall(valueBytes) : null;
+        boolean isExpired = entry != null && entry.getMetadata() != null && entry.getMetadata().isExpired(now);
+        if (isExpired)
+            return null;
+        if (!loadValues || !loadMetadata) {
+            entry = ctx.getMarshalledEntryFactory().newMarshalledEntry(
+                  key, loadValues ? entry.getValue() : null, loadMetadata ? entry.getMetadata() : null);
+        }
+        return entry;
+    }
+
+    @Override
+    public CloseableIterator<MarshalledEntry<K, V>> entryIterator(KeyFilter<? super K> filter, boolean fetchValue,
+                                                                  boolean fetchMetadata) {
+        return new EntryIterator(filter, fetchValue, fetchMetadata);
+    }
+
     @Override
     public boolean delete(Object key) {
         try {
@@ -306,10 +468,11 @@ public boolean delete(Object key) {
                 if (stopped) {
                     throw new PersistenceException("RocksDB is stopped");
                 }
-                if (db.get(keyBytes) == null) {
+                ColumnFamilyHandle handle = handle(segment(key));
+                if (db.get(handle, keyBytes) == null) {
                     return false;
                 }
-                db.delete(keyBytes);
+                db.delete(handle, keyBytes);
             } finally {
                 semaphore.release();
             }
@@ -329,7 +492,7 @@ public void write(MarshalledEntry me) {
                 if (stopped) {
                     throw new PersistenceException("RocksDB is stopped");
                 }
-                db.put(marshelledKey, marshalledEntry);
+                db.put(handle(segment(me.getKey())), marshelledKey, marshalledEntry);
             } finally {
                 semaphore.release();
             }
@@ -351,7 +514,7 @@ public MarshalledEntry load(Object key) {
                 if (stopped) {
                     throw new PersistenceException("RocksDB is stopped");
                 }
-                marshalledEntry = db.get(marshall(key));
+                marshalledEntry = db.get(handle(segment(key)), marshall(key));
             } finally {
                 semaphore.release();
             }
@@ -371,20 +534,17 @@ public MarshalledEntry load(Object key) {
     @Override
     public void writeBatch(Iterable<MarshalledEntry<? extends K, ? extends V>> marshalledEntries) {
         try {
-            int batchSize = 0;
-            WriteBatch batch = new WriteBatch();
+            List<Entry> batch = new ArrayList<>();
             for (MarshalledEntry entry : marshalledEntries) {
-                batch.put(marshall(entry.getKey()), marshall(entry));
-                batchSize++;
+                batch.add(new Entry(segment(entry.getKey()), marshall(entry.getKey()), marshall(entry)));
 
-                if (batchSize == configuration.maxBatchSize()) {
-                    batchSize = 0;
+                if (batch.size() == configuration.maxBatchSize()) {
                     writeBatch(batch);
-                    batch = new WriteBatch();
+                    batch = new ArrayList<>();
                 }
             }
 
-            if (batchSize != 0)
+            if (!batch.isEmpty())
                 writeBatch(batch);
 
             // Add metadata only after batch has been written
@@ -398,13 +558,19 @@ public void writeBatch(Iterable<MarshalledEntry<? extends K, ? extends V>> marsh
         }
     }
 
-    private void writeBatch(WriteBatch batch) throws InterruptedException, RocksDBException {
+    private void writeBatch(List<Entry> entries) throws InterruptedException, RocksDBException {
         semaphore.acquire();
         try {
             if (stopped)
                 throw new PersistenceException("RocksDB is stopped");
 
-            db.write(dataWriteOptions(), batch);
+            // The column families are only known while holding the semaphore, the database might be re-created
+            try (WriteBatch batch = new WriteBatch()) {
+                for (Entry entry : entries) {
+                    batch.put(handle(entry.segment), entry.key, entry.value);
+                }
+                db.write(dataWriteOptions(), batch);
+            }
         } finally {
             semaphore.release();
         }
@@ -475,15 +641,16 @@ public void purge(Executor executor, PurgeListener purgeListener) {
                     int count = 0;
                     for (Object key : keys) {
                         byte[] keyBytes = marshall(key);
+                        ColumnFamilyHandle handle = handle(segment(key));
 
-                        byte[] b = db.get(keyBytes);
+                        byte[] b = db.get(handle, keyBytes);
                         if (b == null)
                             continue;
                         MarshalledEntry me = (MarshalledEntry) ctx.getMarshaller().objectFromByteBuffer(b);
                         // TODO race condition: the entry could be updated between the get and delete!
                         if (me.getMetadata() != null && me.getMetadata().isExpired(now)) {
                             // somewhat inefficient to FIND then REMOVE...
-                            db.delete(keyBytes);
+                            db.delete(handle, keyBytes);
                             purgeListener.entryPurged(key);
                             count++;
                         }
@@ -533,6 +700,98 @@ private void addNewExpiry(MarshalledEntry entry) throws IOException {
         }
     }
 
+    /**
+     * Reads the entries in batches. The semaphore and a RocksDB iterator are only held while reading a batch, and the
+     * next batch starts after the last key read, so an iterator that is not consumed does not prevent the store from
+     * stopping.
+     */
+    private class EntryIterator implements CloseableIterator<MarshalledEntry<K, V>> {
+        private static final int BATCH_SIZE = 100;
+
+        private final KeyFilter<? super K> filter;
+        private final boolean fetchValue;
+        private final boolean fetchMetadata;
+        private final Queue<MarshalledEntry<K, V>> batch = new ArrayDeque<>(BATCH_SIZE);
+        // Index of the column family being read, and the last key read from it
+        private int handleIndex;
+        private byte[] lastKey;
+        private boolean done;
+
+        EntryIterator(KeyFilter<? super K> filter, boolean fetchValue, boolean fetchMetadata) {
+            this.filter = filter;
+            this.fetchValue = fetchValue;
+            this.fetchMetadata = fetchMetadata;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (batch.isEmpty() && !done) {
+                readBatch();
+            }
+            return !batch.isEmpty();
+        }
+
+        @Override
+        public MarshalledEntry<K, V> next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            return batch.poll();
+        }
+
+        @Override
+        public void close() {
+            done = true;
+            batch.clear();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void readBatch() {
+            try {
+                semaphore.acquire();
+            } catch (InterruptedException e) {
+                throw new PersistenceException("Cannot acquire semaphore: CacheStore is likely stopped.", e);
+            }
+            try {
+                if (stopped) {
+                    throw new PersistenceException("RocksDB is stopped");
+                }
+                List<ColumnFamilyHandle> toIterate = segmentHandles == null ? handles : segmentHandles;
+                long now = ctx.getTimeService().wallClockTime();
+                int read = 0;
+                while (read < BATCH_SIZE && handleIndex < toIterate.size()) {
+                    try (RocksIterator it = wrapIterator(db, toIterate.get(handleIndex)).get()) {
+                        if (lastKey == null) {
+                            it.seekToFirst();
+                        } else {
+                            it.seek(lastKey);
+                            if (it.isValid() && Arrays.equals(it.key(), lastKey))
+                                it.next();
+                        }
+                        for (; it.isValid() && read < BATCH_SIZE; it.next()) {
+                            lastKey = it.key();
+                            read++;
+                            MarshalledEntry entry = unmarshallEntry(lastKey, it.value(), filter, fetchValue, fetchMetadata, now);
+                            if (entry != null)
+                                batch.add(entry);
+                        }
+                        if (!it.isValid()) {
+                            handleIndex++;
+                            lastKey = null;
+                        }
+                    }
+                }
+                if (handleIndex >= toIterate.size())
+                    done = true;
+            } catch (PersistenceException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new PersistenceException(e);
+            } finally {
+                semaphore.release();
+            }
+        }
+    }
+
     private static final class ExpiryEntry {
         private final Long expiry;
         private final Object key;
@@ -570,10 +829,16 @@ public boolean equals(Object obj) {
     }
 
     private static final class Entry {
+        final int segment;
         final byte[] key;
         final byte[] value;
 
         Entry(byte[] key, byte[] value) {
+            this(-1, key, value);
+        }
+
+        Entry(int segment, byte[] key, byte[] value) {
+            this.segment = segment;
             this.key = key;
             this.value = value;
         }
@@ -1,11 +1,13 @@
 package org.infinispan.persistence.rocksdb.logging;
 
+import org.infinispan.commons.CacheConfigurationException;
 import org.jboss.logging.annotations.Cause;
 import org.jboss.logging.annotations.LogMessage;
 import org.jboss.logging.annotations.Message;
 import org.jboss.logging.annotations.MessageLogger;
 
 import static org.jboss.logging.Logger.Level.DEBUG;
+import static org.jboss.logging.Logger.Level.INFO;
 import static org.jboss.logging.Logger.Level.WARN;
 
 /**
@@ -30,4 +32,11 @@ public interface Log extends org.infinispan.util.logging.Log {
    @LogMessage(level = DEBUG)
    @Message(value = "An internal RocksDB exception occurred", id = 23008)
    void warnAboutExceptionInRocksDB(@Cause Exception e);
+
+   @Message(value = "The database at %s has %d segments but the cache is configured with %d segments", id = 23009)
+   CacheConfigurationException segmentCountMismatch(String location, int found, int configured);
+
+   @LogMessage(level = INFO)
+   @Message(value = "The database at %s was created without segments, iterating over some segments will read all the entries until the store is cleared", id = 23010)
+   void unsegmentedDatabase(String location);
 }
@@ -0,0 +1,64 @@
+package org.infinispan.persistence.rocksdb;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.IntSets;
+import org.infinispan.commons.util.concurrent.ConcurrentHashSet;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.HashConfiguration;
+import org.infinispan.configuration.cache.PersistenceConfigurationBuilder;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.distribution.ch.impl.HashFunctionPartitioner;
+import org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfigurationBuilder;
+import org.infinispan.persistence.spi.SegmentedAdvancedCacheLoader;
+import org.infinispan.util.concurrent.WithinThreadExecutor;
+import org.testng.annotations.Test;
+
+/**
+ * Runs the store tests against a database with a column family per segment.
+ *
+ * @since 9.2
+ */
+@Test(groups = "unit", testName = "persistence.rocksdb.RocksDBSegmentedStoreTest")
+public class RocksDBSegmentedStoreTest extends RocksDBStoreTest {
+
+   @Override
+   protected RocksDBStoreConfigurationBuilder createCacheStoreConfig(PersistenceConfigurationBuilder lcb) {
+      lcb.clustering().cacheMode(CacheMode.DIST_SYNC);
+      return super.createCacheStoreConfig(lcb);
+   }
+
+   @SuppressWarnings("unchecked")
+   public void testProcessSegments() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.clustering().cacheMode(CacheMode.DIST_SYNC);
+      HashConfiguration hashConfiguration = builder.build().clustering().hash();
+      KeyPartitioner keyPartitioner = new HashFunctionPartitioner();
+      keyPartitioner.init(hashConfiguration);
+
+      IntSet segments = IntSets.mutableEmptySet(hashConfiguration.numSegments());
+      Set<Object> expected = new HashSet<>();
+      for (int i = 0; i < 100; i++) {
+         Object key = "k" + i;
+         cl.write(marshalledEntry(key, "v" + i, null));
+         int segment = keyPartitioner.getSegment(key);
+         if (i % 10 == 0)
+            segments.add(segment);
+      }
+      for (int i = 0; i < 100; i++) {
+         Object key = "k" + i;
+         if (segments.contains(keyPartitioner.getSegment(key)))
+            expected.add(key);
+      }
+
+      Set<Object> processed = new ConcurrentHashSet<>();
+      ((SegmentedAdvancedCacheLoader<Object, Object>) cl).process(segments, null,
+            (me, taskContext) -> processed.add(me.getKey()), new WithinThreadExecutor(), true, true);
+      assertEquals(processed, expected);
+   }
+}
@@ -2,6 +2,11 @@
 
 import static java.lang.String.format;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 import javax.security.auth.Subject;
@@ -22,6 +27,7 @@
 import org.infinispan.container.versioning.SimpleClusteredVersion;
 import org.infinispan.container.versioning.VersionGenerator;
 import org.infinispan.context.Flag;
+import org.infinispan.distribution.DistributionManager;
 import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.manager.EmbeddedCacheManager;
 import org.infinispan.metadata.EmbeddedMetadata;
@@ -254,18 +260,21 @@ ErrorResponse createExceptionResponse(Throwable e) {
       }
    }
 
-   Response replace() {
+   /**
+    * The conditional operations read the entry first and invoke the write from the read's completion, which may run
+    * on a transport thread when the key is owned remotely. The write is therefore invoked on {@code executor}, as
+    * the interceptors may block on locks or stores.
+    */
+   CompletableFuture<Response> replaceAsync(Executor executor) {
       // Avoid listener notification for a simple optimization
       // on whether a new version should be calculated or not.
-      byte[] prev = cache.withFlags(Flag.SKIP_LISTENER_NOTIFICATION).get(key);
-      if (prev != null) {
+      return cache.withFlags(Flag.SKIP_LISTENER_NOTIFICATION).getAsync(key).thenComposeAsync(prev -> {
+         if (prev == null)
+            return CompletableFuture.completedFuture(notExecutedResp(null));
          // Generate new version only if key present
-         prev = cache.replace(key, (byte[]) operationDecodeContext, buildMetadata());
-      }
-      if (prev != null)
-         return successResp(prev);
-      else
-         return notExecutedResp(null);
+         return cache.replaceAsync(key, (byte[]) operationDecodeContext, buildMetadata())
+               .thenApply(replaced -> replaced != null ? successResp(replaced) : notExecutedResp(null));
+      }, executor);
    }
 
    void obtainCache(EmbeddedCacheManager cacheManager) throws RequestParsingException {
@@ -316,12 +325,37 @@ private Metadata buildMetadata(ExpirationParam lifespan, ExpirationParam maxIdle
       return metadata.build();
    }
 
+   /**
+    * @return {@code true} if the key is owned by this node and there is no store to load it from, so a read never
+    * leaves the data container and can be served directly from the I/O thread
+    */
+   boolean isLocalRead() {
+      Configuration cacheConfiguration = server.getCacheConfiguration(header.cacheName);
+      if (cacheConfiguration == null || cacheConfiguration.persistence().usingStores())
+         return false;
+      if (!cacheConfiguration.clustering().cacheMode().isClustered())
+         return true;
+      DistributionManager dm = server.getCacheRegistry(header.cacheName).getComponent(DistributionManager.class);
+      return dm != null && dm.getCacheTopology().isReadOwner(cache.getKeyDataConversion().toStorage(key));
+   }
+
    Response get() {
       return createGetResponse(cache.getCacheEntry(key));
    }
 
+   CompletableFuture<Response> getAsync() {
+      return cache.getCacheEntryAsync(key).thenApply(this::createGetResponse);
+   }
+
    Response getKeyMetadata() {
-      CacheEntry<byte[], byte[]> ce = cache.getCacheEntry(key);
+      return createKeyMetadataResponse(cache.getCacheEntry(key));
+   }
+
+   CompletableFuture<Response> getKeyMetadataAsync() {
+      return cache.getCacheEntryAsync(key).thenApply(this::createKeyMetadataResponse);
+   }
+
+   private Response createKeyMetadataResponse(CacheEntry<byte[], byte[]> ce) {
       if (ce != null) {
          EntryVersion entryVersion = ce.getMetadata().version();
          long version = extractVersion(entryVersion);
@@ -369,40 +403,52 @@ Response containsKey() {
          return notExistResp();
    }
 
-   Response replaceIfUnmodified() {
-      CacheEntry<byte[], byte[]> entry = cache.withFlags(Flag.SKIP_LISTENER_NOTIFICATION).getCacheEntry(key);
-      if (entry != null) {
+   CompletableFuture<Response> containsKeyAsync() {
+      return cache.getCacheEntryAsync(key).thenApply(ce -> ce != null ? successResp(null) : notExistResp());
+   }
+
+   CompletableFuture<Response> replaceIfUnmodifiedAsync(Executor executor) {
+      return cache.withFlags(Flag.SKIP_LISTENER_NOTIFICATION).getCacheEntryAsync(key).thenComposeAsync(entry -> {
+         if (entry == null)
+            return CompletableFuture.completedFuture(notExistResp());
          byte[] prev = entry.getValue();
          NumericVersion streamVersion = new NumericVersion(params.streamVersion);
-         if (entry.getMetadata().version().equals(streamVersion)) {
-            // Generate new version only if key present and version has not changed, otherwise it's wasteful
-            boolean replaced = cache.replace(key, prev, (byte[]) operationDecodeContext, buildMetadata());
-            if (replaced)
-               return successResp(prev);
-            else
-               return notExecutedResp(prev);
-         } else {
-            return notExecutedResp(prev);
-         }
-      } else return notExistResp();
+         if (!entry.getMetadata().version().equals(streamVersion))
+            return CompletableFuture.completedFuture(notExecutedResp(prev));
+         // Generate new version only if key present and version has not changed, otherwise it's wasteful
+         return cache.replaceAsync(key, prev, (byte[]) operationDecodeContext, buildMetadata())
+               .thenApply(replaced -> replaced ? successResp(prev) : notExecutedResp(prev));
+      }, executor);
+   }
+
+   CompletableFuture<Response> putIfAbsentAsync(Executor executor) {
+      return cache.getAsync(key).thenComposeAsync(prev -> {
+         if (prev != null)
+            return CompletableFuture.completedFuture(notExecutedResp(prev));
+         // Generate new version only if key not present
+         return cache.putIfAbsentAsync(key, (byte[]) operationDecodeContext, buildMetadata())
+               .thenApply(existing -> existing == null ? successResp(null) : notExecutedResp(existing));
+      }, executor);
    }
 
-   Response putIfAbsent() {
-      byte[] prev = cache.get(key);
-      if (prev == null) {
-         // Generate new version only if key not present
-         prev = cache.putIfAbsent(key, (byte[]) operationDecodeContext, buildMetadata());
-      }
-      if (prev == null)
-         return successResp(null);
-      else
-         return notExecutedResp(prev);
+   CompletableFuture<Response> putAsync() {
+      return cache.putAsync(key, (byte[]) operationDecodeContext, buildMetadata()).thenApply(this::successResp);
+   }
+
+   @SuppressWarnings("unchecked")
+   CompletableFuture<Response> putAllAsync() {
+      return cache.putAllAsync((Map<byte[], byte[]>) operationDecodeContext, buildMetadata())
+            .thenApply(ignore -> successResp(null));
    }
 
-   Response put() {
-      // Get an optimised cache in case we can make the operation more efficient
-      byte[] prev = cache.put(key, (byte[]) operationDecodeContext, buildMetadata());
-      return successResp(prev);
+   @SuppressWarnings("unchecked")
+   CompletableFuture<Response> getAllAsync() {
+      return cache.getAllCacheEntriesAsync((Set<byte[]>) operationDecodeContext).thenApply(entries -> {
+         Map<byte[], byte[]> values = new HashMap<>(entries.size());
+         entries.forEach((k, ce) -> values.put(k, ce.getValue()));
+         return new GetAllResponse(header.version, header.messageId, header.cacheName, header.clientIntel,
+               header.topologyId, values);
+      });
    }
 
    EntryVersion generateVersion(ComponentRegistry registry) {
@@ -420,31 +466,20 @@ EntryVersion generateVersion(ComponentRegistry registry) {
       }
    }
 
-   Response remove() {
-      byte[] prev = cache.remove(key);
-      if (prev != null)
-         return successResp(prev);
-      else
-         return notExistResp();
+   CompletableFuture<Response> removeAsync() {
+      return cache.removeAsync(key).thenApply(prev -> prev != null ? successResp(prev) : notExistResp());
    }
 
-   Response removeIfUnmodified() {
-      CacheEntry<byte[], byte[]> entry = cache.getCacheEntry(key);
-      if (entry != null) {
+   CompletableFuture<Response> removeIfUnmodifiedAsync(Executor executor) {
+      return cache.getCacheEntryAsync(key).thenComposeAsync(entry -> {
+         if (entry == null)
+            return CompletableFuture.completedFuture(notExistResp());
          byte[] prev = entry.getValue();
          NumericVersion streamVersion = new NumericVersion(params.streamVersion);
-         if (entry.getMetadata().version().equals(streamVersion)) {
-            boolean removed = cache.remove(key, prev);
-            if (removed)
-               return successResp(prev);
-            else
-               return notExecutedResp(prev);
-         } else {
-            return notExecutedResp(prev);
-         }
-      } else {
-         return notExistResp();
-      }
+         if (!entry.getMetadata().version().equals(streamVersion))
+            return CompletableFuture.completedFuture(notExecutedResp(prev));
+         return cache.removeAsync(key, prev).thenApply(removed -> removed ? successResp(prev) : notExecutedResp(prev));
+      }, executor);
    }
 
    Response clear() {
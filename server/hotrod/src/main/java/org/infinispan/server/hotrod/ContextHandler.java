@@ -3,15 +3,25 @@
 import static org.infinispan.server.hotrod.ResponseWriting.writeResponse;
 
 import java.security.PrivilegedActionException;
+import java.util.ArrayList;
 import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
 
 import org.infinispan.commons.logging.LogFactory;
 import org.infinispan.commons.marshall.Marshaller;
+import org.infinispan.commons.marshall.WrappedByteArray;
 import org.infinispan.commons.marshall.jboss.GenericJBossMarshaller;
+import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.container.entries.CacheEntry;
 import org.infinispan.server.core.transport.NettyTransport;
 import org.infinispan.server.hotrod.iteration.IterableIterationResult;
 import org.infinispan.server.hotrod.logging.Log;
@@ -25,18 +35,23 @@
 
 /**
  * Handler that performs actual cache operations.  Note this handler should be on a separate executor group than the
- * decoder.
+ * decoder. Consecutive gets and puts read in the same burst are grouped into a single {@code getAll}/{@code putAll}
+ * invocation, while each request still gets its own response.
  *
  * @author wburns
  * @since 9.0
  */
 public class ContextHandler extends SimpleChannelInboundHandler<CacheDecodeContext> {
    private final static Log log = LogFactory.getLog(ContextHandler.class, Log.class);
+   private static final int MAX_BATCH_SIZE = 128;
 
    private final HotRodServer server;
    private final NettyTransport transport;
    private final Executor executor;
    private final TaskManager taskManager;
+   // Single key requests read in the same burst that can be executed as one grouped invocation
+   private final List<CacheDecodeContext> batch = new ArrayList<>();
+   private final Set<WrappedByteArray> batchKeys = new HashSet<>();
 
    public ContextHandler(HotRodServer server, NettyTransport transport, Executor executor) {
       this.server = server;
@@ -47,6 +62,30 @@ public ContextHandler(HotRodServer server, NettyTransport transport, Executor ex
 
    @Override
    protected void channelRead0(ChannelHandlerContext ctx, CacheDecodeContext msg) throws Exception {
+      if (isBatchable(msg)) {
+         WrappedByteArray key = new WrappedByteArray(msg.key);
+         if (!batch.isEmpty() && (!canBatchWith(batch.get(0), msg) || batchKeys.contains(key))) {
+            dispatchBatch(ctx);
+         }
+         batch.add(msg);
+         batchKeys.add(key);
+         if (batch.size() >= MAX_BATCH_SIZE) {
+            dispatchBatch(ctx);
+         }
+         return;
+      }
+      // Keep the batched requests ahead of the ones that follow them
+      dispatchBatch(ctx);
+      execute(ctx, msg);
+   }
+
+   @Override
+   public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+      dispatchBatch(ctx);
+      super.channelReadComplete(ctx);
+   }
+
+   private void execute(ChannelHandlerContext ctx, CacheDecodeContext msg) {
       executor.execute(() -> {
          try {
             realRead(ctx, msg);
@@ -58,37 +97,156 @@ protected void channelRead0(ChannelHandlerContext ctx, CacheDecodeContext msg) t
       });
    }
 
+   /**
+    * Gets and non-conditional puts that don't need the previous value can be grouped, as their responses don't depend
+    * on each other. Puts are only grouped for non-transactional caches, so that the grouping doesn't change the scope
+    * of a transaction.
+    */
+   private boolean isBatchable(CacheDecodeContext msg) {
+      switch (msg.header.op) {
+         case GET:
+         case GET_WITH_VERSION:
+            return true;
+         case PUT:
+            if ((msg.header.flag & ProtocolFlag.ForceReturnPreviousValue.getValue()) != 0)
+               return false;
+            Configuration cacheConfiguration = server.getCacheConfiguration(msg.header.cacheName);
+            return cacheConfiguration != null && !cacheConfiguration.transaction().transactionMode().isTransactional();
+         default:
+            return false;
+      }
+   }
+
+   private static boolean canBatchWith(CacheDecodeContext first, CacheDecodeContext msg) {
+      HotRodHeader h1 = first.header;
+      HotRodHeader h2 = msg.header;
+      if (h1.op != h2.op || h1.version != h2.version || h1.flag != h2.flag || !h1.cacheName.equals(h2.cacheName)
+            || first.subject != msg.subject)
+         return false;
+      if (h1.op == HotRodOperation.PUT) {
+         // All the entries are written with the same metadata
+         return sameExpiration(first.params.lifespan, msg.params.lifespan)
+               && sameExpiration(first.params.maxIdle, msg.params.maxIdle);
+      }
+      return true;
+   }
+
+   private static boolean sameExpiration(CacheDecodeContext.ExpirationParam p1, CacheDecodeContext.ExpirationParam p2) {
+      return p1.duration == p2.duration && p1.unit == p2.unit;
+   }
+
+   private void dispatchBatch(ChannelHandlerContext ctx) {
+      if (batch.isEmpty())
+         return;
+      if (batch.size() == 1) {
+         execute(ctx, batch.get(0));
+      } else {
+         List<CacheDecodeContext> requests = new ArrayList<>(batch);
+         executor.execute(() -> {
+            try {
+               if (requests.get(0).header.op == HotRodOperation.PUT) {
+                  putAll(ctx, requests);
+               } else {
+                  getAll(ctx, requests);
+               }
+            } catch (Throwable t) {
+               executeSeparately(ctx, requests, t);
+            }
+         });
+      }
+      batch.clear();
+      batchKeys.clear();
+   }
+
+   /**
+    * Reads all the keys with a single invocation, which groups the remote gets by owner, and then writes the responses
+    * in the order the requests were received.
+    */
+   private void getAll(ChannelHandlerContext ctx, List<CacheDecodeContext> requests) {
+      Set<byte[]> keys = new HashSet<>(requests.size());
+      for (CacheDecodeContext msg : requests) {
+         keys.add(msg.key);
+      }
+      requests.get(0).cache.getAllCacheEntriesAsync(keys).whenComplete((entries, throwable) -> {
+         if (throwable != null) {
+            executeSeparately(ctx, requests, throwable);
+         } else {
+            Map<WrappedByteArray, CacheEntry<byte[], byte[]>> entriesByKey = new HashMap<>(entries.size());
+            entries.forEach((k, e) -> entriesByKey.put(new WrappedByteArray(k), e));
+            for (CacheDecodeContext msg : requests) {
+               writeResponse(msg, ctx.channel(), msg.createGetResponse(entriesByKey.get(new WrappedByteArray(msg.key))));
+            }
+         }
+      });
+   }
+
+   /**
+    * Writes all the entries with a single invocation. If it fails, some of the entries may have been written already,
+    * so the puts are then executed again one by one: they don't depend on the previous values, and each request gets
+    * the outcome of its own put rather than the failure of the group.
+    */
+   private void putAll(ChannelHandlerContext ctx, List<CacheDecodeContext> requests) {
+      Map<byte[], byte[]> entries = new LinkedHashMap<>(requests.size());
+      for (CacheDecodeContext msg : requests) {
+         entries.put(msg.key, (byte[]) msg.operationDecodeContext);
+      }
+      CacheDecodeContext first = requests.get(0);
+      first.cache.putAllAsync(entries, first.buildMetadata()).whenComplete((ignore, throwable) -> {
+         if (throwable != null) {
+            executeSeparately(ctx, requests, throwable);
+         } else {
+            for (CacheDecodeContext msg : requests) {
+               writeResponse(msg, ctx.channel(), msg.successResp(null));
+            }
+         }
+      });
+   }
+
+   /**
+    * Falls back to executing the requests of a failed group one by one, so that a failure caused by one of them is
+    * only reported to that request.
+    */
+   private void executeSeparately(ChannelHandlerContext ctx, List<CacheDecodeContext> requests, Throwable t) {
+      if (log.isDebugEnabled()) {
+         log.debugf(t instanceof CompletionException ? t.getCause() : t,
+               "Grouped %s of %d requests failed, executing them separately", requests.get(0).header.op, requests.size());
+      }
+      for (CacheDecodeContext msg : requests) {
+         execute(ctx, msg);
+      }
+   }
+
    protected void realRead(ChannelHandlerContext ctx, CacheDecodeContext msg) throws Exception {
       HotRodHeader h = msg.header;
       switch (h.op) {
          case PUT:
-            writeResponse(msg, ctx.channel(), msg.put());
+            writeResponseAsync(ctx, msg, msg.putAsync());
             break;
          case PUT_IF_ABSENT:
-            writeResponse(msg, ctx.channel(), msg.putIfAbsent());
+            writeResponseAsync(ctx, msg, msg.putIfAbsentAsync(executor)());
             break;
          case REPLACE:
-            writeResponse(msg, ctx.channel(), msg.replace());
+            writeResponseAsync(ctx, msg, msg.replaceAsync(executor)());
             break;
          case REPLACE_IF_UNMODIFIED:
-            writeResponse(msg, ctx.channel(), msg.replaceIfUnmodified());
+            writeResponseAsync(ctx, msg, msg.replaceIfUnmodifiedAsync(executor)());
             break;
          case CONTAINS_KEY:
-            writeResponse(msg, ctx.channel(), msg.containsKey());
+            writeResponseAsync(ctx, msg, msg.containsKeyAsync());
             break;
          case GET:
          case GET_WITH_VERSION:
-            writeResponse(msg, ctx.channel(), msg.get());
+            writeResponseAsync(ctx, msg, msg.getAsync());
             break;
          case GET_STREAM:
          case GET_WITH_METADATA:
-            writeResponse(msg, ctx.channel(), msg.getKeyMetadata());
+            writeResponseAsync(ctx, msg, msg.getKeyMetadataAsync());
             break;
          case REMOVE:
-            writeResponse(msg, ctx.channel(), msg.remove());
+            writeResponseAsync(ctx, msg, msg.removeAsync());
             break;
          case REMOVE_IF_UNMODIFIED:
-            writeResponse(msg, ctx.channel(), msg.removeIfUnmodified());
+            writeResponseAsync(ctx, msg, msg.removeIfUnmodifiedAsync(executor)());
             break;
          case PING:
             writeResponse(msg, ctx.channel(), new EmptyResponse(h.version, h.messageId, h.cacheName,
@@ -117,10 +275,9 @@ protected void realRead(ChannelHandlerContext ctx, CacheDecodeContext msg) throw
                   .cache(msg.cache)
                   .parameters(execContext.getParams())
                   .subject(msg.subject);
-            byte[] result = (byte[]) taskManager.runTask(execContext.getName(), taskContext).get();
-            writeResponse(msg, ctx.channel(),
-                  new ExecResponse(h.version, h.messageId, h.cacheName, h.clientIntel, h.topologyId,
-                        result == null ? new byte[]{} : result));
+            writeResponseAsync(ctx, msg, taskManager.<byte[]>runTask(execContext.getName(), taskContext)
+                  .thenApply(result -> new ExecResponse(h.version, h.messageId, h.cacheName, h.clientIntel,
+                        h.topologyId, result == null ? new byte[]{} : result)));
             break;
          case BULK_GET:
             int size = (int) msg.operationDecodeContext;
@@ -185,13 +342,10 @@ protected void realRead(ChannelHandlerContext ctx, CacheDecodeContext msg) throw
                   removed ? OperationStatus.Success : OperationStatus.InvalidIteration, h.topologyId));
             break;
          case PUT_ALL:
-            msg.cache.putAll((Map<byte[], byte[]>) msg.operationDecodeContext, msg.buildMetadata());
-            writeResponse(msg, ctx.channel(), msg.decoder.createSuccessResponse(h, null));
+            writeResponseAsync(ctx, msg, msg.putAllAsync());
             break;
          case GET_ALL:
-            Map<byte[], byte[]> map = msg.cache.getAll((Set<byte[]>) msg.operationDecodeContext);
-            writeResponse(msg, ctx.channel(), new GetAllResponse(h.version, h.messageId, h.cacheName,
-                  h.clientIntel, h.topologyId, map));
+            writeResponseAsync(ctx, msg, msg.getAllAsync());
             break;
          case PUT_STREAM:
             ByteBuf buf = (ByteBuf) msg.operationDecodeContext;
@@ -201,11 +355,11 @@ protected void realRead(ChannelHandlerContext ctx, CacheDecodeContext msg) throw
                msg.operationDecodeContext = bytes;
                long version = msg.params.streamVersion;
                if (version == 0) { // Normal put
-                  writeResponse(msg, ctx.channel(), msg.put());
+                  writeResponseAsync(ctx, msg, msg.putAsync());
                } else if (version < 0) { // putIfAbsent
-                  writeResponse(msg, ctx.channel(), msg.putIfAbsent());
+                  writeResponseAsync(ctx, msg, msg.putIfAbsentAsync(executor)());
                } else { // versioned replace
-                  writeResponse(msg, ctx.channel(), msg.replaceIfUnmodified());
+                  writeResponseAsync(ctx, msg, msg.replaceIfUnmodifiedAsync(executor)());
                }
             } finally {
                buf.release();
@@ -225,6 +379,23 @@ protected void realRead(ChannelHandlerContext ctx, CacheDecodeContext msg) throw
       }
    }
 
+   /**
+    * Writes the response once the cache operation completes, so the executor thread is released as soon as the
+    * operation has been invoked instead of waiting for any remote call it makes. A failure is answered with the header
+    * of the request, as the decoder may already be decoding the next one.
+    */
+   private void writeResponseAsync(ChannelHandlerContext ctx, CacheDecodeContext msg, CompletableFuture<Response> stage) {
+      stage.whenComplete((response, throwable) -> {
+         if (throwable != null) {
+            Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+            log.debug("Exception caught", cause);
+            writeResponse(msg, ctx.channel(), msg.createExceptionResponse(cause));
+         } else {
+            writeResponse(msg, ctx.channel(), response);
+         }
+      });
+   }
+
    @Override
    public void channelActive(ChannelHandlerContext ctx) throws Exception {
       super.channelActive(ctx);
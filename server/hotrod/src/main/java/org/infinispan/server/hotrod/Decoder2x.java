@@ -47,6 +47,7 @@
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.util.CharsetUtil;
 
 /**
@@ -685,23 +686,26 @@ public void customReadValue(HotRodHeader header, ByteBuf buffer, CacheDecodeCont
             }
             break;
          case PUT_STREAM:
-            ByteBuf vBuffer;
+            // Chunks are kept as retained slices of the inbound buffer, so the value is only copied once, when the
+            // complete stream is turned into the byte[] stored in the cache
+            CompositeByteBuf vBuffer;
             if (hrCtx.operationDecodeContext == null) {
-               hrCtx.operationDecodeContext = vBuffer = ByteBufAllocator.DEFAULT.buffer();
+               hrCtx.operationDecodeContext = vBuffer = ByteBufAllocator.DEFAULT.compositeBuffer(Integer.MAX_VALUE);
             } else {
-               vBuffer = (ByteBuf) hrCtx.operationDecodeContext;
-            }
-            if (vBuffer != null) {
-               readMaybeRangedBytes(buffer).map(bytes -> {
-                  if (bytes.length > 0) {
-                     vBuffer.writeBytes(bytes);
-                  } else {
-                     out.add(hrCtx);
-                  }
-                  buffer.markReaderIndex();
-                  return Optional.empty();
-               });
+               vBuffer = (CompositeByteBuf) hrCtx.operationDecodeContext;
             }
+            readMaybeVInt(buffer).ifPresent(length -> {
+               if (buffer.readableBytes() < length) {
+                  buffer.resetReaderIndex();
+                  return;
+               }
+               if (length > 0) {
+                  vBuffer.addComponent(true, buffer.readRetainedSlice(length));
+               } else {
+                  out.add(hrCtx);
+               }
+               buffer.markReaderIndex();
+            });
             break;
       }
    }
@@ -5,10 +5,13 @@
 import org.infinispan.manager.EmbeddedCacheManager;
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.server.hotrod.logging.Log;
+import org.infinispan.server.hotrod.transport.ExtendedByteBuf;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandler.Sharable;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.MessageToByteEncoder;
 import io.netty.util.internal.PlatformDependent;
 
@@ -41,6 +44,40 @@ private Cache<Address, ServerAddress> getAddressCache() {
       return addressCache;
    }
 
+   @Override
+   public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+      if (msg instanceof GetResponse) {
+         GetResponse r = (GetResponse) msg;
+         if (r.operation == HotRodOperation.GET && r.status == OperationStatus.Success
+               && Constants.isVersion2x(r.version) && writeGetResponse(ctx, r, promise)) {
+            return;
+         }
+      }
+      super.write(ctx, msg, promise);
+   }
+
+   /**
+    * Writes the header of a successful get into a buffer of its own, followed by the stored value wrapped as it is,
+    * so that the value is not copied into the response.
+    *
+    * @return {@code false} if the header could not be written, the regular encoding then reports the error
+    */
+   private boolean writeGetResponse(ChannelHandlerContext ctx, GetResponse r, ChannelPromise promise) {
+      if (isTrace) {
+         log.tracef("Encode msg %s", r);
+      }
+      ByteBuf header = ctx.alloc().ioBuffer();
+      try {
+         getEncoder(r.version).writeHeader(r, header, getAddressCache(), server);
+         ExtendedByteBuf.writeUnsignedInt(r.data.length, header);
+      } catch (Throwable t) {
+         header.release();
+         return false;
+      }
+      ctx.write(Unpooled.wrappedBuffer(header, Unpooled.wrappedBuffer(r.data)), promise);
+      return true;
+   }
+
    @Override
    protected void encode(ChannelHandlerContext ctx, Object msg, ByteBuf buf) throws Exception {
       try {
@@ -8,8 +8,8 @@
 import io.netty.channel.ChannelInboundHandlerAdapter;
 
 /**
- * Handler that performs actual cache operations.  Note this handler should be on a separate executor group than the
- * decoder.
+ * Handler that serves operations which never block directly on the I/O thread. Reads are only served here when the key
+ * is owned by this node and the cache has no store, all other operations are passed on to the {@link ContextHandler}.
  *
  * @author wburns
  * @since 9.0
@@ -35,14 +35,26 @@ private void realChannelRead(ChannelHandlerContext ctx, Object msg, CacheDecodeC
       HotRodHeader h = cdc.header;
       switch (h.op) {
          case CONTAINS_KEY:
-            writeResponse(cdc, ctx.channel(), cdc.containsKey());
+            if (cdc.isLocalRead()) {
+               writeResponse(cdc, ctx.channel(), cdc.containsKey());
+            } else {
+               super.channelRead(ctx, msg);
+            }
             break;
          case GET:
          case GET_WITH_VERSION:
-            writeResponse(cdc, ctx.channel(), cdc.get());
+            if (cdc.isLocalRead()) {
+               writeResponse(cdc, ctx.channel(), cdc.get());
+            } else {
+               super.channelRead(ctx, msg);
+            }
             break;
          case GET_WITH_METADATA:
-            writeResponse(cdc, ctx.channel(), cdc.getKeyMetadata());
+            if (cdc.isLocalRead()) {
+               writeResponse(cdc, ctx.channel(), cdc.getKeyMetadata());
+            } else {
+               super.channelRead(ctx, msg);
+            }
             break;
          case PING:
             writeResponse(cdc, ctx.channel(), new EmptyResponse(h.version, h.messageId, h.cacheName,
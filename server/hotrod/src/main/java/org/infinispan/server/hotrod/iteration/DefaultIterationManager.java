@@ -6,14 +6,12 @@
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.infinispan.AdvancedCache;
@@ -27,6 +25,9 @@
 import org.infinispan.commons.logging.LogFactory;
 import org.infinispan.commons.marshall.Marshaller;
 import org.infinispan.commons.util.CollectionFactory;
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.IntSets;
+import org.infinispan.commons.util.SmallIntSet;
 import org.infinispan.configuration.cache.CompatibilityModeConfiguration;
 import org.infinispan.container.entries.CacheEntry;
 import org.infinispan.filter.KeyValueFilterConverter;
@@ -42,17 +43,17 @@
  * @since 8.0
  */
 class IterationSegmentsListener implements BaseCacheStream.SegmentCompletionListener {
-   private Set<Integer> finished = new HashSet<>();
-   private Set<Integer> justFinished = new HashSet<>();
+   private final IntSet finished = new SmallIntSet();
+   private IntSet justFinished = IntSets.immutableEmptySet();
 
-   Set<Integer> getFinished(boolean endOfIteration) {
+   IntSet getFinished(boolean endOfIteration) {
       synchronized (this) {
          if (endOfIteration) {
-            Set<Integer> segments = new HashSet<>(finished);
+            IntSet segments = IntSets.mutableCopyFrom(finished);
             segments.addAll(justFinished);
             return segments;
          } else {
-            Set<Integer> diff = new HashSet<>(finished);
+            IntSet diff = IntSets.mutableCopyFrom(finished);
             diff.removeAll(justFinished);
             finished.clear();
             finished.addAll(justFinished);
@@ -64,9 +65,10 @@ Set<Integer> getFinished(boolean endOfIteration) {
    @Override
    public void segmentCompleted(Set<Integer> segments) {
       if (!segments.isEmpty()) {
+         IntSet completed = IntSets.from(segments);
          synchronized (this) {
-            justFinished = segments;
-            finished.addAll(segments);
+            justFinished = completed;
+            finished.addAll(completed);
          }
       }
    }
@@ -132,7 +134,7 @@ public String start(Cache cache, Optional<BitSet> segments, Optional<KeyValuePai
             (AdvancedCache<Object, Object>) advancedCache.withEncoding(IdentityEncoder.class) : advancedCache;
 
       CacheStream<CacheEntry<Object, Object>> stream = iterationCache.cacheEntrySet().stream();
-      segments.map(bitSet -> stream.filterKeySegments(bitSet.stream().boxed().collect(Collectors.toSet())));
+      segments.map(bitSet -> stream.filterKeySegments(SmallIntSet.from(bitSet.toLongArray())));
 
       IterationSegmentsListener segmentListener = new IterationSegmentsListener();
       CompatInfo compatInfo = CompatInfo.create(compatibilityConfig);
@@ -204,7 +206,7 @@ public IterableIterationResult next(String cacheName, String iterationId) {
          return new IterableIterationResult(iterationState.listener.getFinished(entries.isEmpty()), OperationStatus.Success,
                entries, iterationState.compatInfo, iterationState.metadata);
       } else {
-         return new IterableIterationResult(Collections.emptySet(), OperationStatus.InvalidIteration,
+         return new IterableIterationResult(IntSets.immutableEmptySet(), OperationStatus.InvalidIteration,
                Collections.emptyList(), null, false);
       }
    }
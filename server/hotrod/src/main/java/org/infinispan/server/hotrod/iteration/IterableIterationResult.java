@@ -2,8 +2,8 @@
 
 import java.util.BitSet;
 import java.util.List;
-import java.util.Set;
 
+import org.infinispan.commons.util.IntSet;
 import org.infinispan.container.entries.CacheEntry;
 import org.infinispan.server.hotrod.OperationStatus;
 
@@ -12,13 +12,13 @@
  * @since 9.0
  */
 public class IterableIterationResult {
-   private final Set<Integer> finishedSegments;
+   private final IntSet finishedSegments;
    private final OperationStatus statusCode;
    private final List<CacheEntry> entries;
    private final CompatInfo compatInfo;
    private final boolean metadata;
 
-   IterableIterationResult(Set<Integer> finishedSegments, OperationStatus statusCode, List<CacheEntry> entries, CompatInfo compatInfo, boolean metadata) {
+   IterableIterationResult(IntSet finishedSegments, OperationStatus statusCode, List<CacheEntry> entries, CompatInfo compatInfo, boolean metadata) {
       this.finishedSegments = finishedSegments;
       this.statusCode = statusCode;
       this.entries = entries;
@@ -44,7 +44,7 @@ public boolean isCompatEnabled() {
 
    public byte[] segmentsToBytes() {
       BitSet bs = new BitSet();
-      finishedSegments.stream().forEach(bs::set);
+      finishedSegments.intStream().forEach(bs::set);
       return bs.toByteArray();
    }
 
@@ -0,0 +1,106 @@
+package org.infinispan.server.hotrod;
+
+import static org.infinispan.server.hotrod.OperationStatus.KeyDoesNotExist;
+import static org.infinispan.server.hotrod.OperationStatus.OperationNotExecuted;
+import static org.infinispan.server.hotrod.OperationStatus.ServerError;
+import static org.infinispan.server.hotrod.OperationStatus.Success;
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.assertStatus;
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.assertSuccess;
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.hotRodCacheConfiguration;
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.v;
+
+import java.lang.reflect.Method;
+
+import org.infinispan.Cache;
+import org.infinispan.commands.write.ReplaceCommand;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.context.InvocationContext;
+import org.infinispan.interceptors.AsyncInterceptorChain;
+import org.infinispan.interceptors.DDAsyncInterceptor;
+import org.infinispan.server.hotrod.test.HotRodClient;
+import org.infinispan.server.hotrod.test.HotRodMagicKeyGenerator;
+import org.infinispan.server.hotrod.test.TestGetWithVersionResponse;
+import org.infinispan.test.TestException;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the conditional operations, which read the entry and then write it through the async cache API, when the key
+ * is owned by another node.
+ *
+ * @since 9.2
+ */
+@Test(groups = "functional", testName = "server.hotrod.HotRodAsyncOperationsTest")
+public class HotRodAsyncOperationsTest extends HotRodMultiNodeTest {
+
+   @Override
+   protected String cacheName() {
+      return "hotRodAsyncOperations";
+   }
+
+   @Override
+   protected ConfigurationBuilder createCacheConfig() {
+      ConfigurationBuilder cfg = hotRodCacheConfiguration(
+            getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, false));
+      cfg.clustering().hash().numOwners(1).l1().disable();
+      return cfg;
+   }
+
+   private byte[] keyOwnedByNode1() throws Exception {
+      return HotRodMagicKeyGenerator.newKey(cache(1, cacheName()));
+   }
+
+   public void testConditionalOperationsOnRemoteOwner(Method m) throws Exception {
+      HotRodClient client = clients().get(0);
+      byte[] key = keyOwnedByNode1();
+
+      assertStatus(client.replace(key, 0, 0, v(m)), OperationNotExecuted);
+      assertStatus(client.putIfAbsent(key, 0, 0, v(m)), Success);
+      assertStatus(client.putIfAbsent(key, 0, 0, v(m, "v1-")), OperationNotExecuted);
+      assertStatus(client.replace(key, 0, 0, v(m, "v2-")), Success);
+
+      TestGetWithVersionResponse resp = client.getWithVersion(key, 0);
+      assertSuccess(client.get(key, 0), v(m, "v2-"));
+      assertStatus(client.replaceIfUnmodified(key, 0, 0, v(m, "v3-"), resp.dataVersion + 1), OperationNotExecuted);
+      assertStatus(client.replaceIfUnmodified(key, 0, 0, v(m, "v3-"), resp.dataVersion), Success);
+      assertSuccess(client.get(key, 0), v(m, "v3-"));
+
+      resp = client.getWithVersion(key, 0);
+      assertStatus(client.removeIfUnmodified(key, resp.dataVersion + 1, 0), OperationNotExecuted);
+      assertStatus(client.removeIfUnmodified(key, resp.dataVersion, 0), Success);
+      assertStatus(client.removeIfUnmodified(key, resp.dataVersion, 0), KeyDoesNotExist);
+      assertStatus(client.get(key, 0), KeyDoesNotExist);
+   }
+
+   public void testRemoteFailurePropagated(Method m) throws Exception {
+      HotRodClient client = clients().get(0);
+      byte[] key = keyOwnedByNode1();
+      assertStatus(client.put(key, 0, 0, v(m)), Success);
+
+      Cache<?, ?> owner = cache(1, cacheName());
+      AsyncInterceptorChain chain = owner.getAdvancedCache().getAsyncInterceptorChain();
+      FailingReplaceInterceptor interceptor = new FailingReplaceInterceptor();
+      owner.getAdvancedCache().getComponentRegistry().wireDependencies(interceptor);
+      chain.addInterceptor(interceptor, 0);
+      try {
+         // The failure of the write invoked after the read must be sent to the client
+         assertStatus(client.replace(key, 0, 0, v(m, "v1-")), ServerError);
+         TestGetWithVersionResponse resp = client.getWithVersion(key, 0);
+         assertStatus(client.replaceIfUnmodified(key, 0, 0, v(m, "v1-"), resp.dataVersion), ServerError);
+      } finally {
+         chain.removeInterceptor(FailingReplaceInterceptor.class);
+      }
+      assertSuccess(client.get(key, 0), v(m));
+
+      // The connection is still usable after the failures
+      assertStatus(client.replace(key, 0, 0, v(m, "v2-")), Success);
+      assertSuccess(client.get(key, 0), v(m, "v2-"));
+   }
+
+   static class FailingReplaceInterceptor extends DDAsyncInterceptor {
+      @Override
+      public Object visitReplaceCommand(InvocationContext ctx, ReplaceCommand command) throws Throwable {
+         throw new TestException("Replace failed on the owner");
+      }
+   }
+}
@@ -0,0 +1,200 @@
+package org.infinispan.server.hotrod;
+
+import static org.infinispan.server.hotrod.OperationStatus.ServerError;
+import static org.infinispan.server.hotrod.OperationStatus.Success;
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.assertStatus;
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.assertSuccess;
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.hotRodCacheConfiguration;
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.k;
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.v;
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.infinispan.commands.read.GetAllCommand;
+import org.infinispan.commands.read.GetCacheEntryCommand;
+import org.infinispan.commands.write.PutKeyValueCommand;
+import org.infinispan.commands.write.PutMapCommand;
+import org.infinispan.commons.marshall.WrappedBytes;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.context.InvocationContext;
+import org.infinispan.interceptors.DDAsyncInterceptor;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.persistence.dummy.DummyInMemoryStoreConfigurationBuilder;
+import org.infinispan.server.hotrod.test.Op;
+import org.infinispan.server.hotrod.test.TestGetResponse;
+import org.infinispan.server.hotrod.test.TestResponse;
+import org.infinispan.test.TestException;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the gets and puts a client pipelines are grouped into bulk invocations, while every request still gets
+ * its own response.
+ *
+ * @since 9.2
+ */
+@Test(groups = "functional", testName = "server.hotrod.HotRodPipelinedBatchingTest")
+public class HotRodPipelinedBatchingTest extends HotRodSingleNodeTest {
+   private static final byte[] FAILING_KEY = "failing-key".getBytes();
+
+   private final RecordingInterceptor interceptor = new RecordingInterceptor();
+
+   @Override
+   protected EmbeddedCacheManager createTestCacheManager() {
+      // With a store, the reads are not served on the event loop and reach the grouping handler
+      ConfigurationBuilder builder = hotRodCacheConfiguration();
+      builder.persistence().addStore(DummyInMemoryStoreConfigurationBuilder.class).storeName(getClass().getName());
+      return TestCacheManagerFactory.createCacheManager(
+            new GlobalConfigurationBuilder().nonClusteredDefault().defaultCacheName(cacheName), builder);
+   }
+
+   @Override
+   protected void setup() throws Exception {
+      super.setup();
+      advancedCache.getAsyncInterceptorChain().addInterceptor(interceptor, 0);
+   }
+
+   @BeforeMethod
+   public void clearInvocations() {
+      interceptor.invocations.clear();
+   }
+
+   public void testGetsGrouped(Method m) {
+      putEntries(m, 4);
+      List<Op> ops = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+         ops.add(getOp(k(m, i + "-")));
+      }
+      List<TestResponse> responses = client().executePipelined(ops);
+      for (int i = 0; i < 4; i++) {
+         assertSuccess((TestGetResponse) responses.get(i), v(m, i + "-"));
+      }
+      assertInvocations("getAll:4");
+      // Responses carry the message id of their request and are written in request order
+      List<Long> ids = responses.stream().map(Response::getMessageId).collect(Collectors.toList());
+      List<Long> sortedIds = new ArrayList<>(ids);
+      Collections.sort(sortedIds);
+      assertEquals(sortedIds, ids);
+      List<Long> received = client().receivedMessageIds();
+      received.retainAll(ids);
+      assertEquals(ids, received);
+   }
+
+   public void testDuplicateKeySplitsGroup(Method m) {
+      putEntries(m, 3);
+      List<TestResponse> responses = client().executePipelined(Arrays.asList(
+            getOp(k(m, "0-")), getOp(k(m, "1-")), getOp(k(m, "0-")), getOp(k(m, "2-"))));
+      assertSuccess((TestGetResponse) responses.get(0), v(m, "0-"));
+      assertSuccess((TestGetResponse) responses.get(1), v(m, "1-"));
+      assertSuccess((TestGetResponse) responses.get(2), v(m, "0-"));
+      assertSuccess((TestGetResponse) responses.get(3), v(m, "2-"));
+      assertInvocations("getAll:2", "getAll:2");
+   }
+
+   public void testIncompatibleRequestFlushesGroup(Method m) {
+      putEntries(m, 4);
+      List<TestResponse> responses = client().executePipelined(Arrays.asList(
+            getOp(k(m, "0-")), getOp(k(m, "1-")), putOp(k(m, "new-"), v(m, "new-")),
+            getOp(k(m, "2-")), getOp(k(m, "3-"))));
+      assertSuccess((TestGetResponse) responses.get(0), v(m, "0-"));
+      assertSuccess((TestGetResponse) responses.get(1), v(m, "1-"));
+      assertStatus(responses.get(2), Success);
+      assertSuccess((TestGetResponse) responses.get(3), v(m, "2-"));
+      assertSuccess((TestGetResponse) responses.get(4), v(m, "3-"));
+      // The put between the gets is a group of one, so it takes the single key path
+      assertInvocations("getAll:2", "getAll:2", "put");
+   }
+
+   public void testPutsGrouped(Method m) {
+      List<TestResponse> responses = client().executePipelined(Arrays.asList(
+            putOp(k(m, "0-"), v(m, "0-")), putOp(k(m, "1-"), v(m, "1-")), putOp(k(m, "2-"), v(m, "2-"))));
+      for (TestResponse response : responses) {
+         assertStatus(response, Success);
+      }
+      assertInvocations("putAll:3");
+      for (int i = 0; i < 3; i++) {
+         assertSuccess(client().get(k(m, i + "-"), 0), v(m, i + "-"));
+      }
+   }
+
+   public void testPerRequestErrors(Method m) {
+      List<TestResponse> responses = client().executePipelined(Arrays.asList(
+            putOp(k(m, "0-"), v(m, "0-")), putOp(FAILING_KEY, v(m, "1-")), putOp(k(m, "2-"), v(m, "2-"))));
+      // The group fails as a whole, then each put is executed separately and only the failing one is reported
+      assertStatus(responses.get(0), Success);
+      assertStatus(responses.get(1), ServerError);
+      assertStatus(responses.get(2), Success);
+      assertInvocations("put", "put", "put", "putAll:3");
+      assertSuccess(client().get(k(m, "0-"), 0), v(m, "0-"));
+      assertSuccess(client().get(k(m, "2-"), 0), v(m, "2-"));
+   }
+
+   private void putEntries(Method m, int count) {
+      for (int i = 0; i < count; i++) {
+         assertStatus(client().put(k(m, i + "-"), 0, 0, v(m, i + "-")), Success);
+      }
+      interceptor.invocations.clear();
+   }
+
+   private Op getOp(byte[] key) {
+      return new Op(0xA0, (byte) 21, (byte) 0x03, cacheName, key, 0, 0, null, 0, 0, (byte) 1, 0);
+   }
+
+   private Op putOp(byte[] key, byte[] value) {
+      return new Op(0xA0, (byte) 21, (byte) 0x01, cacheName, key, 0, 0, value, 0, 0, (byte) 1, 0);
+   }
+
+   private void assertInvocations(String... expected) {
+      // Groups are dispatched to the executor independently, so only the invocations themselves are compared
+      List<String> invocations = new ArrayList<>(interceptor.invocations);
+      Collections.sort(invocations);
+      List<String> expectedInvocations = new ArrayList<>(Arrays.asList(expected));
+      Collections.sort(expectedInvocations);
+      assertEquals(expectedInvocations, invocations);
+   }
+
+   private static boolean isFailingKey(Object key) {
+      byte[] bytes = key instanceof WrappedBytes ? ((WrappedBytes) key).getBytes() : (byte[]) key;
+      return Arrays.equals(FAILING_KEY, bytes);
+   }
+
+   static class RecordingInterceptor extends DDAsyncInterceptor {
+      final List<String> invocations = Collections.synchronizedList(new ArrayList<>());
+
+      @Override
+      public Object visitGetAllCommand(InvocationContext ctx, GetAllCommand command) throws Throwable {
+         invocations.add("getAll:" + command.getKeys().size());
+         return invokeNext(ctx, command);
+      }
+
+      @Override
+      public Object visitGetCacheEntryCommand(InvocationContext ctx, GetCacheEntryCommand command) throws Throwable {
+         invocations.add("get");
+         return invokeNext(ctx, command);
+      }
+
+      @Override
+      public Object visitPutMapCommand(InvocationContext ctx, PutMapCommand command) throws Throwable {
+         invocations.add("putAll:" + command.getMap().size());
+         if (command.getMap().keySet().stream().anyMatch(HotRodPipelinedBatchingTest::isFailingKey))
+            throw new TestException("Grouped put failed");
+         return invokeNext(ctx, command);
+      }
+
+      @Override
+      public Object visitPutKeyValueCommand(InvocationContext ctx, PutKeyValueCommand command) throws Throwable {
+         invocations.add("put");
+         if (isFailingKey(command.getKey()))
+            throw new TestException("Put failed");
+         return invokeNext(ctx, command);
+      }
+   }
+}
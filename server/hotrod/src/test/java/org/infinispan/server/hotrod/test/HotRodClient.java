@@ -18,6 +18,7 @@
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -54,6 +55,7 @@
 
 import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
@@ -276,6 +278,33 @@ public boolean writeOp(Op op) {
       return writeOp(op, true);
    }
 
+   /**
+    * Writes the operations with a single flush, so that the server reads them in the same burst, and waits for their
+    * responses.
+    *
+    * @return the responses in the order of the operations
+    */
+   public List<TestResponse> executePipelined(List<Op> ops) {
+      for (Op op : ops) {
+         idToOp.put(op.id, op);
+         ch.write(op);
+      }
+      ch.flush();
+      ClientHandler handler = (ClientHandler) ch.pipeline().last();
+      List<TestResponse> responses = new ArrayList<>(ops.size());
+      for (Op op : ops) {
+         responses.add(handler.getResponse(op.id));
+      }
+      return responses;
+   }
+
+   /**
+    * @return the message ids of the responses received so far, in the order they were received
+    */
+   public List<Long> receivedMessageIds() {
+      return ((ClientHandler) ch.pipeline().last()).receivedMessageIds();
+   }
+
    public boolean writeOp(Op op, boolean assertSuccess) {
       idToOp.put(op.id, op);
       ChannelFuture future = ch.writeAndFlush(op);
@@ -445,6 +474,54 @@ public TestResponse putStream(byte[] key, byte[] value, long version, int lifesp
       return handler.getResponse(op.id);
    }
 
+   /**
+    * Sends a put stream request in several writes, split in the middle of every chunk length and of every chunk, so
+    * that the server receives each chunk over more than one read.
+    */
+   public TestResponse putStreamSplit(byte[] key, byte[] value, long version) {
+      PutStreamOp op = new PutStreamOp(0xA0, protocolVersion, defaultCacheName, key, value, -1, -1, version, (byte)1, 0);
+      idToOp.put(op.id, op);
+      ByteBuf request = Unpooled.buffer();
+      try {
+         new Encoder(protocolVersion).encode(null, op, request);
+      } catch (Exception e) {
+         throw new AssertionError(e);
+      }
+      List<Integer> splits = new ArrayList<>();
+      int chunkStart = request.writerIndex() - 1;
+      for (int offset = 0; offset < value.length; offset += Encoder.STREAM_CHUNK_SIZE) {
+         int chunk = Math.min(value.length - offset, Encoder.STREAM_CHUNK_SIZE);
+         chunkStart -= chunk + vIntSize(chunk);
+      }
+      for (int offset = 0; offset < value.length; offset += Encoder.STREAM_CHUNK_SIZE) {
+         int chunk = Math.min(value.length - offset, Encoder.STREAM_CHUNK_SIZE);
+         int lengthSize = vIntSize(chunk);
+         if (lengthSize > 1)
+            splits.add(chunkStart + 1);
+         splits.add(chunkStart + lengthSize + chunk / 2);
+         chunkStart += lengthSize + chunk;
+      }
+      splits.add(request.writerIndex());
+      for (int split : splits) {
+         ChannelFuture future = ch.writeAndFlush(request.readRetainedSlice(split - request.readerIndex()));
+         assertTrue(future.awaitUninterruptibly().isSuccess());
+         // Give the server the time to read the piece on its own
+         TestingUtil.sleepThread(50);
+      }
+      request.release();
+      ClientHandler handler = (ClientHandler) ch.pipeline().last();
+      return handler.getResponse(op.id);
+   }
+
+   private static int vIntSize(int i) {
+      int size = 1;
+      while ((i & ~0x7F) != 0) {
+         i >>>= 7;
+         size++;
+      }
+      return size;
+   }
+
    public TestResponse prepareTx(Xid xid, boolean onePhaseCommit, Collection<TxWrite> modifications) {
       PrepareOp op = new PrepareOp(0xA0, protocolVersion, defaultCacheName, protocolVersion, 0, xid,
             onePhaseCommit, modifications);
@@ -502,6 +579,8 @@ public void initializeChannel(Channel ch) throws Exception {
 }
 
 class Encoder extends MessageToByteEncoder<Object> {
+   static final int STREAM_CHUNK_SIZE = 8192;
+
    private final byte protocolVersion;
 
    private static final Log log = LogFactory.getLog(Encoder.class, Log.class);
@@ -530,7 +609,10 @@ private void encodeCommitOrRollbackOp(CommitOrRollbackOp op, ByteBuf byteBuf) {
    @Override
    protected void encode(ChannelHandlerContext ctx, Object msg, ByteBuf buffer) throws Exception {
       log.tracef("Encode %s so that it's sent to the server", msg);
-      if (msg instanceof PartialOp) {
+      if (msg instanceof ByteBuf) {
+         // Already encoded
+         buffer.writeBytes((ByteBuf) msg);
+      } else if (msg instanceof PartialOp) {
          PartialOp partial = (PartialOp) msg;
          buffer.writeByte((byte) partial.magic); // magic
          writeUnsignedLong(partial.id, buffer); // message id
@@ -589,7 +671,7 @@ protected void encode(ChannelHandlerContext ctx, Object msg, ByteBuf buffer) thr
                if (op.code == 0x39) {
                   // Chunk the value
                   for(int offset = 0; offset < op.value.length; ) {
-                     int chunk = Math.min(op.value.length - offset, 8192);
+                     int chunk = Math.min(op.value.length - offset, STREAM_CHUNK_SIZE);
                      writeUnsignedInt(chunk, buffer);
                      buffer.writeBytes(op.value, offset, chunk);
                      offset += chunk;
@@ -986,6 +1068,7 @@ class ClientHandler extends ChannelInboundHandlerAdapter {
    }
 
    private Map<Long, TestResponse> responses = new ConcurrentHashMap<>();
+   private final List<Long> receivedMessageIds = Collections.synchronizedList(new ArrayList<>());
    private Map<WrappedByteArray, TestClientListener> clientListeners = new ConcurrentHashMap<>();
 
    void addClientListener(TestClientListener listener) {
@@ -1018,11 +1101,18 @@ public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception
          TestResponse resp = (TestResponse) msg;
          log.tracef("Put %s in responses", resp);
          responses.put(resp.getMessageId(), resp);
+         receivedMessageIds.add(resp.getMessageId());
       } else {
          throw new IllegalArgumentException("Unsupport object: " + msg);
       }
    }
 
+   List<Long> receivedMessageIds() {
+      synchronized (receivedMessageIds) {
+         return new ArrayList<>(receivedMessageIds);
+      }
+   }
+
    TestResponse getResponse(long messageId) {
       // Very TODO very primitive way of waiting for a response. Convert to a Future
       int i = 0;
@@ -84,4 +84,17 @@ public void testReplaceStream() {
 
    }
 
+   public void testPutStreamSplitChunks() {
+      // The chunks of the value arrive over several reads, split inside their lengths and their data
+      TestResponse putResponse = client().putStreamSplit(K1, V1, 0);
+      assertEquals(OperationStatus.Success, putResponse.getStatus());
+
+      TestGetWithMetadataResponse getResponse = client().getStream(K1, 0);
+      assertEquals(V1, getResponse.data.get());
+      // A plain get writes the stored value without copying it
+      TestGetResponse plainGetResponse = client().get(K1, 0);
+      assertEquals(OperationStatus.Success, plainGetResponse.getStatus());
+      assertEquals(V1, plainGetResponse.data.get());
+   }
+
 }
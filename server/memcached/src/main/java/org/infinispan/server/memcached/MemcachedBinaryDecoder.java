@@ -0,0 +1,627 @@
+package org.infinispan.server.memcached;
+
+import static org.infinispan.server.memcached.TextProtocolUtil.CHARSET;
+
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.Version;
+import org.infinispan.commons.logging.LogFactory;
+import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.container.versioning.EntryVersion;
+import org.infinispan.container.versioning.NumericVersion;
+import org.infinispan.context.Flag;
+import org.infinispan.metadata.Metadata;
+import org.infinispan.server.core.transport.NettyTransport;
+import org.infinispan.server.memcached.logging.JavaLog;
+import org.infinispan.stats.Stats;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+
+/**
+ * A decoder for the Memcached binary protocol.
+ * <p>
+ * Requests are executed in the order they are received, but responses are only flushed once all the requests read
+ * from the socket have been handled, so a pipelined batch of requests results in a single flush. Consecutive get
+ * requests, such as the {@code GETKQ ... NOOP} sequence clients use for multi-gets, are resolved with a single
+ * {@link AdvancedCache#getAllCacheEntries(Set)} invocation.
+ * <p>
+ * A request whose body is longer than the configured maximum is answered with an error and its connection is closed,
+ * instead of buffering the body.
+ *
+ * @since 9.2
+ */
+public class MemcachedBinaryDecoder extends ByteToMessageDecoder {
+   private static final JavaLog log = LogFactory.getLog(MemcachedBinaryDecoder.class, JavaLog.class);
+   private static final boolean isTrace = log.isTraceEnabled();
+
+   static final byte REQUEST_MAGIC = (byte) 0x80;
+   private static final byte RESPONSE_MAGIC = (byte) 0x81;
+   private static final int HEADER_LENGTH = 24;
+   private static final int MAX_KEY_LENGTH = 250;
+   private static final int MAX_PENDING_GETS = 1024;
+   private static final int NO_AUTO_CREATE = 0xFFFFFFFF;
+   private static final byte[] EMPTY = new byte[0];
+
+   private static final byte GET = 0x00;
+   private static final byte SET = 0x01;
+   private static final byte ADD = 0x02;
+   private static final byte REPLACE = 0x03;
+   private static final byte DELETE = 0x04;
+   private static final byte INCREMENT = 0x05;
+   private static final byte DECREMENT = 0x06;
+   private static final byte QUIT = 0x07;
+   private static final byte FLUSH = 0x08;
+   private static final byte GETQ = 0x09;
+   private static final byte NOOP = 0x0a;
+   private static final byte VERSION = 0x0b;
+   private static final byte GETK = 0x0c;
+   private static final byte GETKQ = 0x0d;
+   private static final byte APPEND = 0x0e;
+   private static final byte PREPEND = 0x0f;
+   private static final byte STAT = 0x10;
+   private static final byte SETQ = 0x11;
+   private static final byte ADDQ = 0x12;
+   private static final byte REPLACEQ = 0x13;
+   private static final byte DELETEQ = 0x14;
+   private static final byte INCREMENTQ = 0x15;
+   private static final byte DECREMENTQ = 0x16;
+   private static final byte QUITQ = 0x17;
+   private static final byte FLUSHQ = 0x18;
+   private static final byte APPENDQ = 0x19;
+   private static final byte PREPENDQ = 0x1a;
+
+   private static final short NO_ERROR = 0x0000;
+   private static final short KEY_NOT_FOUND = 0x0001;
+   private static final short KEY_EXISTS = 0x0002;
+   private static final short VALUE_TOO_LARGE = 0x0003;
+   private static final short INVALID_ARGUMENTS = 0x0004;
+   private static final short ITEM_NOT_STORED = 0x0005;
+   private static final short NON_NUMERIC_VALUE = 0x0006;
+   private static final short UNKNOWN_COMMAND = 0x0081;
+   private static final short INTERNAL_ERROR = 0x0084;
+
+   private final AdvancedCache<String, byte[]> cache;
+   private final AdvancedCache<String, byte[]> writeCache;
+   private final ScheduledExecutorService scheduler;
+   private final NettyTransport transport;
+   private final Predicate<? super String> ignoreCache;
+   private final int maxContentLength;
+   private final List<BinaryRequest> pendingGets = new ArrayList<>();
+
+   public MemcachedBinaryDecoder(AdvancedCache<String, byte[]> memcachedCache, ScheduledExecutorService scheduler,
+                                 NettyTransport transport, Predicate<? super String> ignoreCache,
+                                 int maxContentLength) {
+      this.cache = MemcachedDecoder.encodedCache(memcachedCache);
+      this.writeCache = cache.withFlags(Flag.IGNORE_RETURN_VALUES);
+      this.scheduler = scheduler;
+      this.transport = transport;
+      this.ignoreCache = ignoreCache;
+      this.maxContentLength = maxContentLength;
+   }
+
+   @Override
+   protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+      if (in.readableBytes() < HEADER_LENGTH)
+         return;
+      int start = in.readerIndex();
+      if (in.getByte(start) != REQUEST_MAGIC)
+         throw new StreamCorruptedException("Invalid request magic: " + in.getByte(start));
+      long bodyLength = in.getUnsignedInt(start + 8);
+      if (bodyLength > maxContentLength) {
+         rejectTooLarge(ctx, in, bodyLength);
+         return;
+      }
+      if (in.readableBytes() < HEADER_LENGTH + bodyLength)
+         return;
+
+      BinaryRequest request = readRequest(in);
+      if (isTrace) log.tracef("Binary request %s", request);
+      if (isGet(request.opcode) && request.status == NO_ERROR) {
+         pendingGets.add(request);
+         if (pendingGets.size() >= MAX_PENDING_GETS)
+            resolvePendingGets(ctx);
+      } else {
+         resolvePendingGets(ctx);
+         handle(ctx, request);
+      }
+   }
+
+   @Override
+   public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+      resolvePendingGets(ctx);
+      ctx.flush();
+      super.channelReadComplete(ctx);
+   }
+
+   @Override
+   public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+      // The framing of the stream can't be trusted anymore, so the connection is closed
+      log.debug("Exception caught", cause);
+      pendingGets.clear();
+      ctx.close();
+   }
+
+   private void rejectTooLarge(ChannelHandlerContext ctx, ByteBuf in, long bodyLength) {
+      int start = in.readerIndex();
+      BinaryRequest request = new BinaryRequest(in.getByte(start + 1));
+      request.opaque = in.getInt(start + 12);
+      if (isTrace) log.tracef("Rejecting request %s with a body of %d bytes", request, bodyLength);
+      // The body is not read, so the rest of the stream can't be framed and the connection is closed
+      in.skipBytes(in.readableBytes());
+      resolvePendingGets(ctx);
+      writeError(ctx, request, VALUE_TOO_LARGE, "Too large.");
+      ctx.flush();
+      ctx.close();
+   }
+
+   private BinaryRequest readRequest(ByteBuf in) {
+      in.skipBytes(1); // magic
+      BinaryRequest request = new BinaryRequest(in.readByte());
+      int keyLength = in.readUnsignedShort();
+      int extrasLength = in.readUnsignedByte();
+      in.skipBytes(3); // data type and vbucket id
+      int bodyLength = (int) in.readUnsignedInt();
+      request.opaque = in.readInt();
+      request.cas = in.readLong();
+      if (keyLength + extrasLength > bodyLength) {
+         in.skipBytes(bodyLength);
+         request.status = INVALID_ARGUMENTS;
+         return request;
+      }
+      ByteBuf extras = in.readSlice(extrasLength);
+      byte[] keyBytes = new byte[keyLength];
+      in.readBytes(keyBytes);
+      request.keyBytes = keyBytes;
+      request.key = new String(keyBytes, CHARSET);
+      request.value = new byte[bodyLength - keyLength - extrasLength];
+      in.readBytes(request.value);
+      request.status = readExtras(request, extras);
+      return request;
+   }
+
+   private static short readExtras(BinaryRequest request, ByteBuf extras) {
+      switch (request.opcode) {
+         case GET:
+         case GETQ:
+         case GETK:
+         case GETKQ:
+         case DELETE:
+         case DELETEQ:
+         case APPEND:
+         case APPENDQ:
+         case PREPEND:
+         case PREPENDQ:
+            return checkKey(request, extras.readableBytes() == 0);
+         case SET:
+         case SETQ:
+         case ADD:
+         case ADDQ:
+         case REPLACE:
+         case REPLACEQ:
+            if (extras.readableBytes() != 8)
+               return INVALID_ARGUMENTS;
+            request.flags = extras.readUnsignedInt();
+            request.expiration = extras.readInt();
+            return checkKey(request, true);
+         case INCREMENT:
+         case INCREMENTQ:
+         case DECREMENT:
+         case DECREMENTQ:
+            if (extras.readableBytes() != 20 || request.value.length != 0)
+               return INVALID_ARGUMENTS;
+            request.delta = extras.readLong();
+            request.initial = extras.readLong();
+            request.expiration = extras.readInt();
+            return checkKey(request, true);
+         case FLUSH:
+         case FLUSHQ:
+            if (extras.readableBytes() == 4) {
+               request.expiration = extras.readInt();
+            } else if (extras.readableBytes() != 0) {
+               return INVALID_ARGUMENTS;
+            }
+            return NO_ERROR;
+         default:
+            return NO_ERROR;
+      }
+   }
+
+   private static short checkKey(BinaryRequest request, boolean validExtras) {
+      int keyLength = request.keyBytes.length;
+      return validExtras && keyLength > 0 && keyLength <= MAX_KEY_LENGTH ? NO_ERROR : INVALID_ARGUMENTS;
+   }
+
+   private void handle(ChannelHandlerContext ctx, BinaryRequest request) {
+      if (request.status != NO_ERROR) {
+         writeError(ctx, request, request.status, "Invalid arguments");
+         return;
+      }
+      String cacheName = cache.getName();
+      if (ignoreCache.test(cacheName)) {
+         writeError(ctx, request, INTERNAL_ERROR, "Cache '" + cacheName + "' is unavailable");
+         return;
+      }
+      try {
+         switch (request.opcode) {
+            case SET:
+            case SETQ:
+            case ADD:
+            case ADDQ:
+            case REPLACE:
+            case REPLACEQ:
+               store(ctx, request);
+               break;
+            case DELETE:
+            case DELETEQ:
+               delete(ctx, request);
+               break;
+            case INCREMENT:
+            case INCREMENTQ:
+            case DECREMENT:
+            case DECREMENTQ:
+               incrDecr(ctx, request);
+               break;
+            case APPEND:
+            case APPENDQ:
+            case PREPEND:
+            case PREPENDQ:
+               appendPrepend(ctx, request);
+               break;
+            case FLUSH:
+            case FLUSHQ:
+               if (request.expiration == 0) {
+                  cache.clear();
+               } else {
+                  scheduler.schedule(() -> cache.clear(), MemcachedDecoder.toMillis(request.expiration),
+                        TimeUnit.MILLISECONDS);
+               }
+               writeSuccess(ctx, request, 0, EMPTY, EMPTY);
+               break;
+            case NOOP:
+               writeSuccess(ctx, request, 0, EMPTY, EMPTY);
+               break;
+            case VERSION:
+               writeSuccess(ctx, request, 0, EMPTY, Version.getVersion().getBytes(CHARSET));
+               break;
+            case STAT:
+               stats(ctx, request);
+               break;
+            case QUIT:
+            case QUITQ:
+               writeSuccess(ctx, request, 0, EMPTY, EMPTY);
+               ctx.flush();
+               ctx.close();
+               break;
+            default:
+               writeError(ctx, request, UNKNOWN_COMMAND, "Unknown command");
+         }
+      } catch (Throwable t) {
+         log.exceptionReported(t);
+         writeError(ctx, request, INTERNAL_ERROR, String.valueOf(t.getMessage()));
+      }
+   }
+
+   private void resolvePendingGets(ChannelHandlerContext ctx) {
+      if (pendingGets.isEmpty())
+         return;
+      try {
+         Map<String, CacheEntry<String, byte[]>> entries;
+         if (pendingGets.size() == 1) {
+            String key = pendingGets.get(0).key;
+            CacheEntry<String, byte[]> entry = cache.getCacheEntry(key);
+            entries = entry == null ? Collections.emptyMap() : Collections.singletonMap(key, entry);
+         } else {
+            Set<String> keys = new HashSet<>(pendingGets.size());
+            for (BinaryRequest request : pendingGets) {
+               keys.add(request.key);
+            }
+            entries = cache.getAllCacheEntries(keys);
+         }
+         for (BinaryRequest request : pendingGets) {
+            CacheEntry<String, byte[]> entry = entries.get(request.key);
+            boolean withKey = request.opcode == GETK || request.opcode == GETKQ;
+            if (entry != null) {
+               byte[] flags = intBytes((int) flags(entry.getMetadata()));
+               writeResponse(ctx, request, NO_ERROR, cas(entry.getMetadata()), flags,
+                     withKey ? request.keyBytes : EMPTY, entry.getValue());
+            } else if (!isQuiet(request.opcode)) {
+               writeResponse(ctx, request, KEY_NOT_FOUND, 0, EMPTY, withKey ? request.keyBytes : EMPTY,
+                     "Not found".getBytes(CHARSET));
+            }
+         }
+      } catch (Throwable t) {
+         log.exceptionReported(t);
+         for (BinaryRequest request : pendingGets) {
+            writeError(ctx, request, INTERNAL_ERROR, String.valueOf(t.getMessage()));
+         }
+      } finally {
+         pendingGets.clear();
+      }
+   }
+
+   private void store(ChannelHandlerContext ctx, BinaryRequest request) {
+      Metadata metadata = buildMetadata(request.flags, lifespan(request.expiration));
+      short status;
+      if (request.cas != 0) {
+         status = replaceIfUnmodified(request, metadata);
+      } else {
+         switch (request.opcode) {
+            case SET:
+            case SETQ:
+               writeCache.put(request.key, request.value, metadata);
+               status = NO_ERROR;
+               break;
+            case ADD:
+            case ADDQ:
+               status = cache.putIfAbsent(request.key, request.value, metadata) == null ? NO_ERROR : KEY_EXISTS;
+               break;
+            default:
+               status = cache.replace(request.key, request.value, metadata) != null ? NO_ERROR : KEY_NOT_FOUND;
+         }
+      }
+      if (status == NO_ERROR) {
+         writeSuccess(ctx, request, cas(metadata), EMPTY, EMPTY);
+      } else {
+         writeError(ctx, request, status, status == KEY_EXISTS ? "Data exists for key." : "Not found");
+      }
+   }
+
+   private short replaceIfUnmodified(BinaryRequest request, Metadata metadata) {
+      if (request.opcode == ADD || request.opcode == ADDQ)
+         return KEY_EXISTS;
+      CacheEntry<String, byte[]> entry = cache.withFlags(Flag.SKIP_LISTENER_NOTIFICATION).getCacheEntry(request.key);
+      if (entry == null)
+         return KEY_NOT_FOUND;
+      if (cas(entry.getMetadata()) != request.cas)
+         return KEY_EXISTS;
+      return cache.replace(request.key, entry.getValue(), request.value, metadata) ? NO_ERROR : KEY_EXISTS;
+   }
+
+   private void delete(ChannelHandlerContext ctx, BinaryRequest request) {
+      short status;
+      if (request.cas != 0) {
+         CacheEntry<String, byte[]> entry = cache.getCacheEntry(request.key);
+         if (entry == null) {
+            status = KEY_NOT_FOUND;
+         } else if (cas(entry.getMetadata()) != request.cas) {
+            status = KEY_EXISTS;
+         } else {
+            status = cache.remove(request.key, entry.getValue()) ? NO_ERROR : KEY_EXISTS;
+         }
+      } else {
+         status = cache.remove(request.key) != null ? NO_ERROR : KEY_NOT_FOUND;
+      }
+      if (status == NO_ERROR) {
+         writeSuccess(ctx, request, 0, EMPTY, EMPTY);
+      } else {
+         writeError(ctx, request, status, status == KEY_EXISTS ? "Data exists for key." : "Not found");
+      }
+   }
+
+   private void incrDecr(ChannelHandlerContext ctx, BinaryRequest request) {
+      boolean increment = request.opcode == INCREMENT || request.opcode == INCREMENTQ;
+      while (true) {
+         CacheEntry<String, byte[]> entry = cache.getCacheEntry(request.key);
+         if (entry == null) {
+            if (request.expiration == NO_AUTO_CREATE) {
+               writeError(ctx, request, KEY_NOT_FOUND, "Not found");
+               return;
+            }
+            Metadata metadata = buildMetadata(0, lifespan(request.expiration));
+            byte[] initial = Long.toUnsignedString(request.initial).getBytes(CHARSET);
+            if (cache.putIfAbsent(request.key, initial, metadata) == null) {
+               writeSuccess(ctx, request, cas(metadata), EMPTY, longBytes(request.initial));
+               return;
+            }
+         } else {
+            long current;
+            try {
+               current = Long.parseUnsignedLong(new String(entry.getValue(), CHARSET));
+            } catch (NumberFormatException e) {
+               writeError(ctx, request, NON_NUMERIC_VALUE, "Non-numeric server-side value for incr or decr");
+               return;
+            }
+            long next;
+            if (increment) {
+               next = current + request.delta; // Wraps around at 2^64 like memcached does
+            } else {
+               next = Long.compareUnsigned(current, request.delta) < 0 ? 0 : current - request.delta;
+            }
+            Metadata metadata = buildMetadata(flags(entry.getMetadata()), entry.getLifespan());
+            byte[] value = Long.toUnsignedString(next).getBytes(CHARSET);
+            if (cache.replace(request.key, entry.getValue(), value, metadata)) {
+               writeSuccess(ctx, request, cas(metadata), EMPTY, longBytes(next));
+               return;
+            }
+         }
+         // Concurrently modified, so read the current value again
+      }
+   }
+
+   private void appendPrepend(ChannelHandlerContext ctx, BinaryRequest request) {
+      boolean append = request.opcode == APPEND || request.opcode == APPENDQ;
+      while (true) {
+         CacheEntry<String, byte[]> entry = cache.getCacheEntry(request.key);
+         if (entry == null) {
+            writeError(ctx, request, ITEM_NOT_STORED, "Not stored.");
+            return;
+         }
+         if (request.cas != 0 && cas(entry.getMetadata()) != request.cas) {
+            writeError(ctx, request, KEY_EXISTS, "Data exists for key.");
+            return;
+         }
+         byte[] prev = entry.getValue();
+         byte[] value = append ? TextProtocolUtil.concat(prev, request.value) : TextProtocolUtil.concat(request.value, prev);
+         Metadata metadata = buildMetadata(flags(entry.getMetadata()), entry.getLifespan());
+         if (cache.replace(request.key, prev, value, metadata)) {
+            writeSuccess(ctx, request, cas(metadata), EMPTY, EMPTY);
+            return;
+         }
+         if (request.cas != 0) {
+            writeError(ctx, request, KEY_EXISTS, "Data exists for key.");
+            return;
+         }
+      }
+   }
+
+   private void stats(ChannelHandlerContext ctx, BinaryRequest request) {
+      if (request.keyBytes.length > 0) {
+         writeError(ctx, request, KEY_NOT_FOUND, "Not found");
+         return;
+      }
+      Stats stats = cache.getStats();
+      Map<String, Object> values = new LinkedHashMap<>();
+      values.put("pid", 0);
+      values.put("uptime", stats.getTimeSinceStart());
+      values.put("time", TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+      values.put("version", cache.getVersion());
+      values.put("curr_items", stats.getCurrentNumberOfEntries());
+      values.put("total_items", stats.getTotalNumberOfEntries());
+      values.put("cmd_get", stats.getRetrievals());
+      values.put("cmd_set", stats.getStores());
+      values.put("get_hits", stats.getHits());
+      values.put("get_misses", stats.getMisses());
+      values.put("delete_misses", stats.getRemoveMisses());
+      values.put("delete_hits", stats.getRemoveHits());
+      values.put("evictions", stats.getEvictions());
+      values.put("bytes_read", transport.getTotalBytesRead());
+      values.put("bytes_written", transport.getTotalBytesWritten());
+      values.forEach((name, value) -> writeResponse(ctx, request, NO_ERROR, 0, EMPTY, name.getBytes(CHARSET),
+            String.valueOf(value).getBytes(CHARSET)));
+      // An empty key terminates the list of statistics
+      writeResponse(ctx, request, NO_ERROR, 0, EMPTY, EMPTY, EMPTY);
+   }
+
+   private Metadata buildMetadata(long flags, long lifespanMillis) {
+      MemcachedMetadataBuilder metadata = new MemcachedMetadataBuilder();
+      metadata.version(MemcachedDecoder.generateVersion(cache.getComponentRegistry()));
+      metadata.flags(flags);
+      if (lifespanMillis > 0)
+         metadata.lifespan(lifespanMillis);
+      return metadata.build();
+   }
+
+   private static long lifespan(int expiration) {
+      return expiration > 0 ? MemcachedDecoder.toMillis(expiration) : -1;
+   }
+
+   private static long flags(Metadata metadata) {
+      return metadata instanceof MemcachedMetadata ? ((MemcachedMetadata) metadata).flags : 0;
+   }
+
+   private static long cas(Metadata metadata) {
+      EntryVersion version = metadata.version();
+      return version instanceof NumericVersion ? ((NumericVersion) version).getVersion() : 0;
+   }
+
+   private void writeSuccess(ChannelHandlerContext ctx, BinaryRequest request, long cas, byte[] extras, byte[] value) {
+      if (!isQuiet(request.opcode))
+         writeResponse(ctx, request, NO_ERROR, cas, extras, EMPTY, value);
+   }
+
+   private void writeError(ChannelHandlerContext ctx, BinaryRequest request, short status, String message) {
+      writeResponse(ctx, request, status, 0, EMPTY, EMPTY, message.getBytes(CHARSET));
+   }
+
+   /**
+    * Writes the response without flushing, the flush happens once all the requests read have been handled.
+    */
+   private void writeResponse(ChannelHandlerContext ctx, BinaryRequest request, short status, long cas,
+                              byte[] extras, byte[] key, byte[] value) {
+      int bodyLength = extras.length + key.length + value.length;
+      ByteBuf buf = ctx.alloc().buffer(HEADER_LENGTH + bodyLength);
+      buf.writeByte(RESPONSE_MAGIC);
+      buf.writeByte(request.opcode);
+      buf.writeShort(key.length);
+      buf.writeByte(extras.length);
+      buf.writeByte(0); // data type
+      buf.writeShort(status);
+      buf.writeInt(bodyLength);
+      buf.writeInt(request.opaque);
+      buf.writeLong(cas);
+      buf.writeBytes(extras);
+      buf.writeBytes(key);
+      buf.writeBytes(value);
+      ctx.write(buf, ctx.voidPromise());
+   }
+
+   private static byte[] intBytes(int value) {
+      return new byte[]{(byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value};
+   }
+
+   private static byte[] longBytes(long value) {
+      byte[] bytes = new byte[8];
+      for (int i = 7; i >= 0; i--) {
+         bytes[i] = (byte) value;
+         value >>>= 8;
+      }
+      return bytes;
+   }
+
+   private static boolean isGet(byte opcode) {
+      return opcode == GET || opcode == GETQ || opcode == GETK || opcode == GETKQ;
+   }
+
+   private static boolean isQuiet(byte opcode) {
+      switch (opcode) {
+         case GETQ:
+         case GETKQ:
+         case SETQ:
+         case ADDQ:
+         case REPLACEQ:
+         case DELETEQ:
+         case INCREMENTQ:
+         case DECREMENTQ:
+         case QUITQ:
+         case FLUSHQ:
+         case APPENDQ:
+         case PREPENDQ:
+            return true;
+         default:
+            return false;
+      }
+   }
+
+   private static class BinaryRequest {
+      final byte opcode;
+      int opaque;
+      long cas;
+      short status;
+      String key;
+      byte[] keyBytes = EMPTY;
+      byte[] value = EMPTY;
+      long flags;
+      int expiration;
+      long delta;
+      long initial;
+
+      BinaryRequest(byte opcode) {
+         this.opcode = opcode;
+      }
+
+      @Override
+      public String toString() {
+         return "BinaryRequest{" +
+               "opcode=" + opcode +
+               ", opaque=" + opaque +
+               ", cas=" + cas +
+               ", status=" + status +
+               ", key='" + key + '\'' +
+               ", valueLength=" + value.length +
+               '}';
+      }
+   }
+}
@@ -34,10 +34,12 @@
 import java.io.StreamCorruptedException;
 import java.math.BigInteger;
 import java.nio.channels.ClosedChannelException;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -88,19 +90,26 @@ public class MemcachedDecoder extends ReplayingDecoder<MemcachedDecoderState> {
    public MemcachedDecoder(AdvancedCache<String, byte[]> memcachedCache, ScheduledExecutorService scheduler,
                            NettyTransport transport, Predicate<? super String> ignoreCache) {
       super(MemcachedDecoderState.DECODE_HEADER);
+      cache = encodedCache(memcachedCache);
+      this.scheduler = scheduler;
+      this.transport = transport;
+      this.ignoreCache = ignoreCache;
+      isStatsEnabled = cache.getCacheConfiguration().jmxStatistics().enabled();
+   }
+
+   /**
+    * @return the cache decorated with the value encoding required when compatibility mode is enabled
+    */
+   @SuppressWarnings("unchecked")
+   static AdvancedCache<String, byte[]> encodedCache(AdvancedCache<String, byte[]> memcachedCache) {
       CompatibilityModeConfiguration compatibility = memcachedCache.getCacheConfiguration().compatibility();
-      boolean compat = compatibility.enabled();
       AdvancedCache<?, ?> c = memcachedCache.getAdvancedCache();
-      if (compat) {
+      if (compatibility.enabled()) {
          boolean hasCompatMarshaller = compatibility.marshaller() != null;
          Class<? extends Encoder> valueEncoder = hasCompatMarshaller ? CompatModeEncoder.class : JavaCompatEncoder.class;
          c = c.withEncoding(IdentityEncoder.class, valueEncoder);
       }
-      cache = (AdvancedCache<String, byte[]>) c;
-      this.scheduler = scheduler;
-      this.transport = transport;
-      this.ignoreCache = ignoreCache;
-      isStatsEnabled = cache.getCacheConfiguration().jmxStatistics().enabled();
+      return (AdvancedCache<String, byte[]>) c;
    }
 
    private final AdvancedCache<String, byte[]> cache;
@@ -377,9 +386,15 @@ public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
    protected Object get(ByteBuf buffer) throws StreamCorruptedException {
       List<String> keys = readKeys(buffer);
       if (keys.size() > 1) {
-         Map<String, CacheEntry<String, byte[]>> map = new HashMap<>();
+         Set<String> uniqueKeys = new LinkedHashSet<>(keys.size());
          for (String key : keys) {
-            CacheEntry<String, byte[]> entry = cache.getCacheEntry(checkKeyLength(key, true, buffer));
+            uniqueKeys.add(checkKeyLength(key, true, buffer));
+         }
+         // Fetch all the keys with a single command and then reply in the order they were requested
+         Map<String, CacheEntry<String, byte[]>> entries = cache.getAllCacheEntries(uniqueKeys);
+         Map<String, CacheEntry<String, byte[]>> map = new LinkedHashMap<>(entries.size());
+         for (String key : uniqueKeys) {
+            CacheEntry<String, byte[]> entry = entries.get(key);
             if (entry != null) {
                map.put(key, entry);
             }
@@ -480,8 +495,7 @@ private MemcachedParameters readStorageParameters(List<String> args, ByteBuf b)
       return new MemcachedParameters(length, lifespan, -1, streamVersion, noReply, flags, "", 0);
    }
 
-   private EntryVersion generateVersion(Cache<String, byte[]> cache) {
-      ComponentRegistry registry = getCacheRegistry();
+   static EntryVersion generateVersion(ComponentRegistry registry) {
       VersionGenerator cacheVersionGenerator = registry.getComponent(VersionGenerator.class);
       if (cacheVersionGenerator == null) {
          // It could be null, for example when not running in compatibility mode.
@@ -831,7 +845,7 @@ private Object createErrorResponse(Throwable t) {
 
    protected Metadata buildMetadata() {
       MemcachedMetadataBuilder metadata = new MemcachedMetadataBuilder();
-      metadata.version(generateVersion(cache));
+      metadata.version(generateVersion(getCacheRegistry()));
       metadata.flags(params.flags);
       if (params.lifespan > 0)
          metadata.lifespan(toMillis(params.lifespan));
@@ -856,7 +870,7 @@ private StringBuilder logAndCreateErrorMessage(StringBuilder sb, MemcachedExcept
     * Otherwise it's just considered number of seconds from
     * now and it's returned in milliseconds unit.
     */
-   private long toMillis(int lifespan) {
+   static long toMillis(int lifespan) {
       if (lifespan > SecondsInAMonth) {
          long unixTimeExpiry = TimeUnit.SECONDS.toMillis(lifespan) - System.currentTimeMillis();
          return unixTimeExpiry < 0 ? 0 : unixTimeExpiry;
@@ -872,8 +886,8 @@ protected Object writeResponse(Channel ch, Object response) {
             if (response instanceof ByteBuf[]) {
                for (ByteBuf buf : (ByteBuf[]) response) {
                   ch.write(buf, ch.voidPromise());
-                  ch.flush();
                }
+               ch.flush();
             } else if (response instanceof byte[]) {
                ch.writeAndFlush(wrappedBuffer((byte[]) response), ch.voidPromise());
             } else if (response instanceof CharSequence) {
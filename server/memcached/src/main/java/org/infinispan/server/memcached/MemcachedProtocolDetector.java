@@ -0,0 +1,50 @@
+package org.infinispan.server.memcached;
+
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Predicate;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.server.core.transport.NettyTransport;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+
+/**
+ * Inspects the first byte sent on a connection and replaces itself with either the binary or the text protocol
+ * decoder. Binary protocol requests always start with the request magic byte, which can't start a text command.
+ *
+ * @since 9.2
+ */
+public class MemcachedProtocolDetector extends ByteToMessageDecoder {
+   private final AdvancedCache<String, byte[]> cache;
+   private final ScheduledExecutorService scheduler;
+   private final NettyTransport transport;
+   private final Predicate<? super String> ignoreCache;
+   private final int maxContentLength;
+
+   public MemcachedProtocolDetector(AdvancedCache<String, byte[]> cache, ScheduledExecutorService scheduler,
+                                    NettyTransport transport, Predicate<? super String> ignoreCache,
+                                    int maxContentLength) {
+      this.cache = cache;
+      this.scheduler = scheduler;
+      this.transport = transport;
+      this.ignoreCache = ignoreCache;
+      this.maxContentLength = maxContentLength;
+   }
+
+   @Override
+   protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+      if (!in.isReadable())
+         return;
+      ByteToMessageDecoder decoder;
+      if (in.getByte(in.readerIndex()) == MemcachedBinaryDecoder.REQUEST_MAGIC) {
+         decoder = new MemcachedBinaryDecoder(cache, scheduler, transport, ignoreCache, maxContentLength);
+      } else {
+         decoder = new MemcachedDecoder(cache, scheduler, transport, ignoreCache);
+      }
+      // The bytes read so far are handed over to the new decoder when this one is removed
+      ctx.pipeline().replace(this, ctx.name(), decoder);
+   }
+}
@@ -22,7 +22,8 @@
 
 /**
  * Memcached server defining its decoder/encoder settings. In fact, Memcached does not use an encoder since there's
- * no really common headers between protocol operations.
+ * no really common headers between protocol operations. Both the text and the binary protocols are served on the same
+ * port, the protocol is detected from the first byte received on each connection.
  *
  * @author Galder Zamarreño
  * @since 4.1
@@ -59,7 +60,8 @@ public ChannelOutboundHandler getEncoder() {
 
    @Override
    public ChannelInboundHandler getDecoder() {
-      return new MemcachedDecoder(memcachedCache, scheduler, transport, this::isCacheIgnored);
+      return new MemcachedProtocolDetector(memcachedCache, scheduler, transport, this::isCacheIgnored,
+            configuration.maxContentLength());
    }
 
    @Override
@@ -19,16 +19,27 @@ public class MemcachedServerConfiguration extends ProtocolServerConfiguration {
    public static final int DEFAULT_MEMCACHED_PORT = 11211;
    public static final String DEFAULT_MEMCACHED_CACHE = "memcachedCache";
 
+   private final int maxContentLength;
+
    MemcachedServerConfiguration(String defaultCacheName, String name, String host, int port, int idleTimeout,
                                 int recvBufSize, int sendBufSize, SslConfiguration ssl, boolean tcpNoDelay,
                                 int workerThreads, Set<String> ignoredCaches, boolean startTransport,
-                                AdminOperationsHandler adminOperationsHandler) {
+                                AdminOperationsHandler adminOperationsHandler, int maxContentLength) {
       super(defaultCacheName, name, host, port, idleTimeout, recvBufSize, sendBufSize, ssl, tcpNoDelay, workerThreads,
             ignoredCaches, startTransport, adminOperationsHandler);
+      this.maxContentLength = maxContentLength;
+   }
+
+   /**
+    * The maximum length of the body of a binary protocol request, larger requests are rejected and their connection
+    * is closed.
+    */
+   public int maxContentLength() {
+      return maxContentLength;
    }
 
    @Override
    public String toString() {
-      return "MemcachedServerConfiguration [" + super.toString() + "]";
+      return "MemcachedServerConfiguration [maxContentLength=" + maxContentLength + ", " + super.toString() + "]";
    }
 }
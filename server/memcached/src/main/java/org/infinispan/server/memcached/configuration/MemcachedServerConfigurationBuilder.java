@@ -1,8 +1,10 @@
 package org.infinispan.server.memcached.configuration;
 
 import org.infinispan.commons.configuration.Builder;
+import org.infinispan.commons.logging.LogFactory;
 import org.infinispan.server.core.admin.AdminOperationsHandler;
 import org.infinispan.server.core.configuration.ProtocolServerConfigurationBuilder;
+import org.infinispan.server.memcached.logging.JavaLog;
 
 /**
  * MemcachedServerConfigurationBuilder.
@@ -12,6 +14,11 @@
  */
 public class MemcachedServerConfigurationBuilder extends ProtocolServerConfigurationBuilder<MemcachedServerConfiguration, MemcachedServerConfigurationBuilder> implements
       Builder<MemcachedServerConfiguration> {
+   private static final JavaLog log = LogFactory.getLog(MemcachedServerConfigurationBuilder.class, JavaLog.class);
+
+   public static final int DEFAULT_MAX_CONTENT_LENGTH = 1024 * 1024;
+
+   private int maxContentLength = DEFAULT_MAX_CONTENT_LENGTH;
 
    public MemcachedServerConfigurationBuilder() {
       super(MemcachedServerConfiguration.DEFAULT_MEMCACHED_PORT);
@@ -32,6 +39,21 @@ public MemcachedServerConfigurationBuilder cache(String cache) {
       return this;
    }
 
+   /**
+    * Sets the maximum length of the body of a binary protocol request. Defaults to 1MB.
+    */
+   public MemcachedServerConfigurationBuilder maxContentLength(int maxContentLength) {
+      this.maxContentLength = maxContentLength;
+      return this;
+   }
+
+   @Override
+   public void validate() {
+      super.validate();
+      if (maxContentLength <= 0)
+         throw log.illegalMaxContentLength(maxContentLength);
+   }
+
    @Override
    public MemcachedServerConfigurationBuilder adminOperationsHandler(AdminOperationsHandler handler) {
       // Ignore
@@ -41,7 +63,8 @@ public MemcachedServerConfigurationBuilder adminOperationsHandler(AdminOperation
    @Override
    public MemcachedServerConfiguration create() {
       return new MemcachedServerConfiguration(defaultCacheName, name, host, port, idleTimeout, recvBufSize, sendBufSize,
-            ssl.create(), tcpNoDelay, workerThreads, ignoredCaches, startTransport, adminOperationsHandler);
+            ssl.create(), tcpNoDelay, workerThreads, ignoredCaches, startTransport, adminOperationsHandler,
+            maxContentLength);
    }
 
    public MemcachedServerConfiguration build(boolean validate) {
@@ -59,6 +82,7 @@ public MemcachedServerConfiguration build() {
    @Override
    public Builder<?> read(MemcachedServerConfiguration template) {
       super.read(template);
+      this.maxContentLength = template.maxContentLength();
       return this;
    }
 }
@@ -0,0 +1,95 @@
+package org.infinispan.server.memcached;
+
+import static org.infinispan.server.memcached.test.MemcachedTestingUtil.createMemcachedBinaryClient;
+import static org.infinispan.test.TestingUtil.k;
+import static org.infinispan.test.TestingUtil.v;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+import net.spy.memcached.CASResponse;
+import net.spy.memcached.CASValue;
+import net.spy.memcached.MemcachedClient;
+
+/**
+ * Tests the binary protocol, which is served on the same port as the text protocol.
+ *
+ * @since 9.2
+ */
+@Test(groups = "functional", testName = "server.memcached.MemcachedBinaryFunctionalTest")
+public class MemcachedBinaryFunctionalTest extends MemcachedSingleNodeTest {
+
+   @Override
+   protected MemcachedClient createClient(int port) throws IOException {
+      return createMemcachedBinaryClient(60000, port);
+   }
+
+   public void testSetGetDelete(Method m) throws Exception {
+      assertTrue(client.set(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS));
+      assertEquals(v(m), client.get(k(m)));
+      assertTrue(client.delete(k(m)).get(timeout, TimeUnit.SECONDS));
+      assertNull(client.get(k(m)));
+      assertFalse(client.delete(k(m)).get(timeout, TimeUnit.SECONDS));
+   }
+
+   public void testAddReplace(Method m) throws Exception {
+      assertFalse(client.replace(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS));
+      assertTrue(client.add(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS));
+      assertFalse(client.add(k(m), 0, v(m, "v1-")).get(timeout, TimeUnit.SECONDS));
+      assertTrue(client.replace(k(m), 0, v(m, "v1-")).get(timeout, TimeUnit.SECONDS));
+      assertEquals(v(m, "v1-"), client.get(k(m)));
+   }
+
+   public void testGetBulk(Method m) throws Exception {
+      List<String> keys = Arrays.asList(k(m, "k1-"), k(m, "k2-"), k(m, "k3-"));
+      assertTrue(client.set(keys.get(0), 0, v(m, "v1-")).get(timeout, TimeUnit.SECONDS));
+      assertTrue(client.set(keys.get(2), 0, v(m, "v3-")).get(timeout, TimeUnit.SECONDS));
+      Map<String, Object> ret = client.getBulk(keys);
+      assertEquals(2, ret.size());
+      assertEquals(v(m, "v1-"), ret.get(keys.get(0)));
+      assertEquals(v(m, "v3-"), ret.get(keys.get(2)));
+   }
+
+   public void testCas(Method m) throws Exception {
+      assertTrue(client.set(k(m), 0, v(m)).get(timeout, TimeUnit.SECONDS));
+      CASValue<Object> value = client.gets(k(m));
+      assertEquals(CASResponse.OK, client.cas(k(m), value.getCas(), v(m, "v1-")));
+      assertEquals(CASResponse.EXISTS, client.cas(k(m), value.getCas(), v(m, "v2-")));
+      assertEquals(CASResponse.NOT_FOUND, client.cas(k(m, "k1-"), value.getCas(), v(m, "v2-")));
+      assertEquals(v(m, "v1-"), client.get(k(m)));
+   }
+
+   public void testIncrDecr(Method m) throws Exception {
+      assertEquals(-1, client.incr(k(m), 1));
+      assertEquals(10, client.incr(k(m), 1, 10));
+      assertEquals(15, client.incr(k(m), 5));
+      assertEquals(12, client.decr(k(m), 3));
+      assertEquals(0, client.decr(k(m), 20));
+   }
+
+   public void testAppendPrepend(Method m) throws Exception {
+      assertFalse(client.append(0, k(m), "x").get(timeout, TimeUnit.SECONDS));
+      assertTrue(client.set(k(m), 0, "b").get(timeout, TimeUnit.SECONDS));
+      assertTrue(client.append(0, k(m), "c").get(timeout, TimeUnit.SECONDS));
+      assertTrue(client.prepend(0, k(m), "a").get(timeout, TimeUnit.SECONDS));
+      assertEquals("abc", client.get(k(m)));
+   }
+
+   public void testVersion() {
+      assertFalse(client.getVersions().isEmpty());
+   }
+
+   public void testTextProtocolOnSamePort() throws IOException {
+      assertStored(send("set a 0 0 1\r\na\r\n"));
+   }
+}
@@ -0,0 +1,164 @@
+package org.infinispan.server.memcached;
+
+import static org.infinispan.test.TestingUtil.k;
+import static org.infinispan.test.TestingUtil.v;
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import org.infinispan.server.memcached.configuration.MemcachedServerConfigurationBuilder;
+import org.testng.annotations.Test;
+
+/**
+ * Tests pipelined binary protocol requests sent over a raw socket, checking the exact responses written for them.
+ *
+ * @since 9.2
+ */
+@Test(groups = "functional", testName = "server.memcached.MemcachedBinaryPipeliningTest")
+public class MemcachedBinaryPipeliningTest extends MemcachedSingleNodeTest {
+   private static final byte GETK = 0x0c;
+   private static final byte GETKQ = 0x0d;
+   private static final byte SETQ = 0x11;
+   private static final byte ADDQ = 0x12;
+   private static final byte NOOP = 0x0a;
+   private static final byte[] SET_EXTRAS = new byte[8];
+
+   private static final short NO_ERROR = 0x0000;
+   private static final short KEY_EXISTS = 0x0002;
+   private static final short VALUE_TOO_LARGE = 0x0003;
+
+   public void testPipelinedMultiGet(Method m) throws Exception {
+      try (Socket socket = new Socket(server.getHost(), server.getPort())) {
+         DataInputStream in = new DataInputStream(socket.getInputStream());
+         ByteArrayOutputStream out = new ByteArrayOutputStream();
+         writeRequest(out, SETQ, 1, SET_EXTRAS, k(m, "k1-"), v(m, "v1-"));
+         writeRequest(out, SETQ, 2, SET_EXTRAS, k(m, "k3-"), v(m, "v3-"));
+         writeRequest(out, NOOP, 3, new byte[0], "", "");
+         send(socket, out);
+         // The successful quiet sets have no response
+         assertResponse(readResponse(in), NOOP, NO_ERROR, 3, "", "");
+
+         out.reset();
+         writeRequest(out, GETKQ, 4, new byte[0], k(m, "k1-"), "");
+         writeRequest(out, GETKQ, 5, new byte[0], k(m, "k2-"), "");
+         writeRequest(out, GETKQ, 6, new byte[0], k(m, "k3-"), "");
+         writeRequest(out, NOOP, 7, new byte[0], "", "");
+         send(socket, out);
+         // The miss is not reported and the responses are written in request order
+         assertResponse(readResponse(in), GETKQ, NO_ERROR, 4, k(m, "k1-"), v(m, "v1-"));
+         assertResponse(readResponse(in), GETKQ, NO_ERROR, 6, k(m, "k3-"), v(m, "v3-"));
+         assertResponse(readResponse(in), NOOP, NO_ERROR, 7, "", "");
+      }
+   }
+
+   public void testQuietSetFailureReported(Method m) throws Exception {
+      try (Socket socket = new Socket(server.getHost(), server.getPort())) {
+         DataInputStream in = new DataInputStream(socket.getInputStream());
+         ByteArrayOutputStream out = new ByteArrayOutputStream();
+         writeRequest(out, SETQ, 1, SET_EXTRAS, k(m), v(m));
+         writeRequest(out, ADDQ, 2, SET_EXTRAS, k(m), v(m, "v1-"));
+         writeRequest(out, GETK, 3, new byte[0], k(m), "");
+         send(socket, out);
+         Response response = readResponse(in);
+         assertEquals(ADDQ, response.opcode);
+         assertEquals(KEY_EXISTS, response.status);
+         assertEquals(2, response.opaque);
+         assertResponse(readResponse(in), GETK, NO_ERROR, 3, k(m), v(m));
+      }
+   }
+
+   public void testBodyTooLarge(Method m) throws Exception {
+      try (Socket socket = new Socket(server.getHost(), server.getPort())) {
+         socket.setSoTimeout(timeout * 1000);
+         DataInputStream in = new DataInputStream(socket.getInputStream());
+         // Only the header is sent, the server must not wait for the body
+         ByteArrayOutputStream out = new ByteArrayOutputStream();
+         DataOutputStream header = new DataOutputStream(out);
+         header.writeByte(0x80);
+         header.writeByte(SETQ);
+         header.writeShort(k(m).length());
+         header.writeByte(SET_EXTRAS.length);
+         header.writeByte(0);
+         header.writeShort(0);
+         header.writeInt(MemcachedServerConfigurationBuilder.DEFAULT_MAX_CONTENT_LENGTH + 1);
+         header.writeInt(1);
+         header.writeLong(0);
+         send(socket, out);
+         Response response = readResponse(in);
+         assertEquals(SETQ, response.opcode);
+         assertEquals(VALUE_TOO_LARGE, response.status);
+         assertEquals(1, response.opaque);
+         // The connection is closed
+         assertEquals(-1, in.read());
+      }
+   }
+
+   private static void writeRequest(ByteArrayOutputStream out, byte opcode, int opaque, byte[] extras, String key,
+                                    String value) throws IOException {
+      byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+      byte[] valueBytes = value.getBytes(StandardCharsets.UTF_8);
+      DataOutputStream data = new DataOutputStream(out);
+      data.writeByte(0x80);
+      data.writeByte(opcode);
+      data.writeShort(keyBytes.length);
+      data.writeByte(extras.length);
+      data.writeByte(0); // data type
+      data.writeShort(0); // vbucket id
+      data.writeInt(extras.length + keyBytes.length + valueBytes.length);
+      data.writeInt(opaque);
+      data.writeLong(0); // cas
+      data.write(extras);
+      data.write(keyBytes);
+      data.write(valueBytes);
+   }
+
+   private static void send(Socket socket, ByteArrayOutputStream out) throws IOException {
+      // A single write, so that the requests are read in the same burst
+      socket.getOutputStream().write(out.toByteArray());
+      socket.getOutputStream().flush();
+   }
+
+   private static Response readResponse(DataInputStream in) throws IOException {
+      assertEquals(0x81, in.readUnsignedByte());
+      Response response = new Response();
+      response.opcode = in.readByte();
+      int keyLength = in.readUnsignedShort();
+      int extrasLength = in.readUnsignedByte();
+      in.readByte(); // data type
+      response.status = in.readShort();
+      int bodyLength = in.readInt();
+      response.opaque = in.readInt();
+      in.readLong(); // cas
+      in.skipBytes(extrasLength);
+      byte[] key = new byte[keyLength];
+      in.readFully(key);
+      byte[] value = new byte[bodyLength - keyLength - extrasLength];
+      in.readFully(value);
+      response.key = new String(key, StandardCharsets.UTF_8);
+      response.value = new String(value, StandardCharsets.UTF_8);
+      return response;
+   }
+
+   private static void assertResponse(Response response, byte opcode, short status, int opaque, String key,
+                                      String value) {
+      assertEquals(opcode, response.opcode);
+      assertEquals(status, response.status);
+      assertEquals(opaque, response.opaque);
+      assertEquals(key, response.key);
+      assertEquals(value, response.value);
+   }
+
+   private static class Response {
+      byte opcode;
+      short status;
+      int opaque;
+      String key;
+      String value;
+   }
+}
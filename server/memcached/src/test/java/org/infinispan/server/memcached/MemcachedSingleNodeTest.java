@@ -37,11 +37,15 @@ abstract class MemcachedSingleNodeTest extends SingleCacheManagerTest {
    protected EmbeddedCacheManager createCacheManager() throws Exception {
       cacheManager = createTestCacheManager();
       server = startMemcachedTextServer(cacheManager);
-      client = createMemcachedClient(60000, server.getPort());
+      client = createClient(server.getPort());
       cache = cacheManager.getCache(server.getConfiguration().defaultCacheName());
       return cacheManager;
    }
 
+   protected MemcachedClient createClient(int port) throws IOException {
+      return createMemcachedClient(60000, port);
+   }
+
    protected EmbeddedCacheManager createTestCacheManager() {
       return TestCacheManagerFactory.createCacheManager(false);
    }
@@ -0,0 +1,205 @@
+package org.infinispan.rest;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+import org.infinispan.CacheStream;
+import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.rest.logging.Log;
+import org.infinispan.rest.operations.JsonEntries;
+import org.infinispan.rest.operations.mediatypes.Charset;
+import org.infinispan.rest.operations.mediatypes.MediaType;
+import org.infinispan.util.logging.LogFactory;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http2.Http2ConnectionHandler;
+import io.netty.handler.codec.http2.Http2Error;
+import io.netty.handler.codec.http2.Http2Stream;
+import io.netty.handler.codec.http2.HttpConversionUtil;
+
+/**
+ * Writes the entries of a {@link CacheStream} to the client as a single JSON object, split into chunks.
+ *
+ * <p>
+ *    The iterator of a distributed stream fetches entries from the owners one batch at a time, so a chunk is only
+ *    produced while the channel is writable and, for HTTP/2, while the stream's flow control window has room.
+ *    Otherwise the streamer waits for {@link #resume()}, which keeps a slow client from pulling the whole cache into
+ *    memory. Only one chunk is written per event loop task, so other requests multiplexed on the same HTTP/2
+ *    connection are served in between. HTTP/1.1 responses use chunked transfer encoding and suspend reading from the
+ *    channel until the export completes.
+ * </p>
+ *
+ * @since 9.2
+ */
+class CacheEntriesStreamer implements Runnable {
+
+   protected final static Log logger = LogFactory.getLog(CacheEntriesStreamer.class, Log.class);
+
+   private static final int CHUNK_SIZE = 16 * 1024;
+
+   private final ChannelHandlerContext ctx;
+   private final InfinispanRequest request;
+   private final CacheStream<CacheEntry<String, Object>> stream;
+   private final Iterator<CacheEntry<String, Object>> iterator;
+   private final Consumer<CacheEntriesStreamer> onClose;
+   private final Http2ConnectionHandler http2Handler;
+   private final int streamId;
+
+   private boolean opened;
+   private boolean first = true;
+   private boolean scheduled;
+   private boolean closed;
+
+   CacheEntriesStreamer(ChannelHandlerContext ctx, InfinispanRequest request, CacheStream<CacheEntry<String, Object>> stream,
+                        Consumer<CacheEntriesStreamer> onClose) {
+      this.ctx = ctx;
+      this.request = request;
+      this.stream = stream;
+      this.iterator = stream.iterator();
+      this.onClose = onClose;
+      Http2ConnectionHandler connectionHandler = ctx.pipeline().get(Http2ConnectionHandler.class);
+      if (connectionHandler != null && request.getStreamId().isPresent()) {
+         this.http2Handler = connectionHandler;
+         this.streamId = Integer.parseInt(request.getStreamId().get());
+      } else {
+         this.http2Handler = null;
+         this.streamId = 0;
+      }
+   }
+
+   /**
+    * Sends the response headers and schedules the first chunk.
+    */
+   void start() {
+      HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+      response.headers().set(HttpHeaderNames.CONTENT_TYPE, MediaType.APPLICATION_JSON.toString() + ';' + Charset.UTF8);
+      response.headers().set(HttpHeaderNames.CACHE_CONTROL, CacheControl.noCache());
+      if (http2Handler != null) {
+         response.headers().set(HttpConversionUtil.ExtensionHeaderNames.STREAM_ID.text(), streamId);
+      } else {
+         HttpUtil.setTransferEncodingChunked(response, true);
+         if (HttpUtil.isKeepAlive(request.getRawRequest())) {
+            response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.KEEP_ALIVE);
+         }
+         // Pipelined requests would otherwise be answered in the middle of the chunked body
+         ctx.channel().config().setAutoRead(false);
+      }
+      ctx.write(response);
+      resume();
+   }
+
+   /**
+    * Schedules the next chunk, if the streamer isn't already scheduled or closed.
+    */
+   void resume() {
+      if (!scheduled && !closed) {
+         scheduled = true;
+         ctx.executor().execute(this);
+      }
+   }
+
+   @Override
+   public void run() {
+      scheduled = false;
+      if (closed) {
+         return;
+      }
+      if (http2Handler != null) {
+         Http2Stream http2Stream = http2Handler.connection().stream(streamId);
+         if (http2Stream == null || http2Stream.state() == Http2Stream.State.CLOSED) {
+            // The client has reset the stream
+            close();
+            return;
+         }
+         if (!http2Handler.encoder().flowController().isWritable(http2Stream)) {
+            return;
+         }
+      }
+      if (!ctx.channel().isWritable()) {
+         return;
+      }
+
+      ByteBuf chunk = ctx.alloc().buffer(CHUNK_SIZE);
+      boolean last;
+      try {
+         if (!opened) {
+            chunk.writeByte('{');
+            opened = true;
+         }
+         while (chunk.readableBytes() < CHUNK_SIZE && iterator.hasNext()) {
+            JsonEntries.writeEntry(chunk, iterator.next(), first);
+            first = false;
+         }
+         last = !iterator.hasNext();
+      } catch (Throwable t) {
+         chunk.release();
+         abort(t);
+         return;
+      }
+      if (last) {
+         chunk.writeByte('}');
+      }
+      writeChunk(chunk, last);
+      ctx.flush();
+      if (last) {
+         close();
+      } else {
+         resume();
+      }
+   }
+
+   /**
+    * Releases the underlying stream. The response is left as it is.
+    */
+   void close() {
+      if (!closed) {
+         closed = true;
+         stream.close();
+         if (http2Handler == null) {
+            ctx.channel().config().setAutoRead(true);
+         }
+         onClose.accept(this);
+      }
+   }
+
+   private void writeChunk(ByteBuf chunk, boolean last) {
+      if (http2Handler != null) {
+         // Written directly on the stream, as HttpToHttp2ConnectionHandler sends HttpContent to the last stream
+         // it has seen headers for
+         ChannelHandlerContext connectionCtx = ctx.pipeline().context(http2Handler);
+         http2Handler.encoder().writeData(connectionCtx, streamId, chunk, 0, last, connectionCtx.newPromise());
+      } else if (last) {
+         ChannelFuture future = ctx.write(new DefaultLastHttpContent(chunk));
+         if (!HttpUtil.isKeepAlive(request.getRawRequest())) {
+            future.addListener(ChannelFutureListener.CLOSE);
+         }
+      } else {
+         ctx.write(new DefaultHttpContent(chunk));
+      }
+   }
+
+   private void abort(Throwable t) {
+      logger.errorWhileStreamingEntries(t, request.getCacheName().orElse(null));
+      // The status line has already been sent, so the only way to signal the failure is to cut the response short
+      if (http2Handler != null) {
+         ChannelHandlerContext connectionCtx = ctx.pipeline().context(http2Handler);
+         http2Handler.resetStream(connectionCtx, streamId, Http2Error.INTERNAL_ERROR.code(), connectionCtx.newPromise());
+         ctx.flush();
+      } else {
+         ctx.close();
+      }
+      close();
+   }
+}
@@ -4,6 +4,10 @@
 import static io.netty.handler.codec.http.HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE;
 import static io.netty.handler.codec.http.HttpVersion.HTTP_1_1;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
+
 import org.infinispan.manager.EmbeddedCacheManager;
 import org.infinispan.rest.cachemanager.RestCacheManager;
 import org.infinispan.rest.configuration.RestServerConfiguration;
@@ -24,6 +28,9 @@
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.FullHttpResponse;
 import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http2.Http2ConnectionAdapter;
+import io.netty.handler.codec.http2.Http2ConnectionHandler;
+import io.netty.handler.codec.http2.Http2Stream;
 
 /**
  * Netty REST handler for HTTP/2.0
@@ -41,6 +48,10 @@ public class Http20RequestHandler extends SimpleChannelInboundHandler<FullHttpRe
 
    protected final RestAccessLoggingHandler restAccessLoggingHandler = new RestAccessLoggingHandler();
 
+   // Only accessed from the event loop
+   private final Set<CacheEntriesStreamer> streamers = new HashSet<>();
+   private boolean http2ListenersRegistered;
+
    /**
     * Creates new {@link Http20RequestHandler}.
     *
@@ -80,12 +91,23 @@ public void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) thr
                //we are hitting root context here
                response = staticContent.serveHtmlFile(infinispanRequest);
             } else if (!infinispanRequest.getKey().isPresent()) {
-               response = cacheOperations.getCacheValues(infinispanRequest);
+               if (!infinispanRequest.getKeys().isEmpty()) {
+                  response = cacheOperations.getCacheValuesForKeys(infinispanRequest);
+               } else if (infinispanRequest.isStreamed()) {
+                  streamCacheEntries(ctx, infinispanRequest);
+                  return;
+               } else {
+                  response = cacheOperations.getCacheValues(infinispanRequest);
+               }
             } else {
                response = cacheOperations.getCacheValue(infinispanRequest);
             }
          } else if (request.method() == HttpMethod.POST || request.method() == HttpMethod.PUT) {
-            response = cacheOperations.putValueToCache(infinispanRequest);
+            if (!infinispanRequest.getKey().isPresent()) {
+               response = cacheOperations.putValuesToCache(infinispanRequest);
+            } else {
+               response = cacheOperations.putValueToCache(infinispanRequest);
+            }
          } else if (request.method() == HttpMethod.HEAD) {
             response = cacheOperations.getCacheValue(infinispanRequest);
          } else if (request.method() == HttpMethod.DELETE) {
@@ -103,6 +125,47 @@ public void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) thr
       sendResponse(ctx, request, response.toNettyHttpResponse());
    }
 
+   private void streamCacheEntries(ChannelHandlerContext ctx, InfinispanRequest request) throws RestResponseException {
+      CacheEntriesStreamer streamer = new CacheEntriesStreamer(ctx, request, cacheOperations.streamCacheEntries(request), streamers::remove);
+      streamers.add(streamer);
+      registerHttp2Listeners(ctx);
+      // Keep the order of responses sent by sendResponse
+      ctx.executor().execute(streamer::start);
+   }
+
+   private void registerHttp2Listeners(ChannelHandlerContext ctx) {
+      Http2ConnectionHandler connectionHandler = ctx.pipeline().get(Http2ConnectionHandler.class);
+      if (connectionHandler != null && !http2ListenersRegistered) {
+         http2ListenersRegistered = true;
+         // Streamers wait for their flow control window to open, or find out that the client has reset the stream
+         connectionHandler.encoder().flowController().listener(stream -> resumeStreamers());
+         connectionHandler.connection().addListener(new Http2ConnectionAdapter() {
+            @Override
+            public void onStreamClosed(Http2Stream stream) {
+               resumeStreamers();
+            }
+         });
+      }
+   }
+
+   private void resumeStreamers() {
+      streamers.forEach(CacheEntriesStreamer::resume);
+   }
+
+   @Override
+   public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+      if (ctx.channel().isWritable()) {
+         resumeStreamers();
+      }
+      super.channelWritabilityChanged(ctx);
+   }
+
+   @Override
+   public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+      new ArrayList<>(streamers).forEach(CacheEntriesStreamer::close);
+      super.channelInactive(ctx);
+   }
+
    protected void sendResponse(ChannelHandlerContext ctx, FullHttpRequest request, FullHttpResponse response) {
       ctx.executor().execute(() -> {
          restAccessLoggingHandler.log(ctx, request, response);
@@ -1,5 +1,6 @@
 package org.infinispan.rest;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.StringTokenizer;
@@ -252,6 +253,51 @@ public Optional<String> getExtended() {
       return Optional.empty();
    }
 
+   /**
+    * Returns the keys passed as <code>key</code> query parameters for a bulk read.
+    *
+    * @return Requested keys, empty if none were specified.
+    */
+   public List<String> getKeys() {
+      List<String> keys = queryStringDecoder.parameters().get("key");
+      return keys != null ? keys : Collections.emptyList();
+   }
+
+   /**
+    * Returns whether client wishes to stream all entries of the cache.
+    *
+    * @return <code>true</code> if the <code>stream</code> query parameter is present.
+    */
+   public boolean isStreamed() {
+      return queryStringDecoder.parameters().containsKey("stream");
+   }
+
+   /**
+    * Returns <code>segments</code> query parameter value, a comma separated list of segments to stream.
+    *
+    * @return <code>segments</code> query parameter value.
+    */
+   public Optional<String> getSegments() {
+      return getQueryParameter("segments");
+   }
+
+   /**
+    * Returns <code>batchSize</code> query parameter value, the number of entries fetched from each node at a time.
+    *
+    * @return <code>batchSize</code> query parameter value.
+    */
+   public Optional<String> getBatchSize() {
+      return getQueryParameter("batchSize");
+   }
+
+   private Optional<String> getQueryParameter(String name) {
+      List<String> parameters = queryStringDecoder.parameters().get(name);
+      if (parameters != null && parameters.size() > 0) {
+         return Optional.ofNullable(parameters.get(0));
+      }
+      return Optional.empty();
+   }
+
    /**
     * Returns Netty context.
     *
@@ -98,6 +98,15 @@ public void contentAsBytes(byte[] content) {
       this.content.writeBytes(content);
    }
 
+   /**
+    * Uses the given buffer as content, replacing anything added before.
+    *
+    * @param content Content.
+    */
+   public void contentAsBuffer(ByteBuf content) {
+      this.content = content;
+   }
+
    /**
     * Adds <code>Content-Type</code> header.
     *
@@ -43,5 +43,9 @@ public interface Log extends org.infinispan.util.logging.Log {
    @Message(value = "Uncaught exception in the pipeline", id = 12006)
    void uncaughtExceptionInThePipeline(@Cause Throwable e);
 
+   @LogMessage(level = WARN)
+   @Message(value = "Error while streaming entries of cache '%s'", id = 12007)
+   void errorWhileStreamingEntries(@Cause Throwable e, String cacheName);
+
 
 }
@@ -1,11 +1,15 @@
 package org.infinispan.rest.operations;
 
+import java.io.IOException;
 import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalInt;
 
 import org.infinispan.AdvancedCache;
 import org.infinispan.CacheSet;
+import org.infinispan.CacheStream;
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.hash.MurmurHash3;
 import org.infinispan.container.entries.CacheEntry;
@@ -17,6 +21,7 @@
 import org.infinispan.rest.RestResponseException;
 import org.infinispan.rest.cachemanager.RestCacheManager;
 import org.infinispan.rest.configuration.RestServerConfiguration;
+import org.infinispan.rest.operations.exceptions.MalformedRequestException;
 import org.infinispan.rest.operations.exceptions.NoCacheFoundException;
 import org.infinispan.rest.operations.exceptions.NoDataFoundException;
 import org.infinispan.rest.operations.exceptions.NoKeyException;
@@ -25,6 +30,9 @@
 import org.infinispan.rest.operations.mediatypes.MediaType;
 import org.infinispan.rest.operations.mime.MimeMetadata;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpResponseStatus;
 
@@ -79,6 +87,69 @@ public InfinispanResponse getCacheValues(InfinispanRequest request) throws RestR
       }
    }
 
+   /**
+    * Implementation of HTTP GET request invoked on root context with one or more <code>key</code> parameters. All
+    * entries are read with a single bulk operation and returned as one JSON object, missing keys are omitted.
+    *
+    * @param request {@link InfinispanRequest} to be processed.
+    * @return InfinispanResponse which shall be sent to the client.
+    * @throws RestResponseException Thrown in case of any non-critical processing errors.
+    */
+   public InfinispanResponse getCacheValuesForKeys(InfinispanRequest request) throws RestResponseException {
+      try {
+         String cacheName = request.getCacheName().get();
+         AdvancedCache<String, Object> cache = restCacheManager.getCache(cacheName);
+         Map<String, CacheEntry<String, Object>> entries = cache.getAllCacheEntries(new LinkedHashSet<>(request.getKeys()));
+
+         ByteBuf content = Unpooled.buffer();
+         content.writeByte('{');
+         boolean first = true;
+         for (CacheEntry<String, Object> entry : entries.values()) {
+            JsonEntries.writeEntry(content, entry, first);
+            first = false;
+         }
+         content.writeByte('}');
+
+         InfinispanResponse response = InfinispanResponse.inReplyTo(request);
+         response.contentType(MediaType.APPLICATION_JSON.toString());
+         response.charset(Charset.UTF8);
+         response.cacheControl(CacheControl.noCache());
+         response.contentAsBuffer(content);
+         return response;
+      } catch (CacheException cacheException) {
+         throw new NoCacheFoundException(cacheException.getLocalizedMessage());
+      }
+   }
+
+   /**
+    * Implementation of HTTP GET request invoked on root context with the <code>stream</code> parameter. The returned
+    * stream is distributed and fetches entries from the owners in batches of <code>batchSize</code>, optionally
+    * restricted to the <code>segments</code> parameter, so that several clients can export a cache in parallel.
+    *
+    * @param request {@link InfinispanRequest} to be processed.
+    * @return Stream of the requested entries. The caller is responsible for closing it.
+    * @throws RestResponseException Thrown in case of any non-critical processing errors.
+    */
+   public CacheStream<CacheEntry<String, Object>> streamCacheEntries(InfinispanRequest request) throws RestResponseException {
+      try {
+         String cacheName = request.getCacheName().get();
+         AdvancedCache<String, Object> cache = restCacheManager.getCache(cacheName);
+         CacheStream<CacheEntry<String, Object>> stream = cache.cacheEntrySet().stream();
+         Optional<String> batchSize = request.getBatchSize();
+         if (batchSize.isPresent()) {
+            stream = stream.distributedBatchSize(CacheOperationsHelper.batchSize(batchSize.get()));
+         }
+         Optional<String> segments = request.getSegments();
+         if (segments.isPresent()) {
+            stream = stream.filterKeySegments(CacheOperationsHelper.segments(segments.get(),
+                  cache.getCacheConfiguration().clustering().hash().numSegments()));
+         }
+         return stream;
+      } catch (CacheException cacheException) {
+         throw new NoCacheFoundException(cacheException.getLocalizedMessage());
+      }
+   }
+
    /**
     * Implementation of HTTP GET and HTTP HEAD requests invoked with a key.
     *
@@ -305,6 +376,46 @@ public InfinispanResponse putValueToCache(InfinispanRequest request) throws Rest
       }
    }
 
+   /**
+    * Implementation of HTTP PUT and HTTP POST requests invoked on root context. The payload is a JSON object mapping
+    * keys to values, all of which are written with a single bulk operation per content type.
+    *
+    * @param request {@link InfinispanRequest} to be processed.
+    * @return InfinispanResponse which shall be sent to the client.
+    * @throws RestResponseException Thrown in case of any non-critical processing errors.
+    */
+   public InfinispanResponse putValuesToCache(InfinispanRequest request) throws RestResponseException {
+      try {
+         String cacheName = request.getCacheName().get();
+         AdvancedCache<String, Object> cache = restCacheManager.getCache(cacheName);
+         ByteBuf data = request.getRawRequest().content();
+         if (data == null || !data.isReadable()) {
+            throw new NoDataFoundException();
+         }
+         Map<String, Map<String, byte[]>> entriesByType;
+         try {
+            entriesByType = JsonEntries.readEntries(new ByteBufInputStream(data.duplicate()));
+         } catch (IOException e) {
+            throw new MalformedRequestException("Expected a JSON object mapping keys to values");
+         }
+
+         boolean useAsync = request.getUseAsync().orElse(false);
+         Optional<Long> ttl = request.getTimeToLiveSeconds();
+         Optional<Long> idle = request.getMaxIdleTimeSeconds();
+         for (Map.Entry<String, Map<String, byte[]>> entries : entriesByType.entrySet()) {
+            Metadata metadata = CacheOperationsHelper.createMetadata(cache.getCacheConfiguration(), entries.getKey(), ttl, idle);
+            if (useAsync) {
+               cache.putAllAsync(entries.getValue(), metadata);
+            } else {
+               cache.putAll(entries.getValue(), metadata);
+            }
+         }
+         return InfinispanResponse.inReplyTo(request);
+      } catch (CacheException cacheException) {
+         throw new NoCacheFoundException(cacheException.getLocalizedMessage());
+      }
+   }
+
    private <V> String calcETAG(V value, String contentType) {
       return contentType + hashFunc.hash(value);
    }
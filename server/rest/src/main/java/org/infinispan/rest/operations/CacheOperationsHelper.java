@@ -6,8 +6,10 @@
 import java.time.format.DateTimeParseException;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import org.infinispan.configuration.cache.Configuration;
@@ -15,6 +17,7 @@
 import org.infinispan.metadata.Metadata;
 import org.infinispan.rest.CacheControl;
 import org.infinispan.rest.configuration.RestServerConfiguration;
+import org.infinispan.rest.operations.exceptions.MalformedRequestException;
 import org.infinispan.rest.operations.exceptions.WrongDateFormatException;
 import org.infinispan.rest.operations.mime.MimeMetadataBuilder;
 
@@ -56,6 +59,34 @@ public static Metadata createMetadata(Configuration cfg, String dataType, Option
       return metadata.build();
    }
 
+   public static int batchSize(String batchSize) throws MalformedRequestException {
+      try {
+         int value = Integer.parseInt(batchSize.trim());
+         if (value > 0) {
+            return value;
+         }
+      } catch (NumberFormatException e) {
+         // fall through
+      }
+      throw new MalformedRequestException("Could not parse batch size " + batchSize);
+   }
+
+   public static Set<Integer> segments(String segments, int numSegments) throws MalformedRequestException {
+      Set<Integer> result = new HashSet<>();
+      try {
+         for (String segment : segments.split(",")) {
+            int value = Integer.parseInt(segment.trim());
+            if (value < 0 || value >= numSegments) {
+               throw new MalformedRequestException("Segment " + value + " is not between 0 and " + (numSegments - 1));
+            }
+            result.add(value);
+         }
+      } catch (NumberFormatException e) {
+         throw new MalformedRequestException("Could not parse segments " + segments);
+      }
+      return result;
+   }
+
    public static boolean supportsExtendedHeaders(RestServerConfiguration restServerConfiguration, String extended) {
       switch (restServerConfiguration.extendedHeaders()) {
          case NEVER:
@@ -0,0 +1,123 @@
+package org.infinispan.rest.operations;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.codehaus.jackson.JsonNode;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.metadata.Metadata;
+import org.infinispan.rest.operations.exceptions.ServerInternalException;
+import org.infinispan.rest.operations.mediatypes.MediaType;
+import org.infinispan.rest.operations.mime.MimeMetadata;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Reads and writes the JSON documents used by the bulk REST operations.
+ *
+ * <p>
+ *    A bulk document is a single JSON object mapping keys to values. Values stored as <code>text/*</code> are written
+ *    as JSON strings, values stored as <code>application/json</code> are embedded as they are if they are valid JSON,
+ *    and any other binary value is written as a Base64 string. Values stored through the embedded API are written as
+ *    JSON strings, numbers or booleans, never through bean serialization, so that an unexpected value type can't
+ *    fail an export half way through.
+ * </p>
+ *
+ * @since 9.2
+ */
+public final class JsonEntries {
+
+   private static final ObjectMapper jsonMapper = new ObjectMapper();
+
+   private JsonEntries() {
+   }
+
+   /**
+    * Appends a <code>"key":value</code> pair to a JSON object being written into <code>out</code>.
+    *
+    * @param out Buffer to write to.
+    * @param entry Entry to be written.
+    * @param first <code>true</code> if this is the first pair in the object.
+    * @throws ServerInternalException Thrown if the entry could not be converted.
+    */
+   public static void writeEntry(ByteBuf out, CacheEntry<String, Object> entry, boolean first) throws ServerInternalException {
+      try {
+         if (!first) {
+            out.writeByte(',');
+         }
+         out.writeBytes(jsonMapper.writeValueAsBytes(entry.getKey()));
+         out.writeByte(':');
+         out.writeBytes(toJson(entry.getValue(), entry.getMetadata()));
+      } catch (IOException e) {
+         throw new ServerInternalException(e);
+      }
+   }
+
+   /**
+    * Parses a JSON object into values grouped by the content type they should be stored with. String values are
+    * stored as <code>text/plain</code>, anything else as <code>application/json</code>.
+    *
+    * @param in JSON document.
+    * @return Values to be stored, grouped by content type.
+    * @throws IOException Thrown if the document is not a JSON object.
+    */
+   public static Map<String, Map<String, byte[]>> readEntries(InputStream in) throws IOException {
+      JsonNode document = jsonMapper.readTree(in);
+      if (document == null || !document.isObject()) {
+         throw new IOException("Expected a JSON object");
+      }
+      Map<String, Map<String, byte[]>> entriesByType = new HashMap<>(4);
+      for (Iterator<Map.Entry<String, JsonNode>> it = document.getFields(); it.hasNext(); ) {
+         Map.Entry<String, JsonNode> field = it.next();
+         JsonNode value = field.getValue();
+         if (value.isTextual()) {
+            entriesByType.computeIfAbsent(MediaType.TEXT_PLAIN.toString(), t -> new HashMap<>())
+                  .put(field.getKey(), value.getTextValue().getBytes(StandardCharsets.UTF_8));
+         } else {
+            entriesByType.computeIfAbsent(MediaType.APPLICATION_JSON.toString(), t -> new HashMap<>())
+                  .put(field.getKey(), jsonMapper.writeValueAsBytes(value));
+         }
+      }
+      return entriesByType;
+   }
+
+   private static byte[] toJson(Object value, Metadata metadata) throws IOException {
+      if (value instanceof byte[]) {
+         byte[] bytes = (byte[]) value;
+         if (metadata instanceof MimeMetadata) {
+            String contentType = ((MimeMetadata) metadata).contentType();
+            if (contentType.startsWith(MediaType.APPLICATION_JSON.toString()) && isJson(bytes)) {
+               return bytes;
+            } else if (contentType.startsWith("text/")) {
+               return jsonMapper.writeValueAsBytes(new String(bytes, StandardCharsets.UTF_8));
+            }
+         }
+         // Written as a Base64 string
+         return jsonMapper.writeValueAsBytes(bytes);
+      } else if (value instanceof Number || value instanceof Boolean) {
+         return jsonMapper.writeValueAsBytes(value);
+      }
+      return jsonMapper.writeValueAsBytes(String.valueOf(value));
+   }
+
+   /**
+    * Checks that the bytes hold exactly one JSON value, without building it.
+    */
+   private static boolean isJson(byte[] bytes) {
+      try (JsonParser parser = jsonMapper.getJsonFactory().createJsonParser(bytes)) {
+         if (parser.nextToken() == null) {
+            return false;
+         }
+         parser.skipChildren();
+         return parser.nextToken() == null;
+      } catch (IOException e) {
+         return false;
+      }
+   }
+}
@@ -0,0 +1,13 @@
+package org.infinispan.rest.operations.exceptions;
+
+import org.infinispan.rest.RestResponseException;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+
+public class MalformedRequestException extends RestResponseException {
+
+   public MalformedRequestException(String description) {
+      super(HttpResponseStatus.BAD_REQUEST, description);
+   }
+
+}
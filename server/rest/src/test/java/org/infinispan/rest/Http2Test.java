@@ -15,12 +15,19 @@
 package org.infinispan.rest;
 
 import static io.netty.buffer.Unpooled.wrappedBuffer;
+import static io.netty.handler.codec.http.HttpMethod.GET;
 import static io.netty.handler.codec.http.HttpMethod.POST;
 import static io.netty.handler.codec.http.HttpVersion.HTTP_1_1;
 
+import java.util.Collections;
 import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.assertj.core.api.Assertions;
+import org.codehaus.jackson.JsonNode;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.infinispan.Cache;
 import org.infinispan.rest.helper.RestServerHelper;
 import org.infinispan.rest.http2.Http2Client;
 import org.testng.SkipException;
@@ -103,4 +110,58 @@ public void shouldUpgradeUsingHTTP11Upgrade() throws Exception {
         Assertions.assertThat(responses.element().status().code()).isEqualTo(200);
         Assertions.assertThat(restServer.getCacheManager().getCache("http2testcache").size()).isEqualTo(1);
     }
+
+    @Test
+    public void shouldStreamCacheEntries() throws Exception {
+        //given
+        restServer = RestServerHelper.defaultRestServer("http2testcache").start();
+        Cache<String, String> cache = restServer.getCacheManager().getCache("http2testcache");
+        for (int i = 0; i < 1000; i++) {
+            cache.put("key" + i, "value" + i);
+        }
+
+        client = Http2Client.newClientWithHttp11Upgrade();
+        client.start(restServer.getHost(), restServer.getPort());
+
+        //when
+        client.sendRequest(new DefaultFullHttpRequest(HTTP_1_1, GET, "/rest/http2testcache?stream&batchSize=100"));
+        Queue<FullHttpResponse> responses = client.getResponses();
+
+        //then
+        Assertions.assertThat(responses).hasSize(1);
+        Assertions.assertThat(responses.element().status().code()).isEqualTo(200);
+        JsonNode entries = new ObjectMapper().readTree(responses.element().content().toString(CharsetUtil.UTF_8));
+        Assertions.assertThat(entries.size()).isEqualTo(1000);
+        Assertions.assertThat(entries.get("key999").getTextValue()).isEqualTo("value999");
+    }
+
+    @Test
+    public void shouldStopStreamingWhenClientResetsStream() throws Exception {
+        //given
+        restServer = RestServerHelper.defaultRestServer("http2testcache").start();
+        Cache<String, String> cache = restServer.getCacheManager().getCache("http2testcache");
+        // Much larger than the initial flow control window, so the export can't be sent at once
+        String value = String.join("", Collections.nCopies(1024, "v"));
+        for (int i = 0; i < 5000; i++) {
+            cache.put("key" + i, value);
+        }
+
+        client = Http2Client.newClientWithHttp11Upgrade();
+        client.start(restServer.getHost(), restServer.getPort());
+
+        //when
+        CompletableFuture<Boolean> reset = client.sendRequestAndReset(
+              new DefaultFullHttpRequest(HTTP_1_1, GET, "/rest/http2testcache?stream"));
+
+        //then
+        Assertions.assertThat(reset.get(60, TimeUnit.SECONDS)).as("First chunk was the last one").isFalse();
+
+        // The connection can still be used, and the server still has to honour flow control for the next export
+        client.sendRequest(new DefaultFullHttpRequest(HTTP_1_1, GET, "/rest/http2testcache?stream"));
+        Queue<FullHttpResponse> responses = client.getResponses();
+        Assertions.assertThat(responses).hasSize(1);
+        Assertions.assertThat(responses.element().status().code()).isEqualTo(200);
+        JsonNode entries = new ObjectMapper().readTree(responses.element().content().toString(CharsetUtil.UTF_8));
+        Assertions.assertThat(entries.size()).isEqualTo(5000);
+    }
 }
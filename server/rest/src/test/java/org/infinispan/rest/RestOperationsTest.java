@@ -11,6 +11,8 @@
 import java.util.Optional;
 
 import org.assertj.core.api.Assertions;
+import org.codehaus.jackson.JsonNode;
+import org.codehaus.jackson.map.ObjectMapper;
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.api.ContentResponse;
 import org.eclipse.jetty.client.util.ByteBufferContentProvider;
@@ -881,6 +883,157 @@ public void shouldFailTooLargeObject() throws Exception {
       ResponseAssertion.assertThat(response).isPayloadTooLarge();
    }
 
+   @Test
+   public void shouldGetMultipleEntriesInSingleRequest() throws Exception {
+      //given
+      putValueWithMetadataInCache("default", "key1", "test1");
+      putValueWithMetadataInCache("default", "key2", "{\"name\":\"test2\"}", "application/json", Optional.empty(), Optional.empty());
+
+      //when
+      ContentResponse response = client
+            .newRequest(String.format("http://localhost:%d/rest/%s?key=key1&key=key2&key=nonExisting", restServer.getPort(), "default"))
+            .method(HttpMethod.GET)
+            .send();
+
+      //then
+      ResponseAssertion.assertThat(response).isOk();
+      ResponseAssertion.assertThat(response).hasContentType("application/json;charset=UTF-8");
+      ObjectMapper mapper = new ObjectMapper();
+      JsonNode entries = mapper.readTree(response.getContentAsString());
+      Assertions.assertThat(entries).isEqualTo(mapper.readTree("{\"key1\":\"test1\",\"key2\":{\"name\":\"test2\"}}"));
+   }
+
+   @Test
+   public void shouldPutMultipleEntriesInSingleRequest() throws Exception {
+      //when
+      ContentResponse response = client
+            .newRequest(String.format("http://localhost:%d/rest/%s", restServer.getPort(), "default"))
+            .method(HttpMethod.PUT)
+            .content(new StringContentProvider("{\"key1\":\"test1\",\"key2\":{\"name\":\"test2\"}}"))
+            .header("Content-type", "application/json")
+            .send();
+
+      InternalCacheEntry<String, byte[]> textEntry = (InternalCacheEntry<String, byte[]>) restServer.getCacheManager()
+            .<String, byte[]>getCache("default", false)
+            .getAdvancedCache()
+            .getCacheEntry("key1");
+      InternalCacheEntry<String, byte[]> jsonEntry = (InternalCacheEntry<String, byte[]>) restServer.getCacheManager()
+            .<String, byte[]>getCache("default", false)
+            .getAdvancedCache()
+            .getCacheEntry("key2");
+
+      //then
+      ResponseAssertion.assertThat(response).isOk();
+      Assertions.assertThat(new String(textEntry.getValue())).isEqualTo("test1");
+      Assertions.assertThat(((MimeMetadata) textEntry.getMetadata()).contentType()).isEqualTo("text/plain");
+      Assertions.assertThat(new String(jsonEntry.getValue())).isEqualTo("{\"name\":\"test2\"}");
+      Assertions.assertThat(((MimeMetadata) jsonEntry.getMetadata()).contentType()).isEqualTo("application/json");
+   }
+
+   @Test
+   public void shouldRejectMultipleEntriesWhichAreNotJsonObject() throws Exception {
+      //when
+      ContentResponse response = client
+            .newRequest(String.format("http://localhost:%d/rest/%s", restServer.getPort(), "default"))
+            .method(HttpMethod.PUT)
+            .content(new StringContentProvider("[\"test1\"]"))
+            .send();
+
+      //then
+      Assertions.assertThat(response.getStatus()).isEqualTo(400);
+      Assertions.assertThat(restServer.getCacheManager().getCache("default").size()).isEqualTo(0);
+   }
+
+   @Test
+   public void shouldStreamAllEntries() throws Exception {
+      //given
+      for (int i = 0; i < 1000; i++) {
+         putValueWithMetadataInCache("default", "key" + i, "test" + i);
+      }
+
+      //when
+      ContentResponse response = client
+            .newRequest(String.format("http://localhost:%d/rest/%s?stream&batchSize=100", restServer.getPort(), "default"))
+            .method(HttpMethod.GET)
+            .send();
+
+      //then
+      ResponseAssertion.assertThat(response).isOk();
+      ResponseAssertion.assertThat(response).hasContentType("application/json;charset=UTF-8");
+      Assertions.assertThat(response.getHeaders().get(HttpHeader.TRANSFER_ENCODING)).isEqualTo("chunked");
+      JsonNode entries = new ObjectMapper().readTree(response.getContentAsString());
+      Assertions.assertThat(entries.size()).isEqualTo(1000);
+      Assertions.assertThat(entries.get("key999").getTextValue()).isEqualTo("test999");
+   }
+
+   @Test
+   public void shouldStreamEmptyCache() throws Exception {
+      //when
+      ContentResponse response = client
+            .newRequest(String.format("http://localhost:%d/rest/%s?stream", restServer.getPort(), "default"))
+            .method(HttpMethod.GET)
+            .send();
+
+      //then
+      ResponseAssertion.assertThat(response).isOk();
+      ResponseAssertion.assertThat(response).hasReturnedText("{}");
+   }
+
+   @Test
+   public void shouldRejectSegmentsOutOfRange() throws Exception {
+      //when
+      int numSegments = restServer.getCacheManager().getCache("default").getCacheConfiguration().clustering().hash().numSegments();
+      ContentResponse response = client
+            .newRequest(String.format("http://localhost:%d/rest/%s?stream&segments=0,%d", restServer.getPort(), "default", numSegments))
+            .method(HttpMethod.GET)
+            .send();
+
+      //then
+      Assertions.assertThat(response.getStatus()).isEqualTo(400);
+   }
+
+   @Test
+   public void shouldStreamInvalidJsonAsBase64() throws Exception {
+      //given
+      putValueWithMetadataInCache("default", "valid", "{\"name\":\"test\"}", "application/json", Optional.empty(), Optional.empty());
+      putValueWithMetadataInCache("default", "invalid", "{\"name\":", "application/json", Optional.empty(), Optional.empty());
+      putValueWithMetadataInCache("default", "trailing", "{} {}", "application/json", Optional.empty(), Optional.empty());
+
+      //when
+      ContentResponse response = client
+            .newRequest(String.format("http://localhost:%d/rest/%s?stream", restServer.getPort(), "default"))
+            .method(HttpMethod.GET)
+            .send();
+
+      //then
+      ResponseAssertion.assertThat(response).isOk();
+      JsonNode entries = new ObjectMapper().readTree(response.getContentAsString());
+      Assertions.assertThat(entries.get("valid").get("name").getTextValue()).isEqualTo("test");
+      Assertions.assertThat(entries.get("invalid").getBinaryValue()).isEqualTo("{\"name\":".getBytes());
+      Assertions.assertThat(entries.get("trailing").getBinaryValue()).isEqualTo("{} {}".getBytes());
+   }
+
+   @Test
+   public void shouldStreamEmbeddedValuesWithoutBeanSerialization() throws Exception {
+      //given
+      TestClass testClass = new TestClass();
+      testClass.setName("test");
+      putValueInCache("default", "object", testClass);
+      putValueInCache("default", "number", 42);
+
+      //when
+      ContentResponse response = client
+            .newRequest(String.format("http://localhost:%d/rest/%s?stream", restServer.getPort(), "default"))
+            .method(HttpMethod.GET)
+            .send();
+
+      //then
+      ResponseAssertion.assertThat(response).isOk();
+      JsonNode entries = new ObjectMapper().readTree(response.getContentAsString());
+      Assertions.assertThat(entries.get("object").getTextValue()).isEqualTo(testClass.toString());
+      Assertions.assertThat(entries.get("number").getIntValue()).isEqualTo(42);
+   }
+
    static class TestClass implements Serializable {
 
       private String name;
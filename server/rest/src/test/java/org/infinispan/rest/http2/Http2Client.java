@@ -3,6 +3,7 @@
 import java.io.FileInputStream;
 import java.security.KeyStore;
 import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -126,13 +127,30 @@ public Queue<FullHttpResponse> getResponses() {
    public void sendRequest(FullHttpRequest request) {
       HttpResponseHandler responseHandler = initializer.responseHandler();
       int streamId = streamCounter.getAndAdd(2);
-      HttpScheme scheme = sslCtx != null ? HttpScheme.HTTPS : HttpScheme.HTTP;
+      addHeaders(request, streamId);
+      responseHandler.put(streamId, channel.write(request), channel.newPromise());
+      channel.flush();
+   }
+
+   /**
+    * Sends a request and resets its stream as soon as the first part of the response body is received. The response
+    * is never added to {@link #getResponses()}.
+    *
+    * @return completed when the stream is reset, with whether the first part of the body was also the last one
+    */
+   public CompletableFuture<Boolean> sendRequestAndReset(FullHttpRequest request) {
+      int streamId = streamCounter.getAndAdd(2);
+      addHeaders(request, streamId);
+      CompletableFuture<Boolean> reset = initializer.resetListener().resetOnData(streamId);
+      channel.writeAndFlush(request);
+      return reset;
+   }
 
+   private void addHeaders(FullHttpRequest request, int streamId) {
+      HttpScheme scheme = sslCtx != null ? HttpScheme.HTTPS : HttpScheme.HTTP;
       request.headers().add(HttpHeaderNames.HOST, hostname);
       request.headers().add(HttpConversionUtil.ExtensionHeaderNames.SCHEME.text(), scheme.name());
       request.headers().add(HttpConversionUtil.ExtensionHeaderNames.STREAM_ID.text(), streamId);
-      responseHandler.put(streamId, channel.write(request), channel.newPromise());
-      channel.flush();
    }
 
 }
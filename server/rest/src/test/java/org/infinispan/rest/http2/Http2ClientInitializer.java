@@ -16,6 +16,9 @@
 
 import static io.netty.handler.logging.LogLevel.INFO;
 
+import java.util.concurrent.CompletableFuture;
+
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelInitializer;
@@ -30,6 +33,11 @@
 import io.netty.handler.codec.http2.DelegatingDecompressorFrameListener;
 import io.netty.handler.codec.http2.Http2ClientUpgradeCodec;
 import io.netty.handler.codec.http2.Http2Connection;
+import io.netty.handler.codec.http2.Http2ConnectionHandler;
+import io.netty.handler.codec.http2.Http2Error;
+import io.netty.handler.codec.http2.Http2Exception;
+import io.netty.handler.codec.http2.Http2FrameListener;
+import io.netty.handler.codec.http2.Http2FrameListenerDecorator;
 import io.netty.handler.codec.http2.Http2FrameLogger;
 import io.netty.handler.codec.http2.HttpToHttp2ConnectionHandler;
 import io.netty.handler.codec.http2.HttpToHttp2ConnectionHandlerBuilder;
@@ -49,6 +57,7 @@ public class Http2ClientInitializer extends ChannelInitializer<SocketChannel> {
     private HttpToHttp2ConnectionHandler connectionHandler;
     private HttpResponseHandler responseHandler;
     private Http2SettingsHandler settingsHandler;
+    private ResetStreamListener resetListener;
 
     public Http2ClientInitializer(SslContext sslCtx, int maxContentLength) {
         this.sslCtx = sslCtx;
@@ -58,13 +67,14 @@ public Http2ClientInitializer(SslContext sslCtx, int maxContentLength) {
     @Override
     public void initChannel(SocketChannel ch) throws Exception {
         final Http2Connection connection = new DefaultHttp2Connection(false);
+        resetListener = new ResetStreamListener(new DelegatingDecompressorFrameListener(
+                connection,
+                new InboundHttp2ToHttpAdapterBuilder(connection)
+                        .maxContentLength(maxContentLength)
+                        .propagateSettings(true)
+                        .build()));
         connectionHandler = new HttpToHttp2ConnectionHandlerBuilder()
-                .frameListener(new DelegatingDecompressorFrameListener(
-                        connection,
-                        new InboundHttp2ToHttpAdapterBuilder(connection)
-                                .maxContentLength(maxContentLength)
-                                .propagateSettings(true)
-                                .build()))
+                .frameListener(resetListener)
                 .frameLogger(logger)
                 .connection(connection)
                 .build();
@@ -85,6 +95,10 @@ public Http2SettingsHandler settingsHandler() {
         return settingsHandler;
     }
 
+    public ResetStreamListener resetListener() {
+        return resetListener;
+    }
+
     protected void configureEndOfPipeline(ChannelPipeline pipeline) {
         pipeline.addLast(settingsHandler, responseHandler);
     }
@@ -145,6 +159,43 @@ public void channelActive(ChannelHandlerContext ctx) throws Exception {
         }
     }
 
+    /**
+     * Resets a stream as soon as its first data frame is received, instead of passing the response on.
+     */
+    public static class ResetStreamListener extends Http2FrameListenerDecorator {
+        private volatile int streamToReset;
+        private volatile CompletableFuture<Boolean> reset;
+
+        ResetStreamListener(Http2FrameListener listener) {
+            super(listener);
+        }
+
+        /**
+         * @return completed when the stream is reset, with whether the first data frame was also the last one
+         */
+        CompletableFuture<Boolean> resetOnData(int streamId) {
+            reset = new CompletableFuture<>();
+            streamToReset = streamId;
+            return reset;
+        }
+
+        @Override
+        public int onDataRead(ChannelHandlerContext ctx, int streamId, ByteBuf data, int padding, boolean endOfStream)
+                throws Http2Exception {
+            if (streamId != streamToReset) {
+                return super.onDataRead(ctx, streamId, data, padding, endOfStream);
+            }
+            if (!reset.isDone()) {
+                Http2ConnectionHandler handler = ctx.pipeline().get(Http2ConnectionHandler.class);
+                handler.resetStream(ctx, streamId, Http2Error.CANCEL.code(), ctx.newPromise());
+                ctx.flush();
+                reset.complete(endOfStream);
+            }
+            // The data is dropped, but still returned to the flow control window
+            return data.readableBytes() + padding;
+        }
+    }
+
     /**
      * Class that logs any User Events triggered on this channel.
      */